@@ -0,0 +1,21 @@
+package com.nexblocks.authguard.api.dto.entities;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.nexblocks.authguard.api.dto.style.DTOStyle;
+import org.immutables.value.Value;
+
+import java.time.Instant;
+import java.util.List;
+
+@Value.Immutable
+@DTOStyle
+@JsonSerialize(as = TokenVerificationDTO.class)
+@JsonDeserialize(as = TokenVerificationDTO.class)
+public interface TokenVerification {
+    boolean isValid();
+    String getSubject();
+    Instant getExpiresAt();
+    List<String> getPermissions();
+    String getErrorCode();
+}
@@ -0,0 +1,21 @@
+package com.nexblocks.authguard.api.dto.requests;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.nexblocks.authguard.api.dto.style.DTOStyle;
+import org.immutables.value.Value;
+
+import java.util.List;
+
+@Value.Immutable
+@DTOStyle
+@JsonSerialize(as = TokensVerificationRequestDTO.class)
+@JsonDeserialize(as = TokensVerificationRequestDTO.class)
+public interface TokensVerificationRequest {
+    List<String> getTokens();
+
+    /**
+     * Either accessToken, the default, or apiToken.
+     */
+    String getTokenType();
+}
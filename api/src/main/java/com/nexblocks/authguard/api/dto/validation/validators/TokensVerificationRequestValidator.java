@@ -0,0 +1,18 @@
+package com.nexblocks.authguard.api.dto.validation.validators;
+
+import com.nexblocks.authguard.api.dto.requests.TokensVerificationRequestDTO;
+import com.nexblocks.authguard.api.dto.validation.Validator;
+import com.nexblocks.authguard.api.dto.validation.fluent.FluentValidator;
+import com.nexblocks.authguard.api.dto.validation.violations.Violation;
+
+import java.util.List;
+
+public class TokensVerificationRequestValidator implements Validator<TokensVerificationRequestDTO> {
+    @Override
+    public List<Violation> validate(final TokensVerificationRequestDTO obj) {
+        return FluentValidator.begin()
+                .validate("tokens", obj.getTokens(), Constraints.required, Constraints.hasItems)
+                .validate("tokenType", obj.getTokenType(), Constraints.reasonableLength)
+                .getViolations();
+    }
+}
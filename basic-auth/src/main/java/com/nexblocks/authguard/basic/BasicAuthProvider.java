@@ -3,6 +3,7 @@ package com.nexblocks.authguard.basic;
 import com.google.inject.Inject;
 import com.nexblocks.authguard.basic.passwords.SecurePassword;
 import com.nexblocks.authguard.basic.passwords.SecurePasswordProvider;
+import com.nexblocks.authguard.service.AccountLocksService;
 import com.nexblocks.authguard.service.AccountsService;
 import com.nexblocks.authguard.service.TrackingSessionsService;
 import com.nexblocks.authguard.service.exceptions.ServiceAuthorizationException;
@@ -28,15 +29,18 @@ public class BasicAuthProvider {
     private final SecurePassword securePassword;
     private final SecurePasswordProvider securePasswordProvider;
     private final TrackingSessionsService trackingSessionsService;
+    private final AccountLocksService accountLocksService;
 
     @Inject
     public BasicAuthProvider(final AccountsService accountsService,
                              final SecurePasswordProvider securePasswordProvider,
-                             final TrackingSessionsService trackingSessionsService) {
+                             final TrackingSessionsService trackingSessionsService,
+                             final AccountLocksService accountLocksService) {
         this.securePassword = securePasswordProvider.get();
         this.accountsService = accountsService;
         this.securePasswordProvider = securePasswordProvider;
         this.trackingSessionsService = trackingSessionsService;
+        this.accountLocksService = accountLocksService;
 
         LOG.debug("Initialized with password implementation {}", this.securePassword.getClass());
     }
@@ -62,12 +66,28 @@ public class BasicAuthProvider {
         return handleBasicAuthentication(basicToken);
     }
 
+    /**
+     * Checks that an account which was authenticated earlier using
+     * authenticateAndGetAccount(String) is still allowed in, without
+     * verifying its password again. It fails if the account was
+     * deactivated, locked, or its password expired since.
+     */
+    public Uni<AccountBO> checkAuthenticatedAccount(final AccountBO account) {
+        if (!account.isActive()) {
+            return Uni.createFrom().failure(new ServiceAuthorizationException(ErrorCode.ACCOUNT_INACTIVE, "Inactive account"));
+        }
+
+        return checkNotLocked(account)
+                .flatMap(unlocked -> AsyncUtils.uniFromTry(checkIfExpired(unlocked)));
+    }
+
     public Uni<AccountBO> getAccount(final AuthRequestBO request) {
         return verifyCredentialsAndGetAccount(request.getIdentifier(), request.getDomain());
     }
 
     public Uni<AccountSession> getAccountSessionAsync(final AuthRequestBO request) {
         return verifyCredentialsAndGetAccount(request.getIdentifier(), request.getDomain())
+                .flatMap(this::checkNotLocked)
                 .flatMap(this::createTrackingSession);
     }
 
@@ -115,10 +135,25 @@ public class BasicAuthProvider {
             return Uni.createFrom().failure(validationError.get());
         }
 
-        return AsyncUtils.uniFromTry(checkIfExpired(account))
+        // locked accounts are rejected before spending anything on hashing
+        return checkNotLocked(account)
+                .flatMap(unlocked -> AsyncUtils.uniFromTry(checkIfExpired(unlocked)))
                 .flatMap(valid -> checkPasswordsMatch(valid, password));
     }
 
+    private Uni<AccountBO> checkNotLocked(final AccountBO account) {
+        return accountLocksService.hasActiveLock(account.getId())
+                .map(locked -> {
+                    if (locked) {
+                        throw new ServiceAuthorizationException(ErrorCode.ACCOUNT_IS_LOCKED,
+                                "There is an active lock on account " + account.getId(),
+                                EntityType.ACCOUNT, account.getId());
+                    }
+
+                    return account;
+                });
+    }
+
     private Try<AccountBO> checkIfExpired(final AccountBO credentials) {
         // check if expired
         if (securePasswordProvider.passwordsExpire()) {
@@ -0,0 +1,30 @@
+package com.nexblocks.authguard.basic.config;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.nexblocks.authguard.service.config.ConfigStyle;
+import org.immutables.value.Value;
+
+/**
+ * Configuration of the dedicated worker pool which runs password
+ * hashing. Hashing requests which don't fit in the queue are rejected
+ * instead of piling up.
+ */
+@Value.Immutable
+@ConfigStyle
+@JsonDeserialize(as = PasswordHashingConfig.class)
+public interface PasswordHashingConfigInterface {
+    @Value.Default
+    default boolean enabled() {
+        return true;
+    }
+
+    @Value.Default
+    default Integer getThreads() {
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    @Value.Default
+    default Integer getQueueSize() {
+        return 128;
+    }
+}
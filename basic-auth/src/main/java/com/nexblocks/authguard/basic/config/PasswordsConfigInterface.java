@@ -34,6 +34,11 @@ public interface PasswordsConfigInterface {
         return PasswordConditions.builder().build();
     }
 
+    @Value.Default
+    default PasswordHashingConfig getHashing() {
+        return PasswordHashingConfig.builder().build();
+    }
+
     String getValidFor();
 
     @Value.Default
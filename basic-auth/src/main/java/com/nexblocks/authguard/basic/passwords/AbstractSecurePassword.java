@@ -11,17 +11,27 @@ import java.util.Objects;
 public abstract class AbstractSecurePassword implements SecurePassword {
     private final int saltSize;
 
+    private PasswordHashingExecutor executor;
+
     protected abstract Uni<byte[]> hashWithSalt(final String plain, final byte[] saltBytes);
 
     protected AbstractSecurePassword(final int saltSize) {
         this.saltSize = saltSize;
     }
 
+    /**
+     * Makes all hashing run on the given executor instead of the
+     * subscribing thread.
+     */
+    void useExecutor(final PasswordHashingExecutor executor) {
+        this.executor = executor;
+    }
+
     @Override
     public Uni<HashedPasswordBO> hash(final String plain) {
         final byte[] saltBytes = generateSalt();
 
-        return hashWithSalt(plain, saltBytes)
+        return offload(hashWithSalt(plain, saltBytes))
                 .map(hashedBytes -> HashedPasswordBO.builder()
                         .salt(Base64.getEncoder().encodeToString(saltBytes))
                         .password(Base64.getEncoder().encodeToString(hashedBytes))
@@ -36,10 +46,14 @@ public abstract class AbstractSecurePassword implements SecurePassword {
         final byte[] saltBytes = Base64.getDecoder().decode(hashed.getSalt());
         final byte[] storedHashBytes = Base64.getDecoder().decode(hashed.getPassword());
 
-        return hashWithSalt(plain, saltBytes)
+        return offload(hashWithSalt(plain, saltBytes))
                 .map(hashedBytes -> Arrays.equals(storedHashBytes, hashedBytes));
     }
 
+    private Uni<byte[]> offload(final Uni<byte[]> hashing) {
+        return executor == null ? hashing : executor.execute(hashing);
+    }
+
     private byte[] generateSalt() {
         final CryptographicRandom random = new CryptographicRandom();
 
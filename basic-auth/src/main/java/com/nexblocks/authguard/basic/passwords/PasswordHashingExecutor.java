@@ -0,0 +1,138 @@
+package com.nexblocks.authguard.basic.passwords;
+
+import com.nexblocks.authguard.basic.config.PasswordHashingConfig;
+import com.nexblocks.authguard.service.exceptions.ServiceUnavailableException;
+import com.nexblocks.authguard.service.exceptions.codes.ErrorCode;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs password hashing on a fixed pool of worker threads with a bounded
+ * queue, so that hashing never runs on the thread which subscribed (which
+ * is usually an event loop thread). When the queue is full, hashing fails
+ * immediately with a {@link ServiceUnavailableException} which callers
+ * can retry.
+ * <p>
+ * Only the hashing runs on the pool. The result is emitted back on the
+ * Vert.x context of the subscriber, or on the default Mutiny executor if
+ * it wasn't subscribed to from one, so that whatever comes after the
+ * hash doesn't hold up the hashing threads.
+ */
+public class PasswordHashingExecutor {
+    private static final Logger LOG = LoggerFactory.getLogger(PasswordHashingExecutor.class);
+
+    private final ThreadPoolExecutor executor;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final LongAdder totalHashNanos = new LongAdder();
+    private final LongAccumulator maxWaitNanos = new LongAccumulator(Long::max, 0);
+    private final LongAccumulator maxHashNanos = new LongAccumulator(Long::max, 0);
+
+    public PasswordHashingExecutor(final PasswordHashingConfig config) {
+        this.executor = new ThreadPoolExecutor(config.getThreads(), config.getThreads(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(config.getQueueSize()),
+                new HashingThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        LOG.info("Initialized password hashing executor. threads={}, queueSize={}",
+                config.getThreads(), config.getQueueSize());
+    }
+
+    /**
+     * Subscribes to the given hashing operation on one of the hashing
+     * threads. The operation is expected to complete synchronously once
+     * subscribed to.
+     */
+    public <T> Uni<T> execute(final Uni<T> operation) {
+        return Uni.createFrom().emitter(emitter -> {
+            final long submittedAt = System.nanoTime();
+            final Context context = Vertx.currentContext();
+
+            try {
+                executor.execute(() -> {
+                    final long startedAt = System.nanoTime();
+                    recordWait(startedAt - submittedAt);
+
+                    operation.subscribe().with(
+                            result -> {
+                                recordHash(System.nanoTime() - startedAt);
+                                resume(context, () -> emitter.complete(result));
+                            },
+                            failure -> {
+                                recordHash(System.nanoTime() - startedAt);
+                                resume(context, () -> emitter.fail(failure));
+                            });
+                });
+            } catch (final RejectedExecutionException e) {
+                rejected.increment();
+
+                LOG.warn("Password hashing queue is full; rejecting request. queueSize={}",
+                        executor.getQueue().size());
+
+                emitter.fail(new ServiceUnavailableException(ErrorCode.PASSWORD_HASHING_OVERLOADED,
+                        "Too many concurrent authentication requests, try again later"));
+            }
+        });
+    }
+
+    public PasswordHashingStats getStats() {
+        long completedCount = completed.sum();
+
+        return new PasswordHashingStats(
+                executor.getQueue().size(),
+                executor.getActiveCount(),
+                completedCount,
+                rejected.sum(),
+                completedCount == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(totalWaitNanos.sum() / completedCount),
+                TimeUnit.NANOSECONDS.toMicros(maxWaitNanos.get()),
+                completedCount == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(totalHashNanos.sum() / completedCount),
+                TimeUnit.NANOSECONDS.toMicros(maxHashNanos.get()));
+    }
+
+    private static void resume(final Context context, final Runnable continuation) {
+        if (context != null) {
+            context.runOnContext(ignored -> continuation.run());
+        } else {
+            Infrastructure.getDefaultExecutor().execute(continuation);
+        }
+    }
+
+    private void recordWait(final long nanos) {
+        totalWaitNanos.add(nanos);
+        maxWaitNanos.accumulate(nanos);
+    }
+
+    private void recordHash(final long nanos) {
+        completed.increment();
+        totalHashNanos.add(nanos);
+        maxHashNanos.accumulate(nanos);
+    }
+
+    private static class HashingThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hashing-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.nexblocks.authguard.basic.passwords;
+
+/**
+ * A point-in-time snapshot of the password hashing executor metrics.
+ * All durations are in microseconds.
+ */
+public final class PasswordHashingStats {
+    private final int queueDepth;
+    private final int activeThreads;
+    private final long completed;
+    private final long rejected;
+    private final long averageWaitTime;
+    private final long maxWaitTime;
+    private final long averageHashTime;
+    private final long maxHashTime;
+
+    public PasswordHashingStats(final int queueDepth, final int activeThreads,
+                                final long completed, final long rejected,
+                                final long averageWaitTime, final long maxWaitTime,
+                                final long averageHashTime, final long maxHashTime) {
+        this.queueDepth = queueDepth;
+        this.activeThreads = activeThreads;
+        this.completed = completed;
+        this.rejected = rejected;
+        this.averageWaitTime = averageWaitTime;
+        this.maxWaitTime = maxWaitTime;
+        this.averageHashTime = averageHashTime;
+        this.maxHashTime = maxHashTime;
+    }
+
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    public int getActiveThreads() {
+        return activeThreads;
+    }
+
+    public long getCompleted() {
+        return completed;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public long getAverageWaitTime() {
+        return averageWaitTime;
+    }
+
+    public long getMaxWaitTime() {
+        return maxWaitTime;
+    }
+
+    public long getAverageHashTime() {
+        return averageHashTime;
+    }
+
+    public long getMaxHashTime() {
+        return maxHashTime;
+    }
+}
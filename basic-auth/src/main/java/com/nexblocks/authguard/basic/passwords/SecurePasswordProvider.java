@@ -1,7 +1,9 @@
 package com.nexblocks.authguard.basic.passwords;
 
 import com.google.inject.Inject;
+import com.google.inject.Singleton;
 import com.google.inject.name.Named;
+import com.nexblocks.authguard.basic.config.PasswordHashingConfig;
 import com.nexblocks.authguard.basic.config.PasswordsConfig;
 import com.nexblocks.authguard.config.ConfigContext;
 import com.nexblocks.authguard.service.config.ConfigParser;
@@ -11,12 +13,14 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+@Singleton
 public class SecurePasswordProvider {
     private final SecurePassword securePassword;
     private final boolean expirePasswords;
     private final Duration passwordTtl;
     private final Integer currentVersion;
     private final Integer minimumVersion;
+    private final PasswordHashingExecutor hashingExecutor;
 
     private Map<Integer, SecurePassword> previousVersions;
 
@@ -40,6 +44,20 @@ public class SecurePasswordProvider {
             this.previousVersions = passwordsConfig.getPreviousVersions().stream()
                     .collect(Collectors.toMap(PasswordsConfig::getVersion, this::parsePasswordConfiguration));
         }
+
+        final PasswordHashingConfig hashingConfig = passwordsConfig.getHashing();
+
+        if (hashingConfig != null && hashingConfig.enabled()) {
+            this.hashingExecutor = new PasswordHashingExecutor(hashingConfig);
+
+            useExecutor(securePassword);
+
+            if (previousVersions != null) {
+                previousVersions.values().forEach(this::useExecutor);
+            }
+        } else {
+            this.hashingExecutor = null;
+        }
     }
 
     public SecurePassword get() {
@@ -66,6 +84,20 @@ public class SecurePasswordProvider {
         return previousVersions;
     }
 
+    /**
+     * @return The executor which runs password hashing, or null if
+     *         hashing runs on the calling thread.
+     */
+    public PasswordHashingExecutor getHashingExecutor() {
+        return hashingExecutor;
+    }
+
+    private void useExecutor(final SecurePassword password) {
+        if (password instanceof AbstractSecurePassword) {
+            ((AbstractSecurePassword) password).useExecutor(hashingExecutor);
+        }
+    }
+
     private SecurePassword parsePasswordConfiguration(final PasswordsConfig passwordsConfig) {
         switch (passwordsConfig.getAlgorithm()) {
             case "scrypt":
@@ -4,6 +4,7 @@ package com.nexblocks.authguard.basic;
 import com.google.common.collect.ImmutableMap;
 import com.nexblocks.authguard.basic.passwords.SecurePassword;
 import com.nexblocks.authguard.basic.passwords.SecurePasswordProvider;
+import com.nexblocks.authguard.service.AccountLocksService;
 import com.nexblocks.authguard.service.AccountsService;
 import com.nexblocks.authguard.service.TrackingSessionsService;
 import com.nexblocks.authguard.service.exceptions.ServiceAuthorizationException;
@@ -30,6 +31,7 @@ class BasicAuthProviderTest {
     private SecurePassword securePassword;
     private SecurePassword previousSecurePassword;
     private TrackingSessionsService trackingSessionsService;
+    private AccountLocksService accountLocksService;
 
     private BasicAuthProvider basicAuth;
 
@@ -41,6 +43,7 @@ class BasicAuthProviderTest {
 
         securePasswordProvider = Mockito.mock(SecurePasswordProvider.class);
         trackingSessionsService = Mockito.mock(TrackingSessionsService.class);
+        accountLocksService = Mockito.mock(AccountLocksService.class);
 
         Mockito.when(securePasswordProvider.get()).thenReturn(securePassword);
         Mockito.when(securePasswordProvider.getPreviousVersions())
@@ -53,7 +56,11 @@ class BasicAuthProviderTest {
                         .sessionToken("tracking-token")
                         .build()));
 
-        basicAuth = new BasicAuthProvider(accountsService, securePasswordProvider, trackingSessionsService);
+        Mockito.when(accountLocksService.hasActiveLock(Mockito.anyLong()))
+                .thenReturn(Uni.createFrom().item(false));
+
+        basicAuth = new BasicAuthProvider(accountsService, securePasswordProvider, trackingSessionsService,
+                accountLocksService);
     }
 
     private AccountBO createCredentials(String username) {
@@ -93,6 +100,78 @@ class BasicAuthProviderTest {
         assertThat(account).isEqualTo(credentials);
     }
 
+    @Test
+    void authenticateLockedAccount() {
+        String username = "username";
+        String password = "password";
+        String authorization = Base64.getEncoder().encodeToString((username + ":" + password).getBytes());
+
+        AccountBO credentials = createCredentials(username);
+
+        Mockito.when(accountsService.getByIdentifierUnsafe(username, "global"))
+                .thenReturn(Uni.createFrom().item(Optional.of(credentials)));
+        Mockito.when(accountLocksService.hasActiveLock(credentials.getId()))
+                .thenReturn(Uni.createFrom().item(true));
+
+        assertThatThrownBy(() -> basicAuth.authenticateAndGetAccount(authorization).subscribeAsCompletionStage().join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(ServiceAuthorizationException.class);
+
+        Mockito.verifyZeroInteractions(securePassword, previousSecurePassword);
+    }
+
+    @Test
+    void checkAuthenticatedAccount() {
+        AccountBO credentials = createCredentials("username");
+
+        assertThat(basicAuth.checkAuthenticatedAccount(credentials).subscribeAsCompletionStage().join())
+                .isEqualTo(credentials);
+        Mockito.verifyZeroInteractions(accountsService, securePassword, previousSecurePassword);
+    }
+
+    @Test
+    void checkAuthenticatedAccountLockedSince() {
+        AccountBO credentials = createCredentials("username");
+
+        Mockito.when(accountLocksService.hasActiveLock(credentials.getId()))
+                .thenReturn(Uni.createFrom().item(true));
+
+        assertThatThrownBy(() -> basicAuth.checkAuthenticatedAccount(credentials).subscribeAsCompletionStage().join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(ServiceAuthorizationException.class);
+    }
+
+    @Test
+    void checkAuthenticatedAccountDeactivatedSince() {
+        AccountBO credentials = createCredentials("username").withActive(false);
+
+        assertThatThrownBy(() -> basicAuth.checkAuthenticatedAccount(credentials).subscribeAsCompletionStage().join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(ServiceAuthorizationException.class);
+    }
+
+    @Test
+    void getAccountSessionLockedAccount() {
+        String username = "username";
+
+        AccountBO credentials = createCredentials(username);
+        AuthRequestBO request = AuthRequestBO.builder()
+                .identifier(username)
+                .domain("main")
+                .build();
+
+        Mockito.when(accountsService.getByIdentifierUnsafe(username, "main"))
+                .thenReturn(Uni.createFrom().item(Optional.of(credentials)));
+        Mockito.when(accountLocksService.hasActiveLock(credentials.getId()))
+                .thenReturn(Uni.createFrom().item(true));
+
+        assertThatThrownBy(() -> basicAuth.getAccountSessionAsync(request).subscribeAsCompletionStage().join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(ServiceAuthorizationException.class);
+
+        Mockito.verifyZeroInteractions(trackingSessionsService);
+    }
+
     @Test
     void authenticateInactiveAccount() {
         String username = "username";
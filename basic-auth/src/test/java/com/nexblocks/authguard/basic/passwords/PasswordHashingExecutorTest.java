@@ -0,0 +1,139 @@
+package com.nexblocks.authguard.basic.passwords;
+
+import com.nexblocks.authguard.basic.config.PasswordHashingConfig;
+import com.nexblocks.authguard.service.exceptions.ServiceUnavailableException;
+import com.nexblocks.authguard.service.model.HashedPasswordBO;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordHashingExecutorTest {
+
+    @Test
+    void runsOnHashingThreads() {
+        PasswordHashingExecutor executor = new PasswordHashingExecutor(PasswordHashingConfig.builder()
+                .threads(1)
+                .queueSize(1)
+                .build());
+
+        String threadName = executor.execute(Uni.createFrom().item(() -> Thread.currentThread().getName()))
+                .subscribeAsCompletionStage()
+                .join();
+
+        assertThat(threadName).startsWith("password-hashing-");
+        assertThat(executor.getStats().getCompleted()).isEqualTo(1);
+    }
+
+    @Test
+    void emitsOffHashingThreads() {
+        PasswordHashingExecutor executor = new PasswordHashingExecutor(PasswordHashingConfig.builder()
+                .threads(1)
+                .queueSize(1)
+                .build());
+
+        String threadName = executor.execute(Uni.createFrom().item(true))
+                .map(ignored -> Thread.currentThread().getName())
+                .subscribeAsCompletionStage()
+                .join();
+
+        assertThat(threadName).doesNotStartWith("password-hashing-");
+    }
+
+    @Test
+    void emitsOnSubscriberContext() throws InterruptedException {
+        PasswordHashingExecutor executor = new PasswordHashingExecutor(PasswordHashingConfig.builder()
+                .threads(1)
+                .queueSize(1)
+                .build());
+        Vertx vertx = Vertx.vertx();
+
+        try {
+            Context context = vertx.getOrCreateContext();
+            CompletableFuture<Context> emittedOn = new CompletableFuture<>();
+
+            context.runOnContext(ignored -> executor.execute(Uni.createFrom().item(true))
+                    .subscribe().with(result -> emittedOn.complete(Vertx.currentContext())));
+
+            assertThat(emittedOn.join()).isSameAs(context);
+        } finally {
+            vertx.close();
+        }
+    }
+
+    @Test
+    void failuresAreRecorded() {
+        PasswordHashingExecutor executor = new PasswordHashingExecutor(PasswordHashingConfig.builder()
+                .threads(1)
+                .queueSize(1)
+                .build());
+
+        assertThatThrownBy(() -> executor.execute(Uni.createFrom().failure(new IllegalStateException()))
+                .subscribeAsCompletionStage()
+                .join())
+                .hasCauseInstanceOf(IllegalStateException.class);
+
+        assertThat(executor.getStats().getCompleted()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsWhenQueueIsFull() throws InterruptedException {
+        PasswordHashingExecutor executor = new PasswordHashingExecutor(PasswordHashingConfig.builder()
+                .threads(1)
+                .queueSize(1)
+                .build());
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Uni<Boolean> blocking = Uni.createFrom().item(() -> {
+            started.countDown();
+
+            try {
+                return release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        CompletableFuture<Boolean> running = executor.execute(blocking).subscribeAsCompletionStage();
+        started.await(5, TimeUnit.SECONDS);
+
+        CompletableFuture<Boolean> queued = executor.execute(Uni.createFrom().item(true))
+                .subscribeAsCompletionStage();
+        CompletableFuture<Boolean> rejected = executor.execute(Uni.createFrom().item(true))
+                .subscribeAsCompletionStage();
+
+        assertThatThrownBy(rejected::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(ServiceUnavailableException.class);
+
+        release.countDown();
+
+        assertThat(running.join()).isTrue();
+        assertThat(queued.join()).isTrue();
+        assertThat(executor.getStats().getRejected()).isEqualTo(1);
+    }
+
+    @Test
+    void securePasswordUsesExecutor() {
+        PasswordHashingExecutor executor = new PasswordHashingExecutor(PasswordHashingConfig.builder()
+                .threads(2)
+                .build());
+        SCryptPassword scrypt = new SCryptPassword();
+        scrypt.useExecutor(executor);
+
+        HashedPasswordBO hashed = scrypt.hash("password").subscribeAsCompletionStage().join();
+
+        assertThat(scrypt.verify("password", hashed).subscribeAsCompletionStage().join()).isTrue();
+        assertThat(executor.getStats().getCompleted()).isEqualTo(2);
+    }
+}
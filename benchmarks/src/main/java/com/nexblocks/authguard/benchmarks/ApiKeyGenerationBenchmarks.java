@@ -0,0 +1,67 @@
+package com.nexblocks.authguard.benchmarks;
+
+import com.nexblocks.authguard.service.config.ApiKeysConfig;
+import com.nexblocks.authguard.service.keys.DefaultApiKeysProvider;
+import com.nexblocks.authguard.service.random.CryptographicRandom;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generates default API keys of different lengths. The provider and the
+ * random are shared between threads, like they are in the server, so the
+ * concurrent variants show how much threads contend on the secure random.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1, warmups = 1)
+public class ApiKeyGenerationBenchmarks {
+    /**
+     * The number of random bytes in a key, before it's encoded.
+     */
+    @Param({ "16", "32", "64" })
+    private int keyLength;
+
+    private DefaultApiKeysProvider provider;
+    private CryptographicRandom random;
+
+    @Setup
+    public void setup() {
+        provider = new DefaultApiKeysProvider(ApiKeysConfig.builder()
+                .randomSize(keyLength)
+                .build());
+        random = new CryptographicRandom();
+    }
+
+    @Benchmark
+    public String generateKey() {
+        return provider.generateKey();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public String generateKeyConcurrently() {
+        return provider.generateKey();
+    }
+
+    @Benchmark
+    public String base64Url() {
+        return random.base64Url(keyLength);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public String base64UrlConcurrently() {
+        return random.base64Url(keyLength);
+    }
+}
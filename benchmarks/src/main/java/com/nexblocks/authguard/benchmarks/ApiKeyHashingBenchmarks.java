@@ -0,0 +1,66 @@
+package com.nexblocks.authguard.benchmarks;
+
+import com.nexblocks.authguard.service.keys.Blake2bApiKeyHash;
+import com.nexblocks.authguard.service.random.CryptographicRandom;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hashes API keys with blake2b, which happens on every request
+ * authenticated with an API key, for different digest sizes and key
+ * lengths.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1, warmups = 1)
+public class ApiKeyHashingBenchmarks {
+    /**
+     * The size of the digest in bytes.
+     */
+    @Param({ "32", "64" })
+    private int digestSize;
+
+    /**
+     * The number of random bytes in a key, before it's encoded.
+     */
+    @Param({ "16", "32", "64" })
+    private int keyLength;
+
+    private Blake2bApiKeyHash hash;
+    private String key;
+    private String hashedKey;
+
+    @Setup
+    public void setup() {
+        hash = new Blake2bApiKeyHash("benchmark-hashing-key", digestSize);
+        key = new CryptographicRandom().base64Url(keyLength);
+        hashedKey = hash.hash(key);
+    }
+
+    @Benchmark
+    public String hash() {
+        return hash.hash(key);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public String hashConcurrently() {
+        return hash.hash(key);
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return hash.verify(key, hashedKey);
+    }
+}
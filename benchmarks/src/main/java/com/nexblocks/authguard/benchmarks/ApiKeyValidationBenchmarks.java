@@ -0,0 +1,237 @@
+package com.nexblocks.authguard.benchmarks;
+
+import com.nexblocks.authguard.dal.model.ApiKeyDO;
+import com.nexblocks.authguard.dal.persistence.ApiKeysRepository;
+import com.nexblocks.authguard.service.ClientsService;
+import com.nexblocks.authguard.service.config.ApiKeyHashingConfig;
+import com.nexblocks.authguard.service.config.ApiKeysConfig;
+import com.nexblocks.authguard.service.config.CacheConfig;
+import com.nexblocks.authguard.service.exchange.apps.DefaultApiKeyExchange;
+import com.nexblocks.authguard.service.impl.ApiKeysServiceImpl;
+import com.nexblocks.authguard.service.keys.ApiKeyHash;
+import com.nexblocks.authguard.service.keys.ApiKeyHashProvider;
+import com.nexblocks.authguard.service.keys.ApiKeysCache;
+import com.nexblocks.authguard.service.keys.DefaultApiKeysProvider;
+import com.nexblocks.authguard.service.mappers.ServiceMapperImpl;
+import com.nexblocks.authguard.service.model.ClientBO;
+import com.nexblocks.authguard.service.model.RequestContextBO;
+import io.smallrye.mutiny.Uni;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What authenticating a request with a client API key costs: looking it
+ * up through the exchange, and resolving its client through the service,
+ * with and without the API keys cache. Hashing the key on its own is in
+ * {@link ApiKeyHashingBenchmarks}. The keys and
+ * clients are held by in-memory stubs, so a cache miss costs a map lookup
+ * instead of a storage round trip, and the numbers are the overhead of
+ * AuthGuard itself.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1, warmups = 1)
+public class ApiKeyValidationBenchmarks {
+    private static final int KEYS = 1024;
+    private static final String KEY_TYPE = "default";
+    private static final long CLIENT_ID = 1739292745485L;
+
+    /**
+     * The size of the blake2b digest in bytes.
+     */
+    @Param({ "32", "64" })
+    private int digestSize;
+
+    /**
+     * The number of random bytes in a key, before it's encoded.
+     */
+    @Param({ "16", "32", "64" })
+    private int keyLength;
+
+    @Param({ "true", "false" })
+    private boolean cache;
+
+    private String[] keys;
+    private DefaultApiKeyExchange exchange;
+    private ApiKeysServiceImpl service;
+
+    @Setup
+    public void setup() {
+        ApiKeysConfig config = ApiKeysConfig.builder()
+                .randomSize(keyLength)
+                .hash(ApiKeyHashingConfig.builder()
+                        .key("benchmark-hashing-key")
+                        .digestSize(digestSize)
+                        .build())
+                .cache(CacheConfig.builder()
+                        .enabled(cache)
+                        .maxSize(KEYS)
+                        .ttl("1h")
+                        .build())
+                .build();
+
+        DefaultApiKeysProvider provider = new DefaultApiKeysProvider(config);
+        ApiKeyHashProvider hashProvider = new ApiKeyHashProvider(config);
+        ApiKeysCache apiKeysCache = new ApiKeysCache(config);
+        StoredApiKeys repository = new StoredApiKeys();
+        ApiKeyHash hash = hashProvider.getHash();
+
+        keys = new String[KEYS];
+
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = provider.generateKey();
+            repository.keys.put(hash.hash(keys[i]), ApiKeyDO.builder()
+                    .id(i)
+                    .key(hash.hash(keys[i]))
+                    .appId(CLIENT_ID)
+                    .type(KEY_TYPE)
+                    .forClient(true)
+                    .build());
+        }
+
+        exchange = new DefaultApiKeyExchange(provider, repository, hashProvider, apiKeysCache);
+        service = new ApiKeysServiceImpl(null, new StoredClients(), List.of(exchange), repository,
+                hashProvider, null, new ServiceMapperImpl(), apiKeysCache);
+    }
+
+    private String nextKey() {
+        return keys[ThreadLocalRandom.current().nextInt(KEYS)];
+    }
+
+    @Benchmark
+    public Optional<Long> verifyAndGetClientId() {
+        return exchange.verifyAndGetClientId(nextKey())
+                .await().indefinitely();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Optional<Long> verifyAndGetClientIdConcurrently() {
+        return exchange.verifyAndGetClientId(nextKey())
+                .await().indefinitely();
+    }
+
+    @Benchmark
+    public ClientBO validateClientApiKey() {
+        return service.validateClientApiKey(nextKey(), KEY_TYPE)
+                .await().indefinitely();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public ClientBO validateClientApiKeyConcurrently() {
+        return service.validateClientApiKey(nextKey(), KEY_TYPE)
+                .await().indefinitely();
+    }
+
+    static class StoredApiKeys implements ApiKeysRepository {
+        private final Map<String, ApiKeyDO> keys = new ConcurrentHashMap<>();
+
+        @Override
+        public Uni<Optional<ApiKeyDO>> getByKey(final String key) {
+            return Uni.createFrom().item(Optional.ofNullable(keys.get(key)));
+        }
+
+        @Override
+        public Uni<Collection<ApiKeyDO>> getByAppId(final long id) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Uni<Optional<ApiKeyDO>> getById(final long id) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Uni<ApiKeyDO> save(final ApiKeyDO entity) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Uni<Optional<ApiKeyDO>> delete(final long id) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    static class StoredClients implements ClientsService {
+        private final ClientBO client = ClientBO.builder()
+                .id(CLIENT_ID)
+                .domain("main")
+                .name("benchmark-client")
+                .clientType(ClientBO.ClientType.ADMIN)
+                .active(true)
+                .build();
+
+        @Override
+        public Uni<Optional<ClientBO>> getByIdUnchecked(final long id) {
+            return Uni.createFrom().item(id == CLIENT_ID ? Optional.of(client) : Optional.empty());
+        }
+
+        @Override
+        public Uni<Optional<ClientBO>> getById(final long id, final String domain) {
+            return getByIdUnchecked(id);
+        }
+
+        @Override
+        public Uni<ClientBO> create(final ClientBO entity, final RequestContextBO requestContext) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Uni<Optional<ClientBO>> update(final ClientBO entity, final String domain) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Uni<Optional<ClientBO>> delete(final long id, final String domain) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Uni<Optional<ClientBO>> getByExternalId(final String externalId, final String domain) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Uni<Optional<ClientBO>> getByUri(final String uri, final String domain) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Uni<ClientBO> activate(final long id, final String domain) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Uni<ClientBO> deactivate(final long id, final String domain) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Uni<List<ClientBO>> getByAccountId(final long accountId, final String domain, final Long cursor) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Uni<List<ClientBO>> getByDomain(final String domain, final Long cursor) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.nexblocks.authguard.benchmarks;
+
+import com.nexblocks.authguard.jwt.JwtApiKeyProvider;
+import com.nexblocks.authguard.jwt.JwtKeyring;
+import com.nexblocks.authguard.service.model.AppBO;
+import com.nexblocks.authguard.service.model.AuthResponseBO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Issues JWT API keys for apps. They're never encrypted, and always have
+ * a JTI, so only the algorithm and the other claims vary.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1, warmups = 1)
+public class JwtApiKeyBenchmarks {
+    @Param({ "HMAC256", "HMAC512", "RSA256", "RSA512", "EC256", "EC512" })
+    private String algorithm;
+
+    @Param({ "none", "permissions", "roles", "externalId", "all" })
+    private String claims;
+
+    private AppBO app;
+    private JwtApiKeyProvider provider;
+
+    @Setup
+    public void setup() {
+        app = TokenFixtures.app();
+        provider = new JwtApiKeyProvider(TokenFixtures.strategyConfig(claims),
+                new JwtKeyring(TokenFixtures.jwtConfig(algorithm, TokenFixtures.NO_ENCRYPTION)));
+    }
+
+    @Benchmark
+    public AuthResponseBO apiKey() {
+        return provider.generateToken(app);
+    }
+}
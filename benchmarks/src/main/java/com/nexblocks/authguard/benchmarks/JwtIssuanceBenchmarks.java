@@ -0,0 +1,65 @@
+package com.nexblocks.authguard.benchmarks;
+
+import com.auth0.jwt.JWT;
+import com.nexblocks.authguard.jwt.JwtKeyring;
+import com.nexblocks.authguard.jwt.JwtWriter;
+import com.nexblocks.authguard.service.config.JwtConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Instant;
+import java.util.Date;
+
+/**
+ * Signs the same access token through JWTCreator and through JwtWriter.
+ * Run with -prof gc to compare the allocations as well.
+ */
+@State(Scope.Benchmark)
+public class JwtIssuanceBenchmarks {
+    private static final String[] PERMISSIONS = new String[] {
+            "main:accounts:read", "main:accounts:update", "main:apps:read", "main:apps:create" };
+    private static final String[] ROLES = new String[] { "admin", "support" };
+
+    private final JwtKeyring keyring = new JwtKeyring(JwtConfig.builder()
+            .algorithm("HMAC256")
+            .privateKey("c2VjcmV0LWtleS1mb3ItYmVuY2htYXJraW5nLXRva2VuLWlzc3VhbmNl")
+            .issuer("authguard")
+            .build());
+
+    private final JwtWriter writer = new JwtWriter("iss", "sub", "iat", "exp", "jti", "permissions",
+            "eid", "roles", "emailVerified", "phoneVerified", "sid", "source");
+
+    @Benchmark
+    @Fork(value = 1, warmups = 2)
+    public String jwtCreator() {
+        Instant now = Instant.now();
+
+        return keyring.sign(JWT.create()
+                .withIssuer("authguard")
+                .withSubject("1739292745483")
+                .withIssuedAt(Date.from(now))
+                .withExpiresAt(Date.from(now.plusSeconds(300)))
+                .withArrayClaim("permissions", PERMISSIONS)
+                .withArrayClaim("roles", ROLES)
+                .withClaim("emailVerified", true)
+                .withClaim("sid", "tracking-session"));
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 2)
+    public String jwtWriter() {
+        Instant now = Instant.now();
+
+        return keyring.sign(writer.claims()
+                .put("iss", "authguard")
+                .put("sub", "1739292745483")
+                .put("iat", now)
+                .put("exp", now.plusSeconds(300))
+                .put("permissions", PERMISSIONS)
+                .put("roles", ROLES)
+                .put("emailVerified", true)
+                .put("sid", "tracking-session"));
+    }
+}
@@ -0,0 +1,125 @@
+package com.nexblocks.authguard.benchmarks;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.nexblocks.authguard.config.JacksonConfigContext;
+import com.nexblocks.authguard.dal.memory.MemoryAccountsRepository;
+import com.nexblocks.authguard.dal.memory.MemoryStorage;
+import com.nexblocks.authguard.dal.model.AccountDO;
+import com.nexblocks.authguard.dal.model.EmailDO;
+import com.nexblocks.authguard.dal.model.UserIdentifierDO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Saves accounts to the in-memory data access layer, with and without
+ * the write-ahead log. With a single writer, every write waits for its
+ * own sync, while concurrent writers share them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1, warmups = 1)
+public class MemoryStorageWriteBenchmarks {
+    /**
+     * memory: nothing is logged, synced: every write is synced to the
+     * disk before it returns, written: every write is only written to the
+     * log before it returns.
+     */
+    @Param({ "memory", "synced", "written" })
+    private String durability;
+
+    /**
+     * The size of the log after which a snapshot is taken.
+     */
+    @Param({ "67108864" })
+    private long snapshotAfterBytes;
+
+    private final AtomicLong ids = new AtomicLong();
+
+    private Path directory;
+    private MemoryStorage storage;
+    private MemoryAccountsRepository accounts;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        ObjectNode config = JsonNodeFactory.instance.objectNode();
+
+        if (!durability.equals("memory")) {
+            directory = Files.createTempDirectory("authguard-memory-dal");
+
+            config.put("directory", directory.toString())
+                    .put("syncWrites", durability.equals("synced"))
+                    .put("snapshotAfterBytes", snapshotAfterBytes);
+        }
+
+        storage = new MemoryStorage(new JacksonConfigContext(config));
+        accounts = new MemoryAccountsRepository(storage);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        storage.close();
+
+        if (directory != null) {
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    private AccountDO account() {
+        long id = ids.incrementAndGet();
+
+        return AccountDO.builder()
+                .id(id)
+                .domain("main")
+                .createdAt(Instant.now())
+                .lastModified(Instant.now())
+                .firstName("Benchmark")
+                .lastName("User")
+                .email(EmailDO.builder().email("user-" + id + "@benchmarks.com").build())
+                .roles(Set.of("user"))
+                .identifiers(Set.of(UserIdentifierDO.builder()
+                        .identifier("user-" + id)
+                        .type(UserIdentifierDO.Type.USERNAME)
+                        .domain("main")
+                        .active(true)
+                        .build()))
+                .active(true)
+                .build();
+    }
+
+    @Benchmark
+    public AccountDO save() {
+        return accounts.save(account()).await().indefinitely();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public AccountDO saveConcurrently() {
+        return accounts.save(account()).await().indefinitely();
+    }
+}
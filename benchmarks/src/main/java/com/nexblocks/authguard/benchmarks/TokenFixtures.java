@@ -0,0 +1,237 @@
+package com.nexblocks.authguard.benchmarks;
+
+import com.nexblocks.authguard.dal.cache.AccountTokensRepository;
+import com.nexblocks.authguard.dal.model.AccountTokenDO;
+import com.nexblocks.authguard.jwt.JtiProvider;
+import com.nexblocks.authguard.service.TrackingSessionsService;
+import com.nexblocks.authguard.service.config.EncryptionConfig;
+import com.nexblocks.authguard.service.config.JwtConfig;
+import com.nexblocks.authguard.service.config.StrategyConfig;
+import com.nexblocks.authguard.service.model.Account;
+import com.nexblocks.authguard.service.model.AccountBO;
+import com.nexblocks.authguard.service.model.AccountEmailBO;
+import com.nexblocks.authguard.service.model.AppBO;
+import com.nexblocks.authguard.service.model.PermissionBO;
+import com.nexblocks.authguard.service.model.Session;
+import com.nexblocks.authguard.service.model.TokenOptionsBO;
+import com.nexblocks.authguard.service.model.UserIdentifier;
+import com.nexblocks.authguard.service.model.UserIdentifierBO;
+import com.nexblocks.authguard.service.util.ID;
+import io.smallrye.mutiny.Uni;
+
+import java.io.File;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * What the token benchmarks have in common: configurations built from the
+ * keys under keys/, a typical account and app, and stubs of the storage
+ * and services the token providers use, which answer right away without
+ * keeping anything.
+ */
+final class TokenFixtures {
+    static final String NO_ENCRYPTION = "none";
+
+    private TokenFixtures() {
+    }
+
+    /**
+     * The keys directory, whether the benchmarks run from the root of the
+     * project or from the benchmarks module.
+     */
+    static String key(final String fileName) {
+        final File file = new File("keys", fileName).exists()
+                ? new File("keys", fileName)
+                : new File("../keys", fileName);
+
+        return "file:" + file.getPath();
+    }
+
+    /**
+     * @param algorithm  One of HMAC256, HMAC512, RSA256, RSA512, EC256 or
+     *                   EC512. Both RSA algorithms use the same key.
+     * @param encryption An encryption algorithm, or {@link #NO_ENCRYPTION}.
+     */
+    static JwtConfig jwtConfig(final String algorithm, final String encryption) {
+        final JwtConfig.Builder config = JwtConfig.builder()
+                .algorithm(algorithm)
+                .issuer("authguard")
+                .checkRefreshTokenRequestIp(false);
+
+        if (algorithm.startsWith("HMAC")) {
+            config.privateKey(key("hmac256.pem"));
+        } else if (algorithm.startsWith("RSA")) {
+            config.publicKey(key("rsa512-public.pem"))
+                    .privateKey(key("rsa512-private.pem"));
+        } else {
+            final String keyName = algorithm.equals("EC512") ? "ec512" : "ec256";
+
+            config.publicKey(key(keyName + "-public.pem"))
+                    .privateKey(key(keyName + "-private.pem"));
+        }
+
+        if (!NO_ENCRYPTION.equals(encryption)) {
+            config.encryption(EncryptionConfig.builder()
+                    .algorithm(encryption)
+                    .privateKey(key("aes128.txt"))
+                    .build());
+        }
+
+        return config.build();
+    }
+
+    /**
+     * @param claims One of none, permissions, roles, externalId, jti or
+     *               all.
+     */
+    static StrategyConfig strategyConfig(final String claims) {
+        final boolean all = claims.equals("all");
+
+        return StrategyConfig.builder()
+                .tokenLife("5m")
+                .refreshTokenLife("1d")
+                .includePermissions(all || claims.equals("permissions"))
+                .includeRoles(all || claims.equals("roles"))
+                .includeExternalId(all || claims.equals("externalId"))
+                .useJti(all || claims.equals("jti"))
+                .includeVerification(all)
+                .build();
+    }
+
+    static AccountBO account() {
+        return AccountBO.builder()
+                .id(1739292745483L)
+                .domain("main")
+                .externalId("c0a8f3e4-5b6d-4e7f-8a9b-0c1d2e3f4a5b")
+                .lastModified(Instant.now())
+                .permissions(permissions())
+                .roles(Set.of("admin", "support", "billing"))
+                .email(AccountEmailBO.builder()
+                        .email("user@example.com")
+                        .verified(true)
+                        .build())
+                .identifiers(Set.of(UserIdentifierBO.builder()
+                        .identifier("benchmark-user")
+                        .type(UserIdentifier.Type.USERNAME)
+                        .build()))
+                .build();
+    }
+
+    static AppBO app() {
+        return AppBO.builder()
+                .id(1739292745484L)
+                .domain("main")
+                .name("benchmark-app")
+                .externalId("d1b9e4f5-6c7e-4f80-9bac-1d2e3f4a5b6c")
+                .permissions(permissions())
+                .roles(Set.of("service"))
+                .active(true)
+                .build();
+    }
+
+    /**
+     * The options of a basic authentication with a tracking session, which
+     * is what most tokens are issued with.
+     */
+    static TokenOptionsBO options() {
+        return TokenOptionsBO.builder()
+                .source("basic")
+                .clientId("1739292745484")
+                .deviceId("benchmark-device")
+                .userAgent("Mozilla/5.0 (X11; Linux x86_64)")
+                .sourceIp("127.0.0.1")
+                .trackingSession("c7e9a1b2d3f4e5a6b7c8d9e0f1a2b3c4")
+                .build();
+    }
+
+    private static List<PermissionBO> permissions() {
+        return IntStream.range(0, 10)
+                .mapToObj(i -> PermissionBO.builder()
+                        .group("main")
+                        .name("resource-" + i + ":read")
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    static class DiscardingAccountTokensRepository implements AccountTokensRepository {
+        @Override
+        public Uni<AccountTokenDO> save(final AccountTokenDO tokenDO) {
+            return Uni.createFrom().item(tokenDO);
+        }
+
+        @Override
+        public Uni<Optional<AccountTokenDO>> getByToken(final String token) {
+            return Uni.createFrom().item(Optional.empty());
+        }
+
+        @Override
+        public Uni<Optional<AccountTokenDO>> deleteToken(final String token) {
+            return Uni.createFrom().item(Optional.empty());
+        }
+    }
+
+    static class ActiveTrackingSessions implements TrackingSessionsService {
+        @Override
+        public Uni<Optional<Session>> getByToken(final String token) {
+            return Uni.createFrom().item(Optional.empty());
+        }
+
+        @Override
+        public Uni<Boolean> isSessionActive(final String token, final String domain) {
+            return Uni.createFrom().item(true);
+        }
+
+        @Override
+        public Uni<List<Session>> getByAccountId(final long accountId, final String domain) {
+            return Uni.createFrom().item(List.of());
+        }
+
+        @Override
+        public Uni<Session> startSession(final Account account) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Uni<Session> startAnonymous(final String domain) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Uni<Optional<Session>> terminateSession(final String sessionToken, final String domain) {
+            return Uni.createFrom().item(Optional.empty());
+        }
+    }
+
+    /**
+     * Generates JTIs without recording them, and accepts any JTI.
+     */
+    static class UnrecordedJtiProvider implements JtiProvider {
+        @Override
+        public String next(final Instant expiresAt) {
+            return ID.generateSimplifiedUuid();
+        }
+
+        @Override
+        public Uni<Boolean> validate(final String jti, final Instant issuedAt) {
+            return Uni.createFrom().item(true);
+        }
+
+        @Override
+        public Uni<Boolean> revoke(final String jti) {
+            return Uni.createFrom().item(false);
+        }
+
+        @Override
+        public void revokeLocally(final String jti) {
+        }
+
+        @Override
+        public void addRevocationListener(final Consumer<String> listener) {
+        }
+    }
+}
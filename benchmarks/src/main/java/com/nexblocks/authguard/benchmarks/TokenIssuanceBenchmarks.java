@@ -0,0 +1,76 @@
+package com.nexblocks.authguard.benchmarks;
+
+import com.nexblocks.authguard.jwt.AccessTokenProvider;
+import com.nexblocks.authguard.jwt.IdTokenProvider;
+import com.nexblocks.authguard.jwt.JwtKeyring;
+import com.nexblocks.authguard.jwt.crypto.TokenEncryptorAdapter;
+import com.nexblocks.authguard.service.config.JwtConfig;
+import com.nexblocks.authguard.service.config.StrategyConfig;
+import com.nexblocks.authguard.service.mappers.ServiceMapperImpl;
+import com.nexblocks.authguard.service.model.AccountBO;
+import com.nexblocks.authguard.service.model.AuthResponseBO;
+import com.nexblocks.authguard.service.model.TokenOptionsBO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Issues access tokens, with their refresh tokens, and ID tokens for
+ * every signing algorithm, set of claims, and with and without
+ * encryption. Run with -prof gc to see the allocation rates as well, and
+ * narrow the parameters down with -p, e.g. -p algorithm=EC256.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1, warmups = 1)
+public class TokenIssuanceBenchmarks {
+    @Param({ "HMAC256", "HMAC512", "RSA256", "RSA512", "EC256", "EC512" })
+    private String algorithm;
+
+    @Param({ "none", "permissions", "roles", "externalId", "jti", "all" })
+    private String claims;
+
+    @Param({ TokenFixtures.NO_ENCRYPTION, "AES_GCM" })
+    private String encryption;
+
+    private AccountBO account;
+    private TokenOptionsBO options;
+    private AccessTokenProvider accessTokenProvider;
+    private IdTokenProvider idTokenProvider;
+
+    @Setup
+    public void setup() {
+        JwtConfig jwtConfig = TokenFixtures.jwtConfig(algorithm, encryption);
+        StrategyConfig strategyConfig = TokenFixtures.strategyConfig(claims);
+        TokenEncryptorAdapter tokenEncryptor = new TokenEncryptorAdapter(jwtConfig);
+        JwtKeyring keyring = new JwtKeyring(jwtConfig);
+
+        account = TokenFixtures.account();
+        options = TokenFixtures.options();
+        accessTokenProvider = new AccessTokenProvider(new TokenFixtures.ActiveTrackingSessions(),
+                new TokenFixtures.DiscardingAccountTokensRepository(), jwtConfig, strategyConfig,
+                new TokenFixtures.UnrecordedJtiProvider(), tokenEncryptor, new ServiceMapperImpl(), keyring);
+        idTokenProvider = new IdTokenProvider(jwtConfig, strategyConfig, tokenEncryptor, keyring);
+    }
+
+    @Benchmark
+    public AuthResponseBO accessToken() {
+        return accessTokenProvider.generateToken(account, null, options)
+                .await().indefinitely();
+    }
+
+    @Benchmark
+    public AuthResponseBO idToken() {
+        return idTokenProvider.generateToken(account, null, options)
+                .await().indefinitely();
+    }
+}
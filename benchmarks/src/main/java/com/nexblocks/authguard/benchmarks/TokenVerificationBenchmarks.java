@@ -0,0 +1,77 @@
+package com.nexblocks.authguard.benchmarks;
+
+import com.auth0.jwt.algorithms.Algorithm;
+import com.nexblocks.authguard.jwt.AccessTokenProvider;
+import com.nexblocks.authguard.jwt.JwtConfigParser;
+import com.nexblocks.authguard.jwt.JwtKeyring;
+import com.nexblocks.authguard.jwt.JwtTokenVerifier;
+import com.nexblocks.authguard.jwt.crypto.TokenEncryptorAdapter;
+import com.nexblocks.authguard.service.config.JwtConfig;
+import com.nexblocks.authguard.service.config.StrategyConfig;
+import com.nexblocks.authguard.service.mappers.ServiceMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verifies an access token issued with the same parameters as in
+ * {@link TokenIssuanceBenchmarks}, without a verification cache, so every
+ * call checks the signature. Encrypted tokens are decrypted first, as
+ * the encrypted token exchange does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1, warmups = 1)
+public class TokenVerificationBenchmarks {
+    @Param({ "HMAC256", "HMAC512", "RSA256", "RSA512", "EC256", "EC512" })
+    private String algorithm;
+
+    @Param({ "none", "permissions", "roles", "externalId", "jti", "all" })
+    private String claims;
+
+    @Param({ TokenFixtures.NO_ENCRYPTION, "AES_GCM" })
+    private String encryption;
+
+    private String token;
+    private TokenEncryptorAdapter tokenEncryptor;
+    private JwtTokenVerifier verifier;
+
+    @Setup
+    public void setup() {
+        JwtConfig jwtConfig = TokenFixtures.jwtConfig(algorithm, encryption);
+        StrategyConfig strategyConfig = TokenFixtures.strategyConfig(claims);
+        TokenFixtures.UnrecordedJtiProvider jti = new TokenFixtures.UnrecordedJtiProvider();
+
+        tokenEncryptor = new TokenEncryptorAdapter(jwtConfig);
+        token = (String) new AccessTokenProvider(new TokenFixtures.ActiveTrackingSessions(),
+                new TokenFixtures.DiscardingAccountTokensRepository(), jwtConfig, strategyConfig,
+                jti, tokenEncryptor, new ServiceMapperImpl(), new JwtKeyring(jwtConfig))
+                .generateToken(TokenFixtures.account(), null, TokenFixtures.options())
+                .await().indefinitely()
+                .getToken();
+
+        Algorithm signingAlgorithm = JwtConfigParser.parseAlgorithm(jwtConfig.getAlgorithm(),
+                jwtConfig.getPublicKey(), jwtConfig.getPrivateKey());
+
+        verifier = new JwtTokenVerifier(strategyConfig, jti, signingAlgorithm);
+    }
+
+    @Benchmark
+    public Long verify() {
+        String signed = TokenFixtures.NO_ENCRYPTION.equals(encryption)
+                ? token
+                : tokenEncryptor.decryptEncoded(token).get();
+
+        return verifier.verifyAccountToken(signed)
+                .await().indefinitely();
+    }
+}
@@ -1,15 +1,20 @@
 package com.nexblocks.authguard.bindings;
 
 import com.google.inject.AbstractModule;
+import com.google.inject.multibindings.OptionalBinder;
+import com.google.inject.name.Names;
 import com.nexblocks.authguard.config.ConfigContext;
 import com.nexblocks.authguard.dal.cache.AccountLocksRepository;
 import com.nexblocks.authguard.dal.cache.AccountTokensRepository;
 import com.nexblocks.authguard.dal.cache.OtpRepository;
+import com.nexblocks.authguard.dal.cache.RevokedTokensRepository;
 import com.nexblocks.authguard.dal.cache.SessionsRepository;
 import com.nexblocks.authguard.dal.persistence.*;
 import com.nexblocks.authguard.injection.ClassSearch;
+import com.nexblocks.authguard.service.cache.*;
 
 import java.util.Collection;
+import java.util.Set;
 
 public class DalBinder extends AbstractModule {
     private final ConfigContext configContext;
@@ -25,12 +30,12 @@ public class DalBinder extends AbstractModule {
         // essential bindings
 //        bindAndRegister(CredentialsRepository.class);
         bindAndRegister(CredentialsAuditRepository.class);
-        bindAndRegister(AccountsRepository.class);
-        bindAndRegister(ApplicationsRepository.class);
-        bindAndRegister(ClientsRepository.class);
+        bindAndRegister(AccountsRepository.class, RepositoryCaches.ACCOUNTS, CachingAccountsRepository.class);
+        bindAndRegister(ApplicationsRepository.class, RepositoryCaches.APPS, CachingApplicationsRepository.class);
+        bindAndRegister(ClientsRepository.class, RepositoryCaches.CLIENTS, CachingClientsRepository.class);
         bindAndRegister(ApiKeysRepository.class);
-        bindAndRegister(PermissionsRepository.class);
-        bindAndRegister(RolesRepository.class);
+        bindAndRegister(PermissionsRepository.class, RepositoryCaches.PERMISSIONS, CachingPermissionsRepository.class);
+        bindAndRegister(RolesRepository.class, RepositoryCaches.ROLES, CachingRolesRepository.class);
         bindAndRegister(AccountTokensRepository.class);
         bindAndRegister(SessionsRepository.class);
         bindAndRegister(IdempotentRecordsRepository.class);
@@ -51,6 +56,22 @@ public class DalBinder extends AbstractModule {
         if (configContext.get("sessions") != null) {
             bindAndRegister(SessionsRepository.class);
         }
+
+        // bound only if the data access layer implements them
+        bindIfImplemented(RevokedTokensRepository.class);
+    }
+
+    private <T> void bindIfImplemented(final Class<T> clazz) {
+        final OptionalBinder<T> optionalBinder = OptionalBinder.newOptionalBinder(binder(), clazz);
+        final Set<Class<? extends T>> bindings = dynamicBinder.findAllBindingsFor(clazz);
+
+        if (bindings.size() == 1) {
+            final Class<? extends T> binding = bindings.iterator().next();
+
+            optionalBinder.setBinding().to(binding);
+
+            PluginsRegistry.register(binding);
+        }
     }
     
     private <T> void bindAndRegister(final Class<T> clazz) {
@@ -60,4 +81,23 @@ public class DalBinder extends AbstractModule {
         
         PluginsRegistry.register(binding);
     }
+
+    /**
+     * Binds a repository behind its cache if it's configured to be cached,
+     * and binds it directly otherwise.
+     */
+    private <T> void bindAndRegister(final Class<T> clazz, final String cacheName,
+                                     final Class<? extends T> cachingRepository) {
+        if (!RepositoryCaches.isEnabled(configContext.getSubContext("repositoryCaches"), cacheName)) {
+            bindAndRegister(clazz);
+            return;
+        }
+
+        final Class<? extends T> binding = dynamicBinder.findBindingsFor(clazz);
+
+        bind(clazz).annotatedWith(Names.named(CachingRepository.UNCACHED)).to(binding);
+        bind(clazz).to(cachingRepository);
+
+        PluginsRegistry.register(binding);
+    }
 }
@@ -5,6 +5,8 @@ import com.nexblocks.authguard.service.config.JwtConfig;
 import com.nexblocks.authguard.jwt.BasicJtiProvider;
 import com.google.inject.AbstractModule;
 import com.nexblocks.authguard.jwt.JtiProvider;
+import com.nexblocks.authguard.jwt.JwtTokenRevocationService;
+import com.nexblocks.authguard.service.TokenRevocationService;
 
 public class JwtBinder extends AbstractModule {
     private final JwtConfig jwtConfig;
@@ -16,6 +18,7 @@ public class JwtBinder extends AbstractModule {
     @Override
     public void configure() {
         bind(JtiProvider.class).to(BasicJtiProvider.class);
+        bind(TokenRevocationService.class).to(JwtTokenRevocationService.class);
         bind(JwtConfig.class).toInstance(jwtConfig);
     }
 
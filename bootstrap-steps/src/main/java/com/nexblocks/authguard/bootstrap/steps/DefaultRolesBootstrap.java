@@ -1,7 +1,6 @@
 package com.nexblocks.authguard.bootstrap.steps;
 
 import com.nexblocks.authguard.bootstrap.BootstrapStepResult;
-import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
 import com.google.inject.Inject;
 import com.google.inject.name.Named;
@@ -44,30 +43,30 @@ public class DefaultRolesBootstrap implements BootstrapStep {
             return Uni.createFrom().item(BootstrapStepResult.success());
         }
 
-        // 1.  Build a Uni<RoleBO> for each (domain, role) combination
+        // 1.  Create the roles of each domain in a single call
         List<Uni<BootstrapStepResult>> roleCreations = defaultRolesByDomain.entrySet().stream()
-                .flatMap(e -> e.getValue()                     // Set<String> roles
-                        .stream()
-                        .map(role -> createRole(e.getKey(), role)
-                                .map(created -> {
-                                    log.info("Created default role {}", created);
-                                    return BootstrapStepResult.success();
-                                })))
-                .toList();                                     // Java 17+; otherwise collect(Collectors.toList())
+                .map(e -> createRoles(e.getKey(), e.getValue())
+                        .map(created -> {
+                            log.info("Created default roles {}", created);
+                            return BootstrapStepResult.success();
+                        }))
+                .toList();
 
         // 2.  Combine them into a single Uni<Result>
         return Uni.combine().all().unis(roleCreations)
-                .with(list -> BootstrapStepResult.success()); // list is List<RoleBO>
+                .with(list -> BootstrapStepResult.success());
     }
 
-    private Uni<RoleBO> createRole(final String domain, final String roleName) {
-        RoleBO role = RoleBO.builder()
-                .name(roleName)
-                .domain(domain)
-                .forAccounts(true)
-                .forApplications(false)
-                .build();
+    private Uni<List<RoleBO>> createRoles(final String domain, final Set<String> roleNames) {
+        List<RoleBO> roles = roleNames.stream()
+                .map(roleName -> RoleBO.builder()
+                        .name(roleName)
+                        .domain(domain)
+                        .forAccounts(true)
+                        .forApplications(false)
+                        .build())
+                .toList();
 
-        return rolesService.create(role);
+        return rolesService.createAll(roles, domain);
     }
 }
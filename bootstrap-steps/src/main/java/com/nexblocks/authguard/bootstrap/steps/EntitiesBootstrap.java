@@ -19,7 +19,9 @@ import org.slf4j.LoggerFactory;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public class EntitiesBootstrap implements BootstrapStep {
@@ -86,49 +88,49 @@ public class EntitiesBootstrap implements BootstrapStep {
     }
 
     private Uni<BootstrapStepResult> createRoles(String domain, List<RolesConfig> roles) {
-        if (roles == null) {
+        if (roles == null || roles.isEmpty()) {
             return Uni.createFrom().item(BootstrapStepResult.success());
         }
 
-        List<Uni<BootstrapStepResult>> rolesUnis = roles.stream()
-                .map(rolesConfig -> rolesService.getRoleByName(rolesConfig.getName(), domain)
-                        .flatMap(opt -> {
-                            if (opt.isPresent()) {
-                                log.info("Role {} already exists in domain {}", opt.get().getName(), domain);
+        List<String> names = roles.stream().map(RolesConfig::getName).toList();
 
-                                return Uni.createFrom().item(BootstrapStepResult.success());
-                            }
+        return rolesService.getRolesByNames(names, domain)
+                .flatMap(existing -> {
+                    Set<String> existingNames = existing.stream()
+                            .map(RoleBO::getName)
+                            .collect(Collectors.toSet());
 
-                            RoleBO role = RoleBO.builder()
+                    if (!existingNames.isEmpty()) {
+                        log.info("Roles {} already exist in domain {}", existingNames, domain);
+                    }
+
+                    List<RoleBO> missing = roles.stream()
+                            .filter(rolesConfig -> !existingNames.contains(rolesConfig.getName()))
+                            .map(rolesConfig -> RoleBO.builder()
                                     .domain(domain)
                                     .name(rolesConfig.getName())
                                     .forAccounts(rolesConfig.isForAccounts())
                                     .forApplications(rolesConfig.isForApplications())
-                                    .build();
-
-                            return rolesService.create(role)
-                                    .map(created -> {
-                                        log.info("Created role {} in domain {}", role.getName(), domain);
-
-                                        return BootstrapStepResult.success();
-                                    });
+                                    .build())
+                            .toList();
 
-                        }))
-                .toList();
-
-        if (rolesUnis.isEmpty()) {
-            return Uni.createFrom().item(BootstrapStepResult.success());
-        }
+                    if (missing.isEmpty()) {
+                        return Uni.createFrom().item(BootstrapStepResult.success());
+                    }
 
-        // 2.  Combine them into a single Uni<Result>
-        return Uni.combine().all().unis(rolesUnis)
-                .with(list -> BootstrapStepResult.success()); // list is List<RoleBO>
+                    return rolesService.createAll(missing, domain)
+                            .map(created -> {
+                                log.info("Created roles {} in domain {}",
+                                        created.stream().map(RoleBO::getName).toList(), domain);
 
+                                return BootstrapStepResult.success();
+                            });
+                });
     }
 
     private Uni<BootstrapStepResult> createPermissions(String domain, List<PermissionConfig> permissions) {
-        if (permissions == null) {
-            return null;
+        if (permissions == null || permissions.isEmpty()) {
+            return Uni.createFrom().item(BootstrapStepResult.success());
         }
 
         List<PermissionBO> permissionBOS = permissions.stream()
@@ -140,27 +142,27 @@ public class EntitiesBootstrap implements BootstrapStep {
                         .build())
                 .toList();
 
-        List<Uni<BootstrapStepResult>> unis = permissionBOS.stream()
-                .map(permission -> permissionsService.get(domain, permission.getGroup(), permission.getName())
-                        .flatMap(opt -> {
-                            if (opt.isPresent()) {
-                                return Uni.createFrom().item(BootstrapStepResult.success());
-                            }
+        return permissionsService.getMultiple(permissionBOS, domain)
+                .flatMap(existing -> {
+                    Set<String> existingNames = existing.stream()
+                            .map(PermissionBO::getFullName)
+                            .collect(Collectors.toSet());
 
-                            return permissionsService.create(permission.withDomain(domain))
-                                    .map(created -> {
-                                        log.info("Created permission {}:{} in domain {}", permission.getGroup(), permission.getName(), domain);
+                    List<PermissionBO> missing = permissionBOS.stream()
+                            .filter(permission -> !existingNames.contains(permission.getFullName()))
+                            .toList();
 
-                                        return BootstrapStepResult.success();
-                                    });
-                        }))
-                .toList();
+                    if (missing.isEmpty()) {
+                        return Uni.createFrom().item(BootstrapStepResult.success());
+                    }
 
-        if (unis.isEmpty()) {
-            return Uni.createFrom().item(BootstrapStepResult.success());
-        }
+                    return permissionsService.createAll(missing, domain)
+                            .map(created -> {
+                                log.info("Created permissions {} in domain {}",
+                                        created.stream().map(PermissionBO::getFullName).toList(), domain);
 
-        return Uni.combine().all().unis(unis)
-                .with(ignored -> BootstrapStepResult.success());
+                                return BootstrapStepResult.success();
+                            });
+                });
     }
 }
@@ -15,7 +15,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
 import java.util.Collections;
-import java.util.Optional;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 class EntitiesBootstrapTest {
@@ -59,22 +59,19 @@ class EntitiesBootstrapTest {
 
     @Test
     void run() {
-        Mockito.when(rolesService.getRoleByName("existing", "test"))
-                .thenReturn(Uni.createFrom().item(Optional.of(RoleBO.builder()
+        Mockito.when(rolesService.getRolesByNames(Mockito.anyList(), Mockito.eq("test")))
+                .thenReturn(Uni.createFrom().item(Collections.singletonList(RoleBO.builder()
                         .domain("test")
                         .name("existing")
                         .build())));
 
-        Mockito.when(rolesService.getRoleByName(Mockito.anyString(), Mockito.anyString()))
-                .thenReturn(Uni.createFrom().item(Optional.empty()));
-
-        Mockito.when(rolesService.create(Mockito.any()))
+        Mockito.when(rolesService.createAll(Mockito.anyList(), Mockito.anyString()))
                         .thenAnswer(invocation -> Uni.createFrom().item(
-                                invocation.getArgument(0, RoleBO.class)
+                                invocation.getArgument(0, List.class)
                         ));
 
-        Mockito.when(permissionsService.get("test", "tests", "existing"))
-                        .thenReturn(Uni.createFrom().item(Optional.of(
+        Mockito.when(permissionsService.getMultiple(Mockito.anyList(), Mockito.eq("test")))
+                        .thenReturn(Uni.createFrom().item(Collections.singletonList(
                                 PermissionBO.builder()
                                         .group("tests")
                                         .name("existing")
@@ -82,40 +79,32 @@ class EntitiesBootstrapTest {
                                         .build()
                         )));
 
-        Mockito.when(permissionsService.get("test", "tests", "read"))
-                .thenReturn(Uni.createFrom().item(Optional.empty()));
-
-        Mockito.when(permissionsService.validate(Mockito.anyList(), Mockito.anyString(), Mockito.any()))
-                .thenReturn(Uni.createFrom().item(Collections.singletonList(PermissionBO.builder()
-                        .group("tests")
-                        .name("existing")
-                        .domain("test")
-                        .build())));
-
-        Mockito.when(permissionsService.create(Mockito.any()))
+        Mockito.when(permissionsService.createAll(Mockito.anyList(), Mockito.anyString()))
                 .thenAnswer(invocation -> Uni.createFrom().item(
-                        invocation.getArgument(0, PermissionBO.class)
+                        invocation.getArgument(0, List.class)
                 ));
 
         entitiesBootstrap.run().subscribeAsCompletionStage().join();
 
         Mockito.verify(rolesService, Mockito.times(1))
-                .create(RoleBO.builder()
-                        .domain("test")
-                        .name("user")
-                        .build());
-
-        Mockito.verify(rolesService, Mockito.times(1))
-                .create(RoleBO.builder()
-                        .domain("test")
-                        .name("admin")
-                        .build());
+                .createAll(List.of(
+                        RoleBO.builder()
+                                .domain("test")
+                                .name("user")
+                                .build(),
+                        RoleBO.builder()
+                                .domain("test")
+                                .name("admin")
+                                .build()), "test");
 
         Mockito.verify(permissionsService, Mockito.times(1))
-                .create(PermissionBO.builder()
-                        .domain("test")
-                        .group("tests")
-                        .name("read")
-                        .build());
+                .createAll(List.of(
+                        PermissionBO.builder()
+                                .group("tests")
+                                .name("read")
+                                .build()), "test");
+
+        Mockito.verify(rolesService, Mockito.never()).create(Mockito.any());
+        Mockito.verify(permissionsService, Mockito.never()).create(Mockito.any());
     }
-}
\ No newline at end of file
+}
@@ -2,6 +2,8 @@ package com.nexblocks.authguard.bootstrap;
 
 import com.nexblocks.authguard.injection.ClassSearch;
 import com.google.inject.Injector;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -16,16 +18,18 @@ public class BootstrapRunner {
         this.injector = injector;
     }
 
-    public void runAll() {
-        classSearch.findAllImplementationClass(BootstrapStep.class)
-                .stream()
+    /**
+     * Runs all bootstrap steps one after the other. A failing step is
+     * logged and doesn't stop the ones after it.
+     */
+    public Uni<Void> runAll() {
+        return Multi.createFrom().iterable(classSearch.findAllImplementationClass(BootstrapStep.class))
                 .map(injector::getInstance)
-                .forEach(step -> {
-                    try {
-                        step.run().subscribeAsCompletionStage().join();
-                    } catch (final Exception e) {
-                        LOG.error("Bootstrap step {} threw an error", step.getClass().getCanonicalName(), e);
-                    }
-                });
+                .onItem().transformToUniAndConcatenate(step -> Uni.createFrom().deferred(step::run)
+                        .onFailure().invoke(e -> LOG.error("Bootstrap step {} threw an error",
+                                step.getClass().getCanonicalName(), e))
+                        .onFailure().recoverWithNull())
+                .collect().last()
+                .replaceWithVoid();
     }
 }
@@ -3,6 +3,7 @@ package com.nexblocks.authguard.dal.cache;
 import com.nexblocks.authguard.dal.model.AccountTokenDO;
 import io.smallrye.mutiny.Uni;
 
+import java.util.List;
 import java.util.Optional;
 import io.smallrye.mutiny.Uni;
 
@@ -10,4 +11,16 @@ public interface AccountTokensRepository {
     Uni<AccountTokenDO> save(AccountTokenDO tokenDO);
     Uni<Optional<AccountTokenDO>> getByToken(String token);
     Uni<Optional<AccountTokenDO>> deleteToken(String token);
+
+    /**
+     * Saves the tokens one at a time by default; implementations which
+     * can save them in a single round trip should override it.
+     */
+    default Uni<List<AccountTokenDO>> saveAll(final List<AccountTokenDO> tokens) {
+        if (tokens.isEmpty()) {
+            return Uni.createFrom().item(List.of());
+        }
+
+        return Uni.join().all(tokens.stream().map(this::save).toList()).andCollectFailures();
+    }
 }
@@ -0,0 +1,20 @@
+package com.nexblocks.authguard.dal.cache;
+
+import com.nexblocks.authguard.dal.model.RevokedTokenDO;
+import io.smallrye.mutiny.Uni;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Storage of revoked token JTIs. Records are only needed until the
+ * revoked token expires, after which they can be dropped.
+ */
+public interface RevokedTokensRepository {
+    Uni<RevokedTokenDO> save(RevokedTokenDO revokedToken);
+
+    /**
+     * @return All revocations of tokens which haven't expired yet.
+     */
+    Uni<List<RevokedTokenDO>> getNotExpired(Instant now);
+}
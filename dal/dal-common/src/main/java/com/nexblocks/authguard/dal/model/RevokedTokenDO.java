@@ -0,0 +1,28 @@
+package com.nexblocks.authguard.dal.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@SuperBuilder
+// JPA
+@Entity
+@Table(name = "revoked_tokens", uniqueConstraints = {
+        @UniqueConstraint(columnNames = { "jti" })
+})
+@NamedQuery(
+        name = "revoked_tokens.getNotExpired",
+        query = "SELECT revoked_token FROM RevokedTokenDO revoked_token " +
+                "WHERE revoked_token.expiresAt > :now AND revoked_token.deleted = false"
+)
+public class RevokedTokenDO extends AbstractDO {
+    private String jti;
+    private Instant expiresAt;
+}
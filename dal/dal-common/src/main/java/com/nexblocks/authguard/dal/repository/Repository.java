@@ -2,6 +2,9 @@ package com.nexblocks.authguard.dal.repository;
 
 import io.smallrye.mutiny.Uni;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 public interface Repository<T> {
@@ -9,4 +12,41 @@ public interface Repository<T> {
     Uni<T> save(T entity);
     Uni<Optional<T>> update(T entity);
     Uni<Optional<T>> delete(long id);
+
+    /*
+     * Bulk operations. By default, they're done one record at a time;
+     * implementations which can do them in a single round trip should
+     * override them.
+     */
+
+    /**
+     * @return The records which exist out of the given IDs, in no
+     * particular order.
+     */
+    default Uni<List<T>> getByIds(final Collection<Long> ids) {
+        return all(ids.stream().distinct().map(this::getById).toList())
+                .map(found -> found.stream().flatMap(Optional::stream).toList());
+    }
+
+    default Uni<List<T>> saveAll(final List<T> entities) {
+        return all(entities.stream().map(this::save).toList());
+    }
+
+    /**
+     * @return The records which were updated. Records which didn't exist
+     * are left out.
+     */
+    default Uni<List<T>> updateAll(final List<T> entities) {
+        return all(entities.stream().map(this::update).toList())
+                .map(updated -> updated.stream().flatMap(Optional::stream).toList());
+    }
+
+    private static <V> Uni<List<V>> all(final List<Uni<V>> unis) {
+        if (unis.isEmpty()) {
+            return Uni.createFrom().item(List.of());
+        }
+
+        return Uni.join().all(unis).andCollectFailures()
+                .map(results -> results.stream().filter(Objects::nonNull).toList());
+    }
 }
@@ -0,0 +1,113 @@
+package com.nexblocks.authguard.dal.memory;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+/**
+ * A change to a single record of a store, as it's written to the
+ * write-ahead log and to snapshots. Every change carries the whole
+ * record, so replaying a change more than once, or replaying changes
+ * which are already part of a snapshot, ends with the same records.
+ * <p>
+ * An entry is framed by its length and a checksum of its content, so an
+ * entry which was only partially written before a crash is detected
+ * instead of read.
+ */
+record JournalEntry(String store, Operation operation, long id, byte[] payload) {
+    enum Operation {
+        PUT,
+        REMOVE
+    }
+
+    private static final int FRAME_HEADER_SIZE = Integer.BYTES * 2;
+    private static final byte[] NO_PAYLOAD = new byte[0];
+
+    static JournalEntry put(final String store, final long id, final byte[] payload) {
+        return new JournalEntry(store, Operation.PUT, id, payload);
+    }
+
+    static JournalEntry remove(final String store, final long id) {
+        return new JournalEntry(store, Operation.REMOVE, id, NO_PAYLOAD);
+    }
+
+    /**
+     * The entry with its length and checksum.
+     */
+    byte[] frame() {
+        byte[] storeName = store.getBytes(StandardCharsets.UTF_8);
+        int contentSize = Short.BYTES + storeName.length + Byte.BYTES + Long.BYTES + payload.length;
+        ByteBuffer frame = ByteBuffer.allocate(FRAME_HEADER_SIZE + contentSize);
+
+        frame.putInt(contentSize);
+        frame.putInt(0); // the checksum, once the content is written
+        frame.putShort((short) storeName.length);
+        frame.put(storeName);
+        frame.put((byte) operation.ordinal());
+        frame.putLong(id);
+        frame.put(payload);
+
+        CRC32 checksum = new CRC32();
+        checksum.update(frame.array(), FRAME_HEADER_SIZE, contentSize);
+        frame.putInt(Integer.BYTES, (int) checksum.getValue());
+
+        return frame.array();
+    }
+
+    /**
+     * Reads the next entry of the buffer.
+     *
+     * @return The entry, or null if the rest of the buffer isn't a whole
+     * entry. The position of the buffer is only moved past entries which
+     * were read.
+     */
+    static JournalEntry read(final ByteBuffer buffer) {
+        if (buffer.remaining() < FRAME_HEADER_SIZE) {
+            return null;
+        }
+
+        int start = buffer.position();
+        int contentSize = buffer.getInt(start);
+        int expectedChecksum = buffer.getInt(start + Integer.BYTES);
+        int minimumSize = Short.BYTES + Byte.BYTES + Long.BYTES;
+
+        if (contentSize < minimumSize || contentSize > buffer.remaining() - FRAME_HEADER_SIZE) {
+            return null;
+        }
+
+        byte[] content = new byte[contentSize];
+        buffer.get(start + FRAME_HEADER_SIZE, content);
+
+        CRC32 checksum = new CRC32();
+        checksum.update(content);
+
+        if ((int) checksum.getValue() != expectedChecksum) {
+            return null;
+        }
+
+        ByteBuffer fields = ByteBuffer.wrap(content);
+        int storeNameSize = fields.getShort();
+
+        if (storeNameSize < 0 || storeNameSize > contentSize - minimumSize) {
+            return null;
+        }
+
+        byte[] storeName = new byte[storeNameSize];
+        fields.get(storeName);
+
+        int operation = fields.get();
+
+        if (operation < 0 || operation >= Operation.values().length) {
+            return null;
+        }
+
+        long id = fields.getLong();
+        byte[] payload = new byte[fields.remaining()];
+        fields.get(payload);
+
+        buffer.position(start + FRAME_HEADER_SIZE + contentSize);
+
+        return new JournalEntry(new String(storeName, StandardCharsets.UTF_8),
+                Operation.values()[operation], id, payload);
+    }
+}
@@ -0,0 +1,34 @@
+package com.nexblocks.authguard.dal.memory;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.nexblocks.authguard.dal.cache.AccountLocksRepository;
+import com.nexblocks.authguard.dal.model.AccountLockDO;
+import io.smallrye.mutiny.Uni;
+
+import java.util.Collection;
+import java.util.Optional;
+
+@Singleton
+public class MemoryAccountLocksRepository extends MemoryRepository<AccountLockDO> implements AccountLocksRepository {
+    private final MemoryIndex<AccountLockDO> byAccount = store.index(AccountLockDO::getAccountId);
+
+    public MemoryAccountLocksRepository() {
+        this(new MemoryStorage());
+    }
+
+    @Inject
+    public MemoryAccountLocksRepository(final MemoryStorage storage) {
+        super(storage.store("account_locks", AccountLockDO.class));
+    }
+
+    @Override
+    public Uni<Collection<AccountLockDO>> findByAccountId(final long accountId) {
+        return Uni.createFrom().item(() -> byAccount.find(accountId));
+    }
+
+    @Override
+    public Uni<Optional<AccountLockDO>> delete(final long id) {
+        return remove(id);
+    }
+}
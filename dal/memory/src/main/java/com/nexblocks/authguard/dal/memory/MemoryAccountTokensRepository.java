@@ -0,0 +1,41 @@
+package com.nexblocks.authguard.dal.memory;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.nexblocks.authguard.dal.cache.AccountTokensRepository;
+import com.nexblocks.authguard.dal.model.AccountTokenDO;
+import io.smallrye.mutiny.Uni;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Tokens are gone once they expire, the same as they would be from a
+ * cache with a TTL.
+ */
+@Singleton
+public class MemoryAccountTokensRepository extends MemoryRepository<AccountTokenDO>
+        implements AccountTokensRepository {
+    private final MemoryIndex<AccountTokenDO> byToken = store.index(AccountTokenDO::getToken);
+
+    public MemoryAccountTokensRepository() {
+        this(new MemoryStorage());
+    }
+
+    @Inject
+    public MemoryAccountTokensRepository(final MemoryStorage storage) {
+        super(storage.store("account_tokens", AccountTokenDO.class, AccountTokenDO::getExpiresAt));
+    }
+
+    @Override
+    public Uni<Optional<AccountTokenDO>> getByToken(final String token) {
+        return Uni.createFrom().item(() -> byToken.findFirst(token));
+    }
+
+    @Override
+    public Uni<Optional<AccountTokenDO>> deleteToken(final String token) {
+        return Uni.createFrom().completionStage(() -> byToken.findFirst(token)
+                .map(accountToken -> store.remove(accountToken.getId()))
+                .orElseGet(() -> CompletableFuture.completedFuture(Optional.empty())));
+    }
+}
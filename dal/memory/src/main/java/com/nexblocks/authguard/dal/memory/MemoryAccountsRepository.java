@@ -0,0 +1,163 @@
+package com.nexblocks.authguard.dal.memory;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.nexblocks.authguard.dal.model.AccountDO;
+import com.nexblocks.authguard.dal.model.EmailDO;
+import com.nexblocks.authguard.dal.model.PasswordDO;
+import com.nexblocks.authguard.dal.model.PermissionDO;
+import com.nexblocks.authguard.dal.model.UserIdentifierDO;
+import com.nexblocks.authguard.dal.persistence.AccountsRepository;
+import io.smallrye.mutiny.Uni;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.nexblocks.authguard.dal.memory.MemoryIndex.key;
+
+@Singleton
+public class MemoryAccountsRepository extends MemoryRepository<AccountDO> implements AccountsRepository {
+    private final MemoryIndex<AccountDO> byExternalId = store.index(AccountDO::getExternalId);
+    private final MemoryIndex<AccountDO> byEmail = store.multiIndex(account -> Arrays.asList(
+            emailKey(account.getEmail(), account.getDomain()),
+            emailKey(account.getBackupEmail(), account.getDomain())));
+    private final MemoryIndex<AccountDO> byRole = store.multiIndex(MemoryAccountsRepository::roleKeys);
+    private final MemoryIndex<AccountDO> byIdentifier = store.multiIndex(MemoryAccountsRepository::identifierKeys);
+
+    public MemoryAccountsRepository() {
+        this(new MemoryStorage());
+    }
+
+    @Inject
+    public MemoryAccountsRepository(final MemoryStorage storage) {
+        super(storage.store("accounts", AccountDO.class));
+    }
+
+    private static Object emailKey(final EmailDO email, final String domain) {
+        return email == null ? null : key(email.getEmail(), domain);
+    }
+
+    private static Collection<?> roleKeys(final AccountDO account) {
+        if (account.getRoles() == null) {
+            return List.of();
+        }
+
+        return account.getRoles().stream()
+                .map(role -> key(role, account.getDomain()))
+                .toList();
+    }
+
+    private static Collection<?> identifierKeys(final AccountDO account) {
+        if (account.getIdentifiers() == null) {
+            return List.of();
+        }
+
+        return account.getIdentifiers().stream()
+                .map(identifier -> key(identifier.getIdentifier(), identifier.getDomain()))
+                .toList();
+    }
+
+    @Override
+    public Uni<Optional<AccountDO>> update(final AccountDO entity) {
+        return replace(entity);
+    }
+
+    @Override
+    public Uni<Optional<AccountDO>> delete(final long id) {
+        return remove(id);
+    }
+
+    @Override
+    public Uni<Optional<AccountDO>> getByExternalId(final String externalId) {
+        return Uni.createFrom().item(() -> byExternalId.findFirst(externalId));
+    }
+
+    @Override
+    public Uni<Optional<AccountDO>> getByEmail(final String email, final String domain) {
+        return Uni.createFrom().item(() -> byEmail.findFirst(key(email, domain)));
+    }
+
+    @Override
+    public Uni<List<AccountDO>> getByRole(final String role, final String domain) {
+        return Uni.createFrom().item(() -> byRole.find(key(role, domain)));
+    }
+
+    @Override
+    public Uni<Optional<AccountDO>> findByIdentifier(final String identifier, final String domain) {
+        return Uni.createFrom().item(() -> byIdentifier.findFirst(key(identifier, domain)));
+    }
+
+    @Override
+    public Uni<AccountDO> addAccountPermissions(final AccountDO account, final List<PermissionDO> permissions) {
+        return Uni.createFrom().completionStage(() -> {
+            account.setPermissions(PermissionSets.granted(account.getPermissions(), permissions));
+
+            return store.put(account);
+        });
+    }
+
+    @Override
+    public Uni<AccountDO> removeAccountPermissions(final AccountDO account, final List<PermissionDO> permissions) {
+        return Uni.createFrom().completionStage(() -> {
+            account.setPermissions(PermissionSets.revoked(account.getPermissions(), permissions));
+
+            return store.put(account);
+        });
+    }
+
+    @Override
+    public Uni<AccountDO> addUserIdentifier(final AccountDO account, final UserIdentifierDO identifier) {
+        return Uni.createFrom().completionStage(() -> {
+            Set<UserIdentifierDO> identifiers = new HashSet<>(identifiersOf(account));
+
+            identifiers.add(identifier);
+            account.setIdentifiers(identifiers);
+
+            return store.put(account);
+        });
+    }
+
+    @Override
+    public Uni<AccountDO> removeUserIdentifier(final AccountDO account, final UserIdentifierDO identifier) {
+        return Uni.createFrom().completionStage(() -> {
+            account.setIdentifiers(identifiersOf(account).stream()
+                    .filter(existing -> !Objects.equals(existing.getIdentifier(), identifier.getIdentifier()))
+                    .collect(Collectors.toSet()));
+
+            return store.put(account);
+        });
+    }
+
+    @Override
+    public Uni<AccountDO> replaceIdentifierInPlace(final AccountDO account, final String oldIdentifier,
+                                                   final UserIdentifierDO newIdentifier) {
+        return Uni.createFrom().completionStage(() -> {
+            account.setIdentifiers(identifiersOf(account).stream()
+                    .map(existing -> Objects.equals(existing.getIdentifier(), oldIdentifier) ? newIdentifier : existing)
+                    .collect(Collectors.toSet()));
+
+            return store.put(account);
+        });
+    }
+
+    @Override
+    public Uni<AccountDO> updateUserPassword(final AccountDO account, final PasswordDO hashedPassword) {
+        return Uni.createFrom().completionStage(() -> {
+            account.setHashedPassword(hashedPassword);
+            account.setPasswordUpdatedAt(Instant.now());
+
+            return store.put(account);
+        });
+    }
+
+    private static Set<UserIdentifierDO> identifiersOf(final AccountDO account) {
+        return account.getIdentifiers() == null ? Set.of() : account.getIdentifiers();
+    }
+}
@@ -0,0 +1,44 @@
+package com.nexblocks.authguard.dal.memory;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.nexblocks.authguard.dal.model.ApiKeyDO;
+import com.nexblocks.authguard.dal.persistence.ApiKeysRepository;
+import io.smallrye.mutiny.Uni;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * API keys are stored hashed, so looking one up by its key is looking it
+ * up by its hash.
+ */
+@Singleton
+public class MemoryApiKeysRepository extends MemoryRepository<ApiKeyDO> implements ApiKeysRepository {
+    private final MemoryIndex<ApiKeyDO> byApp = store.index(ApiKeyDO::getAppId);
+    private final MemoryIndex<ApiKeyDO> byKey = store.index(ApiKeyDO::getKey);
+
+    public MemoryApiKeysRepository() {
+        this(new MemoryStorage());
+    }
+
+    @Inject
+    public MemoryApiKeysRepository(final MemoryStorage storage) {
+        super(storage.store("api_keys", ApiKeyDO.class));
+    }
+
+    @Override
+    public Uni<Optional<ApiKeyDO>> delete(final long id) {
+        return remove(id);
+    }
+
+    @Override
+    public Uni<Collection<ApiKeyDO>> getByAppId(final long id) {
+        return Uni.createFrom().item(() -> byApp.find(id));
+    }
+
+    @Override
+    public Uni<Optional<ApiKeyDO>> getByKey(final String key) {
+        return Uni.createFrom().item(() -> byKey.findFirst(key));
+    }
+}
@@ -0,0 +1,65 @@
+package com.nexblocks.authguard.dal.memory;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.nexblocks.authguard.dal.model.AppDO;
+import com.nexblocks.authguard.dal.model.PermissionDO;
+import com.nexblocks.authguard.dal.persistence.ApplicationsRepository;
+import com.nexblocks.authguard.dal.persistence.Page;
+import io.smallrye.mutiny.Uni;
+
+import java.util.List;
+import java.util.Optional;
+
+@Singleton
+public class MemoryApplicationsRepository extends MemoryRepository<AppDO> implements ApplicationsRepository {
+    private final MemoryIndex<AppDO> byExternalId = store.index(AppDO::getExternalId);
+    private final MemoryIndex<AppDO> byParentAccount = store.index(AppDO::getParentAccountId);
+
+    public MemoryApplicationsRepository() {
+        this(new MemoryStorage());
+    }
+
+    @Inject
+    public MemoryApplicationsRepository(final MemoryStorage storage) {
+        super(storage.store("apps", AppDO.class));
+    }
+
+    @Override
+    public Uni<Optional<AppDO>> update(final AppDO entity) {
+        return replace(entity);
+    }
+
+    @Override
+    public Uni<Optional<AppDO>> delete(final long id) {
+        return remove(id);
+    }
+
+    @Override
+    public Uni<Optional<AppDO>> getByExternalId(final String externalId) {
+        return Uni.createFrom().item(() -> byExternalId.findFirst(externalId));
+    }
+
+    @Override
+    public Uni<List<AppDO>> getAllForAccount(final long accountId, final Page<Long> page) {
+        return Uni.createFrom().item(() -> byParentAccount.page(accountId, page));
+    }
+
+    @Override
+    public Uni<AppDO> addAppPermissions(final AppDO app, final List<PermissionDO> permissions) {
+        return Uni.createFrom().completionStage(() -> {
+            app.setPermissions(PermissionSets.granted(app.getPermissions(), permissions));
+
+            return store.put(app);
+        });
+    }
+
+    @Override
+    public Uni<AppDO> removeAppPermissions(final AppDO app, final List<PermissionDO> permissions) {
+        return Uni.createFrom().completionStage(() -> {
+            app.setPermissions(PermissionSets.revoked(app.getPermissions(), permissions));
+
+            return store.put(app);
+        });
+    }
+}
@@ -0,0 +1,64 @@
+package com.nexblocks.authguard.dal.memory;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.nexblocks.authguard.dal.model.ClientDO;
+import com.nexblocks.authguard.dal.persistence.ClientsRepository;
+import com.nexblocks.authguard.dal.persistence.Page;
+import io.smallrye.mutiny.Uni;
+
+import java.util.List;
+import java.util.Optional;
+
+@Singleton
+public class MemoryClientsRepository extends MemoryRepository<ClientDO> implements ClientsRepository {
+    private final MemoryIndex<ClientDO> byExternalId = store.index(ClientDO::getExternalId);
+    private final MemoryIndex<ClientDO> byUri = store.index(ClientDO::getUri);
+    private final MemoryIndex<ClientDO> byAccount = store.index(ClientDO::getAccountId);
+    private final MemoryIndex<ClientDO> byType = store.index(ClientDO::getClientType);
+    private final MemoryIndex<ClientDO> byDomain = store.index(ClientDO::getDomain);
+
+    public MemoryClientsRepository() {
+        this(new MemoryStorage());
+    }
+
+    @Inject
+    public MemoryClientsRepository(final MemoryStorage storage) {
+        super(storage.store("clients", ClientDO.class));
+    }
+
+    @Override
+    public Uni<Optional<ClientDO>> update(final ClientDO entity) {
+        return replace(entity);
+    }
+
+    @Override
+    public Uni<Optional<ClientDO>> delete(final long id) {
+        return remove(id);
+    }
+
+    @Override
+    public Uni<Optional<ClientDO>> getByExternalId(final String externalId) {
+        return Uni.createFrom().item(() -> byExternalId.findFirst(externalId));
+    }
+
+    @Override
+    public Uni<Optional<ClientDO>> getByUri(final String uri) {
+        return Uni.createFrom().item(() -> byUri.findFirst(uri));
+    }
+
+    @Override
+    public Uni<List<ClientDO>> getAllForAccount(final long accountId, final Page<Long> page) {
+        return Uni.createFrom().item(() -> byAccount.page(accountId, page));
+    }
+
+    @Override
+    public Uni<List<ClientDO>> getByType(final String type, final Page<Long> page) {
+        return Uni.createFrom().item(() -> byType.page(type, page));
+    }
+
+    @Override
+    public Uni<List<ClientDO>> getByDomain(final String domain, final Page<Long> page) {
+        return Uni.createFrom().item(() -> byDomain.page(domain, page));
+    }
+}
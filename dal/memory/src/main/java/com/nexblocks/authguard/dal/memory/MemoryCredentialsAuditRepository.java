@@ -0,0 +1,29 @@
+package com.nexblocks.authguard.dal.memory;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.nexblocks.authguard.dal.model.CredentialsAuditDO;
+import com.nexblocks.authguard.dal.persistence.CredentialsAuditRepository;
+import io.smallrye.mutiny.Uni;
+
+import java.util.List;
+
+@Singleton
+public class MemoryCredentialsAuditRepository extends MemoryRepository<CredentialsAuditDO>
+        implements CredentialsAuditRepository {
+    private final MemoryIndex<CredentialsAuditDO> byCredentials = store.index(CredentialsAuditDO::getCredentialsId);
+
+    public MemoryCredentialsAuditRepository() {
+        this(new MemoryStorage());
+    }
+
+    @Inject
+    public MemoryCredentialsAuditRepository(final MemoryStorage storage) {
+        super(storage.store("credentials_audit", CredentialsAuditDO.class));
+    }
+
+    @Override
+    public Uni<List<CredentialsAuditDO>> findByCredentialsId(final long credentialsId) {
+        return Uni.createFrom().item(() -> byCredentials.find(credentialsId));
+    }
+}
@@ -0,0 +1,47 @@
+package com.nexblocks.authguard.dal.memory;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.nexblocks.authguard.dal.model.CredentialsDO;
+import com.nexblocks.authguard.dal.persistence.CredentialsRepository;
+import io.smallrye.mutiny.Uni;
+
+import java.util.List;
+import java.util.Optional;
+
+import static com.nexblocks.authguard.dal.memory.MemoryIndex.key;
+
+@Deprecated
+@Singleton
+public class MemoryCredentialsRepository extends MemoryRepository<CredentialsDO> implements CredentialsRepository {
+    private final MemoryIndex<CredentialsDO> byIdentifier = store.multiIndex(credentials ->
+            credentials.getIdentifiers() == null
+                    ? List.of()
+                    : credentials.getIdentifiers().stream()
+                            .map(identifier -> key(identifier.getIdentifier(), identifier.getDomain()))
+                            .toList());
+
+    public MemoryCredentialsRepository() {
+        this(new MemoryStorage());
+    }
+
+    @Inject
+    public MemoryCredentialsRepository(final MemoryStorage storage) {
+        super(storage.store("credentials", CredentialsDO.class));
+    }
+
+    @Override
+    public Uni<Optional<CredentialsDO>> update(final CredentialsDO entity) {
+        return replace(entity);
+    }
+
+    @Override
+    public Uni<Optional<CredentialsDO>> delete(final long id) {
+        return remove(id);
+    }
+
+    @Override
+    public Uni<Optional<CredentialsDO>> findByIdentifier(final String identifier, final String domain) {
+        return Uni.createFrom().item(() -> byIdentifier.findFirst(key(identifier, domain)));
+    }
+}
@@ -0,0 +1,58 @@
+package com.nexblocks.authguard.dal.memory;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.nexblocks.authguard.dal.model.CryptoKeyDO;
+import com.nexblocks.authguard.dal.persistence.CryptoKeysRepository;
+import com.nexblocks.authguard.dal.persistence.Page;
+import io.smallrye.mutiny.Uni;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static com.nexblocks.authguard.dal.memory.MemoryIndex.key;
+
+@Singleton
+public class MemoryCryptoKeysRepository extends MemoryRepository<CryptoKeyDO> implements CryptoKeysRepository {
+    private final MemoryTimeline<CryptoKeyDO> byDomain = store.timeline(CryptoKeyDO::getDomain);
+    private final MemoryTimeline<CryptoKeyDO> byAccount = store.timeline(cryptoKey ->
+            key(cryptoKey.getDomain(), cryptoKey.getAccountId()));
+    private final MemoryTimeline<CryptoKeyDO> byApp = store.timeline(cryptoKey ->
+            key(cryptoKey.getDomain(), cryptoKey.getAppId()));
+
+    public MemoryCryptoKeysRepository() {
+        this(new MemoryStorage());
+    }
+
+    @Inject
+    public MemoryCryptoKeysRepository(final MemoryStorage storage) {
+        super(storage.store("crypto_keys", CryptoKeyDO.class));
+    }
+
+    @Override
+    public Uni<Optional<CryptoKeyDO>> update(final CryptoKeyDO entity) {
+        return replace(entity);
+    }
+
+    @Override
+    public Uni<Optional<CryptoKeyDO>> delete(final long id) {
+        return remove(id);
+    }
+
+    @Override
+    public Uni<List<CryptoKeyDO>> findByDomain(final String domain, final Page<Instant> page) {
+        return Uni.createFrom().item(() -> byDomain.before(domain, page));
+    }
+
+    @Override
+    public Uni<List<CryptoKeyDO>> findByAccountId(final String domain, final long accountId,
+                                                  final Page<Instant> page) {
+        return Uni.createFrom().item(() -> byAccount.before(key(domain, accountId), page));
+    }
+
+    @Override
+    public Uni<List<CryptoKeyDO>> findByAppId(final String domain, final long appId, final Page<Instant> page) {
+        return Uni.createFrom().item(() -> byApp.before(key(domain, appId), page));
+    }
+}
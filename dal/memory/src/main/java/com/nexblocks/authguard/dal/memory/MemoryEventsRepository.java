@@ -0,0 +1,40 @@
+package com.nexblocks.authguard.dal.memory;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.nexblocks.authguard.dal.model.EventDO;
+import com.nexblocks.authguard.dal.persistence.EventsRepository;
+import com.nexblocks.authguard.dal.persistence.Page;
+import io.smallrye.mutiny.Uni;
+
+import java.time.Instant;
+import java.util.List;
+
+import static com.nexblocks.authguard.dal.memory.MemoryIndex.key;
+
+@Singleton
+public class MemoryEventsRepository extends MemoryRepository<EventDO> implements EventsRepository {
+    private final MemoryTimeline<EventDO> byDomain = store.timeline(EventDO::getDomain);
+    private final MemoryTimeline<EventDO> byChannel = store.timeline(event ->
+            key(event.getDomain(), event.getChannel()));
+
+    public MemoryEventsRepository() {
+        this(new MemoryStorage());
+    }
+
+    @Inject
+    public MemoryEventsRepository(final MemoryStorage storage) {
+        super(storage.store("events", EventDO.class));
+    }
+
+    @Override
+    public Uni<List<EventDO>> findByDomainDescending(final String domain, final Page<Instant> page) {
+        return Uni.createFrom().item(() -> byDomain.before(domain, page));
+    }
+
+    @Override
+    public Uni<List<EventDO>> findByDomainAndChannelDescending(final String domain, final String channel,
+                                                              final Page<Instant> page) {
+        return Uni.createFrom().item(() -> byChannel.before(key(domain, channel), page));
+    }
+}
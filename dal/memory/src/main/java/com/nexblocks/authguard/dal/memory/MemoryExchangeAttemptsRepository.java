@@ -0,0 +1,47 @@
+package com.nexblocks.authguard.dal.memory;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.nexblocks.authguard.dal.model.ExchangeAttemptDO;
+import com.nexblocks.authguard.dal.persistence.ExchangeAttemptsRepository;
+import io.smallrye.mutiny.Uni;
+
+import java.time.Instant;
+import java.util.Collection;
+
+import static com.nexblocks.authguard.dal.memory.MemoryIndex.key;
+
+@Singleton
+public class MemoryExchangeAttemptsRepository extends MemoryRepository<ExchangeAttemptDO>
+        implements ExchangeAttemptsRepository {
+    private final MemoryTimeline<ExchangeAttemptDO> byEntity = store.timeline(ExchangeAttemptDO::getEntityId);
+    private final MemoryTimeline<ExchangeAttemptDO> byExchange = store.timeline(attempt ->
+            key(attempt.getEntityId(), attempt.getExchangeFrom()));
+
+    public MemoryExchangeAttemptsRepository() {
+        this(new MemoryStorage());
+    }
+
+    @Inject
+    public MemoryExchangeAttemptsRepository(final MemoryStorage storage) {
+        super(storage.store("exchange_attempts", ExchangeAttemptDO.class));
+    }
+
+    @Override
+    public Uni<Collection<ExchangeAttemptDO>> findByEntity(final long entityId) {
+        return Uni.createFrom().item(() -> byEntity.after(entityId, Instant.MIN));
+    }
+
+    @Override
+    public Uni<Collection<ExchangeAttemptDO>> findByEntityAndTimestamp(final long entityId,
+                                                                      final Instant fromTimestamp) {
+        return Uni.createFrom().item(() -> byEntity.after(entityId, fromTimestamp));
+    }
+
+    @Override
+    public Uni<Collection<ExchangeAttemptDO>> findByEntityAndTimestampAndExchange(final long entityId,
+                                                                                 final Instant fromTimestamp,
+                                                                                 final String fromExchange) {
+        return Uni.createFrom().item(() -> byExchange.after(key(entityId, fromExchange), fromTimestamp));
+    }
+}
@@ -0,0 +1,40 @@
+package com.nexblocks.authguard.dal.memory;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.nexblocks.authguard.dal.model.IdempotentRecordDO;
+import com.nexblocks.authguard.dal.persistence.IdempotentRecordsRepository;
+import io.smallrye.mutiny.Uni;
+
+import java.util.List;
+import java.util.Optional;
+
+import static com.nexblocks.authguard.dal.memory.MemoryIndex.key;
+
+@Singleton
+public class MemoryIdempotentRecordsRepository extends MemoryRepository<IdempotentRecordDO>
+        implements IdempotentRecordsRepository {
+    private final MemoryIndex<IdempotentRecordDO> byKey = store.index(IdempotentRecordDO::getIdempotentKey);
+    private final MemoryIndex<IdempotentRecordDO> byKeyAndType = store.index(record ->
+            key(record.getIdempotentKey(), record.getEntityType()));
+
+    public MemoryIdempotentRecordsRepository() {
+        this(new MemoryStorage());
+    }
+
+    @Inject
+    public MemoryIdempotentRecordsRepository(final MemoryStorage storage) {
+        super(storage.store("idempotent_records", IdempotentRecordDO.class));
+    }
+
+    @Override
+    public Uni<List<IdempotentRecordDO>> findByKey(final String idempotentKey) {
+        return Uni.createFrom().item(() -> byKey.find(idempotentKey));
+    }
+
+    @Override
+    public Uni<Optional<IdempotentRecordDO>> findByKeyAndEntityType(final String idempotentKey,
+                                                                   final String entityType) {
+        return Uni.createFrom().item(() -> byKeyAndType.findFirst(key(idempotentKey, entityType)));
+    }
+}
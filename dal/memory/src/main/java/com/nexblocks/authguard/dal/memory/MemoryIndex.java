@@ -0,0 +1,185 @@
+package com.nexblocks.authguard.dal.memory;
+
+import com.nexblocks.authguard.dal.model.AbstractDO;
+import com.nexblocks.authguard.dal.persistence.Page;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Function;
+
+/**
+ * Maps keys to the IDs of the records which have them, in ascending
+ * order, which is the order of the pages of the other data access
+ * layers as well.
+ */
+final class MemoryIndex<T extends AbstractDO> implements StoreIndex<T> {
+    private final MemoryStore<T> store;
+    private final Function<T, Collection<?>> keys;
+    private final Map<Object, NavigableSet<Long>> ids = new ConcurrentHashMap<>();
+    // only accessed by writes, see StoreIndex
+    private final Map<Long, Set<Object>> indexedKeys = new HashMap<>();
+
+    MemoryIndex(final MemoryStore<T> store, final Function<T, Collection<?>> keys) {
+        this.store = store;
+        this.keys = keys;
+    }
+
+    /**
+     * A key made of more than one property, e.g. an email and a domain.
+     */
+    static Object key(final Object... parts) {
+        return Arrays.asList(parts);
+    }
+
+    /**
+     * The keys of a record which can be looked up. Keys which are null,
+     * or have a part which is null, aren't indexed.
+     */
+    private Set<Object> keysOf(final T record) {
+        Collection<?> recordKeys = keys.apply(record);
+
+        if (recordKeys == null || recordKeys.isEmpty()) {
+            return Collections.emptySet();
+        }
+
+        Set<Object> indexable = new LinkedHashSet<>(recordKeys.size());
+
+        for (Object key : recordKeys) {
+            if (key != null && !(key instanceof List<?> parts && parts.contains(null))) {
+                indexable.add(key);
+            }
+        }
+
+        return indexable;
+    }
+
+    @Override
+    public void put(final T record) {
+        Set<Object> recordKeys = keysOf(record);
+
+        for (Object key : recordKeys) {
+            ids.computeIfAbsent(key, ignored -> new ConcurrentSkipListSet<>()).add(record.getId());
+        }
+
+        Set<Object> previousKeys = indexedKeys.put(record.getId(), recordKeys);
+
+        if (previousKeys != null) {
+            for (Object key : previousKeys) {
+                if (!recordKeys.contains(key)) {
+                    removeId(key, record.getId());
+                }
+            }
+        }
+    }
+
+    @Override
+    public void remove(final long id) {
+        Set<Object> recordKeys = indexedKeys.remove(id);
+
+        if (recordKeys == null) {
+            return;
+        }
+
+        for (Object key : recordKeys) {
+            removeId(key, id);
+        }
+    }
+
+    private void removeId(final Object key, final long id) {
+        NavigableSet<Long> keyIds = ids.get(key);
+
+        if (keyIds != null) {
+            keyIds.remove(id);
+
+            if (keyIds.isEmpty()) {
+                ids.remove(key);
+            }
+        }
+    }
+
+    private NavigableSet<Long> idsOf(final Object key) {
+        store.recoverIfPending();
+
+        return key == null ? null : ids.get(key);
+    }
+
+    Optional<T> findFirst(final Object key) {
+        NavigableSet<Long> keyIds = idsOf(key);
+
+        if (keyIds == null) {
+            return Optional.empty();
+        }
+
+        Instant now = Instant.now();
+
+        for (Long id : keyIds) {
+            T record = matching(id, key, now);
+
+            if (record != null) {
+                return Optional.of(record);
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    List<T> find(final Object key) {
+        return collect(key, idsOf(key), Integer.MAX_VALUE);
+    }
+
+    /**
+     * The records after the cursor of the page, which is an ID.
+     */
+    List<T> page(final Object key, final Page<Long> page) {
+        NavigableSet<Long> keyIds = idsOf(key);
+
+        return collect(key, keyIds == null ? null : keyIds.tailSet(page.getCursor(), false), page.getCount());
+    }
+
+    private List<T> collect(final Object key, final Collection<Long> keyIds, final int limit) {
+        if (keyIds == null) {
+            return new ArrayList<>();
+        }
+
+        Instant now = Instant.now();
+        List<T> found = new ArrayList<>();
+
+        for (Long id : keyIds) {
+            if (found.size() >= limit) {
+                break;
+            }
+
+            T record = matching(id, key, now);
+
+            if (record != null) {
+                found.add(record);
+            }
+        }
+
+        return found;
+    }
+
+    private T matching(final long id, final Object key, final Instant now) {
+        T record = store.getLive(id, now);
+
+        if (record == null) {
+            return null;
+        }
+
+        Collection<?> recordKeys = keys.apply(record);
+
+        return recordKeys != null && recordKeys.contains(key) ? record : null;
+    }
+}
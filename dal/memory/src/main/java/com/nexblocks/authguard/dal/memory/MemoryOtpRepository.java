@@ -0,0 +1,22 @@
+package com.nexblocks.authguard.dal.memory;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.nexblocks.authguard.dal.cache.OtpRepository;
+import com.nexblocks.authguard.dal.model.OneTimePasswordDO;
+
+/**
+ * One-time passwords are gone once they expire, the same as they would
+ * be from a cache with a TTL.
+ */
+@Singleton
+public class MemoryOtpRepository extends MemoryRepository<OneTimePasswordDO> implements OtpRepository {
+    public MemoryOtpRepository() {
+        this(new MemoryStorage());
+    }
+
+    @Inject
+    public MemoryOtpRepository(final MemoryStorage storage) {
+        super(storage.store("otps", OneTimePasswordDO.class, OneTimePasswordDO::getExpiresAt));
+    }
+}
@@ -0,0 +1,62 @@
+package com.nexblocks.authguard.dal.memory;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.nexblocks.authguard.dal.model.PermissionDO;
+import com.nexblocks.authguard.dal.persistence.Page;
+import com.nexblocks.authguard.dal.persistence.PermissionKey;
+import com.nexblocks.authguard.dal.persistence.PermissionsRepository;
+import io.smallrye.mutiny.Uni;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static com.nexblocks.authguard.dal.memory.MemoryIndex.key;
+
+@Singleton
+public class MemoryPermissionsRepository extends MemoryRepository<PermissionDO> implements PermissionsRepository {
+    private final MemoryIndex<PermissionDO> byName = store.index(permission ->
+            key(permission.getPermissionGroup(), permission.getName(), permission.getDomain()));
+    private final MemoryIndex<PermissionDO> byDomain = store.index(PermissionDO::getDomain);
+    private final MemoryIndex<PermissionDO> byGroup = store.index(permission ->
+            key(permission.getPermissionGroup(), permission.getDomain()));
+
+    public MemoryPermissionsRepository() {
+        this(new MemoryStorage());
+    }
+
+    @Inject
+    public MemoryPermissionsRepository(final MemoryStorage storage) {
+        super(storage.store("permissions", PermissionDO.class));
+    }
+
+    @Override
+    public Uni<Optional<PermissionDO>> delete(final long id) {
+        return remove(id);
+    }
+
+    @Override
+    public Uni<Optional<PermissionDO>> search(final String group, final String name, final String domain) {
+        return Uni.createFrom().item(() -> byName.findFirst(key(group, name, domain)));
+    }
+
+    @Override
+    public Uni<List<PermissionDO>> searchAll(final Collection<PermissionKey> keys, final String domain) {
+        return Uni.createFrom().item(() -> keys.stream()
+                .distinct()
+                .flatMap(key -> byName.findFirst(key(key.getGroup(), key.getName(), domain)).stream())
+                .toList());
+    }
+
+    @Override
+    public Uni<Collection<PermissionDO>> getAll(final String domain, final Page<Long> page) {
+        return Uni.createFrom().item(() -> byDomain.page(domain, page));
+    }
+
+    @Override
+    public Uni<Collection<PermissionDO>> getAllForGroup(final String group, final String domain,
+                                                        final Page<Long> page) {
+        return Uni.createFrom().item(() -> byGroup.page(key(group, domain), page));
+    }
+}
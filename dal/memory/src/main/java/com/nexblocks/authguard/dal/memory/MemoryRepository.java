@@ -0,0 +1,66 @@
+package com.nexblocks.authguard.dal.memory;
+
+import com.nexblocks.authguard.dal.model.AbstractDO;
+import io.smallrye.mutiny.Uni;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * The operations which all the in-memory repositories have in common.
+ * Updates and deletes are left to the repositories whose interfaces
+ * allow them.
+ * <p>
+ * Every operation is lazy, like it would be with a database client, so
+ * nothing is read or written until the returned {@link Uni} is
+ * subscribed to. Writes don't block while they're logged, the returned
+ * {@link Uni} emits once they're committed.
+ */
+abstract class MemoryRepository<T extends AbstractDO> {
+    protected final MemoryStore<T> store;
+
+    MemoryRepository(final MemoryStore<T> store) {
+        this.store = store;
+    }
+
+    public Uni<Optional<T>> getById(final long id) {
+        return Uni.createFrom().item(() -> store.get(id));
+    }
+
+    public Uni<List<T>> getByIds(final Collection<Long> ids) {
+        return Uni.createFrom().item(() -> {
+            store.recoverIfPending();
+
+            Instant now = Instant.now();
+
+            return ids.stream()
+                    .distinct()
+                    .map(id -> store.getLive(id, now))
+                    .filter(Objects::nonNull)
+                    .toList();
+        });
+    }
+
+    public Uni<T> save(final T entity) {
+        return Uni.createFrom().completionStage(() -> store.put(entity));
+    }
+
+    /**
+     * Saves all the records under a single lock of the store, and emits
+     * once all of them are written.
+     */
+    public Uni<List<T>> saveAll(final List<T> entities) {
+        return Uni.createFrom().completionStage(() -> store.putAll(entities));
+    }
+
+    protected Uni<Optional<T>> replace(final T entity) {
+        return Uni.createFrom().completionStage(() -> store.replace(entity));
+    }
+
+    protected Uni<Optional<T>> remove(final long id) {
+        return Uni.createFrom().completionStage(() -> store.remove(id));
+    }
+}
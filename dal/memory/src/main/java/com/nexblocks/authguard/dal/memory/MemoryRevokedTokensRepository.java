@@ -0,0 +1,34 @@
+package com.nexblocks.authguard.dal.memory;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.nexblocks.authguard.dal.cache.RevokedTokensRepository;
+import com.nexblocks.authguard.dal.model.RevokedTokenDO;
+import io.smallrye.mutiny.Uni;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Revocations are dropped once the tokens they revoke expire, since
+ * there's nothing left to revoke by then.
+ */
+@Singleton
+public class MemoryRevokedTokensRepository extends MemoryRepository<RevokedTokenDO>
+        implements RevokedTokensRepository {
+    public MemoryRevokedTokensRepository() {
+        this(new MemoryStorage());
+    }
+
+    @Inject
+    public MemoryRevokedTokensRepository(final MemoryStorage storage) {
+        super(storage.store("revoked_tokens", RevokedTokenDO.class, RevokedTokenDO::getExpiresAt));
+    }
+
+    @Override
+    public Uni<List<RevokedTokenDO>> getNotExpired(final Instant now) {
+        return Uni.createFrom().item(() -> store.all().stream()
+                .filter(revoked -> revoked.getExpiresAt() == null || revoked.getExpiresAt().isAfter(now))
+                .toList());
+    }
+}
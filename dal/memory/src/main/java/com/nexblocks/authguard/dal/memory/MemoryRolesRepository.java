@@ -0,0 +1,51 @@
+package com.nexblocks.authguard.dal.memory;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.nexblocks.authguard.dal.model.RoleDO;
+import com.nexblocks.authguard.dal.persistence.Page;
+import com.nexblocks.authguard.dal.persistence.RolesRepository;
+import io.smallrye.mutiny.Uni;
+
+import java.util.Collection;
+import java.util.Optional;
+
+import static com.nexblocks.authguard.dal.memory.MemoryIndex.key;
+
+@Singleton
+public class MemoryRolesRepository extends MemoryRepository<RoleDO> implements RolesRepository {
+    private final MemoryIndex<RoleDO> byDomain = store.index(RoleDO::getDomain);
+    private final MemoryIndex<RoleDO> byName = store.index(role -> key(role.getName(), role.getDomain()));
+
+    public MemoryRolesRepository() {
+        this(new MemoryStorage());
+    }
+
+    @Inject
+    public MemoryRolesRepository(final MemoryStorage storage) {
+        super(storage.store("roles", RoleDO.class));
+    }
+
+    @Override
+    public Uni<Optional<RoleDO>> delete(final long id) {
+        return remove(id);
+    }
+
+    @Override
+    public Uni<Collection<RoleDO>> getAll(final String domain, final Page<Long> page) {
+        return Uni.createFrom().item(() -> byDomain.page(domain, page));
+    }
+
+    @Override
+    public Uni<Optional<RoleDO>> getByName(final String name, final String domain) {
+        return Uni.createFrom().item(() -> byName.findFirst(key(name, domain)));
+    }
+
+    @Override
+    public Uni<Collection<RoleDO>> getMultiple(final Collection<String> rolesNames, final String domain) {
+        return Uni.createFrom().item(() -> rolesNames.stream()
+                .distinct()
+                .flatMap(name -> byName.findFirst(key(name, domain)).stream())
+                .toList());
+    }
+}
@@ -0,0 +1,51 @@
+package com.nexblocks.authguard.dal.memory;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.nexblocks.authguard.dal.cache.SessionsRepository;
+import com.nexblocks.authguard.dal.model.SessionDO;
+import io.smallrye.mutiny.Uni;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static com.nexblocks.authguard.dal.memory.MemoryIndex.key;
+
+/**
+ * Sessions are gone once they expire, the same as they would be from a
+ * cache with a TTL. Sessions without an expiry are kept until they're
+ * deleted.
+ */
+@Singleton
+public class MemorySessionsRepository extends MemoryRepository<SessionDO> implements SessionsRepository {
+    private final MemoryIndex<SessionDO> byToken = store.index(SessionDO::getSessionToken);
+    private final MemoryIndex<SessionDO> byAccount = store.index(session ->
+            key(session.getAccountId(), session.getDomain()));
+
+    public MemorySessionsRepository() {
+        this(new MemoryStorage());
+    }
+
+    @Inject
+    public MemorySessionsRepository(final MemoryStorage storage) {
+        super(storage.store("sessions", SessionDO.class, SessionDO::getExpiresAt));
+    }
+
+    @Override
+    public Uni<Optional<SessionDO>> getByToken(final String sessionToken) {
+        return Uni.createFrom().item(() -> byToken.findFirst(sessionToken));
+    }
+
+    @Override
+    public Uni<Optional<SessionDO>> deleteByToken(final String sessionToken) {
+        return Uni.createFrom().completionStage(() -> byToken.findFirst(sessionToken)
+                .map(session -> store.remove(session.getId()))
+                .orElseGet(() -> CompletableFuture.completedFuture(Optional.empty())));
+    }
+
+    @Override
+    public Uni<List<SessionDO>> findByAccountId(final long accountId, final String domain) {
+        return Uni.createFrom().item(() -> byAccount.find(key(accountId, domain)));
+    }
+}
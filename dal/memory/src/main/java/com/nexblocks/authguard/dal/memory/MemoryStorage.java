@@ -0,0 +1,255 @@
+package com.nexblocks.authguard.dal.memory;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import com.nexblocks.authguard.config.ConfigContext;
+import com.nexblocks.authguard.dal.model.AbstractDO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Where the in-memory repositories keep their records. Unless a directory
+ * is configured, records are only kept in memory and are gone once the
+ * process stops.
+ * <p>
+ * With a directory, every write is appended to a write-ahead log in it
+ * before it's acknowledged, and once the log grows past a configured
+ * size, the records of all the stores are written to a snapshot and the
+ * log before it is deleted. On startup, the latest snapshot is read and
+ * the log after it is replayed, and each store rebuilds its indexes from
+ * the records it gets back.
+ * <p>
+ * The configuration is read from "memoryDal":
+ * <ul>
+ *     <li>directory: where the log and the snapshots are kept</li>
+ *     <li>syncWrites: whether writes are synced to the disk before
+ *     they're acknowledged, true by default</li>
+ *     <li>snapshotAfterBytes: the size of the log after which a snapshot
+ *     is taken, 64MB by default</li>
+ * </ul>
+ */
+@Singleton
+public class MemoryStorage implements AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(MemoryStorage.class);
+
+    private static final long DEFAULT_SNAPSHOT_AFTER_BYTES = 64L * 1024 * 1024;
+    private static final long MAX_SNAPSHOT_AFTER_BYTES = 1024L * 1024 * 1024;
+
+    private final Path directory;
+    private final ObjectMapper mapper;
+    private final Map<String, Map<Long, byte[]>> unclaimed = new HashMap<>();
+    private final Map<String, StoreJournal<?>> journals = new HashMap<>();
+    private final AtomicBoolean snapshotRequested = new AtomicBoolean();
+    private final ExecutorService snapshots;
+    private final WriteAheadLog log;
+
+    /**
+     * Storage which is only kept in memory.
+     */
+    public MemoryStorage() {
+        this(null, true, DEFAULT_SNAPSHOT_AFTER_BYTES);
+    }
+
+    @Inject
+    public MemoryStorage(final @Named("memoryDal") ConfigContext config) {
+        this(Optional.ofNullable(config.getAsString("directory")).map(Path::of).orElse(null),
+                Optional.ofNullable(config.getAsBoolean("syncWrites")).orElse(true),
+                Optional.ofNullable(config.getAsString("snapshotAfterBytes"))
+                        .map(Long::parseLong)
+                        .orElse(DEFAULT_SNAPSHOT_AFTER_BYTES));
+    }
+
+    MemoryStorage(final Path directory, final boolean syncWrites, final long snapshotAfterBytes) {
+        if (directory == null) {
+            this.directory = null;
+            this.mapper = null;
+            this.snapshots = null;
+            this.log = null;
+
+            return;
+        }
+
+        if (snapshotAfterBytes <= 0 || snapshotAfterBytes > MAX_SNAPSHOT_AFTER_BYTES) {
+            throw new IllegalArgumentException("snapshotAfterBytes must be between 1 and "
+                    + MAX_SNAPSHOT_AFTER_BYTES);
+        }
+
+        this.directory = directory;
+        this.mapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        this.snapshots = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "memory-dal-snapshots");
+            thread.setDaemon(true);
+
+            return thread;
+        });
+
+        try {
+            Files.createDirectories(directory);
+
+            long snapshot = Snapshots.latest(directory).orElse(0);
+
+            if (snapshot > 0) {
+                Snapshots.read(directory, snapshot, this::recover);
+            }
+
+            long lastSegment = WriteAheadLog.replay(directory, snapshot, this::recover);
+
+            this.log = new WriteAheadLog(directory, Math.max(lastSegment, snapshot) + 1, syncWrites,
+                    snapshotAfterBytes, this::requestSnapshot);
+
+            log.deleteSegmentsBefore(snapshot);
+            Snapshots.deleteBefore(directory, snapshot);
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Failed to recover the records in " + directory, e);
+        }
+
+        LOG.info("Recovered {} records from {}",
+                unclaimed.values().stream().mapToInt(Map::size).sum(), directory);
+    }
+
+    private void recover(final JournalEntry entry) {
+        Map<Long, byte[]> records = unclaimed.computeIfAbsent(entry.store(), ignored -> new HashMap<>());
+
+        switch (entry.operation()) {
+            case PUT -> records.put(entry.id(), entry.payload());
+            case REMOVE -> records.remove(entry.id());
+        }
+    }
+
+    <T extends AbstractDO> MemoryStore<T> store(final String name, final Class<T> type) {
+        return store(name, type, null);
+    }
+
+    /**
+     * Opens the store with the given name. Each store can only be opened
+     * once.
+     *
+     * @param expiry When a record expires, or null if it doesn't.
+     */
+    synchronized <T extends AbstractDO> MemoryStore<T> store(final String name, final Class<T> type,
+                                                             final Function<T, Instant> expiry) {
+        if (log == null) {
+            return new MemoryStore<>(expiry);
+        }
+
+        if (journals.containsKey(name)) {
+            throw new IllegalStateException("Store " + name + " is already open");
+        }
+
+        Map<Long, byte[]> recovered = unclaimed.remove(name);
+        StoreJournal<T> journal = new StoreJournal<>(name, type, mapper, log,
+                recovered == null ? new HashMap<>() : recovered);
+
+        journals.put(name, journal);
+
+        return new MemoryStore<>(expiry, journal);
+    }
+
+    private void requestSnapshot() {
+        if (!snapshotRequested.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            snapshots.execute(() -> {
+                try {
+                    snapshot();
+                } catch (final IOException | RuntimeException e) {
+                    LOG.error("Failed to take a snapshot of {}", directory, e);
+                } finally {
+                    snapshotRequested.set(false);
+                }
+            });
+        } catch (final RejectedExecutionException e) {
+            // closing, the log will be replayed from the last snapshot
+            snapshotRequested.set(false);
+        }
+    }
+
+    /**
+     * Takes a snapshot right away, and waits for it.
+     */
+    void checkpoint() {
+        try {
+            snapshots.submit(() -> {
+                snapshot();
+
+                return null;
+            }).get();
+        } catch (final ExecutionException e) {
+            throw new IllegalStateException("Failed to take a snapshot of " + directory, e.getCause());
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * The log is rolled over before the stores are read, so every change
+     * which isn't part of the snapshot ends up in the log after it. Some
+     * changes which are part of it may end up there as well, but since
+     * they're replayed in order, they're overwritten by the later ones.
+     */
+    private void snapshot() throws IOException {
+        long segment = log.roll();
+        List<JournalEntry> entries = new ArrayList<>();
+
+        synchronized (this) {
+            unclaimed.forEach((name, records) -> records.forEach((id, payload) ->
+                    entries.add(JournalEntry.put(name, id, payload))));
+            journals.values().forEach(journal -> journal.snapshot(entries::add));
+        }
+
+        Snapshots.write(directory, segment, entries);
+        log.deleteSegmentsBefore(segment);
+        Snapshots.deleteBefore(directory, segment);
+
+        LOG.info("Took a snapshot of {} records in {}", entries.size(), directory);
+    }
+
+    /**
+     * Waits for the writes which were already made to be logged, and
+     * stops logging any more.
+     */
+    @Override
+    public void close() throws IOException {
+        if (log == null) {
+            return;
+        }
+
+        snapshots.shutdown();
+
+        try {
+            snapshots.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        log.close();
+    }
+}
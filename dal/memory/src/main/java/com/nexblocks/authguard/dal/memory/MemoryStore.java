@@ -0,0 +1,350 @@
+package com.nexblocks.authguard.dal.memory;
+
+import com.nexblocks.authguard.dal.model.AbstractDO;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * The records of one repository, by ID, and the secondary indexes which
+ * the repository queries them by.
+ * <p>
+ * Reads don't take any locks. Writes are serialized, and update the
+ * records and every index together, so an index may briefly point to a
+ * record which was changed or removed right after; the indexes check the
+ * records they find against their keys before returning them.
+ * <p>
+ * Like the queries of the other data access layers, reads skip records
+ * which are marked as deleted. Stores of records which expire skip
+ * expired records as well, and remove them once in a while during
+ * writes.
+ * <p>
+ * A store can be given a {@link StoreJournal}, in which case every write
+ * completes once it's logged, and the records which were recovered from
+ * the log are loaded the first time the store is used. Expired records
+ * which are removed by a sweep aren't logged, since they're skipped when
+ * they're recovered anyway.
+ */
+final class MemoryStore<T extends AbstractDO> {
+    private static final Duration SWEEP_INTERVAL = Duration.ofMinutes(1);
+
+    private final Map<Long, T> records = new ConcurrentHashMap<>();
+    private final List<StoreIndex<T>> indexes = new ArrayList<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Function<T, Instant> expiry;
+    private final StoreJournal<T> journal;
+
+    private volatile boolean recovered;
+    private Instant nextSweep = Instant.now().plus(SWEEP_INTERVAL);
+
+    MemoryStore() {
+        this(null);
+    }
+
+    /**
+     * @param expiry When a record expires, or null if it doesn't.
+     */
+    MemoryStore(final Function<T, Instant> expiry) {
+        this(expiry, null);
+    }
+
+    /**
+     * @param journal Where the writes are logged, or null if the records
+     *                are only kept in memory.
+     */
+    MemoryStore(final Function<T, Instant> expiry, final StoreJournal<T> journal) {
+        this.expiry = expiry;
+        this.journal = journal;
+        this.recovered = journal == null;
+
+        if (journal != null) {
+            journal.attach(this);
+        }
+    }
+
+    /**
+     * An index by a single key of each record. See
+     * {@link MemoryIndex#key(Object...)} for indexing by more than one
+     * property.
+     */
+    MemoryIndex<T> index(final Function<T, ?> key) {
+        return addIndex(new MemoryIndex<>(this, record -> {
+            Object recordKey = key.apply(record);
+
+            return recordKey == null ? List.of() : List.of(recordKey);
+        }));
+    }
+
+    /**
+     * An index by any number of keys of each record, such as the roles of
+     * an account.
+     */
+    MemoryIndex<T> multiIndex(final Function<T, Collection<?>> keys) {
+        return addIndex(new MemoryIndex<>(this, keys));
+    }
+
+    /**
+     * An index by a single key of each record, ordered by the time the
+     * records were created.
+     */
+    MemoryTimeline<T> timeline(final Function<T, ?> key) {
+        return addIndex(new MemoryTimeline<>(this, key));
+    }
+
+    private synchronized <I extends StoreIndex<T>> I addIndex(final I index) {
+        if (!records.isEmpty()) {
+            throw new IllegalStateException("Indexes must be added before any records are");
+        }
+
+        indexes.add(index);
+
+        return index;
+    }
+
+    /**
+     * Loads the records which were recovered for the store, unless they
+     * were already. Indexes call this before they look anything up.
+     */
+    void recoverIfPending() {
+        if (!recovered) {
+            recover();
+        }
+    }
+
+    private synchronized void recover() {
+        if (recovered) {
+            return;
+        }
+
+        Instant now = Instant.now();
+
+        for (T record : journal.recover()) {
+            sequence.accumulateAndGet(record.getId(), Math::max);
+
+            if (!isExpired(record, now)) {
+                putUnswept(record);
+            }
+        }
+
+        recovered = true;
+    }
+
+    Optional<T> get(final long id) {
+        recoverIfPending();
+
+        return Optional.ofNullable(getLive(id, Instant.now()));
+    }
+
+    /**
+     * @return The record, or null if there's no such record or if it's
+     * deleted or expired.
+     */
+    T getLive(final long id, final Instant now) {
+        T record = records.get(id);
+
+        return record != null && isLive(record, now) ? record : null;
+    }
+
+    /**
+     * Every record which isn't deleted or expired, in no particular
+     * order. This goes through all the records, so it's only meant for
+     * stores which stay small.
+     */
+    List<T> all() {
+        recoverIfPending();
+
+        Instant now = Instant.now();
+
+        return records.values().stream()
+                .filter(record -> isLive(record, now))
+                .toList();
+    }
+
+    /**
+     * Every record, including the ones which are deleted or expired. Must
+     * be called while holding the lock of the store.
+     */
+    Collection<T> records() {
+        return records.values();
+    }
+
+    private boolean isLive(final T record, final Instant now) {
+        return !record.isDeleted() && !isExpired(record, now);
+    }
+
+    private boolean isExpired(final T record, final Instant now) {
+        if (expiry == null) {
+            return false;
+        }
+
+        Instant expiresAt = expiry.apply(record);
+
+        return expiresAt != null && !expiresAt.isAfter(now);
+    }
+
+    /**
+     * Inserts the record, or replaces the one with the same ID. Records
+     * without an ID are given one.
+     */
+    CompletableFuture<T> put(final T record) {
+        recoverIfPending();
+
+        CompletableFuture<Void> committed;
+
+        synchronized (this) {
+            sweepIfDue();
+            putUnswept(record);
+            committed = logPut(record);
+        }
+
+        return afterCommit(committed, record);
+    }
+
+    CompletableFuture<List<T>> putAll(final Collection<T> records) {
+        recoverIfPending();
+
+        List<T> put = new ArrayList<>(records.size());
+        List<CompletableFuture<Void>> committed = new ArrayList<>(records.size());
+
+        synchronized (this) {
+            sweepIfDue();
+
+            for (T record : records) {
+                put.add(putUnswept(record));
+                committed.add(logPut(record));
+            }
+        }
+
+        return afterCommit(allOf(committed), put);
+    }
+
+    /**
+     * Replaces the record with the same ID, only if there's one.
+     */
+    CompletableFuture<Optional<T>> replace(final T record) {
+        recoverIfPending();
+
+        CompletableFuture<Void> committed;
+
+        synchronized (this) {
+            if (getLive(record.getId(), Instant.now()) == null) {
+                return CompletableFuture.completedFuture(Optional.empty());
+            }
+
+            putUnswept(record);
+            committed = logPut(record);
+        }
+
+        return afterCommit(committed, Optional.of(record));
+    }
+
+    CompletableFuture<Optional<T>> remove(final long id) {
+        recoverIfPending();
+
+        T removed;
+        CompletableFuture<Void> committed = null;
+
+        synchronized (this) {
+            removed = removeUnswept(id);
+
+            if (removed != null) {
+                committed = logRemove(id);
+            }
+        }
+
+        Optional<T> result = removed != null && isLive(removed, Instant.now())
+                ? Optional.of(removed)
+                : Optional.empty();
+
+        return afterCommit(committed, result);
+    }
+
+    int size() {
+        recoverIfPending();
+
+        return records.size();
+    }
+
+    private CompletableFuture<Void> logPut(final T record) {
+        return journal == null ? null : journal.put(record);
+    }
+
+    private CompletableFuture<Void> logRemove(final long id) {
+        return journal == null ? null : journal.remove(id);
+    }
+
+    /**
+     * Completes with the result once the change is committed. A change
+     * which couldn't be committed is still visible in memory, but will be
+     * lost once the process restarts.
+     * <p>
+     * The result is completed on the log's own thread, once the batch the
+     * change was in is written, rather than hopping to a shared pool.
+     */
+    private static <R> CompletableFuture<R> afterCommit(final CompletableFuture<Void> committed, final R result) {
+        return committed == null
+                ? CompletableFuture.completedFuture(result)
+                : committed.thenApply(ignored -> result);
+    }
+
+    private static CompletableFuture<Void> allOf(final List<CompletableFuture<Void>> committed) {
+        List<CompletableFuture<Void>> logged = committed.stream()
+                .filter(Objects::nonNull)
+                .toList();
+
+        return logged.isEmpty() ? null : CompletableFuture.allOf(logged.toArray(CompletableFuture[]::new));
+    }
+
+    private T putUnswept(final T record) {
+        if (record.getId() == 0) {
+            record.setId(sequence.incrementAndGet());
+        }
+
+        // replaced in place, so that readers which don't lock never miss a record while it's updated
+        records.put(record.getId(), record);
+
+        for (StoreIndex<T> index : indexes) {
+            index.put(record);
+        }
+
+        return record;
+    }
+
+    private T removeUnswept(final long id) {
+        T removed = records.remove(id);
+
+        if (removed != null) {
+            for (StoreIndex<T> index : indexes) {
+                index.remove(id);
+            }
+        }
+
+        return removed;
+    }
+
+    private void sweepIfDue() {
+        Instant now = Instant.now();
+
+        if (expiry == null || now.isBefore(nextSweep)) {
+            return;
+        }
+
+        records.values().stream()
+                .filter(record -> !isLive(record, now))
+                .map(AbstractDO::getId)
+                .toList()
+                .forEach(this::removeUnswept);
+
+        nextSweep = now.plus(SWEEP_INTERVAL);
+    }
+}
@@ -0,0 +1,153 @@
+package com.nexblocks.authguard.dal.memory;
+
+import com.nexblocks.authguard.dal.model.AbstractDO;
+import com.nexblocks.authguard.dal.persistence.Page;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Function;
+
+/**
+ * Maps keys to the records which have them, ordered by the time they
+ * were created, for the queries which page through records by time
+ * instead of by ID. Records without a creation time are ordered as if
+ * they were created at the epoch.
+ */
+final class MemoryTimeline<T extends AbstractDO> implements StoreIndex<T> {
+    private static final Comparator<Position> ORDER = Comparator.comparing(Position::createdAt)
+            .thenComparingLong(Position::id);
+
+    private final MemoryStore<T> store;
+    private final Function<T, ?> key;
+    private final Map<Object, NavigableSet<Position>> positions = new ConcurrentHashMap<>();
+    // only accessed by writes, see StoreIndex
+    private final Map<Long, Indexed> indexed = new HashMap<>();
+
+    MemoryTimeline(final MemoryStore<T> store, final Function<T, ?> key) {
+        this.store = store;
+        this.key = key;
+    }
+
+    private record Position(Instant createdAt, long id) {
+    }
+
+    private record Indexed(Object key, Position position) {
+    }
+
+    @Override
+    public void put(final T record) {
+        Object recordKey = key.apply(record);
+        Indexed current = null;
+
+        if (recordKey != null && !(recordKey instanceof List<?> parts && parts.contains(null))) {
+            Position position = new Position(createdAt(record), record.getId());
+
+            positions.computeIfAbsent(recordKey, ignored -> new ConcurrentSkipListSet<>(ORDER)).add(position);
+            current = new Indexed(recordKey, position);
+        }
+
+        Indexed previous = current == null
+                ? indexed.remove(record.getId())
+                : indexed.put(record.getId(), current);
+
+        if (previous != null && !previous.equals(current)) {
+            removePosition(previous);
+        }
+    }
+
+    @Override
+    public void remove(final long id) {
+        Indexed removed = indexed.remove(id);
+
+        if (removed != null) {
+            removePosition(removed);
+        }
+    }
+
+    private void removePosition(final Indexed removed) {
+        NavigableSet<Position> keyPositions = positions.get(removed.key());
+
+        if (keyPositions != null) {
+            keyPositions.remove(removed.position());
+
+            if (keyPositions.isEmpty()) {
+                positions.remove(removed.key());
+            }
+        }
+    }
+
+    private NavigableSet<Position> positionsOf(final Object key) {
+        store.recoverIfPending();
+
+        return key == null ? null : positions.get(key);
+    }
+
+    /**
+     * The records created before the cursor of the page, newest first.
+     */
+    List<T> before(final Object key, final Page<Instant> page) {
+        NavigableSet<Position> keyPositions = positionsOf(key);
+
+        if (keyPositions == null) {
+            return new ArrayList<>();
+        }
+
+        return collect(key, keyPositions.headSet(new Position(page.getCursor(), Long.MIN_VALUE), false)
+                .descendingSet(), page.getCount());
+    }
+
+    /**
+     * The records created after a time, oldest first.
+     */
+    List<T> after(final Object key, final Instant from) {
+        NavigableSet<Position> keyPositions = positionsOf(key);
+
+        if (keyPositions == null) {
+            return new ArrayList<>();
+        }
+
+        return collect(key, keyPositions.tailSet(new Position(from, Long.MAX_VALUE), false),
+                Integer.MAX_VALUE);
+    }
+
+    List<T> newestFirst(final Object key) {
+        NavigableSet<Position> keyPositions = positionsOf(key);
+
+        if (keyPositions == null) {
+            return new ArrayList<>();
+        }
+
+        return collect(key, keyPositions.descendingSet(), Integer.MAX_VALUE);
+    }
+
+    private List<T> collect(final Object key, final NavigableSet<Position> keyPositions, final int limit) {
+        Instant now = Instant.now();
+        List<T> found = new ArrayList<>();
+
+        for (Position position : keyPositions) {
+            if (found.size() >= limit) {
+                break;
+            }
+
+            T record = store.getLive(position.id(), now);
+
+            if (record != null && Objects.equals(this.key.apply(record), key)) {
+                found.add(record);
+            }
+        }
+
+        return found;
+    }
+
+    private static Instant createdAt(final AbstractDO record) {
+        return record.getCreatedAt() == null ? Instant.EPOCH : record.getCreatedAt();
+    }
+}
@@ -0,0 +1,42 @@
+package com.nexblocks.authguard.dal.memory;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.nexblocks.authguard.dal.model.TotpKeyDO;
+import com.nexblocks.authguard.dal.persistence.TotpKeysRepository;
+import io.smallrye.mutiny.Uni;
+
+import java.util.List;
+import java.util.Optional;
+
+import static com.nexblocks.authguard.dal.memory.MemoryIndex.key;
+
+@Singleton
+public class MemoryTotpKeysRepository extends MemoryRepository<TotpKeyDO> implements TotpKeysRepository {
+    private final MemoryTimeline<TotpKeyDO> byAccount = store.timeline(totpKey ->
+            key(totpKey.getDomain(), totpKey.getAccountId()));
+
+    public MemoryTotpKeysRepository() {
+        this(new MemoryStorage());
+    }
+
+    @Inject
+    public MemoryTotpKeysRepository(final MemoryStorage storage) {
+        super(storage.store("totp_keys", TotpKeyDO.class));
+    }
+
+    @Override
+    public Uni<Optional<TotpKeyDO>> update(final TotpKeyDO entity) {
+        return replace(entity);
+    }
+
+    @Override
+    public Uni<Optional<TotpKeyDO>> delete(final long id) {
+        return remove(id);
+    }
+
+    @Override
+    public Uni<List<TotpKeyDO>> findByAccountId(final String domain, final long accountId) {
+        return Uni.createFrom().item(() -> byAccount.newestFirst(key(domain, accountId)));
+    }
+}
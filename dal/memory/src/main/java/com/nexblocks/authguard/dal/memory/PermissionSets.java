@@ -0,0 +1,47 @@
+package com.nexblocks.authguard.dal.memory;
+
+import com.nexblocks.authguard.dal.model.PermissionDO;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Grants and revokes the permissions of accounts and apps. Permissions
+ * are matched by their group and name, since the ones which are revoked
+ * are mapped from the service models and may not have the same IDs and
+ * timestamps as the stored ones.
+ */
+final class PermissionSets {
+    private PermissionSets() {
+    }
+
+    static Set<PermissionDO> granted(final Collection<PermissionDO> existing,
+                                     final List<PermissionDO> permissions) {
+        Set<PermissionDO> granted = existing == null ? new HashSet<>() : new HashSet<>(existing);
+
+        for (PermissionDO permission : permissions) {
+            if (granted.stream().noneMatch(other -> same(other, permission))) {
+                granted.add(permission);
+            }
+        }
+
+        return granted;
+    }
+
+    static Set<PermissionDO> revoked(final Collection<PermissionDO> existing,
+                                     final List<PermissionDO> permissions) {
+        Set<PermissionDO> remaining = existing == null ? new HashSet<>() : new HashSet<>(existing);
+
+        remaining.removeIf(permission -> permissions.stream().anyMatch(other -> same(other, permission)));
+
+        return remaining;
+    }
+
+    private static boolean same(final PermissionDO first, final PermissionDO second) {
+        return Objects.equals(first.getPermissionGroup(), second.getPermissionGroup())
+                && Objects.equals(first.getName(), second.getName());
+    }
+}
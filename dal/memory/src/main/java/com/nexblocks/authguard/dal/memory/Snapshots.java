@@ -0,0 +1,138 @@
+package com.nexblocks.authguard.dal.memory;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Snapshots of the records of every store. A snapshot is numbered after
+ * the first segment of the write-ahead log which isn't part of it, so
+ * recovering reads the latest snapshot, then replays the log starting
+ * from that segment.
+ * <p>
+ * Snapshots are written to a temporary file which is memory mapped,
+ * synced, and only then renamed, so a snapshot which exists is always
+ * complete. Since a snapshot is mapped as a single buffer, it can't be
+ * larger than 2GB.
+ */
+final class Snapshots {
+    private static final String PREFIX = "snapshot-";
+    private static final String SUFFIX = ".dat";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+    private static final int MAGIC = 0x41475344;
+
+    private Snapshots() {
+    }
+
+    static Path path(final Path directory, final long segment) {
+        return directory.resolve(String.format("%s%016d%s", PREFIX, segment, SUFFIX));
+    }
+
+    static OptionalLong latest(final Path directory) throws IOException {
+        return numbers(directory).stream()
+                .mapToLong(Long::longValue)
+                .max();
+    }
+
+    private static List<Long> numbers(final Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.startsWith(PREFIX) && name.endsWith(SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length())))
+                    .toList();
+        }
+    }
+
+    static void write(final Path directory, final long segment, final List<JournalEntry> entries)
+            throws IOException {
+        Path target = path(directory, segment);
+        Path temporary = target.resolveSibling(target.getFileName() + TEMPORARY_SUFFIX);
+        List<byte[]> frames = entries.stream().map(JournalEntry::frame).toList();
+        long size = Integer.BYTES + Long.BYTES + frames.stream().mapToLong(frame -> frame.length).sum();
+
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("A snapshot of " + size + " bytes is too large to be mapped");
+        }
+
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+
+            buffer.putInt(MAGIC);
+            buffer.putLong(frames.size());
+            frames.forEach(buffer::put);
+            buffer.force();
+        }
+
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+        syncDirectory(directory);
+    }
+
+    static void read(final Path directory, final long segment, final Consumer<JournalEntry> consumer)
+            throws IOException {
+        Path path = path(directory, segment);
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            if (buffer.remaining() < Integer.BYTES + Long.BYTES || buffer.getInt() != MAGIC) {
+                throw new IOException(path + " is not a snapshot");
+            }
+
+            long count = buffer.getLong();
+
+            for (long i = 0; i < count; i++) {
+                JournalEntry entry = JournalEntry.read(buffer);
+
+                if (entry == null) {
+                    throw new IOException("Snapshot " + path + " is corrupted at position " + buffer.position());
+                }
+
+                consumer.accept(entry);
+            }
+        }
+    }
+
+    /**
+     * Deletes the snapshots which are older than the given one, and any
+     * which were left partially written.
+     */
+    static void deleteBefore(final Path directory, final long segment) throws IOException {
+        for (long number : numbers(directory)) {
+            if (number < segment) {
+                Files.deleteIfExists(path(directory, number));
+            }
+        }
+
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                String name = file.getFileName().toString();
+
+                if (name.startsWith(PREFIX) && name.endsWith(SUFFIX + TEMPORARY_SUFFIX)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    /**
+     * Makes files which were created or renamed in the directory durable.
+     * Not every platform allows opening a directory, in which case that's
+     * left to the file system.
+     */
+    static void syncDirectory(final Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (final IOException e) {
+            // not supported on this platform
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.nexblocks.authguard.dal.memory;
+
+/**
+ * A secondary index of a {@link MemoryStore}. Indexes are only changed
+ * by the store, while it holds its write lock, so implementations don't
+ * need to synchronize their writes, only to keep their reads safe while
+ * a write is happening.
+ */
+interface StoreIndex<T> {
+    /**
+     * Indexes a record, or updates the keys of one which is already
+     * indexed. The keys it has now are added before the ones which it no
+     * longer has are removed, so it can always be found by the keys
+     * which it had before and after the update.
+     */
+    void put(T record);
+
+    void remove(long id);
+}
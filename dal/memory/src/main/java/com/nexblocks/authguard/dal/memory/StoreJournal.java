@@ -0,0 +1,98 @@
+package com.nexblocks.authguard.dal.memory;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nexblocks.authguard.dal.model.AbstractDO;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Connects a {@link MemoryStore} to the write-ahead log. The store
+ * appends its changes while it holds its write lock, so the changes of
+ * a store are logged in the same order they're made, and completes its
+ * writes once they're committed, after it releases it.
+ * <p>
+ * The records which were recovered for the store are kept as they were
+ * read until the store is first used, since that's when all of its
+ * indexes have been added.
+ */
+final class StoreJournal<T extends AbstractDO> {
+    private final String name;
+    private final Class<T> type;
+    private final ObjectMapper mapper;
+    private final WriteAheadLog log;
+
+    private MemoryStore<T> store;
+    // guarded by the lock of the store, null once they're loaded
+    private Map<Long, byte[]> recovered;
+
+    StoreJournal(final String name, final Class<T> type, final ObjectMapper mapper,
+                 final WriteAheadLog log, final Map<Long, byte[]> recovered) {
+        this.name = name;
+        this.type = type;
+        this.mapper = mapper;
+        this.log = log;
+        this.recovered = recovered;
+    }
+
+    void attach(final MemoryStore<T> store) {
+        this.store = store;
+    }
+
+    /**
+     * Takes the recovered records. Must be called while holding the lock
+     * of the store.
+     */
+    List<T> recover() {
+        List<T> records = new ArrayList<>(recovered.size());
+
+        for (byte[] payload : recovered.values()) {
+            try {
+                records.add(mapper.readValue(payload, type));
+            } catch (final IOException e) {
+                throw new UncheckedIOException("Failed to read a record of " + name, e);
+            }
+        }
+
+        recovered = null;
+
+        return records;
+    }
+
+    CompletableFuture<Void> put(final T record) {
+        return log.append(JournalEntry.put(name, record.getId(), serialize(record)));
+    }
+
+    CompletableFuture<Void> remove(final long id) {
+        return log.append(JournalEntry.remove(name, id));
+    }
+
+    /**
+     * Adds an entry for each record of the store, as they are at a single
+     * point in time.
+     */
+    void snapshot(final Consumer<JournalEntry> entries) {
+        synchronized (store) {
+            if (recovered != null) {
+                recovered.forEach((id, payload) -> entries.accept(JournalEntry.put(name, id, payload)));
+            } else {
+                store.records().forEach(record ->
+                        entries.accept(JournalEntry.put(name, record.getId(), serialize(record))));
+            }
+        }
+    }
+
+    private byte[] serialize(final T record) {
+        try {
+            return mapper.writeValueAsBytes(record);
+        } catch (final JsonProcessingException e) {
+            throw new UncheckedIOException("Failed to write a record of " + name, e);
+        }
+    }
+}
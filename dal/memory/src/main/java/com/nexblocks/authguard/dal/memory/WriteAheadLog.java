@@ -0,0 +1,323 @@
+package com.nexblocks.authguard.dal.memory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * An append-only log of the changes to the stores, split into numbered
+ * segments. Changes are written by a single thread, which takes every
+ * change that's waiting, writes them together, and syncs them to the disk
+ * once for all of them (group commit), so the cost of a sync is shared
+ * by all the writes which happened while the previous one was running.
+ * <p>
+ * A segment is only appended to until it's rolled over, and it's synced
+ * before it is, so a change can only be partially written at the end of
+ * the last segment.
+ */
+final class WriteAheadLog implements AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(WriteAheadLog.class);
+
+    private static final String SEGMENT_PREFIX = "wal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int MAX_BATCH_SIZE = 4096;
+    private static final long POLL_INTERVAL_MILLIS = 100;
+
+    private final Path directory;
+    private final boolean syncWrites;
+    private final long segmentSize;
+    private final Runnable onSegmentFull;
+    private final BlockingQueue<Append> pending = new LinkedBlockingQueue<>();
+    private final Object segmentLock = new Object();
+    private final Thread flusher;
+
+    // guarded by segmentLock
+    private FileChannel segment;
+    private long segmentNumber;
+
+    private volatile boolean closed;
+    private volatile IOException failure;
+
+    private record Append(byte[] frame, CompletableFuture<Void> committed) {
+    }
+
+    /**
+     * @param firstSegment The number of the segment to start writing to,
+     *                     which must not exist yet.
+     * @param syncWrites Whether changes are synced to the disk before
+     *                   they're committed. Otherwise, they're committed
+     *                   once they're written, and would survive the
+     *                   process crashing but not the machine.
+     * @param segmentSize The size after which {@code onSegmentFull} is
+     *                    called after every write, until the log is
+     *                    rolled over.
+     */
+    WriteAheadLog(final Path directory, final long firstSegment, final boolean syncWrites,
+                  final long segmentSize, final Runnable onSegmentFull) throws IOException {
+        this.directory = directory;
+        this.syncWrites = syncWrites;
+        this.segmentSize = segmentSize;
+        this.onSegmentFull = onSegmentFull;
+        this.segmentNumber = firstSegment;
+        this.segment = open(firstSegment);
+
+        this.flusher = new Thread(this::flush, "memory-dal-wal");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    private FileChannel open(final long number) throws IOException {
+        FileChannel channel = FileChannel.open(segmentPath(directory, number),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+
+        Snapshots.syncDirectory(directory);
+
+        return channel;
+    }
+
+    static Path segmentPath(final Path directory, final long number) {
+        return directory.resolve(String.format("%s%016d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX));
+    }
+
+    /**
+     * The numbers of the segments in the directory, in ascending order.
+     */
+    static List<Long> segments(final Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(SEGMENT_PREFIX.length(),
+                            name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    /**
+     * Reads the changes of every segment, starting with the given one. A
+     * change which was partially written at the end of the last segment
+     * is dropped, and the segment is truncated to the changes before it.
+     *
+     * @return The number of the last segment, or zero if there are none.
+     */
+    static long replay(final Path directory, final long fromSegment,
+                       final Consumer<JournalEntry> consumer) throws IOException {
+        List<Long> numbers = segments(directory).stream()
+                .filter(number -> number >= fromSegment)
+                .toList();
+
+        for (int i = 0; i < numbers.size(); i++) {
+            Path path = segmentPath(directory, numbers.get(i));
+            boolean last = i == numbers.size() - 1;
+
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(channel.size()));
+
+                while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                    // reading the whole segment
+                }
+
+                buffer.flip();
+
+                JournalEntry entry;
+
+                while ((entry = JournalEntry.read(buffer)) != null) {
+                    consumer.accept(entry);
+                }
+
+                if (buffer.hasRemaining()) {
+                    if (!last) {
+                        throw new IOException("Segment " + path + " is corrupted at position " + buffer.position());
+                    }
+
+                    LOG.warn("Dropping {} bytes which were partially written at the end of {}",
+                            buffer.remaining(), path);
+
+                    channel.truncate(buffer.position());
+                    channel.force(true);
+                }
+            }
+        }
+
+        return numbers.isEmpty() ? 0 : numbers.get(numbers.size() - 1);
+    }
+
+    /**
+     * Adds a change to the log.
+     *
+     * @return A future which completes once the change is committed, or
+     * fails if it couldn't be written. Once a write fails, every later
+     * one fails as well.
+     */
+    CompletableFuture<Void> append(final JournalEntry entry) {
+        CompletableFuture<Void> committed = new CompletableFuture<>();
+        IOException failed = failure;
+
+        if (failed != null) {
+            committed.completeExceptionally(new UncheckedIOException("The write-ahead log has failed", failed));
+
+            return committed;
+        }
+
+        byte[] frame = entry.frame();
+
+        synchronized (pending) {
+            if (closed) {
+                committed.completeExceptionally(new IllegalStateException("The write-ahead log is closed"));
+            } else {
+                pending.add(new Append(frame, committed));
+            }
+        }
+
+        return committed;
+    }
+
+    /**
+     * Starts a new segment. Changes which are appended from now on, and
+     * the ones which were appended but not yet written, are written to
+     * the new segment.
+     *
+     * @return The number of the new segment.
+     */
+    long roll() throws IOException {
+        synchronized (segmentLock) {
+            segment.force(false);
+            segment.close();
+
+            segmentNumber++;
+            segment = open(segmentNumber);
+
+            return segmentNumber;
+        }
+    }
+
+    void deleteSegmentsBefore(final long number) throws IOException {
+        for (long existing : segments(directory)) {
+            if (existing < number) {
+                Files.deleteIfExists(segmentPath(directory, existing));
+            }
+        }
+    }
+
+    private void flush() {
+        List<Append> batch = new ArrayList<>();
+
+        while (true) {
+            Append first;
+
+            try {
+                first = pending.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            if (first == null) {
+                if (closed) {
+                    return;
+                }
+
+                continue;
+            }
+
+            batch.add(first);
+            pending.drainTo(batch, MAX_BATCH_SIZE - 1);
+
+            if (write(batch)) {
+                onSegmentFull.run();
+            }
+
+            batch.clear();
+        }
+    }
+
+    /**
+     * @return Whether the segment is full.
+     */
+    private boolean write(final List<Append> batch) {
+        boolean full;
+
+        try {
+            if (failure != null) {
+                throw failure;
+            }
+
+            synchronized (segmentLock) {
+                ByteBuffer[] frames = new ByteBuffer[batch.size()];
+                long remaining = 0;
+
+                for (int i = 0; i < frames.length; i++) {
+                    frames[i] = ByteBuffer.wrap(batch.get(i).frame());
+                    remaining += frames[i].remaining();
+                }
+
+                while (remaining > 0) {
+                    remaining -= segment.write(frames);
+                }
+
+                if (syncWrites) {
+                    segment.force(false);
+                }
+
+                full = segment.position() >= segmentSize;
+            }
+        } catch (final IOException e) {
+            if (failure == null) {
+                LOG.error("Failed to write to the write-ahead log, no more writes will be accepted", e);
+                failure = e;
+            }
+
+            UncheckedIOException error = new UncheckedIOException("The write-ahead log has failed", e);
+            batch.forEach(append -> append.committed().completeExceptionally(error));
+
+            return false;
+        }
+
+        batch.forEach(append -> append.committed().complete(null));
+
+        return full;
+    }
+
+    /**
+     * Writes the changes which were appended, and closes the current
+     * segment.
+     */
+    @Override
+    public void close() throws IOException {
+        // appends check whether the log is closed while holding the same
+        // lock, so nothing is added once the flusher may have stopped
+        synchronized (pending) {
+            if (closed) {
+                return;
+            }
+
+            closed = true;
+        }
+
+        try {
+            flusher.join();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        synchronized (segmentLock) {
+            segment.force(false);
+            segment.close();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.nexblocks.authguard.dal.memory;
+
+import com.nexblocks.authguard.dal.model.AccountDO;
+import com.nexblocks.authguard.dal.model.EmailDO;
+import com.nexblocks.authguard.dal.model.PermissionDO;
+import com.nexblocks.authguard.dal.model.UserIdentifierDO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemoryAccountsRepositoryTest {
+    private MemoryAccountsRepository repository;
+
+    @BeforeEach
+    void setup() {
+        repository = new MemoryAccountsRepository();
+    }
+
+    private AccountDO account(final long id, final String username, final String email) {
+        return AccountDO.builder()
+                .id(id)
+                .domain("main")
+                .externalId("external-" + id)
+                .email(EmailDO.builder().email(email).build())
+                .roles(Set.of("test"))
+                .identifiers(Set.of(UserIdentifierDO.builder()
+                        .identifier(username)
+                        .type(UserIdentifierDO.Type.USERNAME)
+                        .domain("main")
+                        .active(true)
+                        .build()))
+                .build();
+    }
+
+    private PermissionDO permission(final String name) {
+        return PermissionDO.builder()
+                .permissionGroup("posts")
+                .name(name)
+                .domain("main")
+                .build();
+    }
+
+    private Optional<AccountDO> byIdentifier(final String identifier, final String domain) {
+        return repository.findByIdentifier(identifier, domain).await().indefinitely();
+    }
+
+    @Test
+    void lookups() {
+        AccountDO account = repository.save(account(1, "user", "user@emails.com")).await().indefinitely();
+
+        assertThat(repository.getById(1).await().indefinitely()).contains(account);
+        assertThat(byIdentifier("user", "main")).contains(account);
+        assertThat(byIdentifier("user", "other")).isEmpty();
+        assertThat(repository.getByEmail("user@emails.com", "main").await().indefinitely()).contains(account);
+        assertThat(repository.getByExternalId("external-1").await().indefinitely()).contains(account);
+        assertThat(repository.getByRole("test", "main").await().indefinitely()).containsExactly(account);
+    }
+
+    @Test
+    void updateReindexes() {
+        repository.save(account(1, "user", "user@emails.com")).await().indefinitely();
+
+        Optional<AccountDO> updated = repository.update(account(1, "renamed", "renamed@emails.com"))
+                .await().indefinitely();
+
+        assertThat(updated).isPresent();
+        assertThat(byIdentifier("user", "main")).isEmpty();
+        assertThat(byIdentifier("renamed", "main")).isPresent();
+        assertThat(repository.getByEmail("user@emails.com", "main").await().indefinitely()).isEmpty();
+
+        assertThat(repository.update(account(2, "other", "other@emails.com")).await().indefinitely()).isEmpty();
+    }
+
+    @Test
+    void delete() {
+        repository.save(account(1, "user", "user@emails.com")).await().indefinitely();
+
+        assertThat(repository.delete(1).await().indefinitely()).isPresent();
+        assertThat(repository.getById(1).await().indefinitely()).isEmpty();
+        assertThat(byIdentifier("user", "main")).isEmpty();
+    }
+
+    @Test
+    void grantAndRevokePermissions() {
+        AccountDO account = repository.save(account(1, "user", "user@emails.com")).await().indefinitely();
+
+        repository.addAccountPermissions(account, List.of(permission("read"), permission("write")))
+                .await().indefinitely();
+        repository.addAccountPermissions(account, List.of(permission("read")))
+                .await().indefinitely();
+
+        assertThat(repository.getById(1).await().indefinitely().get().getPermissions())
+                .extracting(PermissionDO::getName)
+                .containsExactlyInAnyOrder("read", "write");
+
+        AccountDO revoked = repository.removeAccountPermissions(account, List.of(permission("write")))
+                .await().indefinitely();
+
+        assertThat(revoked.getPermissions()).extracting(PermissionDO::getName).containsExactly("read");
+    }
+
+    @Test
+    void replaceIdentifier() {
+        AccountDO account = repository.save(account(1, "user", "user@emails.com")).await().indefinitely();
+
+        repository.replaceIdentifierInPlace(account, "user", UserIdentifierDO.builder()
+                        .identifier("new-user")
+                        .type(UserIdentifierDO.Type.USERNAME)
+                        .domain("main")
+                        .active(true)
+                        .build())
+                .await().indefinitely();
+
+        assertThat(byIdentifier("user", "main")).isEmpty();
+        assertThat(byIdentifier("new-user", "main")).map(AccountDO::getId).contains(1L);
+    }
+
+    @Test
+    void bulkOperations() {
+        List<AccountDO> saved = repository.saveAll(List.of(
+                        account(1, "first", "first@emails.com"),
+                        account(2, "second", "second@emails.com")))
+                .await().indefinitely();
+
+        assertThat(saved).hasSize(2);
+        assertThat(repository.getByIds(List.of(1L, 2L, 3L, 1L)).await().indefinitely())
+                .extracting(AccountDO::getId)
+                .containsExactlyInAnyOrder(1L, 2L);
+
+        AccountDO updated = account(2, "renamed", "second@emails.com");
+
+        assertThat(repository.updateAll(List.of(updated, account(3, "missing", "missing@emails.com")))
+                .await().indefinitely())
+                .containsExactly(updated);
+        assertThat(byIdentifier("renamed", "main")).contains(updated);
+        assertThat(repository.getById(3).await().indefinitely()).isEmpty();
+    }
+
+    @Test
+    void nothingIsWrittenWithoutSubscribing() {
+        repository.save(account(1, "user", "user@emails.com"));
+
+        assertThat(repository.getById(1).await().indefinitely()).isEmpty();
+    }
+}
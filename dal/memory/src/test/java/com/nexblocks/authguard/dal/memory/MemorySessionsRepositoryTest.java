@@ -0,0 +1,46 @@
+package com.nexblocks.authguard.dal.memory;
+
+import com.nexblocks.authguard.dal.model.SessionDO;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemorySessionsRepositoryTest {
+    private final MemorySessionsRepository repository = new MemorySessionsRepository();
+
+    private SessionDO session(final long id, final String token, final Instant expiresAt) {
+        return SessionDO.builder()
+                .id(id)
+                .sessionToken(token)
+                .accountId(101)
+                .domain("main")
+                .expiresAt(expiresAt)
+                .build();
+    }
+
+    @Test
+    void expiredSessionsAreGone() {
+        repository.save(session(1, "active", Instant.now().plus(1, ChronoUnit.HOURS))).await().indefinitely();
+        repository.save(session(2, "expired", Instant.now().minus(1, ChronoUnit.SECONDS))).await().indefinitely();
+
+        assertThat(repository.getByToken("active").await().indefinitely()).isPresent();
+        assertThat(repository.getByToken("expired").await().indefinitely()).isEmpty();
+        assertThat(repository.getById(2).await().indefinitely()).isEmpty();
+        assertThat(repository.findByAccountId(101, "main").await().indefinitely())
+                .extracting(SessionDO::getSessionToken)
+                .containsExactly("active");
+    }
+
+    @Test
+    void deleteByToken() {
+        repository.save(session(1, "active", Instant.now().plus(1, ChronoUnit.HOURS))).await().indefinitely();
+
+        assertThat(repository.deleteByToken("active").await().indefinitely())
+                .map(SessionDO::getId).contains(1L);
+        assertThat(repository.getByToken("active").await().indefinitely()).isEmpty();
+        assertThat(repository.deleteByToken("active").await().indefinitely()).isEmpty();
+    }
+}
@@ -0,0 +1,276 @@
+package com.nexblocks.authguard.dal.memory;
+
+import com.nexblocks.authguard.dal.model.AccountDO;
+import com.nexblocks.authguard.dal.model.EmailDO;
+import com.nexblocks.authguard.dal.model.RoleDO;
+import com.nexblocks.authguard.dal.model.SessionDO;
+import com.nexblocks.authguard.dal.model.UserIdentifierDO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemoryStorageTest {
+    @TempDir
+    Path directory;
+
+    private final List<MemoryStorage> opened = new ArrayList<>();
+
+    @AfterEach
+    void closeAll() throws IOException {
+        for (MemoryStorage storage : opened) {
+            storage.close();
+        }
+    }
+
+    private MemoryStorage open() {
+        return open(1024 * 1024);
+    }
+
+    private MemoryStorage open(final long snapshotAfterBytes) {
+        MemoryStorage storage = new MemoryStorage(directory, true, snapshotAfterBytes);
+
+        opened.add(storage);
+
+        return storage;
+    }
+
+    private AccountDO account(final long id, final String username) {
+        return AccountDO.builder()
+                .id(id)
+                .domain("main")
+                .createdAt(Instant.parse("2025-01-01T00:00:00Z"))
+                .email(EmailDO.builder().email(username + "@emails.com").verified(true).build())
+                .roles(Set.of("test"))
+                .identifiers(Set.of(UserIdentifierDO.builder()
+                        .identifier(username)
+                        .type(UserIdentifierDO.Type.USERNAME)
+                        .domain("main")
+                        .active(true)
+                        .build()))
+                .build();
+    }
+
+    private Optional<AccountDO> byIdentifier(final MemoryAccountsRepository repository, final String identifier) {
+        return repository.findByIdentifier(identifier, "main").await().indefinitely();
+    }
+
+    private List<Path> files(final String prefix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith(prefix))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private Path lastSegment() throws IOException {
+        List<Path> segments = files("wal-");
+
+        return segments.get(segments.size() - 1);
+    }
+
+    @Test
+    void writesSurviveRestarts() throws IOException {
+        MemoryStorage storage = open();
+        MemoryAccountsRepository accounts = new MemoryAccountsRepository(storage);
+
+        accounts.save(account(1, "first")).await().indefinitely();
+        accounts.save(account(2, "second")).await().indefinitely();
+        accounts.update(account(1, "renamed")).await().indefinitely();
+        accounts.delete(2).await().indefinitely();
+        storage.close();
+
+        MemoryAccountsRepository recovered = new MemoryAccountsRepository(open());
+
+        assertThat(byIdentifier(recovered, "renamed")).contains(account(1, "renamed"));
+        assertThat(byIdentifier(recovered, "first")).isEmpty();
+        assertThat(byIdentifier(recovered, "second")).isEmpty();
+        assertThat(recovered.getByEmail("renamed@emails.com", "main").await().indefinitely()).isPresent();
+        assertThat(recovered.getByRole("test", "main").await().indefinitely())
+                .extracting(AccountDO::getId)
+                .containsExactly(1L);
+        assertThat(recovered.save(account(0, "third")).await().indefinitely().getId())
+                .isGreaterThan(1);
+    }
+
+    @Test
+    void acknowledgedWritesSurviveWithoutClosing() {
+        MemoryAccountsRepository accounts = new MemoryAccountsRepository(open());
+
+        accounts.save(account(1, "first")).await().indefinitely();
+
+        // the first storage is never closed, as if the process had died
+        MemoryAccountsRepository recovered = new MemoryAccountsRepository(open());
+
+        assertThat(byIdentifier(recovered, "first")).isPresent();
+    }
+
+    @Test
+    void writesCompleteOnTheLogThread() {
+        MemoryAccountsRepository accounts = new MemoryAccountsRepository(open());
+
+        String thread = accounts.save(account(1, "first"))
+                .map(ignored -> Thread.currentThread().getName())
+                .await().indefinitely();
+
+        assertThat(thread).isIn("memory-dal-wal", Thread.currentThread().getName());
+    }
+
+    @Test
+    void partiallyWrittenChangesAreDropped() throws IOException {
+        MemoryStorage storage = open();
+        MemoryAccountsRepository accounts = new MemoryAccountsRepository(storage);
+
+        accounts.save(account(1, "first")).await().indefinitely();
+        storage.close();
+
+        Path segment = lastSegment();
+        long intact = Files.size(segment);
+        byte[] frame = JournalEntry.put("accounts", 2, new byte[64]).frame();
+
+        Files.write(segment, Arrays.copyOf(frame, frame.length / 2), StandardOpenOption.APPEND);
+
+        MemoryStorage restarted = open();
+        MemoryAccountsRepository recovered = new MemoryAccountsRepository(restarted);
+
+        assertThat(Files.size(segment)).isEqualTo(intact);
+        assertThat(byIdentifier(recovered, "first")).isPresent();
+
+        recovered.save(account(2, "second")).await().indefinitely();
+        restarted.close();
+
+        MemoryAccountsRepository again = new MemoryAccountsRepository(open());
+
+        assertThat(byIdentifier(again, "first")).isPresent();
+        assertThat(byIdentifier(again, "second")).isPresent();
+    }
+
+    @Test
+    void changesWhichDontMatchTheirChecksumAreDropped() throws IOException {
+        MemoryStorage storage = open();
+        MemoryAccountsRepository accounts = new MemoryAccountsRepository(storage);
+
+        accounts.save(account(1, "first")).await().indefinitely();
+        accounts.save(account(2, "second")).await().indefinitely();
+        storage.close();
+
+        Path segment = lastSegment();
+        byte[] content = Files.readAllBytes(segment);
+
+        content[content.length - 2] ^= 0x7f;
+        Files.write(segment, content);
+
+        MemoryAccountsRepository recovered = new MemoryAccountsRepository(open());
+
+        assertThat(byIdentifier(recovered, "first")).isPresent();
+        assertThat(byIdentifier(recovered, "second")).isEmpty();
+    }
+
+    @Test
+    void snapshotsReplaceTheLogBeforeThem() throws IOException {
+        MemoryStorage storage = open();
+        MemoryAccountsRepository accounts = new MemoryAccountsRepository(storage);
+
+        accounts.save(account(1, "first")).await().indefinitely();
+        accounts.save(account(2, "second")).await().indefinitely();
+        storage.checkpoint();
+
+        accounts.delete(1).await().indefinitely();
+        accounts.save(account(3, "third")).await().indefinitely();
+        storage.checkpoint();
+
+        accounts.update(account(3, "renamed")).await().indefinitely();
+        storage.close();
+
+        assertThat(files("snapshot-")).hasSize(1);
+        assertThat(files("wal-")).hasSize(1);
+
+        MemoryAccountsRepository recovered = new MemoryAccountsRepository(open());
+
+        assertThat(byIdentifier(recovered, "first")).isEmpty();
+        assertThat(byIdentifier(recovered, "second")).isPresent();
+        assertThat(byIdentifier(recovered, "renamed")).isPresent();
+    }
+
+    @Test
+    void snapshotsAreTakenOnceTheLogIsFull() throws IOException {
+        MemoryStorage storage = open(4096);
+        MemorySessionsRepository sessions = new MemorySessionsRepository(storage);
+        Instant expiresAt = Instant.now().plus(1, ChronoUnit.HOURS);
+
+        LongStream.rangeClosed(1, 200).forEach(id -> sessions.save(SessionDO.builder()
+                        .id(id)
+                        .sessionToken("token-" + id)
+                        .accountId(id)
+                        .domain("main")
+                        .expiresAt(expiresAt)
+                        .build())
+                .await().indefinitely());
+        storage.close();
+
+        assertThat(files("snapshot-")).isNotEmpty();
+
+        MemorySessionsRepository recovered = new MemorySessionsRepository(open(4096));
+
+        LongStream.rangeClosed(1, 200).forEach(id ->
+                assertThat(recovered.getByToken("token-" + id).await().indefinitely()).isPresent());
+    }
+
+    @Test
+    void recordsOfStoresWhichArentOpenedAreKept() throws IOException {
+        MemoryStorage storage = open();
+        MemoryRolesRepository roles = new MemoryRolesRepository(storage);
+
+        roles.save(RoleDO.builder().id(1).name("admin").domain("main").build()).await().indefinitely();
+        storage.close();
+
+        MemoryStorage withoutRoles = open();
+        new MemoryAccountsRepository(withoutRoles).save(account(1, "first")).await().indefinitely();
+        withoutRoles.checkpoint();
+        withoutRoles.close();
+
+        MemoryRolesRepository recovered = new MemoryRolesRepository(open());
+
+        assertThat(recovered.getByName("admin", "main").await().indefinitely()).isPresent();
+    }
+
+    @Test
+    void expiredRecordsAreNotRecovered() throws IOException {
+        MemoryStorage storage = open();
+        MemorySessionsRepository sessions = new MemorySessionsRepository(storage);
+
+        sessions.save(SessionDO.builder()
+                        .id(1)
+                        .sessionToken("expired")
+                        .expiresAt(Instant.now().minus(1, ChronoUnit.MINUTES))
+                        .build())
+                .await().indefinitely();
+        sessions.save(SessionDO.builder()
+                        .id(2)
+                        .sessionToken("active")
+                        .expiresAt(Instant.now().plus(1, ChronoUnit.HOURS))
+                        .build())
+                .await().indefinitely();
+        storage.close();
+
+        MemorySessionsRepository recovered = new MemorySessionsRepository(open());
+
+        assertThat(recovered.store.size()).isEqualTo(1);
+        assertThat(recovered.getByToken("active").await().indefinitely()).isPresent();
+    }
+}
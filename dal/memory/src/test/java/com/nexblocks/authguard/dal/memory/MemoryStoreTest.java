@@ -0,0 +1,201 @@
+package com.nexblocks.authguard.dal.memory;
+
+import com.nexblocks.authguard.dal.model.EventDO;
+import com.nexblocks.authguard.dal.model.SessionDO;
+import com.nexblocks.authguard.dal.persistence.LongPage;
+import com.nexblocks.authguard.dal.persistence.Page;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MemoryStoreTest {
+    private static final Instant START = Instant.parse("2025-01-01T00:00:00Z");
+
+    private EventDO event(final long id, final String domain, final String channel, final Instant createdAt) {
+        return EventDO.builder()
+                .id(id)
+                .domain(domain)
+                .channel(channel)
+                .createdAt(createdAt)
+                .build();
+    }
+
+    @Test
+    void indexesFollowReplacedAndRemovedRecords() {
+        MemoryStore<EventDO> store = new MemoryStore<>();
+        MemoryIndex<EventDO> byChannel = store.index(EventDO::getChannel);
+
+        store.put(event(1, "main", "accounts", START));
+        store.put(event(2, "main", "accounts", START));
+
+        assertThat(byChannel.find("accounts")).extracting(EventDO::getId).containsExactly(1L, 2L);
+
+        store.replace(event(1, "main", "apps", START));
+
+        assertThat(byChannel.find("accounts")).extracting(EventDO::getId).containsExactly(2L);
+        assertThat(byChannel.findFirst("apps")).map(EventDO::getId).contains(1L);
+
+        assertThat(store.remove(2).join()).isPresent();
+        assertThat(byChannel.find("accounts")).isEmpty();
+        assertThat(store.remove(2).join()).isEmpty();
+    }
+
+    @Test
+    void recordsAreNeverMissingWhileUpdated() throws InterruptedException {
+        MemoryStore<EventDO> store = new MemoryStore<>();
+        MemoryIndex<EventDO> byDomain = store.index(EventDO::getDomain);
+        MemoryTimeline<EventDO> byDomainTimeline = store.timeline(EventDO::getDomain);
+
+        store.put(event(1, "main", "accounts", START));
+
+        AtomicBoolean missed = new AtomicBoolean();
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < 20_000; i++) {
+                store.put(event(1, "main", i % 2 == 0 ? "apps" : "accounts", START.plusSeconds(i)));
+            }
+        });
+
+        writer.start();
+
+        while (writer.isAlive()) {
+            if (store.get(1).isEmpty() || byDomain.findFirst("main").isEmpty()
+                    || byDomainTimeline.newestFirst("main").isEmpty()) {
+                missed.set(true);
+            }
+        }
+
+        writer.join();
+
+        assertThat(missed).isFalse();
+        assertThat(byDomainTimeline.newestFirst("main")).hasSize(1);
+    }
+
+    @Test
+    void replaceOnlyExistingRecords() {
+        MemoryStore<EventDO> store = new MemoryStore<>();
+
+        assertThat(store.replace(event(1, "main", "accounts", START)).join()).isEmpty();
+        assertThat(store.get(1)).isEmpty();
+    }
+
+    @Test
+    void recordsWithoutIdsAreGivenOnes() {
+        MemoryStore<EventDO> store = new MemoryStore<>();
+
+        EventDO first = store.put(event(0, "main", "accounts", START)).join();
+        EventDO second = store.put(event(0, "main", "accounts", START)).join();
+
+        assertThat(first.getId()).isNotZero();
+        assertThat(second.getId()).isNotEqualTo(first.getId());
+        assertThat(store.size()).isEqualTo(2);
+    }
+
+    @Test
+    void compositeKeysWithMissingPartsAreNotIndexed() {
+        MemoryStore<EventDO> store = new MemoryStore<>();
+        MemoryIndex<EventDO> byChannel = store.index(event -> MemoryIndex.key(event.getDomain(), event.getChannel()));
+
+        store.put(event(1, "main", null, START));
+
+        assertThat(byChannel.find(MemoryIndex.key("main", null))).isEmpty();
+        assertThat(byChannel.findFirst(null)).isEmpty();
+    }
+
+    @Test
+    void deletedRecordsAreSkipped() {
+        MemoryStore<EventDO> store = new MemoryStore<>();
+        MemoryIndex<EventDO> byDomain = store.index(EventDO::getDomain);
+        EventDO deleted = event(1, "main", "accounts", START);
+
+        deleted.setDeleted(true);
+        store.put(deleted);
+
+        assertThat(store.get(1)).isEmpty();
+        assertThat(byDomain.find("main")).isEmpty();
+    }
+
+    @Test
+    void pagesById() {
+        MemoryStore<EventDO> store = new MemoryStore<>();
+        MemoryIndex<EventDO> byDomain = store.index(EventDO::getDomain);
+
+        LongStream.of(5, 1, 4, 2, 3).forEach(id -> store.put(event(id, "main", "accounts", START)));
+        store.put(event(6, "other", "accounts", START));
+
+        assertThat(byDomain.page("main", LongPage.of(null, 2)))
+                .extracting(EventDO::getId).containsExactly(1L, 2L);
+        assertThat(byDomain.page("main", LongPage.of(2L, 2)))
+                .extracting(EventDO::getId).containsExactly(3L, 4L);
+        assertThat(byDomain.page("main", LongPage.of(4L, 2)))
+                .extracting(EventDO::getId).containsExactly(5L);
+        assertThat(byDomain.page("main", LongPage.of(5L, 2))).isEmpty();
+    }
+
+    @Test
+    void pagesByTime() {
+        MemoryStore<EventDO> store = new MemoryStore<>();
+        MemoryTimeline<EventDO> byDomain = store.timeline(EventDO::getDomain);
+
+        store.put(event(1, "main", "accounts", START.plusSeconds(30)));
+        store.put(event(2, "main", "accounts", START.plusSeconds(10)));
+        store.put(event(3, "main", "accounts", START.plusSeconds(20)));
+        store.put(event(4, "main", "accounts", START.plusSeconds(20)));
+
+        List<EventDO> newest = byDomain.before("main", Page.of(null, 2, Instant.MAX));
+
+        assertThat(newest).extracting(EventDO::getId).containsExactly(1L, 4L);
+
+        List<EventDO> older = byDomain.before("main", Page.of(newest.get(1).getCreatedAt(), 2, Instant.MAX));
+
+        assertThat(older).extracting(EventDO::getId).containsExactly(2L);
+
+        assertThat(byDomain.after("main", START.plusSeconds(10)))
+                .extracting(EventDO::getId).containsExactly(3L, 4L, 1L);
+        assertThat(byDomain.newestFirst("main"))
+                .extracting(EventDO::getId).containsExactly(1L, 4L, 3L, 2L);
+    }
+
+    @Test
+    void expiredRecordsAreSkipped() {
+        MemoryStore<SessionDO> store = new MemoryStore<>(SessionDO::getExpiresAt);
+        MemoryIndex<SessionDO> byToken = store.index(SessionDO::getSessionToken);
+
+        store.put(SessionDO.builder()
+                .id(1)
+                .sessionToken("expired")
+                .expiresAt(Instant.now().minus(1, ChronoUnit.MINUTES))
+                .build());
+        store.put(SessionDO.builder()
+                .id(2)
+                .sessionToken("active")
+                .expiresAt(Instant.now().plus(1, ChronoUnit.MINUTES))
+                .build());
+        store.put(SessionDO.builder()
+                .id(3)
+                .sessionToken("forever")
+                .build());
+
+        assertThat(store.get(1)).isEmpty();
+        assertThat(byToken.findFirst("expired")).isEmpty();
+        assertThat(byToken.findFirst("active")).isPresent();
+        assertThat(byToken.findFirst("forever")).isPresent();
+        assertThat(store.all()).extracting(SessionDO::getId).containsExactlyInAnyOrder(2L, 3L);
+    }
+
+    @Test
+    void indexesCannotBeAddedToNonEmptyStores() {
+        MemoryStore<EventDO> store = new MemoryStore<>();
+
+        store.put(event(1, "main", "accounts", START));
+
+        assertThatThrownBy(() -> store.index(EventDO::getDomain))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,46 @@
+package com.nexblocks.authguard.dal.persistence;
+
+import java.util.Objects;
+
+/**
+ * Identifies a permission within a domain by its group and name.
+ */
+public class PermissionKey {
+    private final String group;
+    private final String name;
+
+    private PermissionKey(final String group, final String name) {
+        this.group = group;
+        this.name = name;
+    }
+
+    public static PermissionKey of(final String group, final String name) {
+        return new PermissionKey(group, name);
+    }
+
+    public String getGroup() {
+        return group;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PermissionKey that = (PermissionKey) o;
+        return Objects.equals(group, that.group) && Objects.equals(name, that.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(group, name);
+    }
+
+    @Override
+    public String toString() {
+        return group + ":" + name;
+    }
+}
@@ -4,6 +4,7 @@ import com.nexblocks.authguard.dal.model.PermissionDO;
 import com.nexblocks.authguard.dal.repository.ImmutableRecordRepository;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import io.smallrye.mutiny.Uni;
 
@@ -11,4 +12,24 @@ public interface PermissionsRepository extends ImmutableRecordRepository<Permiss
     Uni<Optional<PermissionDO>> search(String group, String name, String domain);
     Uni<Collection<PermissionDO>> getAll(String domain, Page<Long> page);
     Uni<Collection<PermissionDO>> getAllForGroup(String group, String domain, Page<Long> page);
+
+    /**
+     * Looks up multiple permissions at once. The default implementation
+     * searches for them one by one.
+     *
+     * @return The permissions which exist, in no particular order.
+     */
+    default Uni<List<PermissionDO>> searchAll(Collection<PermissionKey> keys, String domain) {
+        List<Uni<Optional<PermissionDO>>> searches = keys.stream()
+                .distinct()
+                .map(key -> search(key.getGroup(), key.getName(), domain))
+                .toList();
+
+        if (searches.isEmpty()) {
+            return Uni.createFrom().item(List.of());
+        }
+
+        return Uni.join().all(searches).andFailFast()
+                .map(found -> found.stream().flatMap(Optional::stream).toList());
+    }
 }
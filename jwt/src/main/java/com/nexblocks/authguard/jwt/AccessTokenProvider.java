@@ -1,8 +1,7 @@
 package com.nexblocks.authguard.jwt;
 
-import com.auth0.jwt.JWTCreator;
-import com.auth0.jwt.algorithms.Algorithm;
 import com.google.inject.Inject;
+import com.google.inject.Singleton;
 import com.google.inject.name.Named;
 import com.nexblocks.authguard.config.ConfigContext;
 import com.nexblocks.authguard.dal.cache.AccountTokensRepository;
@@ -27,21 +26,31 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.Optional;
 import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import io.vavr.control.Try;
 
 @ProvidesToken("accessToken")
+@Singleton
 public class AccessTokenProvider implements AuthProvider {
     private static final Logger LOG = LoggerFactory.getLogger(AccessTokenProvider.class);
 
     private static final String TOKEN_TYPE = "accessToken";
 
+    // the claims in the order they used to be added to a JWTCreator.Builder, see JwtWriter
+    private static final JwtWriter TOKEN_WRITER = new JwtWriter("iss", "sub", "iat", "exp", "jti", "permissions",
+            "eid", "roles", "emailVerified", "phoneVerified", "sid", "source");
+
     private final TrackingSessionsService trackingSessionsService;
     private final AccountTokensRepository accountTokensRepository;
     private final JtiProvider jti;
     private final ServiceMapper serviceMapper;
     private final TokenEncryptorAdapter tokenEncryptor;
 
-    private final Algorithm algorithm;
+    private final JwtKeyring keyring;
+    private final StatelessRefreshTokens statelessRefreshTokens;
+    private final AccountClaimsCache claimsCache;
     private final JwtGenerator jwtGenerator;
+    private final String issuer;
     private final StrategyConfig strategy;
     private final Duration tokenTtl;
     private final Duration refreshTokenTtl;
@@ -53,11 +62,12 @@ public class AccessTokenProvider implements AuthProvider {
                                final @Named("accessToken") ConfigContext accessTokenConfigContext,
                                final JtiProvider jti,
                                final TokenEncryptorAdapter tokenEncryptor,
-                               final ServiceMapper serviceMapper, final TrackingSessionsService trackingSessionsService) {
+                               final ServiceMapper serviceMapper, final TrackingSessionsService trackingSessionsService,
+                               final JwtKeyring keyring, final StatelessRefreshTokens statelessRefreshTokens) {
         this(trackingSessionsService, accountTokensRepository,
                 jwtConfigContext.asConfigBean(JwtConfig.class),
                 accessTokenConfigContext.asConfigBean(StrategyConfig.class),
-                jti, tokenEncryptor, serviceMapper);
+                jti, tokenEncryptor, serviceMapper, keyring, statelessRefreshTokens);
     }
 
     public AccessTokenProvider(final TrackingSessionsService trackingSessionsService,
@@ -66,20 +76,42 @@ public class AccessTokenProvider implements AuthProvider {
                                final StrategyConfig accessTokenConfig,
                                final JtiProvider jti,
                                final TokenEncryptorAdapter tokenEncryptor,
-                               final ServiceMapper serviceMapper) {
+                               final ServiceMapper serviceMapper,
+                               final JwtKeyring keyring) {
+        this(trackingSessionsService, accountTokensRepository, jwtConfig, accessTokenConfig, jti, tokenEncryptor,
+                serviceMapper, keyring, null);
+    }
+
+    /**
+     * @param statelessRefreshTokens Seals refresh tokens instead of storing
+     *                               them if it's enabled. Can be null.
+     */
+    public AccessTokenProvider(final TrackingSessionsService trackingSessionsService,
+                               final AccountTokensRepository accountTokensRepository,
+                               final JwtConfig jwtConfig,
+                               final StrategyConfig accessTokenConfig,
+                               final JtiProvider jti,
+                               final TokenEncryptorAdapter tokenEncryptor,
+                               final ServiceMapper serviceMapper,
+                               final JwtKeyring keyring,
+                               final StatelessRefreshTokens statelessRefreshTokens) {
         this.trackingSessionsService = trackingSessionsService;
         this.accountTokensRepository = accountTokensRepository;
         this.jti = jti;
         this.tokenEncryptor = tokenEncryptor;
 
-        this.algorithm = JwtConfigParser.parseAlgorithm(jwtConfig.getAlgorithm(), jwtConfig.getPublicKey(),
-                jwtConfig.getPrivateKey());
+        this.keyring = keyring;
+        this.statelessRefreshTokens = statelessRefreshTokens != null && statelessRefreshTokens.isEnabled()
+                ? statelessRefreshTokens
+                : null;
         this.jwtGenerator = new JwtGenerator(jwtConfig);
+        this.issuer = jwtConfig.getIssuer();
 
         this.strategy = accessTokenConfig;
         this.serviceMapper = serviceMapper;
         this.tokenTtl = ConfigParser.parseDuration(strategy.getTokenLife());
         this.refreshTokenTtl = ConfigParser.parseDuration(strategy.getRefreshTokenLife());
+        this.claimsCache = new AccountClaimsCache("accessTokenClaims", strategy.getClaimsCache());
         this.encrypt = jwtConfig.getEncryption() != null;
     }
 
@@ -95,37 +127,63 @@ public class AccessTokenProvider implements AuthProvider {
 
         LOG.debug("Access token request. accountId={}, domain={}", account.getId(), account.getDomain());
 
-        JwtTokenBuilder tokenBuilder = generateAccessToken(account, restrictions, options);
-
-        LOG.info("Generated access token. accountId={}, domain={}", account.getId(), account.getDomain());
+        Instant issuedAt = Instant.now();
+        Instant expiresAt = issuedAt.plus(tokenTtl);
+        String tokenId = strategy.useJti() ? jti.next(expiresAt) : null;
+
+        // none of these depend on each other, so the storage calls are in flight while the token is signed
+        Uni<Try<Boolean>> sessionActive = settle(
+                trackingSessionsService.isSessionActive(options.getTrackingSession(), account.getDomain()));
+        Uni<Try<AccountTokenDO>> refreshToken = settle(issueRefreshToken(account.getId(), restrictions, options));
+        Uni<Try<String>> accessToken = settle(Uni.createFrom()
+                .item(() -> signAccessToken(account, tokenId, issuedAt, expiresAt, restrictions, options))
+                .runSubscriptionOn(Infrastructure.getDefaultWorkerPool()));
+
+        return Uni.combine().all().unis(sessionActive, refreshToken, accessToken).asTuple()
+                .flatMap(results -> {
+                    Try<Boolean> active = results.getItem1();
+                    Try<AccountTokenDO> persisted = results.getItem2();
+                    Try<String> finalToken = results.getItem3();
+
+                    Throwable failure;
+
+                    if (active.isFailure()) {
+                        failure = active.getCause();
+                    } else if (!active.get()) {
+                        failure = new ServiceException(ErrorCode.SESSION_TERMINATED, "Session is no longer active");
+                    } else if (finalToken.isFailure()) {
+                        failure = finalToken.getCause();
+                    } else if (persisted.isFailure()) {
+                        failure = persisted.getCause();
+                    } else {
+                        failure = null;
+                    }
 
-        String signedToken = tokenBuilder.getBuilder().sign(algorithm);
-        String finalToken = encryptIfNeeded(signedToken);
-        String refreshToken = jwtGenerator.generateRandomRefreshToken();
+                    if (failure != null) {
+                        if (persisted.isFailure()) {
+                            return Uni.createFrom().failure(failure);
+                        }
 
-        return trackingSessionsService.isSessionActive(options.getTrackingSession(), account.getDomain())
-                .flatMap(isActive -> {
-                    if (!isActive) {
-                        return Uni.createFrom().failure(new ServiceException(ErrorCode.SESSION_TERMINATED,
-                                "Session is no longer active"));
+                        // the refresh token was stored for nothing
+                        return discardRefreshToken(persisted.get())
+                                .onItemOrFailure()
+                                .transformToUni((ignored, e) -> Uni.createFrom().failure(failure));
                     }
 
-                    return storeRefreshToken(account.getId(), refreshToken, restrictions, options);
-                })
-                .map(persisted -> {
                     LOG.info("Generated refresh token. accountId={}, domain={}, tokenId={}, expiresAt={}",
-                            account.getId(), account.getDomain(), persisted.getId(), persisted.getExpiresAt());
+                            account.getId(), account.getDomain(), persisted.get().getId(),
+                            persisted.get().getExpiresAt());
 
-                    return AuthResponseBO.builder()
-                            .id(tokenBuilder.getId().orElse(""))
+                    return Uni.createFrom().item(AuthResponseBO.builder()
+                            .id(tokenId == null ? "" : tokenId)
                             .type(TOKEN_TYPE)
-                            .token(finalToken)
-                            .refreshToken(refreshToken)
+                            .token(finalToken.get())
+                            .refreshToken(persisted.get().getToken())
                             .entityType(EntityType.ACCOUNT)
                             .entityId(account.getId())
                             .validFor(tokenTtl.getSeconds())
                             .trackingSession(options.getTrackingSession())
-                            .build();
+                            .build());
                 });
     }
 
@@ -147,13 +205,12 @@ public class AccessTokenProvider implements AuthProvider {
                         .orElseThrow(() -> new ServiceAuthorizationException(ErrorCode.INVALID_TOKEN, "Invalid refresh token")));
     }
 
-    private Uni<AccountTokenDO> storeRefreshToken(final long accountId, final String refreshToken,
-                                                                final TokenRestrictionsBO tokenRestrictions,
-                                                                final TokenOptions tokenOptions) {
+    private Uni<AccountTokenDO> issueRefreshToken(final long accountId,
+                                                  final TokenRestrictionsBO tokenRestrictions,
+                                                  final TokenOptions tokenOptions) {
         AccountTokenDO.AccountTokenDOBuilder<?, ?> accountToken = AccountTokenDO.builder()
                 .id(ID.generate())
                 .createdAt(Instant.now())
-                .token(refreshToken)
                 .associatedAccountId(accountId)
                 .expiresAt(refreshTokenExpiry())
                 .tokenRestrictions(serviceMapper.toDO(tokenRestrictions)); // Mapstruct already checks for null
@@ -169,52 +226,91 @@ public class AccessTokenProvider implements AuthProvider {
                     .userAgent(tokenOptions.getUserAgent());
         }
 
-        return accountTokensRepository.save(accountToken.build());
+        if (statelessRefreshTokens != null) {
+            AccountTokenDO sealed = accountToken.build();
+            sealed.setToken(statelessRefreshTokens.seal(sealed));
+
+            return Uni.createFrom().item(sealed);
+        }
+
+        return accountTokensRepository.save(accountToken
+                .token(jwtGenerator.generateRandomRefreshToken())
+                .build());
+    }
+
+    private Uni<Optional<AccountTokenDO>> discardRefreshToken(final AccountTokenDO accountToken) {
+        if (StatelessRefreshTokens.isSealed(accountToken.getToken())) {
+            // it was never handed out, and nothing was stored
+            return Uni.createFrom().item(Optional.empty());
+        }
+
+        LOG.info("Deleting an unused refresh token. accountId={}, tokenId={}",
+                accountToken.getAssociatedAccountId(), accountToken.getId());
+
+        return accountTokensRepository.deleteToken(accountToken.getToken())
+                .onFailure()
+                .invoke(e -> LOG.error("Failed to delete an unused refresh token. accountId={}, tokenId={}",
+                        accountToken.getAssociatedAccountId(), accountToken.getId(), e));
     }
 
     private Uni<Optional<AccountTokenDO>> deleteRefreshToken(final String refreshToken) {
+        if (statelessRefreshTokens != null && StatelessRefreshTokens.isSealed(refreshToken)) {
+            return statelessRefreshTokens.revoke(refreshToken);
+        }
+
         return accountTokensRepository.deleteToken(refreshToken);
     }
 
-    private JwtTokenBuilder generateAccessToken(final AccountBO account, final TokenRestrictionsBO restrictions,
-                                                final TokenOptionsBO options) {
-        JwtTokenBuilder.Builder tokenBuilder = JwtTokenBuilder.builder();
-        JWTCreator.Builder jwtBuilder = jwtGenerator.generateUnsignedToken(account, tokenTtl);
+    private String signAccessToken(final AccountBO account, final String tokenId,
+                                   final Instant issuedAt, final Instant expiresAt,
+                                   final TokenRestrictionsBO restrictions, final TokenOptionsBO options) {
+        String signedToken = keyring.sign(accessTokenClaims(account, tokenId, issuedAt, expiresAt,
+                restrictions, options));
 
-        if (strategy.useJti()) {
-            final String id = jti.next();
-            jwtBuilder.withJWTId(id);
-            tokenBuilder.id(id);
-        }
+        LOG.info("Generated access token. accountId={}, domain={}", account.getId(), account.getDomain());
+
+        return encryptIfNeeded(signedToken);
+    }
+
+    private JwtWriter.Claims accessTokenClaims(final AccountBO account, final String tokenId,
+                                               final Instant issuedAt, final Instant expiresAt,
+                                               final TokenRestrictionsBO restrictions,
+                                               final TokenOptionsBO options) {
+        final JwtWriter.Claims claims = TOKEN_WRITER.claims()
+                .put("iss", issuer)
+                .put("sub", "" + account.getId())
+                .put("iat", issuedAt)
+                .put("exp", expiresAt)
+                .put("jti", tokenId);
 
         if (strategy.includePermissions()) {
-            jwtBuilder.withArrayClaim("permissions", JwtPermissionsMapper.map(account, restrictions));
+            claims.put("permissions", claimsCache.permissions(account, restrictions));
         }
 
         if (strategy.includeExternalId()) {
-            jwtBuilder.withClaim("eid", account.getExternalId());
+            claims.put("eid", account.getExternalId());
         }
 
         if (strategy.includeRoles()) {
-            jwtBuilder.withArrayClaim("roles", account.getRoles().toArray(new String[] {}));
+            claims.put("roles", claimsCache.roles(account));
         }
 
         if (strategy.includeVerification()) {
             if (account.getEmail() != null) {
-                jwtBuilder.withClaim("emailVerified", account.getEmail().isVerified());
+                claims.put("emailVerified", account.getEmail().isVerified());
             }
 
             if (account.getPhoneNumber() != null) {
-                jwtBuilder.withClaim("phoneVerified", account.getPhoneNumber().isVerified());
+                claims.put("phoneVerified", account.getPhoneNumber().isVerified());
             }
         }
 
         if (options != null) {
-            jwtBuilder.withClaim("sid", options.getTrackingSession());
-            jwtBuilder.withClaim("source", options.getSource());
+            claims.put("sid", options.getTrackingSession());
+            claims.put("source", options.getSource());
         }
 
-        return tokenBuilder.builder(jwtBuilder).build();
+        return claims;
     }
 
     private String encryptIfNeeded(final String token) {
@@ -223,6 +319,11 @@ public class AccessTokenProvider implements AuthProvider {
                 : token;
     }
 
+    private static <T> Uni<Try<T>> settle(final Uni<T> uni) {
+        return uni.map(Try::success)
+                .onFailure().recoverWithItem(Try::failure);
+    }
+
     private Instant refreshTokenExpiry() {
         return Instant.now().plus(refreshTokenTtl);
     }
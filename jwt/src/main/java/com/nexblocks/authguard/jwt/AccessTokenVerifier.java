@@ -1,34 +1,45 @@
 package com.nexblocks.authguard.jwt;
 
-import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
 import com.google.inject.Inject;
+import com.google.inject.Singleton;
 import com.google.inject.name.Named;
 import com.nexblocks.authguard.config.ConfigContext;
+import com.nexblocks.authguard.service.TokenRevocationService;
 import com.nexblocks.authguard.service.config.JwtConfig;
 import com.nexblocks.authguard.service.config.StrategyConfig;
 import io.smallrye.mutiny.Uni;
 
+@Singleton
 public class AccessTokenVerifier {
     private final JwtTokenVerifier jwtTokenVerifier;
 
     @Inject
     public AccessTokenVerifier(final @Named("jwt") ConfigContext jwtConfigContext,
                                final @Named("accessToken") ConfigContext accessTokenConfigContext,
-                               final JtiProvider jti) {
+                               final JtiProvider jti,
+                               final TokenRevocationService revocations,
+                               final JwtKeyring keyring) {
         this(jwtConfigContext.asConfigBean(JwtConfig.class), accessTokenConfigContext.asConfigBean(StrategyConfig.class),
-                jti);
+                jti, revocations, keyring);
     }
 
     public AccessTokenVerifier(final JwtConfig jwtConfig, final StrategyConfig strategy,
-                               final JtiProvider jti) {
-        final Algorithm algorithm = JwtConfigParser.parseAlgorithm(jwtConfig.getAlgorithm(), jwtConfig.getPublicKey(),
-                jwtConfig.getPrivateKey());
-
-        this.jwtTokenVerifier = new JwtTokenVerifier(strategy, jti, algorithm);
+                               final JtiProvider jti, final TokenRevocationService revocations,
+                               final JwtKeyring keyring) {
+        this.jwtTokenVerifier = new JwtTokenVerifier(strategy, jti, keyring,
+                VerifiedTokensCache.fromConfig("verifiedAccessTokens", jwtConfig.getVerificationCache()), revocations);
     }
 
     public Uni<String> verify(final String token) {
         return jwtTokenVerifier.verifyAccountToken(token)
                 .map(ignored -> token);
     }
+
+    /**
+     * Verifies a token and returns its claims.
+     */
+    Uni<DecodedJWT> verifyClaims(final String token) {
+        return jwtTokenVerifier.verify(token);
+    }
 }
@@ -0,0 +1,108 @@
+package com.nexblocks.authguard.jwt;
+
+import com.nexblocks.authguard.service.cache.CachesRegistry;
+import com.nexblocks.authguard.service.cache.ExpiringCache;
+import com.nexblocks.authguard.service.config.CacheConfig;
+import com.nexblocks.authguard.service.config.ConfigParser;
+import com.nexblocks.authguard.service.model.AccountBO;
+import com.nexblocks.authguard.service.model.TokenRestrictionsBO;
+
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Keeps the permissions and roles claims of accounts, so that they aren't
+ * built again for every token. Entries are keyed by the account ID and
+ * its last modification time, so an account which was updated, including
+ * when its permissions or roles changed, gets new entries and the old
+ * ones are left to expire. Accounts without a modification time are never
+ * cached.
+ * <p>
+ * The returned arrays are shared and must not be modified.
+ */
+class AccountClaimsCache {
+    private final ExpiringCache<Key, Claims> cache;
+
+    AccountClaimsCache(final String name, final CacheConfig config) {
+        if (config == null || !config.enabled()) {
+            this.cache = null;
+            return;
+        }
+
+        this.cache = new ExpiringCache<>(config.getMaxSize(), ConfigParser.parseDuration(config.getTtl()));
+
+        CachesRegistry.register(name, cache);
+    }
+
+    String[] permissions(final AccountBO account, final TokenRestrictionsBO restrictions) {
+        if (cache == null || account.getLastModified() == null) {
+            return JwtPermissionsMapper.map(account, restrictions);
+        }
+
+        return JwtPermissionsMapper.restrict(claimsOf(account).permissions, restrictions);
+    }
+
+    String[] roles(final AccountBO account) {
+        if (cache == null || account.getLastModified() == null) {
+            return JwtPermissionsMapper.rolesOf(account);
+        }
+
+        return claimsOf(account).roles;
+    }
+
+    private Claims claimsOf(final AccountBO account) {
+        final Key key = new Key(account.getId(), account.getLastModified());
+        final Claims cached = cache.get(key).orElse(null);
+
+        if (cached != null) {
+            return cached;
+        }
+
+        final Claims claims = new Claims(JwtPermissionsMapper.permissionsOf(account),
+                JwtPermissionsMapper.rolesOf(account));
+
+        cache.put(key, claims);
+
+        return claims;
+    }
+
+    private static final class Key {
+        private final long accountId;
+        private final Instant lastModified;
+
+        private Key(final long accountId, final Instant lastModified) {
+            this.accountId = accountId;
+            this.lastModified = lastModified;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            if (this == other) {
+                return true;
+            }
+
+            if (!(other instanceof Key)) {
+                return false;
+            }
+
+            final Key key = (Key) other;
+
+            return accountId == key.accountId && lastModified.equals(key.lastModified);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(accountId, lastModified);
+        }
+    }
+
+    private static final class Claims {
+        private final String[] permissions;
+        private final String[] roles;
+
+        private Claims(final String[] permissions, final String[] roles) {
+            this.permissions = permissions;
+            this.roles = roles;
+        }
+    }
+}
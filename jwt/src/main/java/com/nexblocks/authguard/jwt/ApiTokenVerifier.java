@@ -1,29 +1,38 @@
 package com.nexblocks.authguard.jwt;
 
-import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
 import com.nexblocks.authguard.config.ConfigContext;
 import com.nexblocks.authguard.service.auth.AuthVerifier;
 import com.nexblocks.authguard.service.config.JwtConfig;
 import com.nexblocks.authguard.service.config.StrategyConfig;
 import com.google.inject.Inject;
+import com.google.inject.Singleton;
 import com.google.inject.name.Named;
 import io.smallrye.mutiny.Uni;
 
+@Singleton
 public class ApiTokenVerifier implements AuthVerifier {
     private final JwtTokenVerifier jwtVerifier;
 
     @Inject
-    public ApiTokenVerifier(final JtiProvider jtiProvider, final @Named("jwt") ConfigContext configContext) {
+    public ApiTokenVerifier(final JtiProvider jtiProvider, final @Named("jwt") ConfigContext configContext,
+                            final JwtKeyring keyring) {
         final JwtConfig jwtConfig = configContext.asConfigBean(JwtConfig.class);
         final StrategyConfig strategy = StrategyConfig.builder().useJti(false).build();
-        final Algorithm algorithm = JwtConfigParser.parseAlgorithm(jwtConfig.getAlgorithm(), jwtConfig.getPublicKey(),
-                jwtConfig.getPrivateKey());
 
-        this.jwtVerifier = new JwtTokenVerifier(strategy, jtiProvider, algorithm);
+        this.jwtVerifier = new JwtTokenVerifier(strategy, jtiProvider, keyring,
+                VerifiedTokensCache.fromConfig("verifiedApiTokens", jwtConfig.getVerificationCache()), null);
     }
 
     @Override
     public Uni<Long> verifyAccountToken(final String token) {
         return jwtVerifier.verifyAccountToken(token);
     }
+
+    /**
+     * Verifies a token and returns its claims.
+     */
+    Uni<DecodedJWT> verifyClaims(final String token) {
+        return jwtVerifier.verify(token);
+    }
 }
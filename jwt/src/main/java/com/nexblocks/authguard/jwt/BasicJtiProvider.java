@@ -2,38 +2,313 @@ package com.nexblocks.authguard.jwt;
 
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import com.nexblocks.authguard.config.ConfigContext;
 import com.nexblocks.authguard.dal.cache.AccountTokensRepository;
 import com.nexblocks.authguard.dal.model.AccountTokenDO;
+import com.nexblocks.authguard.service.cache.CachesRegistry;
+import com.nexblocks.authguard.service.cache.ExpiringCache;
+import com.nexblocks.authguard.service.config.ConfigParser;
+import com.nexblocks.authguard.service.config.JtiConfig;
+import com.nexblocks.authguard.service.config.JwtConfig;
 import com.nexblocks.authguard.service.util.ID;
+import io.smallrye.mutiny.Uni;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 /**
- * This class is only here until a proper implementation is available
+ * Generates JTIs locally and keeps the issued ones in memory so that
+ * neither issuing nor validating a JTI waits on storage. Issued JTIs are
+ * written to the {@link AccountTokensRepository} in batches by a
+ * background thread, either every flush interval or as soon as a full
+ * batch is pending. JTIs which aren't in memory (e.g. issued by another
+ * instance, or before a restart) are looked up in the repository. A JTI
+ * is kept, both in memory and in the repository, until the token which
+ * carries it expires.
+ * Revoked JTIs are deleted from the repository, and remembered in memory
+ * for the retention period. Pending JTIs which were revoked aren't
+ * written, and ones which were revoked while they were being written are
+ * deleted again once they are.
+ * <p>
+ * Since a JTI only reaches the repository after the next flush, a JTI
+ * which isn't found while its token is still within the flush window
+ * (e.g. it was issued by another instance a moment ago) is looked up
+ * again once the window passes. Pending JTIs are flushed when the
+ * process shuts down.
  */
 @Singleton
 public class BasicJtiProvider implements JtiProvider {
+    private static final Logger LOG = LoggerFactory.getLogger(BasicJtiProvider.class);
+
+    // issued JTIs expire with their tokens, this only bounds how long one stays in memory
+    private static final Duration MAX_ISSUED_TTL = Duration.ofDays(30);
+    // the "iat" of a token is truncated to seconds
+    private static final Duration ISSUED_AT_PRECISION = Duration.ofSeconds(1);
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(10);
+
     private final AccountTokensRepository accountTokensRepository;
+    private final ExpiringCache<String, Boolean> issued;
+    private final ExpiringCache<String, Boolean> revoked;
+    private final List<Consumer<String>> revocationListeners = new CopyOnWriteArrayList<>();
+    private final Duration retention;
+    private final Duration flushWindow;
+    private final int batchSize;
+
+    private final Queue<AccountTokenDO> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final ScheduledExecutorService flusher;
 
     @Inject
+    public BasicJtiProvider(final AccountTokensRepository accountTokensRepository,
+                            final @Named("jwt") ConfigContext jwtConfigContext) {
+        this(accountTokensRepository, jtiConfig(jwtConfigContext.asConfigBean(JwtConfig.class)));
+
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close, "jti-flusher-shutdown"));
+    }
+
     public BasicJtiProvider(final AccountTokensRepository accountTokensRepository) {
+        this(accountTokensRepository, JtiConfig.builder().build());
+    }
+
+    public BasicJtiProvider(final AccountTokensRepository accountTokensRepository, final JtiConfig config) {
         this.accountTokensRepository = accountTokensRepository;
+        this.retention = ConfigParser.parseDuration(config.getRetention());
+        this.batchSize = config.getBatchSize();
+        this.issued = new ExpiringCache<>(config.getMaxCachedJtis(), MAX_ISSUED_TTL);
+        this.revoked = new ExpiringCache<>(config.getMaxCachedJtis(), retention);
+
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "jti-flusher");
+            thread.setDaemon(true);
+
+            return thread;
+        });
+
+        Duration flushInterval = ConfigParser.parseDuration(config.getFlushInterval());
+
+        this.flushWindow = flushInterval.plus(ISSUED_AT_PRECISION);
+
+        flusher.scheduleWithFixedDelay(this::flush, flushInterval.toMillis(), flushInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+
+        CachesRegistry.register("jti", issued);
+        CachesRegistry.register("revokedJti", revoked);
     }
 
     @Override
-    public String next() {
-        final AccountTokenDO persistedToken = accountTokensRepository.save(AccountTokenDO.builder()
+    public String next(final Instant expiresAt) {
+        final String jti = ID.generateSimplifiedUuid();
+
+        issued.put(jti, true, expiresAt);
+        pending.add(AccountTokenDO.builder()
                 .id(ID.generate())
-                .token(ID.generateSimplifiedUuid())
-                .build())
-                .subscribeAsCompletionStage()
-                .join();
+                .token(jti)
+                .createdAt(Instant.now())
+                .expiresAt(expiresAt)
+                .build());
+
+        if (pendingCount.incrementAndGet() >= batchSize && flushScheduled.compareAndSet(false, true)) {
+            try {
+                flusher.execute(this::flush);
+            } catch (final RejectedExecutionException e) {
+                // closing, it will be written by close()
+            }
+        }
 
-        return persistedToken.getToken();
+        return jti;
     }
 
     @Override
-    public boolean validate(final String jti) {
+    public Uni<Boolean> validate(final String jti, final Instant issuedAt) {
+        if (jti == null) {
+            return Uni.createFrom().item(false);
+        }
+
+        if (revoked.get(jti).isPresent()) {
+            return Uni.createFrom().item(false);
+        }
+
+        if (issued.get(jti).isPresent()) {
+            return Uni.createFrom().item(true);
+        }
+
+        return lookUp(jti).flatMap(found -> {
+            if (found || issuedAt == null) {
+                return Uni.createFrom().item(found);
+            }
+
+            Duration untilFlushed = Duration.between(Instant.now(), issuedAt.plus(flushWindow));
+
+            if (untilFlushed.isNegative() || untilFlushed.isZero()) {
+                return Uni.createFrom().item(false);
+            }
+
+            // the issuing instance may not have flushed it yet
+            Duration delay = untilFlushed.compareTo(flushWindow) > 0 ? flushWindow : untilFlushed;
+
+            return Uni.createFrom().voidItem()
+                    .onItem().delayIt().by(delay)
+                    .flatMap(ignored -> revoked.get(jti).isPresent()
+                            ? Uni.createFrom().item(false)
+                            : lookUp(jti));
+        });
+    }
+
+    private Uni<Boolean> lookUp(final String jti) {
         return accountTokensRepository.getByToken(jti)
-                .subscribeAsCompletionStage()
-                .join().isPresent();
+                .map(persisted -> {
+                    if (persisted.isPresent()) {
+                        issued.put(jti, true, persisted.get().getExpiresAt());
+                        return true;
+                    }
+
+                    return false;
+                });
+    }
+
+    @Override
+    public Uni<Boolean> revoke(final String jti) {
+        final boolean wasIssued = issued.get(jti).isPresent();
+
+        revokeLocally(jti);
+
+        return accountTokensRepository.deleteToken(jti)
+                .map(deleted -> wasIssued || deleted.isPresent());
+    }
+
+    @Override
+    public void revokeLocally(final String jti) {
+        revoked.put(jti, true);
+        issued.invalidate(jti);
+
+        if (pending.removeIf(token -> token.getToken().equals(jti))) {
+            pendingCount.decrementAndGet();
+        }
+
+        revocationListeners.forEach(listener -> listener.accept(jti));
+    }
+
+    @Override
+    public void addRevocationListener(final Consumer<String> listener) {
+        revocationListeners.add(listener);
+    }
+
+    /**
+     * Writes all pending JTIs to the repository. Only called from the
+     * flusher thread, except in tests.
+     */
+    void flush() {
+        flushScheduled.set(false);
+        drain().forEach(write -> write.subscribe().with(ignored -> { }));
+    }
+
+    /**
+     * Stops the flusher and writes all pending JTIs, waiting for the
+     * writes to finish.
+     */
+    public void close() {
+        flusher.shutdown();
+
+        try {
+            if (!flusher.awaitTermination(SHUTDOWN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+                LOG.warn("Timed out waiting for the JTI flusher to stop");
+            }
+
+            List<Uni<Void>> writes = drain();
+
+            if (!writes.isEmpty()) {
+                Uni.join().all(writes).andFailFast()
+                        .await().atMost(SHUTDOWN_TIMEOUT);
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (final RuntimeException e) {
+            LOG.error("Failed to flush pending JTIs", e);
+        }
+    }
+
+    private List<Uni<Void>> drain() {
+        final List<Uni<Void>> writes = new ArrayList<>();
+
+        while (!pending.isEmpty()) {
+            final List<AccountTokenDO> batch = new ArrayList<>(batchSize);
+            AccountTokenDO next;
+
+            while (batch.size() < batchSize && (next = pending.poll()) != null) {
+                batch.add(next);
+            }
+
+            pendingCount.addAndGet(-batch.size());
+
+            if (!batch.isEmpty()) {
+                writes.add(writeBatch(batch));
+            }
+        }
+
+        return writes;
+    }
+
+    private Uni<Void> writeBatch(final List<AccountTokenDO> batch) {
+        final List<AccountTokenDO> unrevoked = batch.stream()
+                .filter(token -> !isRevoked(token.getToken()))
+                .toList();
+
+        if (unrevoked.isEmpty()) {
+            return Uni.createFrom().voidItem();
+        }
+
+        return accountTokensRepository.saveAll(unrevoked)
+                .invoke(ignored -> LOG.debug("Persisted {} JTIs", unrevoked.size()))
+                .call(ignored -> deleteRevoked(unrevoked))
+                .onFailure().recoverWithItem(e -> {
+                    LOG.error("Failed to persist a batch of {} JTIs", unrevoked.size(), e);
+                    return null;
+                })
+                .replaceWithVoid();
+    }
+
+    /**
+     * Deletes the written JTIs which were revoked while they were being
+     * written, since the save may have landed after the delete.
+     */
+    private Uni<?> deleteRevoked(final List<AccountTokenDO> written) {
+        final List<Uni<Optional<AccountTokenDO>>> deletes = written.stream()
+                .map(AccountTokenDO::getToken)
+                .filter(this::isRevoked)
+                .map(accountTokensRepository::deleteToken)
+                .toList();
+
+        if (deletes.isEmpty()) {
+            return Uni.createFrom().voidItem();
+        }
+
+        return Uni.join().all(deletes).andCollectFailures();
+    }
+
+    private boolean isRevoked(final String jti) {
+        return revoked.get(jti).isPresent();
+    }
+
+    private static JtiConfig jtiConfig(final JwtConfig jwtConfig) {
+        return jwtConfig.getJti() == null
+                ? JtiConfig.builder().build()
+                : jwtConfig.getJti();
     }
 }
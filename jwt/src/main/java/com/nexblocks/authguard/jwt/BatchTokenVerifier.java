@@ -0,0 +1,97 @@
+package com.nexblocks.authguard.jwt;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.nexblocks.authguard.api.dto.entities.TokenVerificationDTO;
+import com.nexblocks.authguard.service.exceptions.ServiceException;
+import com.nexblocks.authguard.service.exceptions.codes.ErrorCode;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Verifies many tokens at once, for resource servers which would
+ * otherwise make a request per token. Each token is verified on the
+ * worker pool, so their signatures are checked in parallel, and a token
+ * which fails verification gets an error code in its result instead of
+ * failing the whole batch. The results are in the order of the tokens.
+ */
+@Singleton
+public class BatchTokenVerifier {
+    public static final String ACCESS_TOKEN = "accessToken";
+    public static final String API_TOKEN = "apiToken";
+
+    private final AccessTokenVerifier accessTokenVerifier;
+    private final ApiTokenVerifier apiTokenVerifier;
+    private final Executor executor;
+
+    @Inject
+    public BatchTokenVerifier(final AccessTokenVerifier accessTokenVerifier,
+                              final ApiTokenVerifier apiTokenVerifier) {
+        this(accessTokenVerifier, apiTokenVerifier, Infrastructure.getDefaultWorkerPool());
+    }
+
+    BatchTokenVerifier(final AccessTokenVerifier accessTokenVerifier,
+                       final ApiTokenVerifier apiTokenVerifier,
+                       final Executor executor) {
+        this.accessTokenVerifier = accessTokenVerifier;
+        this.apiTokenVerifier = apiTokenVerifier;
+        this.executor = executor;
+    }
+
+    public static boolean isSupported(final String tokenType) {
+        return tokenType == null || ACCESS_TOKEN.equals(tokenType) || API_TOKEN.equals(tokenType);
+    }
+
+    /**
+     * @param tokenType One of the supported token types, or null for
+     *                  access tokens.
+     */
+    public Uni<List<TokenVerificationDTO>> verify(final List<String> tokens, final String tokenType) {
+        if (!isSupported(tokenType)) {
+            return Uni.createFrom().failure(new IllegalArgumentException("Unsupported token type " + tokenType));
+        }
+
+        final Function<String, Uni<DecodedJWT>> verifier = API_TOKEN.equals(tokenType)
+                ? apiTokenVerifier::verifyClaims
+                : accessTokenVerifier::verifyClaims;
+
+        final List<Uni<TokenVerificationDTO>> results = new ArrayList<>(tokens.size());
+
+        for (final String token : tokens) {
+            results.add(Uni.createFrom().deferred(() -> verifier.apply(token))
+                    .runSubscriptionOn(executor)
+                    .map(BatchTokenVerifier::valid)
+                    .onFailure().recoverWithItem(BatchTokenVerifier::invalid));
+        }
+
+        return Uni.join().all(results).andFailFast();
+    }
+
+    private static TokenVerificationDTO valid(final DecodedJWT verified) {
+        final List<String> permissions = verified.getClaim("permissions").asList(String.class);
+
+        return TokenVerificationDTO.builder()
+                .valid(true)
+                .subject(verified.getSubject())
+                .expiresAt(verified.getExpiresAt() == null ? null : verified.getExpiresAt().toInstant())
+                .permissions(permissions == null ? List.of() : permissions)
+                .build();
+    }
+
+    private static TokenVerificationDTO invalid(final Throwable e) {
+        final String errorCode = e instanceof ServiceException
+                ? ((ServiceException) e).getErrorCode()
+                : ErrorCode.INVALID_TOKEN.getCode();
+
+        return TokenVerificationDTO.builder()
+                .valid(false)
+                .errorCode(errorCode)
+                .build();
+    }
+}
@@ -1,7 +1,6 @@
 package com.nexblocks.authguard.jwt;
 
 import com.auth0.jwt.JWTCreator;
-import com.auth0.jwt.algorithms.Algorithm;
 import com.google.inject.Inject;
 import com.google.inject.name.Named;
 import com.nexblocks.authguard.config.ConfigContext;
@@ -22,7 +21,7 @@ import io.smallrye.mutiny.Uni;
 public class IdTokenProvider implements AuthProvider {
     private static final String TOKEN_TYPE = "idToken";
 
-    private final Algorithm algorithm;
+    private final JwtKeyring keyring;
     private final JwtGenerator jwtGenerator;
     private final TokenEncryptorAdapter tokenEncryptor;
     private final StrategyConfig strategy;
@@ -32,16 +31,18 @@ public class IdTokenProvider implements AuthProvider {
     @Inject
     public IdTokenProvider(final @Named("jwt") ConfigContext jwtConfigContext,
                            final @Named("idToken") ConfigContext idTokenConfigContext,
-                           final TokenEncryptorAdapter tokenEncryptor) {
+                           final TokenEncryptorAdapter tokenEncryptor,
+                           final JwtKeyring keyring) {
         this(jwtConfigContext.asConfigBean(JwtConfig.class),
                 idTokenConfigContext.asConfigBean(StrategyConfig.class),
-                tokenEncryptor);
+                tokenEncryptor, keyring);
     }
 
     public IdTokenProvider(final JwtConfig jwtConfig,
                            final StrategyConfig idTokenConfig,
-                           final TokenEncryptorAdapter tokenEncryptor) {
-        this.algorithm = JwtConfigParser.parseAlgorithm(jwtConfig.getAlgorithm(), jwtConfig.getPublicKey(), jwtConfig.getPrivateKey());
+                           final TokenEncryptorAdapter tokenEncryptor,
+                           final JwtKeyring keyring) {
+        this.keyring = keyring;
 
         this.tokenEncryptor = tokenEncryptor;
         this.strategy = idTokenConfig;
@@ -59,7 +60,7 @@ public class IdTokenProvider implements AuthProvider {
 
         JwtTokenBuilder tokenBuilder = generateIdToke(account, options);
 
-        String signedToken = tokenBuilder.getBuilder().sign(algorithm);
+        String signedToken = keyring.sign(tokenBuilder.getBuilder());
         String finalToken = encryptIfNeeded(signedToken);
 
         String refreshToken = jwtGenerator.generateRandomRefreshToken();
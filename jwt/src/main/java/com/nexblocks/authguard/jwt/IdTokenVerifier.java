@@ -1,30 +1,33 @@
 package com.nexblocks.authguard.jwt;
 
-import com.auth0.jwt.algorithms.Algorithm;
 import com.google.inject.Inject;
+import com.google.inject.Singleton;
 import com.google.inject.name.Named;
 import com.nexblocks.authguard.config.ConfigContext;
+import com.nexblocks.authguard.service.TokenRevocationService;
 import com.nexblocks.authguard.service.config.JwtConfig;
 import com.nexblocks.authguard.service.config.StrategyConfig;
 import io.smallrye.mutiny.Uni;
 
+@Singleton
 public class IdTokenVerifier {
     private final JwtTokenVerifier jwtTokenVerifier;
 
     @Inject
     public IdTokenVerifier(final @Named("jwt") ConfigContext jwtConfigContext,
                            final @Named("idToken") ConfigContext accessTokenConfigContext,
-                           final JtiProvider jti) {
+                           final JtiProvider jti,
+                           final TokenRevocationService revocations,
+                           final JwtKeyring keyring) {
         this(jwtConfigContext.asConfigBean(JwtConfig.class), accessTokenConfigContext.asConfigBean(StrategyConfig.class),
-                jti);
+                jti, revocations, keyring);
     }
 
     public IdTokenVerifier(final JwtConfig jwtConfig, final StrategyConfig strategy,
-                           final JtiProvider jti) {
-        Algorithm algorithm = JwtConfigParser.parseAlgorithm(jwtConfig.getAlgorithm(), jwtConfig.getPublicKey(),
-                jwtConfig.getPrivateKey());
-
-        this.jwtTokenVerifier = new JwtTokenVerifier(strategy, jti, algorithm);
+                           final JtiProvider jti, final TokenRevocationService revocations,
+                           final JwtKeyring keyring) {
+        this.jwtTokenVerifier = new JwtTokenVerifier(strategy, jti, keyring,
+                VerifiedTokensCache.fromConfig("verifiedIdTokens", jwtConfig.getVerificationCache()), revocations);
     }
 
     public Uni<String> verify(final String token) {
@@ -0,0 +1,80 @@
+package com.nexblocks.authguard.jwt;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * The published public keys of a {@link JwtKeyring}, serialized once
+ * whenever the keyring changes.
+ */
+public final class JsonWebKeySet {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final byte[] json;
+    private final String eTag;
+    private final Instant validUntil;
+
+    private JsonWebKeySet(final byte[] json, final Instant validUntil) {
+        this.json = json;
+        this.eTag = "\"" + digest(json) + "\"";
+        this.validUntil = validUntil;
+    }
+
+    static JsonWebKeySet of(final Collection<JwtKey> keys, final Instant validUntil) {
+        final List<Map<String, Object>> publicKeys = keys.stream()
+                .map(JwtKey::getPublicJwk)
+                .filter(jwk -> jwk != null)
+                .collect(Collectors.toList());
+
+        try {
+            return new JsonWebKeySet(MAPPER.writeValueAsBytes(Collections.singletonMap("keys", publicKeys)),
+                    validUntil);
+        } catch (final JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize the JWKS", e);
+        }
+    }
+
+    /**
+     * The serialized key set. The array is shared and must not be
+     * modified.
+     */
+    public byte[] getJson() {
+        return json;
+    }
+
+    /**
+     * A strong ETag of the serialized key set, which is the same on every
+     * instance with the same keys.
+     */
+    public String getETag() {
+        return eTag;
+    }
+
+    /**
+     * @return When the keyring is next scheduled to change, or null if it
+     *         isn't.
+     */
+    public Instant getValidUntil() {
+        return validUntil;
+    }
+
+    private static String digest(final byte[] value) {
+        try {
+            final byte[] hash = MessageDigest.getInstance("SHA-256").digest(value);
+
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -1,19 +1,50 @@
 package com.nexblocks.authguard.jwt;
 
+import io.smallrye.mutiny.Uni;
+
+import java.time.Instant;
+import java.util.function.Consumer;
+
 /**
- * JTI interface.
+ * JTI interface. Implementations are called on the token issuance and
+ * verification paths and must not block.
  */
 public interface JtiProvider {
     /**
-     * @return A unique JTI.
+     * @param expiresAt When the token which carries the JTI expires, or
+     *                  null if it doesn't.
+     * @return A unique JTI, which is valid until the token expires.
      */
-    String next();
+    String next(Instant expiresAt);
 
     /**
      * Check a JTI against a blacklist
      * @param jti The JTI
+     * @param issuedAt When the token which carries the JTI was issued,
+     *                 or null if it's unknown.
      * @return True if the JTI is valid, false
      *         otherwise.
      */
-    boolean validate(String jti);
+    Uni<Boolean> validate(String jti, Instant issuedAt);
+
+    /**
+     * Revokes a JTI so that it fails validation from then on.
+     * @param jti The JTI
+     * @return True if the JTI was known to this provider.
+     */
+    Uni<Boolean> revoke(String jti);
+
+    /**
+     * Applies a revocation which was made elsewhere, e.g. by another
+     * instance, to what this provider keeps in memory. Unlike
+     * {@link #revoke(String)}, storage isn't touched.
+     * @param jti The JTI
+     */
+    void revokeLocally(String jti);
+
+    /**
+     * Registers a callback to be called with every revoked JTI, e.g. to
+     * evict anything cached for it.
+     */
+    void addRevocationListener(Consumer<String> listener);
 }
@@ -0,0 +1,60 @@
+package com.nexblocks.authguard.jwt;
+
+import com.google.inject.Inject;
+import com.nexblocks.authguard.api.annotations.DependsOnConfiguration;
+import com.nexblocks.authguard.api.routes.VertxApiHandler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * Publishes the public keys of the {@link JwtKeyring}. The key set is
+ * serialized ahead of time, so a request only writes out the current
+ * bytes, or nothing if the client's copy is still current.
+ */
+@DependsOnConfiguration("jwt")
+public class JwksApiHandler implements VertxApiHandler {
+    private final JwtKeyring keyring;
+
+    @Inject
+    public JwksApiHandler(final JwtKeyring keyring) {
+        this.keyring = keyring;
+    }
+
+    public void register(final Router router) {
+        router.get("/.well-known/jwks.json")
+                .handler(this::getJwks);
+    }
+
+    private void getJwks(final RoutingContext context) {
+        JsonWebKeySet jwks = keyring.getJwks();
+
+        context.response()
+                .putHeader("ETag", jwks.getETag())
+                .putHeader("Cache-Control", "public, max-age=" + keyring.getJwksMaxAge().getSeconds());
+
+        if (matches(context.request().getHeader("If-None-Match"), jwks.getETag())) {
+            context.response().setStatusCode(304).end();
+        } else {
+            context.response().setStatusCode(200)
+                    .putHeader("Content-Type", "application/json")
+                    .end(Buffer.buffer(jwks.getJson()));
+        }
+    }
+
+    private static boolean matches(final String ifNoneMatch, final String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+
+            if (trimmed.equals("*") || trimmed.equals(eTag) || trimmed.equals("W/" + eTag)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
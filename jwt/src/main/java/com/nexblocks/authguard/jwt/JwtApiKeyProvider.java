@@ -2,7 +2,6 @@ package com.nexblocks.authguard.jwt;
 
 import com.auth0.jwt.JWT;
 import com.auth0.jwt.JWTCreator;
-import com.auth0.jwt.algorithms.Algorithm;
 import com.google.inject.Inject;
 import com.google.inject.name.Named;
 import com.nexblocks.authguard.config.ConfigContext;
@@ -21,21 +20,18 @@ import java.util.Date;
 public class JwtApiKeyProvider implements AuthProvider {
     private final String TOKEN_TYPE = "jwt_api_key";
 
-    private final Algorithm algorithm;
+    private final JwtKeyring keyring;
     private final StrategyConfig strategyConfig;
 
     @Inject
-    public JwtApiKeyProvider(final JwtConfig jwtConfig,
-                             final @Named("jwtApiKey") ConfigContext apiKeyConfigContext) {
-        this(jwtConfig, apiKeyConfigContext.asConfigBean(StrategyConfig.class));
+    public JwtApiKeyProvider(final @Named("jwtApiKey") ConfigContext apiKeyConfigContext,
+                             final JwtKeyring keyring) {
+        this(apiKeyConfigContext.asConfigBean(StrategyConfig.class), keyring);
     }
 
-    public JwtApiKeyProvider(final JwtConfig jwtConfig,
-                             final StrategyConfig strategyConfig) {
+    public JwtApiKeyProvider(final StrategyConfig strategyConfig, final JwtKeyring keyring) {
         this.strategyConfig = strategyConfig;
-
-        this.algorithm = JwtConfigParser.parseAlgorithm(jwtConfig.getAlgorithm(), jwtConfig.getPublicKey(),
-                jwtConfig.getPrivateKey());
+        this.keyring = keyring;
     }
 
     @Override
@@ -47,7 +43,7 @@ public class JwtApiKeyProvider implements AuthProvider {
     @Override
     public AuthResponseBO generateToken(final AppBO app) {
         final JwtTokenBuilder tokenBuilder = generateApiToken(app, null);
-        final String token = tokenBuilder.getBuilder().sign(algorithm);
+        final String token = keyring.sign(tokenBuilder.getBuilder());
 
         return AuthResponseBO.builder()
                 .type(TOKEN_TYPE)
@@ -60,7 +56,7 @@ public class JwtApiKeyProvider implements AuthProvider {
     @Override
     public AuthResponseBO generateToken(ClientBO client) {
         final JwtTokenBuilder tokenBuilder = generateApiToken(client, null);
-        final String token = tokenBuilder.getBuilder().sign(algorithm);
+        final String token = keyring.sign(tokenBuilder.getBuilder());
 
         return AuthResponseBO.builder()
                 .type(TOKEN_TYPE)
@@ -73,7 +69,7 @@ public class JwtApiKeyProvider implements AuthProvider {
     @Override
     public AuthResponseBO generateToken(final AppBO app, final Instant expiresAt) {
         final JwtTokenBuilder tokenBuilder = generateApiToken(app, expiresAt);
-        final String token = tokenBuilder.getBuilder().sign(algorithm);
+        final String token = keyring.sign(tokenBuilder.getBuilder());
 
         return AuthResponseBO.builder()
                 .type(TOKEN_TYPE)
@@ -7,8 +7,10 @@ import com.nexblocks.authguard.service.exceptions.ServiceException;
 import com.nexblocks.authguard.service.exceptions.codes.ErrorCode;
 
 import java.nio.charset.StandardCharsets;
+import java.security.KeyFactory;
 import java.security.KeyPair;
 import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
 import java.security.interfaces.ECPrivateKey;
 import java.security.interfaces.ECPublicKey;
 import java.security.interfaces.RSAPrivateKey;
@@ -21,10 +23,8 @@ public class JwtConfigParser {
 
         if (algorithmName.startsWith("HMAC")) {
             return parseHmac(algorithmName, privateKey);
-        } else if (algorithmName.startsWith("RSA")) {
-            return parseRsa(algorithmName, publicKey, privateKey);
-        } else if (algorithmName.startsWith("EC")) {
-            return parseEc(algorithmName, publicKey, privateKey);
+        } else if (algorithmName.startsWith("RSA") || algorithmName.startsWith("EC")) {
+            return asymmetricAlgorithm(algorithmName, parseKeyPair(algorithmName, publicKey, privateKey));
         } else {
             throw new ServiceException(ErrorCode.UNSUPPORTED_JWT_ALGORITHM, "Unsupported algorithm " + algorithmName);
         }
@@ -45,13 +45,26 @@ public class JwtConfigParser {
         }
     }
 
-    private static Algorithm parseRsa(final String algorithmName, final String publicKeyPath,
-                                      final String privateKeyPath) {
+    /**
+     * Reads the keys of an RSA or EC algorithm. The private key can be
+     * null for keys which only verify tokens.
+     */
+    static KeyPair parseKeyPair(final String algorithmName, final String publicKeyPath,
+                                final String privateKeyPath) {
         final byte[] publicKey = KeyLoader.readPemFileOrValue(publicKeyPath);
+
+        if (privateKeyPath == null) {
+            return new KeyPair(readPublicKey(algorithmName, publicKey), null);
+        }
+
         final byte[] privateKey = KeyLoader.readPemFileOrValue(privateKeyPath);
 
-        final KeyPair keyPair = readRsaKeys(publicKey, privateKey);
+        return algorithmName.startsWith("RSA")
+                ? readRsaKeys(publicKey, privateKey)
+                : readEcKeys(publicKey, privateKey);
+    }
 
+    static Algorithm asymmetricAlgorithm(final String algorithmName, final KeyPair keyPair) {
         switch (algorithmName) {
             case "RSA256":
                 return Algorithm.RSA256((RSAPublicKey) keyPair.getPublic(), (RSAPrivateKey) keyPair.getPrivate());
@@ -59,19 +72,6 @@ public class JwtConfigParser {
             case "RSA512":
                 return Algorithm.RSA512((RSAPublicKey) keyPair.getPublic(), (RSAPrivateKey) keyPair.getPrivate());
 
-            default:
-                throw new ServiceException(ErrorCode.UNSUPPORTED_JWT_ALGORITHM, "Unsupported algorithm " + algorithmName);
-        }
-    }
-
-    private static Algorithm parseEc(final String algorithmName, final String publicKeyPath,
-                                     final String privateKeyPath) {
-        final byte[] publicKey = KeyLoader.readPemFileOrValue(publicKeyPath);
-        final byte[] privateKey = KeyLoader.readPemFileOrValue(privateKeyPath);
-
-        final KeyPair keyPair = readEcKeys(publicKey, privateKey);
-
-        switch (algorithmName) {
             case "EC256":
                 return Algorithm.ECDSA256((ECPublicKey) keyPair.getPublic(), (ECPrivateKey) keyPair.getPrivate());
 
@@ -83,6 +83,16 @@ public class JwtConfigParser {
         }
     }
 
+    private static PublicKey readPublicKey(final String algorithmName, final byte[] publicKey) {
+        try {
+            final KeyFactory keyFactory = KeyFactory.getInstance(algorithmName.startsWith("RSA") ? "RSA" : "EC");
+
+            return AsymmetricKeys.publicKeyFromBase64Keys(keyFactory, publicKey);
+        } catch (NoSuchAlgorithmException | InvalidKeySpecException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     private static KeyPair readRsaKeys(final byte[] publicKey, final byte[] privateKey) {
         try {
             return AsymmetricKeys.rsaFromBase64Keys(publicKey, privateKey);
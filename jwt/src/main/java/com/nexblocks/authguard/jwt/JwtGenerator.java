@@ -7,8 +7,7 @@ import com.nexblocks.authguard.service.model.AccountBO;
 import com.nexblocks.authguard.service.random.CryptographicRandom;
 
 import java.time.Duration;
-import java.time.LocalDateTime;
-import java.time.ZoneId;
+import java.time.Instant;
 import java.util.Date;
 
 public class JwtGenerator {
@@ -25,17 +24,13 @@ public class JwtGenerator {
     }
 
     JWTCreator.Builder generateUnsignedToken(final AccountBO account, final Duration tokenLife) {
-        final LocalDateTime now = LocalDateTime.now();
-        final LocalDateTime exp = now.plus(tokenLife);
-
-        ZoneId.systemDefault().getRules().getOffset(now);
+        final Instant now = Instant.now();
 
         return JWT.create()
                 .withIssuer(jwtConfig.getIssuer())
                 .withSubject("" + account.getId())
-                // TODO properly handle timezones
-                .withIssuedAt(Date.from(now.toInstant(ZoneId.systemDefault().getRules().getOffset(now))))
-                .withExpiresAt(Date.from(exp.toInstant(ZoneId.systemDefault().getRules().getOffset(now))));
+                .withIssuedAt(Date.from(now))
+                .withExpiresAt(Date.from(now.plus(tokenLife)));
     }
 
     String generateRandomRefreshToken() {
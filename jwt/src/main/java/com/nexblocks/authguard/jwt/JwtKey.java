@@ -0,0 +1,252 @@
+package com.nexblocks.authguard.jwt;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nexblocks.authguard.crypto.KeyLoader;
+import com.nexblocks.authguard.service.config.JwtConfig;
+import com.nexblocks.authguard.service.config.JwtKeyConfig;
+import com.nexblocks.authguard.service.exceptions.ConfigurationException;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A key of the {@link JwtKeyring}. Keys which have no configured ID are
+ * identified by their RFC 7638 thumbprint, so that every instance derives
+ * the same ID from the same key.
+ */
+final class JwtKey {
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final String id;
+    private final Algorithm algorithm;
+    private final JWTVerifier verifier;
+    private final byte[] encodedHeader;
+    private final Map<String, Object> publicJwk;
+    private final Instant signFrom;
+    private final Instant expiresAt;
+    private final boolean canSign;
+
+    private JwtKey(final String id, final Algorithm algorithm, final Map<String, Object> publicJwk,
+                   final Instant signFrom, final Instant expiresAt, final boolean canSign) {
+        this.id = id;
+        this.algorithm = algorithm;
+        this.verifier = JWT.require(algorithm).build();
+        this.encodedHeader = encodeHeader(id, algorithm);
+        this.publicJwk = publicJwk;
+        this.signFrom = signFrom;
+        this.expiresAt = expiresAt;
+        this.canSign = canSign;
+    }
+
+    /**
+     * The key configured directly in the JWT configuration.
+     */
+    static JwtKey primary(final JwtConfig config) {
+        return create(config.getKeyId(), config.getAlgorithm(), config.getPublicKey(), config.getPrivateKey(),
+                Instant.EPOCH, null, false);
+    }
+
+    static JwtKey fromConfig(final JwtKeyConfig config) {
+        return create(config.getId(), config.getAlgorithm(), config.getPublicKey(), config.getPrivateKey(),
+                config.getSignFrom() == null ? Instant.EPOCH : Instant.parse(config.getSignFrom()),
+                config.getExpiresAt() == null ? null : Instant.parse(config.getExpiresAt()),
+                config.verifyOnly());
+    }
+
+    /**
+     * A key without an ID, which signs tokens without a kid header.
+     */
+    static JwtKey of(final Algorithm algorithm) {
+        return new JwtKey(null, algorithm, null, Instant.EPOCH, null, true);
+    }
+
+    private static JwtKey create(final String id, final String algorithmName, final String publicKey,
+                                 final String privateKey, final Instant signFrom, final Instant expiresAt,
+                                 final boolean verifyOnly) {
+        if (algorithmName.startsWith("HMAC")) {
+            final byte[] secret = KeyLoader.readPemFileOrValue(privateKey);
+            final String thumbprint = "{\"k\":\"" + BASE64_URL.encodeToString(secret) + "\",\"kty\":\"oct\"}";
+
+            // secret keys are never published
+            return new JwtKey(id == null ? digest(thumbprint) : id,
+                    JwtConfigParser.parseAlgorithm(algorithmName, publicKey, privateKey),
+                    null, signFrom, expiresAt, !verifyOnly);
+        }
+
+        final KeyPair keyPair = JwtConfigParser.parseKeyPair(algorithmName, publicKey, privateKey);
+        final Algorithm algorithm = JwtConfigParser.asymmetricAlgorithm(algorithmName, keyPair);
+        final Map<String, Object> members = publicMembers(keyPair.getPublic());
+        final String keyId = id == null ? digest(thumbprint(members)) : id;
+
+        final Map<String, Object> publicJwk = new LinkedHashMap<>();
+        publicJwk.put("kid", keyId);
+        publicJwk.put("use", "sig");
+        publicJwk.put("alg", algorithm.getName());
+        publicJwk.putAll(members);
+
+        return new JwtKey(keyId, algorithm, Collections.unmodifiableMap(publicJwk), signFrom, expiresAt,
+                !verifyOnly && keyPair.getPrivate() != null);
+    }
+
+    String getId() {
+        return id;
+    }
+
+    Algorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    JWTVerifier getVerifier() {
+        return verifier;
+    }
+
+    /**
+     * The Base64URL-encoded header of the tokens the key signs, the same
+     * as JWTCreator writes it.
+     */
+    byte[] getEncodedHeader() {
+        return encodedHeader;
+    }
+
+    /**
+     * @return The key as a JWK, or null if it's a secret key.
+     */
+    Map<String, Object> getPublicJwk() {
+        return publicJwk;
+    }
+
+    Instant getSignFrom() {
+        return signFrom;
+    }
+
+    Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    boolean isTrustedAt(final Instant instant) {
+        return expiresAt == null || expiresAt.isAfter(instant);
+    }
+
+    boolean canSignAt(final Instant instant) {
+        return canSign && !signFrom.isAfter(instant) && isTrustedAt(instant);
+    }
+
+    // filled in the order JWTCreator fills its header map, which decides the order it's written in
+    private static byte[] encodeHeader(final String id, final Algorithm algorithm) {
+        final Map<String, Object> header = new HashMap<>();
+
+        if (id != null) {
+            header.put("kid", id);
+        }
+
+        header.put("alg", algorithm.getName());
+        header.put("typ", "JWT");
+
+        try {
+            return BASE64_URL.encode(MAPPER.writeValueAsBytes(header));
+        } catch (final JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize the JWT header", e);
+        }
+    }
+
+    // the required members of the JWK in the lexicographic order RFC 7638 thumbprints use
+    private static Map<String, Object> publicMembers(final PublicKey publicKey) {
+        final Map<String, Object> members = new LinkedHashMap<>();
+
+        if (publicKey instanceof RSAPublicKey) {
+            final RSAPublicKey rsaKey = (RSAPublicKey) publicKey;
+
+            members.put("e", BASE64_URL.encodeToString(unsigned(rsaKey.getPublicExponent(), 0)));
+            members.put("kty", "RSA");
+            members.put("n", BASE64_URL.encodeToString(unsigned(rsaKey.getModulus(), 0)));
+        } else {
+            final ECPublicKey ecKey = (ECPublicKey) publicKey;
+            final int fieldSize = ecKey.getParams().getCurve().getField().getFieldSize();
+            final int length = (fieldSize + 7) / 8;
+
+            members.put("crv", curveName(ecKey, fieldSize));
+            members.put("kty", "EC");
+            members.put("x", BASE64_URL.encodeToString(unsigned(ecKey.getW().getAffineX(), length)));
+            members.put("y", BASE64_URL.encodeToString(unsigned(ecKey.getW().getAffineY(), length)));
+        }
+
+        return members;
+    }
+
+    private static String curveName(final ECPublicKey key, final int fieldSize) {
+        switch (fieldSize) {
+            case 256:
+                // secp256k1 is the only supported 256-bit curve with a = 0
+                return key.getParams().getCurve().getA().signum() == 0 ? "secp256k1" : "P-256";
+
+            case 384:
+                return "P-384";
+
+            case 521:
+                return "P-521";
+
+            default:
+                throw new ConfigurationException("Unsupported EC curve with a field size of " + fieldSize);
+        }
+    }
+
+    private static String thumbprint(final Map<String, Object> members) {
+        final StringBuilder json = new StringBuilder("{");
+
+        members.forEach((name, value) -> {
+            if (json.length() > 1) {
+                json.append(',');
+            }
+
+            json.append('"').append(name).append("\":\"").append(value).append('"');
+        });
+
+        return json.append('}').toString();
+    }
+
+    private static String digest(final String value) {
+        try {
+            final MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+
+            return BASE64_URL.encodeToString(sha256.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    // big-endian without the sign byte, left-padded to the given length
+    private static byte[] unsigned(final BigInteger value, final int length) {
+        byte[] bytes = value.toByteArray();
+
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+
+        if (bytes.length >= length) {
+            return bytes;
+        }
+
+        final byte[] padded = new byte[length];
+        System.arraycopy(bytes, 0, padded, length - bytes.length, bytes.length);
+
+        return padded;
+    }
+}
@@ -0,0 +1,272 @@
+package com.nexblocks.authguard.jwt;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTCreator;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import com.nexblocks.authguard.config.ConfigContext;
+import com.nexblocks.authguard.service.config.ConfigParser;
+import com.nexblocks.authguard.service.config.JwtConfig;
+import com.nexblocks.authguard.service.exceptions.ConfigurationException;
+import com.nexblocks.authguard.service.exceptions.ServiceException;
+import com.nexblocks.authguard.service.exceptions.codes.ErrorCode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The keys which sign and verify JWTs. One key signs at a time, the one
+ * which most recently reached its signFrom instant, or the one listed last
+ * if several reached it at the same time, and every key which
+ * hasn't expired is trusted, so tokens keep verifying after the signing
+ * key rotates. Tokens carry the ID of the key which signed them in their
+ * kid header. Tokens without one, which were issued before there were key
+ * IDs, are verified with the key configured directly in the JWT
+ * configuration.
+ * <p>
+ * The keyring changes at the signFrom and expiresAt instants of its keys,
+ * which are scheduled ahead of time. The public keys are published as a
+ * {@link JsonWebKeySet}, which is built whenever the keyring changes and
+ * not on every request.
+ */
+@Singleton
+public class JwtKeyring {
+    private static final Logger LOG = LoggerFactory.getLogger(JwtKeyring.class);
+
+    private final List<JwtKey> keys;
+    private final JwtKey primaryKey;
+    private final boolean anonymous;
+    private final Duration jwksMaxAge;
+    private final Clock clock;
+
+    private ScheduledExecutorService scheduler;
+    private volatile State state;
+
+    @Inject
+    public JwtKeyring(final @Named("jwt") ConfigContext jwtConfigContext) {
+        this(jwtConfigContext.asConfigBean(JwtConfig.class));
+    }
+
+    public JwtKeyring(final JwtConfig jwtConfig) {
+        this(jwtConfig, Clock.systemUTC());
+    }
+
+    JwtKeyring(final JwtConfig jwtConfig, final Clock clock) {
+        this.keys = new ArrayList<>();
+        this.primaryKey = jwtConfig.getAlgorithm() == null ? null : JwtKey.primary(jwtConfig);
+        this.anonymous = false;
+        this.jwksMaxAge = ConfigParser.parseDuration(jwtConfig.getJwksMaxAge());
+        this.clock = clock;
+
+        if (primaryKey != null) {
+            keys.add(primaryKey);
+        }
+
+        jwtConfig.getKeys().forEach(keyConfig -> keys.add(JwtKey.fromConfig(keyConfig)));
+
+        if (keys.stream().map(JwtKey::getId).distinct().count() != keys.size()) {
+            throw new ConfigurationException("JWT key IDs must be unique");
+        }
+
+        rotate();
+    }
+
+    private JwtKeyring(final JwtKey key) {
+        this.keys = Collections.singletonList(key);
+        this.primaryKey = key;
+        this.anonymous = true;
+        this.jwksMaxAge = Duration.ZERO;
+        this.clock = Clock.systemUTC();
+
+        rotate();
+    }
+
+    /**
+     * A keyring of a single key without an ID, which verifies tokens
+     * regardless of their kid header.
+     */
+    static JwtKeyring of(final Algorithm algorithm) {
+        return new JwtKeyring(JwtKey.of(algorithm));
+    }
+
+    /**
+     * Signs a token with the current signing key and sets its kid header.
+     */
+    public String sign(final JWTCreator.Builder builder) {
+        final JwtKey signingKey = signingKey();
+
+        if (signingKey.getId() != null) {
+            builder.withKeyId(signingKey.getId());
+        }
+
+        return builder.sign(signingKey.getAlgorithm());
+    }
+
+    /**
+     * Signs a token written by a {@link JwtWriter}, which is the same token
+     * as if its claims were signed through a builder.
+     */
+    public String sign(final JwtWriter.Claims claims) {
+        return claims.sign(signingKey());
+    }
+
+    public DecodedJWT verify(final String token) throws JWTVerificationException {
+        return verify(JWT.decode(token));
+    }
+
+    /**
+     * Verifies a token with the trusted key its kid header refers to.
+     */
+    public DecodedJWT verify(final DecodedJWT decoded) throws JWTVerificationException {
+        final State current = state;
+        final String keyId = decoded.getKeyId();
+        final JwtKey key = keyId == null || anonymous
+                ? current.primaryKey
+                : current.trustedKeys.get(keyId);
+
+        if (key == null) {
+            throw new JWTVerificationException("Unknown JWT key " + keyId);
+        }
+
+        return key.getVerifier().verify(decoded);
+    }
+
+    public JsonWebKeySet getJwks() {
+        return state.jwks;
+    }
+
+    /**
+     * How long the key set can be cached by its consumers. It's never past
+     * the next scheduled change of the keyring.
+     */
+    public Duration getJwksMaxAge() {
+        final Instant validUntil = state.jwks.getValidUntil();
+
+        if (validUntil == null) {
+            return jwksMaxAge;
+        }
+
+        final Duration untilChange = Duration.between(clock.instant(), validUntil);
+
+        if (untilChange.isNegative()) {
+            return Duration.ZERO;
+        }
+
+        return untilChange.compareTo(jwksMaxAge) < 0 ? untilChange : jwksMaxAge;
+    }
+
+    private JwtKey signingKey() {
+        final JwtKey signingKey = state.signingKey;
+
+        if (signingKey == null) {
+            throw new ServiceException(ErrorCode.UNSUPPORTED_JWT_ALGORITHM, "No JWT key is available for signing");
+        }
+
+        return signingKey;
+    }
+
+    String getSigningKeyId() {
+        return state.signingKey == null ? null : state.signingKey.getId();
+    }
+
+    /**
+     * Picks the signing and trusted keys for the current time, rebuilds
+     * the key set, and schedules the next change.
+     */
+    synchronized void rotate() {
+        final Instant now = clock.instant();
+
+        JwtKey signingKey = null;
+        final Map<String, JwtKey> trustedKeys = new HashMap<>();
+        final List<JwtKey> publishedKeys = new ArrayList<>();
+        Instant nextChange = null;
+
+        for (final JwtKey key : keys) {
+            if (key.canSignAt(now) && (signingKey == null || !key.getSignFrom().isBefore(signingKey.getSignFrom()))) {
+                signingKey = key;
+            }
+
+            if (key.isTrustedAt(now)) {
+                trustedKeys.put(key.getId(), key);
+                publishedKeys.add(key);
+            }
+
+            nextChange = earliestAfter(now, nextChange, key.getSignFrom());
+            nextChange = earliestAfter(now, nextChange, key.getExpiresAt());
+        }
+
+        final JwtKey previousSigningKey = state == null ? null : state.signingKey;
+
+        state = new State(signingKey,
+                primaryKey != null && primaryKey.isTrustedAt(now) ? primaryKey : null,
+                trustedKeys,
+                JsonWebKeySet.of(publishedKeys, nextChange));
+
+        if (signingKey == null) {
+            LOG.warn("None of the JWT keys can sign tokens");
+        } else if (previousSigningKey != signingKey) {
+            LOG.info("JWT signing key set. kid={}, trustedKeys={}", signingKey.getId(), trustedKeys.size());
+        }
+
+        if (nextChange != null) {
+            schedule(Duration.between(now, nextChange));
+        }
+    }
+
+    private void schedule(final Duration delay) {
+        if (scheduler == null) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "jwt-key-rotation");
+                thread.setDaemon(true);
+
+                return thread;
+            });
+        }
+
+        scheduler.schedule(() -> {
+            try {
+                rotate();
+            } catch (final Exception e) {
+                LOG.error("Failed to rotate the JWT keys", e);
+            }
+        }, delay.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private static Instant earliestAfter(final Instant now, final Instant current, final Instant candidate) {
+        if (candidate == null || !candidate.isAfter(now)) {
+            return current;
+        }
+
+        return current == null || candidate.isBefore(current) ? candidate : current;
+    }
+
+    private static final class State {
+        private final JwtKey signingKey;
+        private final JwtKey primaryKey;
+        private final Map<String, JwtKey> trustedKeys;
+        private final JsonWebKeySet jwks;
+
+        private State(final JwtKey signingKey, final JwtKey primaryKey, final Map<String, JwtKey> trustedKeys,
+                      final JsonWebKeySet jwks) {
+            this.signingKey = signingKey;
+            this.primaryKey = primaryKey;
+            this.trustedKeys = trustedKeys;
+            this.jwks = jwks;
+        }
+    }
+}
@@ -4,25 +4,64 @@ import com.nexblocks.authguard.service.model.AccountBO;
 import com.nexblocks.authguard.service.model.PermissionBO;
 import com.nexblocks.authguard.service.model.TokenRestrictionsBO;
 
-import java.util.stream.Stream;
+import java.util.Arrays;
+import java.util.Set;
 
 public class JwtPermissionsMapper {
 
     private JwtPermissionsMapper() {}
 
     static String[] map(final AccountBO account, final TokenRestrictionsBO restrictions) {
-        return mapToStream(account, restrictions).toArray(String[]::new);
+        return restrict(permissionsOf(account), restrictions);
     }
 
-    private static Stream<String> mapToStream(final AccountBO account, final TokenRestrictionsBO restrictions) {
+    /**
+     * The permissions of an account as claims. The strings are interned,
+     * since the same permissions are shared by many accounts.
+     */
+    static String[] permissionsOf(final AccountBO account) {
+        final String[] permissions = new String[account.getPermissions().size()];
+        int i = 0;
+
+        for (final PermissionBO permission : account.getPermissions()) {
+            permissions[i++] = permissionToString(permission).intern();
+        }
+
+        return permissions;
+    }
+
+    static String[] rolesOf(final AccountBO account) {
+        final String[] roles = new String[account.getRoles().size()];
+        int i = 0;
+
+        for (final String role : account.getRoles()) {
+            roles[i++] = role.intern();
+        }
+
+        return roles;
+    }
+
+    /**
+     * Keeps the permissions the restrictions allow, in their original
+     * order. If there are no permission restrictions, the given array is
+     * returned as it is.
+     */
+    static String[] restrict(final String[] permissions, final TokenRestrictionsBO restrictions) {
         if (restrictions == null || restrictions.getPermissions().isEmpty()) {
-            return account.getPermissions().stream()
-                    .map(JwtPermissionsMapper::permissionToString);
+            return permissions;
+        }
+
+        final Set<String> allowed = restrictions.getPermissions();
+        final String[] restricted = new String[permissions.length];
+        int count = 0;
+
+        for (final String permission : permissions) {
+            if (allowed.contains(permission)) {
+                restricted[count++] = permission;
+            }
         }
 
-        return account.getPermissions().stream()
-                .map(JwtPermissionsMapper::permissionToString)
-                .filter(restrictions.getPermissions()::contains);
+        return count == restricted.length ? restricted : Arrays.copyOf(restricted, count);
     }
 
     static String permissionToString(final PermissionBO permission) {
@@ -0,0 +1,248 @@
+package com.nexblocks.authguard.jwt;
+
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import com.nexblocks.authguard.config.ConfigContext;
+import com.nexblocks.authguard.dal.cache.RevokedTokensRepository;
+import com.nexblocks.authguard.dal.model.RevokedTokenDO;
+import com.nexblocks.authguard.emb.MessageBus;
+import com.nexblocks.authguard.emb.MessageSubscriber;
+import com.nexblocks.authguard.emb.Messages;
+import com.nexblocks.authguard.emb.annotations.Channel;
+import com.nexblocks.authguard.emb.model.EventType;
+import com.nexblocks.authguard.emb.model.Message;
+import com.nexblocks.authguard.service.TokenRevocationService;
+import com.nexblocks.authguard.service.config.ConfigParser;
+import com.nexblocks.authguard.service.config.JtiConfig;
+import com.nexblocks.authguard.service.config.JwtConfig;
+import com.nexblocks.authguard.service.config.RevocationConfig;
+import com.nexblocks.authguard.service.exceptions.ServiceAuthorizationException;
+import com.nexblocks.authguard.service.exceptions.ServiceException;
+import com.nexblocks.authguard.service.exceptions.codes.ErrorCode;
+import com.nexblocks.authguard.service.util.ID;
+import io.smallrye.mutiny.Uni;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Revokes tokens by their JTI. Revocations are kept in a
+ * {@link RevocationFilter} which the token verifiers consult, and are
+ * persisted if the data access layer provides a
+ * {@link RevokedTokensRepository}, in which case the filter is loaded
+ * from it on startup. Revocations are dropped from memory once the token
+ * they revoke expires.
+ * <p>
+ * Every revocation is also published to the "revocations" channel, and
+ * applied to the filter and the in-memory JTIs and verified tokens of
+ * each instance which receives it. For that to happen, this subscriber
+ * must be in the list of allowed subscribers in the emb configuration.
+ */
+@Singleton
+@Channel(JwtTokenRevocationService.CHANNEL)
+public class JwtTokenRevocationService implements TokenRevocationService, MessageSubscriber {
+    private static final Logger LOG = LoggerFactory.getLogger(JwtTokenRevocationService.class);
+
+    static final String CHANNEL = "revocations";
+    // revocations apply to tokens of every domain
+    private static final String DOMAIN = "global";
+
+    private final RevokedTokensRepository revokedTokensRepository;
+    private final JtiProvider jtiProvider;
+    private final MessageBus messageBus;
+    private final JwtKeyring keyring;
+    private final TokenSubjectDomains subjectDomains;
+    private final Duration defaultRetention;
+    private final RevocationFilter filter;
+    private final Clock clock;
+
+    @Inject
+    public JwtTokenRevocationService(final Optional<RevokedTokensRepository> revokedTokensRepository,
+                                     final JtiProvider jtiProvider,
+                                     final @Named("jwt") ConfigContext jwtConfigContext,
+                                     final JwtKeyring keyring,
+                                     final TokenSubjectDomains subjectDomains,
+                                     final MessageBus messageBus) {
+        this(revokedTokensRepository.orElse(null), jtiProvider, jwtConfigContext.asConfigBean(JwtConfig.class),
+                keyring, subjectDomains, messageBus, Clock.systemUTC());
+    }
+
+    /**
+     * @param revokedTokensRepository The storage of revocations, or null
+     *                                to only keep them in memory.
+     * @param messageBus              Where revocations are published for
+     *                                the other instances, or null to not
+     *                                publish them.
+     */
+    public JwtTokenRevocationService(final RevokedTokensRepository revokedTokensRepository,
+                                     final JtiProvider jtiProvider,
+                                     final JwtConfig jwtConfig,
+                                     final JwtKeyring keyring,
+                                     final TokenSubjectDomains subjectDomains,
+                                     final MessageBus messageBus,
+                                     final Clock clock) {
+        this.revokedTokensRepository = revokedTokensRepository;
+        this.jtiProvider = jtiProvider;
+        this.messageBus = messageBus;
+        this.clock = clock;
+
+        RevocationConfig config = jwtConfig.getRevocation() == null
+                ? RevocationConfig.builder().build()
+                : jwtConfig.getRevocation();
+        JtiConfig jtiConfig = jwtConfig.getJti() == null
+                ? JtiConfig.builder().build()
+                : jwtConfig.getJti();
+
+        this.keyring = keyring;
+        this.subjectDomains = subjectDomains;
+        this.defaultRetention = ConfigParser.parseDuration(jtiConfig.getRetention());
+        this.filter = new RevocationFilter(config.getExpectedRevocations(), config.getFalsePositiveRate());
+
+        ScheduledExecutorService purger = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "revocations-purger");
+            thread.setDaemon(true);
+
+            return thread;
+        });
+
+        long purgeInterval = ConfigParser.parseDuration(config.getPurgeInterval()).toMillis();
+        purger.scheduleWithFixedDelay(this::purgeExpired, purgeInterval, purgeInterval, TimeUnit.MILLISECONDS);
+
+        load();
+    }
+
+    @Override
+    public Uni<Boolean> revokeToken(final String token) {
+        return verify(token).flatMap(this::revokeDecoded);
+    }
+
+    @Override
+    public Uni<Boolean> revokeToken(final String token, final String domain) {
+        return verify(token)
+                .call(decoded -> subjectDomains.belongsTo(decoded, domain)
+                        .invoke(belongs -> {
+                            if (!belongs) {
+                                throw new ServiceAuthorizationException(ErrorCode.INVALID_TOKEN,
+                                        "The token was not issued in domain " + domain);
+                            }
+                        }))
+                .flatMap(this::revokeDecoded);
+    }
+
+    private Uni<DecodedJWT> verify(final String token) {
+        final DecodedJWT decoded;
+
+        try {
+            decoded = keyring.verify(token);
+        } catch (final JWTVerificationException e) {
+            return Uni.createFrom().failure(new ServiceAuthorizationException(ErrorCode.INVALID_TOKEN, "Invalid JWT"));
+        }
+
+        if (decoded.getId() == null) {
+            return Uni.createFrom().failure(new ServiceException(ErrorCode.INVALID_TOKEN,
+                    "The token has no JTI and cannot be revoked"));
+        }
+
+        return Uni.createFrom().item(decoded);
+    }
+
+    private Uni<Boolean> revokeDecoded(final DecodedJWT decoded) {
+        return revokeJti(decoded.getId(), decoded.getExpiresAt() == null ? null : decoded.getExpiresAt().toInstant());
+    }
+
+    @Override
+    public Uni<Boolean> revokeJti(final String jti, final Instant expiresAt) {
+        final Instant now = clock.instant();
+        final Instant revokedUntil = expiresAt == null ? now.plus(defaultRetention) : expiresAt;
+
+        if (!revokedUntil.isAfter(now)) {
+            return Uni.createFrom().item(false);
+        }
+
+        filter.add(jti, revokedUntil.toEpochMilli());
+
+        RevokedTokenDO revocation = RevokedTokenDO.builder()
+                .id(ID.generate())
+                .jti(jti)
+                .expiresAt(revokedUntil)
+                .createdAt(now)
+                .lastModified(now)
+                .build();
+
+        return jtiProvider.revoke(jti)
+                .flatMap(ignored -> persist(revocation))
+                .invoke(ignored -> publish(revocation))
+                .replaceWith(true);
+    }
+
+    @Override
+    public void onMessage(final Message message) {
+        if (message.getEventType() != EventType.ENTITY_CREATED) {
+            return;
+        }
+
+        if (message.getMessageBody() instanceof RevokedTokenDO revocation) {
+            LOG.debug("Applying a published revocation. jti={}", revocation.getJti());
+
+            filter.add(revocation.getJti(), revocation.getExpiresAt().toEpochMilli());
+            jtiProvider.revokeLocally(revocation.getJti());
+        }
+    }
+
+    @Override
+    public boolean isRevoked(final String jti) {
+        return jti != null && filter.contains(jti, clock.millis());
+    }
+
+    void purgeExpired() {
+        try {
+            int purged = filter.purgeExpired(clock.millis());
+
+            if (purged > 0) {
+                LOG.debug("Purged {} expired revocations", purged);
+            }
+        } catch (final Exception e) {
+            LOG.error("Failed to purge expired revocations", e);
+        }
+    }
+
+    private Uni<RevokedTokenDO> persist(final RevokedTokenDO revocation) {
+        if (revokedTokensRepository == null) {
+            return Uni.createFrom().item(revocation);
+        }
+
+        return revokedTokensRepository.save(revocation);
+    }
+
+    private void publish(final RevokedTokenDO revocation) {
+        if (messageBus != null) {
+            messageBus.publish(CHANNEL, Messages.created(revocation, DOMAIN));
+        }
+    }
+
+    private void load() {
+        if (revokedTokensRepository == null) {
+            LOG.info("No revoked tokens repository was found; revocations will only be kept in memory");
+            return;
+        }
+
+        revokedTokensRepository.getNotExpired(clock.instant())
+                .subscribe()
+                .with(revocations -> {
+                    revocations.forEach(revocation ->
+                            filter.add(revocation.getJti(), revocation.getExpiresAt().toEpochMilli()));
+
+                    LOG.info("Loaded {} revoked tokens", revocations.size());
+                }, e -> LOG.error("Failed to load revoked tokens", e));
+    }
+}
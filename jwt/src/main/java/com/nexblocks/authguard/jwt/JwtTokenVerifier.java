@@ -1,10 +1,9 @@
 package com.nexblocks.authguard.jwt;
 
-import com.auth0.jwt.JWT;
-import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.auth0.jwt.interfaces.DecodedJWT;
+import com.nexblocks.authguard.service.TokenRevocationService;
 import com.nexblocks.authguard.service.auth.AuthVerifier;
 import com.nexblocks.authguard.service.config.StrategyConfig;
 import com.nexblocks.authguard.service.exceptions.ServiceAuthorizationException;
@@ -13,54 +12,109 @@ import com.nexblocks.authguard.service.util.AsyncUtils;
 import io.smallrye.mutiny.Uni;
 import io.vavr.control.Try;
 
+import java.util.Optional;
+
 public class JwtTokenVerifier implements AuthVerifier {
     private final StrategyConfig strategy;
     private final JtiProvider jti;
-    private final JWTVerifier verifier;
+    private final JwtKeyring keyring;
+    private final VerifiedTokensCache verifiedTokens;
+    private final TokenRevocationService revocations;
 
     public JwtTokenVerifier(final StrategyConfig strategy, final JtiProvider jti,
                             final Algorithm algorithm) {
-        this.strategy = strategy;
-        this.jti = jti;
-
-        this.verifier = JWT.require(algorithm).build();
+        this(strategy, jti, algorithm, null, null);
     }
 
     public JwtTokenVerifier(final StrategyConfig strategy, final Algorithm algorithm) {
+        this(strategy, null, algorithm, null, null);
+    }
+
+    /**
+     * @param verifiedTokens A cache of verified tokens, or null to verify
+     *                       every token in full.
+     * @param revocations    The revoked tokens to reject, or null if
+     *                       revocation isn't used.
+     */
+    JwtTokenVerifier(final StrategyConfig strategy, final JtiProvider jti,
+                     final Algorithm algorithm, final VerifiedTokensCache verifiedTokens,
+                     final TokenRevocationService revocations) {
+        this(strategy, jti, JwtKeyring.of(algorithm), verifiedTokens, revocations);
+    }
+
+    JwtTokenVerifier(final StrategyConfig strategy, final JtiProvider jti,
+                     final JwtKeyring keyring, final VerifiedTokensCache verifiedTokens,
+                     final TokenRevocationService revocations) {
         this.strategy = strategy;
-        this.jti = null;
+        this.jti = jti;
+        this.keyring = keyring;
+        this.verifiedTokens = verifiedTokens;
+        this.revocations = revocations;
 
-        this.verifier = JWT.require(algorithm).build();
+        if (verifiedTokens != null && jti != null) {
+            jti.addRevocationListener(verifiedTokens::invalidateJti);
+        }
     }
 
-    Try<DecodedJWT> verify(final String token) {
-        try {
-            DecodedJWT decoded = JWT.decode(token);
-            DecodedJWT verified = verifier.verify(decoded);
+    Uni<DecodedJWT> verify(final String token) {
+        if (verifiedTokens != null) {
+            Optional<DecodedJWT> cached = verifiedTokens.get(token);
 
-            if (this.verifyJti(verified)) {
-                return Try.success(verified);
-            } else {
-                return Try.failure(new ServiceAuthorizationException(ErrorCode.INVALID_TOKEN, "Invalid JTI"));
+            if (cached.isPresent()) {
+                return checkNotRevoked(cached.get());
             }
+        }
+
+        return AsyncUtils.uniFromTry(verifySignature(token))
+                .flatMap(verified -> verifyJti(verified)
+                        .flatMap(valid -> {
+                            if (!valid) {
+                                return Uni.createFrom().failure(
+                                        new ServiceAuthorizationException(ErrorCode.INVALID_TOKEN, "Invalid JTI"));
+                            }
+
+                            if (verifiedTokens != null) {
+                                verifiedTokens.put(token, verified);
+                            }
+
+                            return checkNotRevoked(verified);
+                        }));
+    }
+
+    private Uni<DecodedJWT> checkNotRevoked(final DecodedJWT verified) {
+        if (revocations != null && revocations.isRevoked(verified.getId())) {
+            return Uni.createFrom().failure(new ServiceAuthorizationException(ErrorCode.INVALID_TOKEN, "Revoked token"));
+        }
+
+        return Uni.createFrom().item(verified);
+    }
+
+    private Try<DecodedJWT> verifySignature(final String token) {
+        try {
+            return Try.success(keyring.verify(token));
         } catch (final JWTVerificationException e) {
             return Try.failure(new ServiceAuthorizationException(ErrorCode.GENERIC_AUTH_FAILURE, "Invalid JWT"));
         }
     }
 
-    private boolean verifyJti(final DecodedJWT decoded) {
-        return !strategy.useJti() || jti.validate(decoded.getId());
+    private Uni<Boolean> verifyJti(final DecodedJWT decoded) {
+        if (!strategy.useJti()) {
+            return Uni.createFrom().item(true);
+        }
+
+        return jti.validate(decoded.getId(),
+                decoded.getIssuedAt() == null ? null : decoded.getIssuedAt().toInstant());
     }
 
     @Override
     public Uni<Long> verifyAccountToken(String token) {
-        return AsyncUtils.uniFromTry(verify(token)
+        return verify(token)
                 .flatMap(payload -> {
                     try {
-                        return Try.success(Long.parseLong(payload.getSubject()));
+                        return Uni.createFrom().item(Long.parseLong(payload.getSubject()));
                     } catch (Exception e) {
-                        return Try.failure(new ServiceAuthorizationException(ErrorCode.GENERIC_AUTH_FAILURE, "Invalid JWT subject"));
+                        return Uni.createFrom().failure(new ServiceAuthorizationException(ErrorCode.GENERIC_AUTH_FAILURE, "Invalid JWT subject"));
                     }
-                }));
+                });
     }
 }
@@ -0,0 +1,344 @@
+package com.nexblocks.authguard.jwt;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Writes JWTs with a fixed set of claims without going through
+ * {@link com.auth0.jwt.JWTCreator}. The payload is streamed as JSON
+ * straight into a per-thread buffer which Base64URL-encodes it on the fly,
+ * the header comes encoded from the signing key, and the signature is
+ * appended to the same buffer, so a token costs little more than its
+ * signature and the final string.
+ * <p>
+ * The tokens are byte-for-byte the ones {@code JWTCreator} produces for
+ * the same claims. It writes the claims in the iteration order of the
+ * {@link HashMap} they're collected in, so that order is worked out once
+ * here by filling a map the same way, which is why the claim names must
+ * be given in the order the builder would have been called in. Leaving
+ * claims out doesn't change the order of the others as long as the map
+ * isn't resized, which is why there can be at most 12 claims.
+ */
+public final class JwtWriter {
+    // the number of entries a default HashMap holds before it's resized
+    private static final int MAX_CLAIMS = 12;
+
+    private static final JsonFactory JSON = new JsonFactory();
+    private static final ThreadLocal<TokenBuffer> BUFFERS = ThreadLocal.withInitial(TokenBuffer::new);
+
+    private final Map<String, Integer> positions;
+    private final SerializedString[] fieldNames;
+
+    /**
+     * @param claimNames Every claim a token might have, in the order they
+     *                   would be added to a {@code JWTCreator.Builder}.
+     */
+    public JwtWriter(final String... claimNames) {
+        if (claimNames.length > MAX_CLAIMS) {
+            throw new IllegalArgumentException("A token can have at most " + MAX_CLAIMS + " claims");
+        }
+
+        final Map<String, Boolean> builderOrder = new HashMap<>();
+
+        for (final String claimName : claimNames) {
+            builderOrder.put(claimName, true);
+        }
+
+        this.positions = new HashMap<>();
+        this.fieldNames = new SerializedString[builderOrder.size()];
+
+        int position = 0;
+
+        for (final String claimName : builderOrder.keySet()) {
+            positions.put(claimName, position);
+            fieldNames[position] = new SerializedString(claimName);
+            position++;
+        }
+    }
+
+    public Claims claims() {
+        return new Claims();
+    }
+
+    private String sign(final Claims claims, final JwtKey key) {
+        final TokenBuffer buffer = BUFFERS.get();
+
+        buffer.reset();
+        buffer.append(key.getEncodedHeader());
+        buffer.append((byte) '.');
+
+        final int payloadStart = buffer.length;
+
+        writePayload(claims.values, buffer.utf8);
+        buffer.endBase64();
+
+        final byte[] payload = Arrays.copyOfRange(buffer.bytes, payloadStart, buffer.length);
+        final byte[] signature = key.getAlgorithm().sign(key.getEncodedHeader(), payload);
+
+        buffer.append((byte) '.');
+        buffer.write(signature, 0, signature.length);
+        buffer.endBase64();
+
+        return new String(buffer.bytes, 0, buffer.length, StandardCharsets.US_ASCII);
+    }
+
+    // written through a Writer rather than straight to the stream, since that's what JWTCreator does,
+    // and the generators differ in how they write characters outside the BMP
+    private void writePayload(final Object[] values, final Writer out) {
+        try (JsonGenerator generator = JSON.createGenerator(out)) {
+            generator.writeStartObject();
+
+            for (int i = 0; i < values.length; i++) {
+                final Object value = values[i];
+
+                if (value == null) {
+                    continue;
+                }
+
+                generator.writeFieldName(fieldNames[i]);
+
+                if (value instanceof String) {
+                    generator.writeString((String) value);
+                } else if (value instanceof Instant) {
+                    // as JWTCreator writes dates, from the millis of a Date
+                    generator.writeNumber(((Instant) value).toEpochMilli() / 1000);
+                } else if (value instanceof Boolean) {
+                    generator.writeBoolean((Boolean) value);
+                } else if (value instanceof Long) {
+                    generator.writeNumber((Long) value);
+                } else if (value instanceof String[]) {
+                    final String[] array = (String[]) value;
+
+                    generator.writeStartArray();
+
+                    for (final String element : array) {
+                        generator.writeString(element);
+                    }
+
+                    generator.writeEndArray();
+                } else {
+                    throw new IllegalArgumentException("Unsupported claim type " + value.getClass());
+                }
+            }
+
+            generator.writeEndObject();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * The claims of one token. A claim which is set to null, or never set,
+     * is left out.
+     */
+    public final class Claims {
+        private final Object[] values = new Object[fieldNames.length];
+
+        private Claims() {
+        }
+
+        public Claims put(final String name, final String value) {
+            return set(name, value);
+        }
+
+        public Claims put(final String name, final Boolean value) {
+            return set(name, value);
+        }
+
+        public Claims put(final String name, final Long value) {
+            return set(name, value);
+        }
+
+        /**
+         * Dates are written as seconds since the epoch.
+         */
+        public Claims put(final String name, final Instant value) {
+            return set(name, value);
+        }
+
+        public Claims put(final String name, final String[] value) {
+            return set(name, value);
+        }
+
+        String sign(final JwtKey key) {
+            return JwtWriter.this.sign(this, key);
+        }
+
+        private Claims set(final String name, final Object value) {
+            final Integer position = positions.get(name);
+
+            if (position == null) {
+                throw new IllegalArgumentException("Unknown claim " + name);
+            }
+
+            values[position] = value;
+
+            return this;
+        }
+    }
+
+    /**
+     * A reusable buffer which Base64URL-encodes whatever is written to it
+     * as an output stream, without padding, and takes other bytes as they
+     * are.
+     */
+    private static final class TokenBuffer extends OutputStream {
+        private static final byte[] ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_"
+                .getBytes(StandardCharsets.US_ASCII);
+
+        private final Utf8Writer utf8 = new Utf8Writer();
+
+        private byte[] bytes = new byte[1024];
+        private int length;
+
+        private int pending;
+        private int pendingCount;
+
+        void reset() {
+            length = 0;
+            pending = 0;
+            pendingCount = 0;
+            utf8.highSurrogate = 0;
+        }
+
+        void append(final byte value) {
+            ensureCapacity(1);
+            bytes[length++] = value;
+        }
+
+        void append(final byte[] values) {
+            ensureCapacity(values.length);
+            System.arraycopy(values, 0, bytes, length, values.length);
+            length += values.length;
+        }
+
+        @Override
+        public void write(final int value) {
+            pending = (pending << 8) | (value & 0xff);
+
+            if (++pendingCount == 3) {
+                ensureCapacity(4);
+                bytes[length++] = ALPHABET[(pending >>> 18) & 0x3f];
+                bytes[length++] = ALPHABET[(pending >>> 12) & 0x3f];
+                bytes[length++] = ALPHABET[(pending >>> 6) & 0x3f];
+                bytes[length++] = ALPHABET[pending & 0x3f];
+
+                pending = 0;
+                pendingCount = 0;
+            }
+        }
+
+        @Override
+        public void write(final byte[] values, final int offset, final int count) {
+            ensureCapacity((count / 3 + 1) * 4);
+
+            for (int i = offset; i < offset + count; i++) {
+                write(values[i]);
+            }
+        }
+
+        /**
+         * Writes out the last incomplete group of encoded bytes.
+         */
+        void endBase64() {
+            ensureCapacity(3);
+
+            if (pendingCount == 1) {
+                bytes[length++] = ALPHABET[(pending >>> 2) & 0x3f];
+                bytes[length++] = ALPHABET[(pending << 4) & 0x3f];
+            } else if (pendingCount == 2) {
+                bytes[length++] = ALPHABET[(pending >>> 10) & 0x3f];
+                bytes[length++] = ALPHABET[(pending >>> 4) & 0x3f];
+                bytes[length++] = ALPHABET[(pending << 2) & 0x3f];
+            }
+
+            pending = 0;
+            pendingCount = 0;
+        }
+
+        private void ensureCapacity(final int extra) {
+            if (length + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + extra));
+            }
+        }
+
+        /**
+         * Encodes characters as UTF-8 into the Base64 encoding of the
+         * buffer.
+         */
+        private final class Utf8Writer extends Writer {
+            private char highSurrogate;
+
+            @Override
+            public void write(final char[] chars, final int offset, final int count) {
+                for (int i = offset; i < offset + count; i++) {
+                    write(chars[i]);
+                }
+            }
+
+            @Override
+            public void write(final String string, final int offset, final int count) {
+                for (int i = offset; i < offset + count; i++) {
+                    write(string.charAt(i));
+                }
+            }
+
+            @Override
+            public void write(final int value) {
+                final char c = (char) value;
+
+                if (highSurrogate != 0) {
+                    final char high = highSurrogate;
+                    highSurrogate = 0;
+
+                    if (Character.isLowSurrogate(c)) {
+                        final int codePoint = Character.toCodePoint(high, c);
+
+                        TokenBuffer.this.write(0xf0 | (codePoint >> 18));
+                        TokenBuffer.this.write(0x80 | ((codePoint >> 12) & 0x3f));
+                        TokenBuffer.this.write(0x80 | ((codePoint >> 6) & 0x3f));
+                        TokenBuffer.this.write(0x80 | (codePoint & 0x3f));
+                        return;
+                    }
+
+                    // unpaired surrogates are replaced, as String.getBytes does
+                    TokenBuffer.this.write('?');
+                }
+
+                if (c < 0x80) {
+                    TokenBuffer.this.write(c);
+                } else if (c < 0x800) {
+                    TokenBuffer.this.write(0xc0 | (c >> 6));
+                    TokenBuffer.this.write(0x80 | (c & 0x3f));
+                } else if (Character.isHighSurrogate(c)) {
+                    highSurrogate = c;
+                } else if (Character.isLowSurrogate(c)) {
+                    TokenBuffer.this.write('?');
+                } else {
+                    TokenBuffer.this.write(0xe0 | (c >> 12));
+                    TokenBuffer.this.write(0x80 | ((c >> 6) & 0x3f));
+                    TokenBuffer.this.write(0x80 | (c & 0x3f));
+                }
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        }
+    }
+}
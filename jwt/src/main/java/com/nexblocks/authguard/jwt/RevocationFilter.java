@@ -0,0 +1,174 @@
+package com.nexblocks.authguard.jwt;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * An in-memory set of revoked JTIs. Lookups go through a Bloom filter
+ * first, so checking a JTI which was never revoked, which is almost all
+ * of them, costs a few hashes and array reads and never takes a lock.
+ * Only when the filter matches is the exact set consulted, which rules
+ * out false positives and holds the expiry of every revocation.
+ * <p>
+ * Bloom filters don't support removal, so expired revocations are
+ * purged from the exact set and the filter is rebuilt from what's left.
+ */
+class RevocationFilter {
+    private final int expectedEntries;
+    private final double falsePositiveRate;
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+
+    private volatile Bits bits;
+
+    RevocationFilter(final int expectedEntries, final double falsePositiveRate) {
+        this.expectedEntries = expectedEntries;
+        this.falsePositiveRate = falsePositiveRate;
+        this.bits = new Bits(expectedEntries, falsePositiveRate);
+    }
+
+    /**
+     * Adds a revoked JTI which stays in the filter until the given time
+     * in epoch millis.
+     */
+    synchronized void add(final String jti, final long expiresAt) {
+        revoked.merge(jti, expiresAt, Math::max);
+        bits.add(jti);
+
+        if (revoked.size() > bits.capacity) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Adds a JTI unless it's already in the filter and hasn't expired.
+     *
+     * @return Whether it was added.
+     */
+    synchronized boolean addIfAbsent(final String jti, final long expiresAt, final long now) {
+        if (contains(jti, now)) {
+            return false;
+        }
+
+        add(jti, expiresAt);
+
+        return true;
+    }
+
+    /**
+     * Removes a JTI from the exact set. Its bits stay in the filter until
+     * the next rebuild, so it only costs a lookup in the exact set.
+     */
+    void remove(final String jti) {
+        revoked.remove(jti);
+    }
+
+    boolean contains(final String jti, final long now) {
+        if (!bits.mightContain(jti)) {
+            return false;
+        }
+
+        final Long expiresAt = revoked.get(jti);
+
+        return expiresAt != null && expiresAt > now;
+    }
+
+    /**
+     * Removes the revocations which expired and rebuilds the filter if
+     * any were removed.
+     *
+     * @return The number of removed revocations.
+     */
+    synchronized int purgeExpired(final long now) {
+        final int before = revoked.size();
+
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+
+        final int removed = before - revoked.size();
+
+        if (removed > 0) {
+            rebuild();
+        }
+
+        return removed;
+    }
+
+    int size() {
+        return revoked.size();
+    }
+
+    private void rebuild() {
+        final Bits rebuilt = new Bits(Math.max(expectedEntries, revoked.size() * 2), falsePositiveRate);
+
+        revoked.keySet().forEach(rebuilt::add);
+
+        bits = rebuilt;
+    }
+
+    private static final class Bits {
+        private final int capacity;
+        private final long size;
+        private final int hashes;
+        private final AtomicLongArray words;
+
+        private Bits(final int capacity, final double falsePositiveRate) {
+            final double ln2 = Math.log(2);
+            final long optimalSize = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (ln2 * ln2));
+
+            this.capacity = capacity;
+            this.size = Math.max(64, optimalSize);
+            this.hashes = Math.max(1, (int) Math.round((double) size / capacity * ln2));
+            this.words = new AtomicLongArray((int) ((size + 63) / 64));
+        }
+
+        private void add(final String jti) {
+            final long hash = hash(jti);
+            final long first = hash;
+            final long second = mix(hash);
+
+            for (int i = 0; i < hashes; i++) {
+                final long bit = Math.floorMod(first + i * second, size);
+                final int word = (int) (bit >>> 6);
+                final long mask = 1L << bit;
+
+                words.getAndAccumulate(word, mask, (current, update) -> current | update);
+            }
+        }
+
+        private boolean mightContain(final String jti) {
+            final long hash = hash(jti);
+            final long first = hash;
+            final long second = mix(hash);
+
+            for (int i = 0; i < hashes; i++) {
+                final long bit = Math.floorMod(first + i * second, size);
+
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        // 64-bit FNV-1a over the chars, to not allocate on lookups
+        private static long hash(final String value) {
+            long hash = 0xcbf29ce484222325L;
+
+            for (int i = 0; i < value.length(); i++) {
+                hash ^= value.charAt(i);
+                hash *= 0x100000001b3L;
+            }
+
+            return hash;
+        }
+
+        // the finalizer of SplitMix64, makes the second hash independent enough of the first
+        private static long mix(long value) {
+            value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+            value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+
+            return (value ^ (value >>> 31)) | 1;
+        }
+    }
+}
@@ -0,0 +1,323 @@
+package com.nexblocks.authguard.jwt;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import com.nexblocks.authguard.config.ConfigContext;
+import com.nexblocks.authguard.dal.model.AccountTokenDO;
+import com.nexblocks.authguard.dal.model.TokenRestrictionsDO;
+import com.nexblocks.authguard.jwt.crypto.AesGcmTokenEncryptor;
+import com.nexblocks.authguard.service.TokenRevocationService;
+import com.nexblocks.authguard.service.config.StrategyConfig;
+import com.nexblocks.authguard.service.exceptions.ConfigurationException;
+import com.nexblocks.authguard.service.exceptions.ServiceException;
+import io.smallrye.mutiny.Uni;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Refresh tokens which carry everything they stand for, sealed with
+ * AES-GCM, instead of being stored as an {@link AccountTokenDO} which is
+ * read and deleted when they're exchanged. Issuing and exchanging them
+ * doesn't touch the storage.
+ * <p>
+ * A refresh token can still only be exchanged once: exchanged tokens are
+ * revoked until they expire through the {@link TokenRevocationService},
+ * which persists them, reloads them after a restart and publishes them to
+ * the other instances, the same as tokens which are deleted when a user
+ * logs out. Only tokens which start with the sealed prefix are handled
+ * here, so refresh tokens issued before the mode was enabled are still
+ * exchanged from the storage.
+ */
+@Singleton
+public class StatelessRefreshTokens {
+    private static final Logger LOG = LoggerFactory.getLogger(StatelessRefreshTokens.class);
+
+    private static final String PREFIX = "s1.";
+    private static final String REVOCATION_PREFIX = "refresh:";
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final AesGcmTokenEncryptor encryptor;
+    private final TokenRevocationService revocationService;
+    private final RevocationFilter exchanged;
+    private final Clock clock;
+
+    @Inject
+    public StatelessRefreshTokens(final @Named("accessToken") ConfigContext accessTokenConfigContext,
+                                  final TokenRevocationService revocationService) {
+        this(accessTokenConfigContext.asConfigBean(StrategyConfig.class), revocationService, Clock.systemUTC());
+    }
+
+    public StatelessRefreshTokens(final StrategyConfig strategyConfig,
+                                  final TokenRevocationService revocationService,
+                                  final Clock clock) {
+        this.revocationService = revocationService;
+        this.clock = clock;
+
+        if (!strategyConfig.statelessRefreshTokens()) {
+            this.encryptor = null;
+            this.exchanged = null;
+
+            return;
+        }
+
+        if (strategyConfig.getRefreshTokenKey() == null) {
+            throw new ConfigurationException("Stateless refresh tokens require a refreshTokenKey");
+        }
+
+        this.encryptor = new AesGcmTokenEncryptor(strategyConfig.getRefreshTokenKey());
+        this.exchanged = new RevocationFilter(100_000, 0.01);
+
+        ScheduledExecutorService purger = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "refresh-tokens-purger");
+            thread.setDaemon(true);
+
+            return thread;
+        });
+
+        purger.scheduleWithFixedDelay(this::purgeExpired, 1, 1, TimeUnit.MINUTES);
+    }
+
+    public boolean isEnabled() {
+        return encryptor != null;
+    }
+
+    public static boolean isSealed(final String token) {
+        return token != null && token.startsWith(PREFIX);
+    }
+
+    /**
+     * Seals a refresh token. The token field of the given one is ignored.
+     */
+    public String seal(final AccountTokenDO accountToken) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeLong(accountToken.getId());
+            out.writeLong(accountToken.getAssociatedAccountId());
+            out.writeLong(accountToken.getCreatedAt().toEpochMilli());
+            out.writeLong(accountToken.getExpiresAt().toEpochMilli());
+
+            writeString(out, accountToken.getDomain());
+            writeString(out, accountToken.getSourceAuthType());
+            writeString(out, accountToken.getDeviceId());
+            writeString(out, accountToken.getClientId());
+            writeString(out, accountToken.getExternalSessionId());
+            writeString(out, accountToken.getTrackingSession());
+            writeString(out, accountToken.getUserAgent());
+            writeString(out, accountToken.getSourceIp());
+
+            final TokenRestrictionsDO restrictions = accountToken.getTokenRestrictions();
+
+            out.writeBoolean(restrictions != null);
+
+            if (restrictions != null) {
+                writeSet(out, restrictions.getPermissions());
+                writeSet(out, restrictions.getScopes());
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return PREFIX + ENCODER.encodeToString(encryptor.encrypt(bytes.toByteArray()));
+    }
+
+    /**
+     * Opens a sealed refresh token, including when it has expired, which
+     * is up to the caller to check.
+     *
+     * @return The token, or empty if it's malformed, was tampered with,
+     *         was already exchanged, or was revoked.
+     */
+    public Optional<AccountTokenDO> open(final String token) {
+        if (!isEnabled()) {
+            return Optional.empty();
+        }
+
+        final Optional<AccountTokenDO> accountToken = unseal(token);
+
+        if (accountToken.isEmpty()) {
+            return Optional.empty();
+        }
+
+        final String revocationId = revocationId(accountToken.get());
+
+        if (exchanged.contains(revocationId, clock.millis()) || revocationService.isRevoked(revocationId)) {
+            LOG.warn("A revoked or already exchanged refresh token was used. tokenId={}, accountId={}",
+                    accountToken.get().getId(), accountToken.get().getAssociatedAccountId());
+
+            return Optional.empty();
+        }
+
+        return accountToken;
+    }
+
+    /**
+     * Claims a token for an exchange in memory, which settles concurrent
+     * exchanges on this instance. The claim is either released if the
+     * exchange fails, or followed by {@link #markExchanged} if it succeeds.
+     *
+     * @return False if it was already exchanged or claimed.
+     */
+    public boolean claim(final AccountTokenDO accountToken) {
+        return exchanged.addIfAbsent(revocationId(accountToken), accountToken.getExpiresAt().toEpochMilli(),
+                clock.millis());
+    }
+
+    /**
+     * Releases the claim on a token which wasn't exchanged, so that it can
+     * be exchanged again.
+     */
+    public void release(final AccountTokenDO accountToken) {
+        exchanged.remove(revocationId(accountToken));
+    }
+
+    /**
+     * Marks a claimed token as exchanged, so that it can't be exchanged
+     * again. It's revoked until it expires, which carries it over to a
+     * restart and to the other instances.
+     */
+    public Uni<Boolean> markExchanged(final AccountTokenDO accountToken) {
+        return revocationService.revokeJti(revocationId(accountToken), accountToken.getExpiresAt());
+    }
+
+    /**
+     * Revokes a token until it expires.
+     *
+     * @return The revoked token, or empty if it isn't valid.
+     */
+    public Uni<Optional<AccountTokenDO>> revoke(final String token) {
+        final Optional<AccountTokenDO> accountToken = open(token);
+
+        if (accountToken.isEmpty()) {
+            return Uni.createFrom().item(Optional.empty());
+        }
+
+        exchanged.add(revocationId(accountToken.get()), accountToken.get().getExpiresAt().toEpochMilli());
+
+        return revocationService.revokeJti(revocationId(accountToken.get()), accountToken.get().getExpiresAt())
+                .map(ignored -> accountToken);
+    }
+
+    void purgeExpired() {
+        try {
+            exchanged.purgeExpired(clock.millis());
+        } catch (final Exception e) {
+            LOG.error("Failed to purge expired refresh tokens", e);
+        }
+    }
+
+    private Optional<AccountTokenDO> unseal(final String token) {
+        if (!isSealed(token)) {
+            return Optional.empty();
+        }
+
+        try {
+            final byte[] sealed = DECODER.decode(token.substring(PREFIX.length()));
+            final DataInputStream in = new DataInputStream(new ByteArrayInputStream(encryptor.decrypt(sealed)));
+
+            final AccountTokenDO.AccountTokenDOBuilder<?, ?> accountToken = AccountTokenDO.builder()
+                    .id(in.readLong())
+                    .associatedAccountId(in.readLong())
+                    .createdAt(Instant.ofEpochMilli(in.readLong()))
+                    .expiresAt(Instant.ofEpochMilli(in.readLong()))
+                    .token(token)
+                    .domain(readString(in))
+                    .sourceAuthType(readString(in))
+                    .deviceId(readString(in))
+                    .clientId(readString(in))
+                    .externalSessionId(readString(in))
+                    .trackingSession(readString(in))
+                    .userAgent(readString(in))
+                    .sourceIp(readString(in));
+
+            if (in.readBoolean()) {
+                accountToken.tokenRestrictions(TokenRestrictionsDO.builder()
+                        .permissions(readSet(in))
+                        .scopes(readSet(in))
+                        .build());
+            }
+
+            return Optional.of(accountToken.build());
+        } catch (final IllegalArgumentException | IOException | ServiceException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static String revocationId(final AccountTokenDO accountToken) {
+        return REVOCATION_PREFIX + accountToken.getId();
+    }
+
+    private static void writeString(final DataOutputStream out, final String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(final DataInputStream in) throws IOException {
+        final int length = in.readInt();
+
+        if (length < 0) {
+            return null;
+        }
+
+        final byte[] bytes = new byte[length];
+        in.readFully(bytes);
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeSet(final DataOutputStream out, final Set<String> values) throws IOException {
+        if (values == null) {
+            out.writeInt(-1);
+            return;
+        }
+
+        out.writeInt(values.size());
+
+        for (final String value : values) {
+            writeString(out, value);
+        }
+    }
+
+    private static Set<String> readSet(final DataInputStream in) throws IOException {
+        final int size = in.readInt();
+
+        if (size < 0) {
+            return null;
+        }
+
+        final Set<String> values = new HashSet<>(size);
+
+        for (int i = 0; i < size; i++) {
+            values.add(readString(in));
+        }
+
+        return values;
+    }
+}
@@ -0,0 +1,53 @@
+package com.nexblocks.authguard.jwt;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.nexblocks.authguard.service.AccountsService;
+import com.nexblocks.authguard.service.ApplicationsService;
+import com.nexblocks.authguard.service.ClientsService;
+import io.smallrye.mutiny.Uni;
+
+import java.util.Optional;
+
+/**
+ * Checks which domain the subject of a token issued by AuthGuard belongs
+ * to, since tokens don't carry it. API keys are issued to applications,
+ * or to clients if they have a client type, and every other token is
+ * issued to an account.
+ */
+@Singleton
+public class TokenSubjectDomains {
+    private final AccountsService accountsService;
+    private final ApplicationsService applicationsService;
+    private final ClientsService clientsService;
+
+    @Inject
+    public TokenSubjectDomains(final AccountsService accountsService,
+                               final ApplicationsService applicationsService,
+                               final ClientsService clientsService) {
+        this.accountsService = accountsService;
+        this.applicationsService = applicationsService;
+        this.clientsService = clientsService;
+    }
+
+    public Uni<Boolean> belongsTo(final DecodedJWT token, final String domain) {
+        final long subject;
+
+        try {
+            subject = Long.parseLong(token.getSubject());
+        } catch (final NumberFormatException e) {
+            return Uni.createFrom().item(false);
+        }
+
+        if (!"API".equals(token.getClaim("type").asString())) {
+            return accountsService.getById(subject, domain).map(Optional::isPresent);
+        }
+
+        if (token.getClaim("clientType").asString() == null) {
+            return applicationsService.getById(subject, domain).map(Optional::isPresent);
+        }
+
+        return clientsService.getById(subject, domain).map(Optional::isPresent);
+    }
+}
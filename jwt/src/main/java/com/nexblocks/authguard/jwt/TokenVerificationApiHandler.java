@@ -0,0 +1,73 @@
+package com.nexblocks.authguard.jwt;
+
+import com.google.inject.Inject;
+import com.google.inject.name.Named;
+import com.nexblocks.authguard.api.access.VertxRolesAccessHandler;
+import com.nexblocks.authguard.api.annotations.DependsOnConfiguration;
+import com.nexblocks.authguard.api.common.BodyHandler;
+import com.nexblocks.authguard.api.common.RequestValidationException;
+import com.nexblocks.authguard.api.dto.entities.CollectionResponseDTO;
+import com.nexblocks.authguard.api.dto.entities.TokenVerificationDTO;
+import com.nexblocks.authguard.api.dto.requests.TokensVerificationRequestDTO;
+import com.nexblocks.authguard.api.dto.validation.violations.Violation;
+import com.nexblocks.authguard.api.dto.validation.violations.ViolationType;
+import com.nexblocks.authguard.api.routes.VertxApiHandler;
+import com.nexblocks.authguard.config.ConfigContext;
+import com.nexblocks.authguard.service.config.JwtConfig;
+import io.vertx.core.json.Json;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+
+import java.util.Collections;
+
+/**
+ * Verifies batches of tokens for resource servers, see
+ * {@link BatchTokenVerifier}.
+ */
+@DependsOnConfiguration("jwt")
+public class TokenVerificationApiHandler implements VertxApiHandler {
+    private final BatchTokenVerifier batchTokenVerifier;
+    private final int maxBatch;
+    private final BodyHandler<TokensVerificationRequestDTO> requestBodyHandler;
+
+    @Inject
+    public TokenVerificationApiHandler(final BatchTokenVerifier batchTokenVerifier,
+                                       final @Named("jwt") ConfigContext jwtConfigContext) {
+        this.batchTokenVerifier = batchTokenVerifier;
+        this.maxBatch = jwtConfigContext.asConfigBean(JwtConfig.class).getMaxVerificationBatch();
+        this.requestBodyHandler = new BodyHandler.Builder<>(TokensVerificationRequestDTO.class).build();
+    }
+
+    public void register(final Router router) {
+        router.post("/tokens/verify")
+                .handler(VertxRolesAccessHandler.adminOrAuthClient())
+                .handler(this::verify);
+    }
+
+    private void verify(final RoutingContext context) {
+        try {
+            TokensVerificationRequestDTO request = requestBodyHandler.getValidated(context);
+
+            if (request.getTokens().size() > maxBatch) {
+                throw new RequestValidationException(Collections.singletonList(
+                        new Violation("tokens", ViolationType.EXCEEDS_LENGTH_BOUNDARIES)));
+            }
+
+            if (!BatchTokenVerifier.isSupported(request.getTokenType())) {
+                throw new RequestValidationException(Collections.singletonList(
+                        new Violation("tokenType", ViolationType.INVALID_VALUE)));
+            }
+
+            batchTokenVerifier.verify(request.getTokens(), request.getTokenType())
+                    .subscribe()
+                    .with(results -> context.response().setStatusCode(200)
+                                    .putHeader("Content-Type", "application/json")
+                                    .end(Json.encode(CollectionResponseDTO.<TokenVerificationDTO>builder()
+                                            .items(results)
+                                            .build())),
+                            context::fail);
+        } catch (Exception e) {
+            context.fail(e);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.nexblocks.authguard.jwt;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.nexblocks.authguard.service.cache.CachesRegistry;
+import com.nexblocks.authguard.service.cache.ExpiringCache;
+import com.nexblocks.authguard.service.config.CacheConfig;
+import com.nexblocks.authguard.service.config.ConfigParser;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Keeps tokens which passed verification so that verifying them again
+ * is a lookup instead of a signature check. Entries are keyed by a
+ * SHA-256 digest of the token, expire with the token itself, and are
+ * removed when the JTI they carry is revoked.
+ */
+class VerifiedTokensCache {
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    });
+
+    private final ExpiringCache<String, DecodedJWT> cache;
+
+    VerifiedTokensCache(final String name, final CacheConfig config) {
+        this.cache = new ExpiringCache<>(config.getMaxSize(), ConfigParser.parseDuration(config.getTtl()));
+
+        CachesRegistry.register(name, cache);
+    }
+
+    /**
+     * @return A cache for the given configuration, or null if caching
+     *         isn't enabled.
+     */
+    static VerifiedTokensCache fromConfig(final String name, final CacheConfig config) {
+        if (config == null || !config.enabled()) {
+            return null;
+        }
+
+        return new VerifiedTokensCache(name, config);
+    }
+
+    Optional<DecodedJWT> get(final String token) {
+        return cache.get(digest(token));
+    }
+
+    void put(final String token, final DecodedJWT verified) {
+        cache.put(digest(token), verified,
+                verified.getExpiresAt() == null ? null : verified.getExpiresAt().toInstant());
+    }
+
+    void invalidateJti(final String jti) {
+        cache.invalidateIf(verified -> jti.equals(verified.getId()));
+    }
+
+    private static String digest(final String token) {
+        final byte[] hash = SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII));
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+    }
+}
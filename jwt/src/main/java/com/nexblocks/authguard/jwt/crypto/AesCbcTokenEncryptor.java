@@ -7,16 +7,19 @@ import com.nexblocks.authguard.service.random.CryptographicRandom;
 
 import javax.crypto.Cipher;
 import javax.crypto.SecretKey;
+import javax.crypto.spec.IvParameterSpec;
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 
 public class AesCbcTokenEncryptor implements TokenEncryptor {
     private final SecretKey secretKey;
     private final CryptographicRandom random;
+    private final ThreadLocal<Cipher> ciphers;
 
     public AesCbcTokenEncryptor(final String keyPath) {
         this.secretKey = KeysReader.readSecretKey(Cryptography.Algorithm.AES_CBC, keyPath);
         this.random = new CryptographicRandom();
+        this.ciphers = Cryptography.cipherPerThread(Cryptography.Algorithm.AES_CBC);
     }
 
     /**
@@ -26,8 +29,8 @@ public class AesCbcTokenEncryptor implements TokenEncryptor {
      */
     public String encryptAndEncode(final String token) {
         final byte[] ivBytes = generateIv();
-        final Cipher cipher = Cryptography.createCipherWithIv(Cryptography.Algorithm.AES_CBC,
-                Cipher.ENCRYPT_MODE, secretKey, ivBytes);
+        final Cipher cipher = Cryptography.initCipher(ciphers.get(), Cipher.ENCRYPT_MODE,
+                secretKey, new IvParameterSpec(ivBytes));
 
         final byte[] raw = token.getBytes(StandardCharsets.UTF_8);
         final byte[] encrypted = Cryptography.doCipher(raw, cipher);
@@ -54,8 +57,8 @@ public class AesCbcTokenEncryptor implements TokenEncryptor {
 
         final byte[] ivBytes = Base64.getDecoder().decode(ivBase64);
 
-        final Cipher cipher = Cryptography.createCipherWithIv(Cryptography.Algorithm.AES_CBC,
-                Cipher.DECRYPT_MODE, secretKey, ivBytes);
+        final Cipher cipher = Cryptography.initCipher(ciphers.get(), Cipher.DECRYPT_MODE,
+                secretKey, new IvParameterSpec(ivBytes));
 
         final byte[] decoded = Base64.getDecoder().decode(tokenBase64);
         final byte[] decrypted = Cryptography.doCipher(decoded, cipher);
@@ -0,0 +1,107 @@
+package com.nexblocks.authguard.jwt.crypto;
+
+import com.nexblocks.authguard.service.exceptions.ServiceException;
+import com.nexblocks.authguard.service.exceptions.codes.ErrorCode;
+import com.nexblocks.authguard.service.random.CryptographicRandom;
+
+import javax.crypto.AEADBadTagException;
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+
+/**
+ * Encrypts tokens with AES-GCM. An encrypted token is a single Base64URL
+ * string of the IV followed by the ciphertext and its authentication tag,
+ * so there's nothing to split when it's decrypted, and a token which was
+ * tampered with fails to decrypt rather than decrypting to garbage.
+ */
+public class AesGcmTokenEncryptor implements TokenEncryptor {
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_LENGTH = 16;
+
+    private final SecretKey secretKey;
+    private final CryptographicRandom random;
+    private final ThreadLocal<Cipher> ciphers;
+
+    public AesGcmTokenEncryptor(final String keyPath) {
+        this.secretKey = KeysReader.readSecretKey(Cryptography.Algorithm.AES_GCM, keyPath);
+        this.random = new CryptographicRandom();
+        this.ciphers = Cryptography.cipherPerThread(Cryptography.Algorithm.AES_GCM);
+    }
+
+    /**
+     * Encrypts a token and gives back the result as a Base64URL string.
+     * @param token The token to encrypt. Must be UTF-8 encoded.
+     * @return A Base64URL string of the IV, the encrypted token, and its
+     *         tag.
+     */
+    public String encryptAndEncode(final String token) {
+        final byte[] encrypted = encrypt(token.getBytes(StandardCharsets.UTF_8));
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(encrypted);
+    }
+
+    /**
+     * Decrypts a token which was encrypted and Base64URL encoded.
+     * @param encryptedToken A Base64URL string of the IV, the encrypted
+     *                       token, and its tag.
+     * @return The decrypted token, UTF-8 encoded.
+     */
+    public String decryptEncoded(final String encryptedToken) {
+        final byte[] framed;
+
+        try {
+            framed = Base64.getUrlDecoder().decode(encryptedToken);
+        } catch (final IllegalArgumentException e) {
+            throw new ServiceException(ErrorCode.INVALID_TOKEN, "Invalid encrypted token");
+        }
+
+        return new String(decrypt(framed), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return The IV followed by the encrypted data and its tag.
+     */
+    public byte[] encrypt(final byte[] data) {
+        final byte[] ivBytes = random.bytes(IV_LENGTH);
+        final Cipher cipher = Cryptography.initCipher(ciphers.get(), Cipher.ENCRYPT_MODE,
+                secretKey, new GCMParameterSpec(TAG_LENGTH * 8, ivBytes));
+
+        final byte[] framed = new byte[IV_LENGTH + cipher.getOutputSize(data.length)];
+
+        System.arraycopy(ivBytes, 0, framed, 0, IV_LENGTH);
+
+        try {
+            cipher.doFinal(data, 0, data.length, framed, IV_LENGTH);
+        } catch (final GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+
+        return framed;
+    }
+
+    /**
+     * Decrypts what {@link #encrypt(byte[])} gave back.
+     * @throws ServiceException If the data is malformed or fails
+     *         authentication.
+     */
+    public byte[] decrypt(final byte[] framed) {
+        if (framed.length < IV_LENGTH + TAG_LENGTH) {
+            throw new ServiceException(ErrorCode.INVALID_TOKEN, "Invalid encrypted token");
+        }
+
+        final Cipher cipher = Cryptography.initCipher(ciphers.get(), Cipher.DECRYPT_MODE,
+                secretKey, new GCMParameterSpec(TAG_LENGTH * 8, framed, 0, IV_LENGTH));
+
+        try {
+            return cipher.doFinal(framed, IV_LENGTH, framed.length - IV_LENGTH);
+        } catch (final AEADBadTagException e) {
+            throw new ServiceException(ErrorCode.INVALID_TOKEN, "Invalid encrypted token");
+        } catch (final GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -5,10 +5,9 @@ import org.bouncycastle.jce.provider.BouncyCastleProvider;
 import javax.crypto.BadPaddingException;
 import javax.crypto.Cipher;
 import javax.crypto.IllegalBlockSizeException;
-import javax.crypto.SecretKey;
-import javax.crypto.spec.IvParameterSpec;
 import java.security.Key;
 import java.security.Security;
+import java.security.spec.AlgorithmParameterSpec;
 
 /**
  * A class to hide some of the complexity of the java security
@@ -24,7 +23,8 @@ public class Cryptography {
 
     enum Algorithm {
         EC("ECIES"),
-        AES_CBC("AES/CBC/PKCS5Padding");
+        AES_CBC("AES/CBC/PKCS5Padding"),
+        AES_GCM("AES/GCM/NoPadding");
 
         private final String value;
 
@@ -37,10 +37,18 @@ public class Cryptography {
         }
     }
 
-    static Cipher createCipher(final Algorithm algorithm, final int mode, final Key key) {
-        try {
-            final Cipher cipher = Cipher.getInstance(algorithm.value(), SECURITY_PROVIDER);
+    /**
+     * Looking up a cipher from the provider costs far more than using it,
+     * so the encryptors keep one per thread and only initialize it again
+     * for every token. Ciphers aren't thread-safe, which is why they can't
+     * be shared.
+     */
+    static ThreadLocal<Cipher> cipherPerThread(final Algorithm algorithm) {
+        return ThreadLocal.withInitial(() -> getCipher(algorithm));
+    }
 
+    static Cipher initCipher(final Cipher cipher, final int mode, final Key key) {
+        try {
             cipher.init(mode, key);
 
             return cipher;
@@ -49,14 +57,10 @@ public class Cryptography {
         }
     }
 
-    static Cipher createCipherWithIv(final Algorithm algorithm, final int mode,
-                                     final SecretKey key, final byte[] ivBytes) {
-        final IvParameterSpec iv = new IvParameterSpec(ivBytes);
-
+    static Cipher initCipher(final Cipher cipher, final int mode, final Key key,
+                             final AlgorithmParameterSpec parameters) {
         try {
-            final Cipher cipher = Cipher.getInstance(algorithm.value(), SECURITY_PROVIDER);
-
-            cipher.init(mode, key, iv);
+            cipher.init(mode, key, parameters);
 
             return cipher;
         } catch (final Exception e) {
@@ -71,4 +75,12 @@ public class Cryptography {
             throw new IllegalStateException(e);
         }
     }
+
+    private static Cipher getCipher(final Algorithm algorithm) {
+        try {
+            return Cipher.getInstance(algorithm.value(), SECURITY_PROVIDER);
+        } catch (final Exception e) {
+            throw new IllegalStateException(e); // we should have done enough validation to never reach this point
+        }
+    }
 }
@@ -7,9 +7,11 @@ import java.util.Base64;
 
 public class EciesTokenEncryptor implements TokenEncryptor {
     private final KeyPair keyPair;
+    private final ThreadLocal<Cipher> ciphers;
 
     public EciesTokenEncryptor(final String publicKeyPath, final String privateKeyPath) {
         keyPair = KeysReader.readKeyPair(Cryptography.Algorithm.EC, publicKeyPath, privateKeyPath);
+        ciphers = Cryptography.cipherPerThread(Cryptography.Algorithm.EC);
     }
 
     /**
@@ -18,8 +20,7 @@ public class EciesTokenEncryptor implements TokenEncryptor {
      * @return A base64 encrypted text of the token.
      */
     public String encryptAndEncode(final String token) {
-        final Cipher cipher = Cryptography.createCipher(Cryptography.Algorithm.EC,
-                Cipher.ENCRYPT_MODE, keyPair.getPublic());
+        final Cipher cipher = Cryptography.initCipher(ciphers.get(), Cipher.ENCRYPT_MODE, keyPair.getPublic());
 
         final byte[] raw = token.getBytes(StandardCharsets.UTF_8);
         final byte[] encrypted = Cryptography.doCipher(raw, cipher);
@@ -33,8 +34,7 @@ public class EciesTokenEncryptor implements TokenEncryptor {
      * @return The decrypted token, UTF-8 encoded.
      */
     public String decryptEncoded(final String encryptedToken) {
-        final Cipher cipher = Cryptography.createCipher(Cryptography.Algorithm.EC,
-                Cipher.DECRYPT_MODE, keyPair.getPrivate());
+        final Cipher cipher = Cryptography.initCipher(ciphers.get(), Cipher.DECRYPT_MODE, keyPair.getPrivate());
 
         final byte[] decoded = Base64.getDecoder().decode(encryptedToken);
         final byte[] decrypted = Cryptography.doCipher(decoded, cipher);
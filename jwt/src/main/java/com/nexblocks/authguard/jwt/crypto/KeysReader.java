@@ -39,7 +39,7 @@ public class KeysReader {
     }
 
     static SecretKey readSecretKeyOrFail(final Cryptography.Algorithm algorithm, final byte[] keyBase64) {
-        if (algorithm == Cryptography.Algorithm.AES_CBC) {
+        if (algorithm == Cryptography.Algorithm.AES_CBC || algorithm == Cryptography.Algorithm.AES_GCM) {
             return SymmetricKeys.aesFromBase64Key(keyBase64);
         }
 
@@ -44,6 +44,10 @@ public class TokenEncryptorAdapter {
                     tokenEncryptor = new AesCbcTokenEncryptor(encryptionConfig.getPrivateKey());
                     break;
 
+                case AES_GCM:
+                    tokenEncryptor = new AesGcmTokenEncryptor(encryptionConfig.getPrivateKey());
+                    break;
+
                 default:
                     throw new ConfigurationException("Unsupported algorithm " + algorithm);
             }
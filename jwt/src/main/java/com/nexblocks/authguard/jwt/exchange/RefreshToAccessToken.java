@@ -6,9 +6,12 @@ import com.nexblocks.authguard.config.ConfigContext;
 import com.nexblocks.authguard.dal.cache.AccountTokensRepository;
 import com.nexblocks.authguard.dal.model.AccountTokenDO;
 import com.nexblocks.authguard.jwt.AccessTokenProvider;
+import com.nexblocks.authguard.jwt.StatelessRefreshTokens;
 import com.nexblocks.authguard.service.AccountsService;
 import com.nexblocks.authguard.service.config.JwtConfig;
 import com.nexblocks.authguard.service.exceptions.ServiceAuthorizationException;
+import com.nexblocks.authguard.service.exceptions.ServiceException;
+import com.nexblocks.authguard.service.exceptions.ServiceUnavailableException;
 import com.nexblocks.authguard.service.exceptions.codes.ErrorCode;
 import com.nexblocks.authguard.service.exchange.Exchange;
 import com.nexblocks.authguard.service.exchange.TokenExchange;
@@ -32,15 +35,17 @@ public class RefreshToAccessToken implements Exchange {
     private final AccessTokenProvider accessTokenProvider;
     private final JwtConfig jwtConfig;
     private final ServiceMapper serviceMapper;
+    private final StatelessRefreshTokens statelessRefreshTokens;
 
     @Inject
     public RefreshToAccessToken(final AccountTokensRepository accountTokensRepository,
                                 final AccountsService accountsService,
                                 final AccessTokenProvider accessTokenProvider,
                                 final @Named("jwt") ConfigContext jwtConfigContext,
-                                final ServiceMapper serviceMapper) {
+                                final ServiceMapper serviceMapper,
+                                final StatelessRefreshTokens statelessRefreshTokens) {
         this(accountTokensRepository, accountsService, accessTokenProvider,
-                jwtConfigContext.asConfigBean(JwtConfig.class), serviceMapper);
+                jwtConfigContext.asConfigBean(JwtConfig.class), serviceMapper, statelessRefreshTokens);
     }
 
     public RefreshToAccessToken(final AccountTokensRepository accountTokensRepository,
@@ -48,19 +53,42 @@ public class RefreshToAccessToken implements Exchange {
                                 final AccessTokenProvider accessTokenProvider,
                                 final JwtConfig jwtConfig,
                                 final ServiceMapper serviceMapper) {
+        this(accountTokensRepository, accountsService, accessTokenProvider, jwtConfig, serviceMapper, null);
+    }
+
+    /**
+     * @param statelessRefreshTokens Opens sealed refresh tokens if it's
+     *                               enabled. Can be null.
+     */
+    public RefreshToAccessToken(final AccountTokensRepository accountTokensRepository,
+                                final AccountsService accountsService,
+                                final AccessTokenProvider accessTokenProvider,
+                                final JwtConfig jwtConfig,
+                                final ServiceMapper serviceMapper,
+                                final StatelessRefreshTokens statelessRefreshTokens) {
         this.accountTokensRepository = accountTokensRepository;
         this.accountsService = accountsService;
         this.accessTokenProvider = accessTokenProvider;
         this.jwtConfig = jwtConfig;
         this.serviceMapper = serviceMapper;
+        this.statelessRefreshTokens = statelessRefreshTokens != null && statelessRefreshTokens.isEnabled()
+                ? statelessRefreshTokens
+                : null;
     }
 
     @Override
     public Uni<AuthResponseBO> exchange(final AuthRequestBO request) {
+        if (statelessRefreshTokens != null && StatelessRefreshTokens.isSealed(request.getToken())) {
+            return statelessRefreshTokens.open(request.getToken())
+                    .map(accountToken -> generate(accountToken, request))
+                    .orElseGet(() -> Uni.createFrom().failure(new ServiceAuthorizationException(ErrorCode.INVALID_TOKEN,
+                            "Invalid token")));
+        }
+
         return accountTokensRepository.getByToken(request.getToken())
                 .flatMap(opt -> {
                     if (opt.isPresent()) {
-                        return this.generateAndClear(opt.get(), request);
+                        return this.generate(opt.get(), request);
                     }
 
                     return Uni.createFrom().failure(new ServiceAuthorizationException(ErrorCode.INVALID_TOKEN,
@@ -68,15 +96,6 @@ public class RefreshToAccessToken implements Exchange {
                 });
     }
 
-    private Uni<AuthResponseBO> generateAndClear(final AccountTokenDO accountToken,
-                                                               final AuthRequest request) {
-        return generate(accountToken, request)
-                .map(response -> {
-                    deleteRefreshToken(accountToken);
-                    return response;
-                });
-    }
-
     private Uni<AuthResponseBO> generate(final AccountTokenDO accountToken,
                                                        final AuthRequest authRequest) {
         if (!validateExpirationDateTime(accountToken)) {
@@ -99,7 +118,46 @@ public class RefreshToAccessToken implements Exchange {
             return Uni.createFrom().failure(error);
         }
 
-        return generateNewTokens(accountToken);
+        if (isSealed(accountToken)) {
+            // claimed before the new tokens are generated, but only revoked once they are, so that a transient
+            // failure to generate them doesn't use up the token
+            if (!statelessRefreshTokens.claim(accountToken)) {
+                return Uni.createFrom().failure(new ServiceAuthorizationException(ErrorCode.INVALID_TOKEN,
+                        "Invalid token", EntityType.ACCOUNT, accountToken.getAssociatedAccountId()));
+            }
+
+            return generateNewTokens(accountToken)
+                    .onFailure()
+                    .call(failure -> {
+                        if (isTransient(failure)) {
+                            statelessRefreshTokens.release(accountToken);
+
+                            return Uni.createFrom().voidItem();
+                        }
+
+                        return statelessRefreshTokens.markExchanged(accountToken)
+                                .onFailure().recoverWithNull();
+                    })
+                    .call(ignored -> statelessRefreshTokens.markExchanged(accountToken));
+        }
+
+        // the token is used up once it's valid, so it's deleted while the new ones are generated, and
+        // restored if they couldn't be because of a transient failure
+        Uni<?> deleted = deleteRefreshToken(accountToken);
+
+        return generateNewTokens(accountToken)
+                .onFailure(RefreshToAccessToken::isTransient)
+                .call(ignored -> restoreRefreshToken(accountToken, deleted));
+    }
+
+    /**
+     * Whether a failure to generate new tokens can go away if the token is
+     * exchanged again. Service errors, e.g. an account which doesn't exist
+     * anymore or is inactive, or a terminated session, mean that it can't
+     * be exchanged anymore, other than when the service is overloaded.
+     */
+    private static boolean isTransient(final Throwable failure) {
+        return failure instanceof ServiceUnavailableException || !(failure instanceof ServiceException);
     }
 
     private Uni<AuthResponseBO> generateNewTokens(final AccountTokenDO accountToken) {
@@ -116,16 +174,14 @@ public class RefreshToAccessToken implements Exchange {
                 .deviceId(accountToken.getDeviceId())
                 .build();
 
-        return getAccount(accountId, accountToken)
+        return getAccount(accountId)
                 .flatMap(account -> accessTokenProvider.generateToken(account, tokenRestrictions, options));
     }
 
-    private Uni<AccountBO> getAccount(final long accountId, final AccountTokenDO accountToken) {
+    private Uni<AccountBO> getAccount(final long accountId) {
         return accountsService.getByIdUnchecked(accountId)
                 .flatMap(opt -> {
                     if (opt.isEmpty()) {
-                        deleteRefreshToken(accountToken);
-
                         return Uni.createFrom().failure(new ServiceAuthorizationException(ErrorCode.ACCOUNT_DOES_NOT_EXIST,
                                 "Could not find account " + accountId));
                     }
@@ -178,17 +234,43 @@ public class RefreshToAccessToken implements Exchange {
         return Optional.empty();
     }
 
-    private void deleteRefreshToken(final AccountTokenDO accountToken) {
+    private boolean isSealed(final AccountTokenDO accountToken) {
+        return statelessRefreshTokens != null && StatelessRefreshTokens.isSealed(accountToken.getToken());
+    }
+
+    private Uni<?> deleteRefreshToken(final AccountTokenDO accountToken) {
+        if (isSealed(accountToken)) {
+            // nothing is stored, and an expired token can't be exchanged anyway
+            return Uni.createFrom().voidItem();
+        }
+
         LOG.info("Deleting old refresh token. tokenId={}, accountId={}",
                 accountToken.getId(), accountToken.getAssociatedAccountId());
 
-        accountTokensRepository.deleteToken(accountToken.getToken())
+        Uni<?> deleted = accountTokensRepository.deleteToken(accountToken.getToken())
                 .onFailure()
                 .invoke(e -> LOG.error("Failed to delete refresh token. tokenId={}, accountId={}",
                         accountToken.getId(), accountToken.getAssociatedAccountId(), e))
-                .subscribe().with(deletedToken -> {
-                    LOG.info("Deleted refresh token. tokenId={}, accountId={}",
-                            accountToken.getId(), accountToken.getAssociatedAccountId());
-                });
+                .invoke(deletedToken -> LOG.info("Deleted refresh token. tokenId={}, accountId={}",
+                        accountToken.getId(), accountToken.getAssociatedAccountId()))
+                .memoize().indefinitely();
+
+        deleted.subscribe().with(ignored -> {}, ignored -> {});
+
+        return deleted;
+    }
+
+    private Uni<?> restoreRefreshToken(final AccountTokenDO accountToken, final Uni<?> deleted) {
+        LOG.info("Restoring refresh token after failing to generate new tokens. tokenId={}, accountId={}",
+                accountToken.getId(), accountToken.getAssociatedAccountId());
+
+        // waits for the delete, otherwise it could remove the restored token
+        return deleted
+                .onFailure().recoverWithNull()
+                .flatMap(ignored -> accountTokensRepository.save(accountToken))
+                .onFailure()
+                .invoke(e -> LOG.error("Failed to restore refresh token. tokenId={}, accountId={}",
+                        accountToken.getId(), accountToken.getAssociatedAccountId(), e))
+                .onFailure().recoverWithNull();
     }
 }
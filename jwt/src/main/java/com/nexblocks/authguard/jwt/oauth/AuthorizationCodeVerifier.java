@@ -12,7 +12,6 @@ import com.nexblocks.authguard.service.model.AuthRequestBO;
 import com.nexblocks.authguard.service.model.EntityType;
 import com.nexblocks.authguard.service.util.AsyncUtils;
 import io.smallrye.mutiny.Uni;
-import io.vavr.control.Either;
 import io.vavr.control.Try;
 
 import java.time.Instant;
@@ -31,15 +30,6 @@ public class AuthorizationCodeVerifier implements AuthVerifier {
                 .map(AccountTokenDO::getAssociatedAccountId);
     }
 
-    @Override
-    public Either<Exception, AccountTokenDO> verifyAndGetAccountToken(final AuthRequest request) {
-        return accountTokensRepository.getByToken(request.getToken())
-                .subscribeAsCompletionStage()
-                .join()
-                .map(this::verifyToken)
-                .orElseGet(() -> Either.left(new ServiceAuthorizationException(ErrorCode.INVALID_TOKEN, "Invalid authorization code")));
-    }
-
     @Override
     public Uni<Long> verifyAccountTokenAsync(final AuthRequest request) {
         return verifyAndGetAccountTokenAsync(request)
@@ -58,15 +48,6 @@ public class AuthorizationCodeVerifier implements AuthVerifier {
                 });
     }
 
-    private Either<Exception, AccountTokenDO> verifyToken(final AccountTokenDO accountToken) {
-        if (accountToken.getExpiresAt().isBefore(Instant.now())) {
-            throw new ServiceAuthorizationException(ErrorCode.EXPIRED_TOKEN, "Expired authorization code",
-                    EntityType.ACCOUNT, accountToken.getAssociatedAccountId());
-        }
-
-        return Either.right(accountToken);
-    }
-
     private Try<AccountTokenDO> tryVerifyToken(final AccountTokenDO accountToken) {
         if (accountToken.getExpiresAt().isBefore(Instant.now())) {
             return Try.failure(new ServiceAuthorizationException(ErrorCode.EXPIRED_TOKEN,
@@ -68,8 +68,10 @@ public class OAuthApiHandler implements VertxApiHandler {
                             new Violation("provider", ViolationType.MISSING_REQUIRED_VALUE)
                     ))));
         } else {
-            String url = oAuthService.getAuthorizationUrl(provider).subscribeAsCompletionStage().join();
-            context.response().setStatusCode(302).putHeader("Location", url).end();
+            oAuthService.getAuthorizationUrl(provider)
+                    .subscribe()
+                    .with(url -> context.response().setStatusCode(302).putHeader("Location", url).end(),
+                            context::fail);
         }
     }
 
@@ -6,6 +6,7 @@ import com.auth0.jwt.interfaces.Verification;
 import com.nexblocks.authguard.dal.cache.AccountTokensRepository;
 import com.nexblocks.authguard.dal.model.AccountTokenDO;
 import com.nexblocks.authguard.jwt.crypto.TokenEncryptorAdapter;
+import com.nexblocks.authguard.service.TokenRevocationService;
 import com.nexblocks.authguard.service.TrackingSessionsService;
 import com.nexblocks.authguard.service.config.EncryptionConfig;
 import com.nexblocks.authguard.service.config.JwtConfig;
@@ -24,6 +25,7 @@ import org.junit.jupiter.api.TestMethodOrder;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
+import java.time.Clock;
 import java.time.Instant;
 import java.util.*;
 import io.smallrye.mutiny.Uni;
@@ -104,7 +106,7 @@ class AccessTokenProviderTest {
         });
 
         return new AccessTokenProvider(trackingSessionsService, accountTokensRepository, jwtConfig,
-                strategyConfig, jtiProvider, tokenEncryptor, new ServiceMapperImpl());
+                strategyConfig, jtiProvider, tokenEncryptor, new ServiceMapperImpl(), new JwtKeyring(jwtConfig));
     }
 
     @Test
@@ -135,6 +137,48 @@ class AccessTokenProviderTest {
         verifyToken(tokens.getToken().toString(), account.getId(), null, null);
     }
 
+    @Test
+    void generateWithStatelessRefreshToken() {
+        jtiProvider = Mockito.mock(JtiProvider.class);
+        accountTokensRepository = Mockito.mock(AccountTokensRepository.class);
+        trackingSessionsService = Mockito.mock(TrackingSessionsService.class);
+
+        Mockito.when(trackingSessionsService.isSessionActive(Mockito.any(), Mockito.any()))
+                .thenReturn(Uni.createFrom().item(true));
+
+        StrategyConfig strategyConfig = StrategyConfig.builder()
+                .from(strategyConfig())
+                .statelessRefreshTokens(true)
+                .refreshTokenKey("file:src/test/resources/aes128.txt")
+                .build();
+        StatelessRefreshTokens statelessRefreshTokens = new StatelessRefreshTokens(strategyConfig,
+                Mockito.mock(TokenRevocationService.class), Clock.systemUTC());
+
+        AccessTokenProvider accessTokenProvider = new AccessTokenProvider(trackingSessionsService,
+                accountTokensRepository, jwtConfig(), strategyConfig, jtiProvider,
+                Mockito.mock(TokenEncryptorAdapter.class), new ServiceMapperImpl(), new JwtKeyring(jwtConfig()),
+                statelessRefreshTokens);
+
+        AccountBO account = RANDOM.nextObject(AccountBO.class).withActive(true);
+        TokenOptionsBO options = TokenOptionsBO.builder()
+                .trackingSession("tracking-session")
+                .deviceId("device")
+                .build();
+
+        AuthResponseBO tokens = accessTokenProvider.generateToken(account, options).subscribeAsCompletionStage().join();
+
+        assertThat(StatelessRefreshTokens.isSealed(tokens.getRefreshToken().toString())).isTrue();
+
+        AccountTokenDO refreshToken = statelessRefreshTokens.open(tokens.getRefreshToken().toString()).get();
+
+        assertThat(refreshToken.getAssociatedAccountId()).isEqualTo(account.getId());
+        assertThat(refreshToken.getTrackingSession()).isEqualTo("tracking-session");
+        assertThat(refreshToken.getDeviceId()).isEqualTo("device");
+        assertThat(refreshToken.getExpiresAt()).isAfter(Instant.now());
+
+        Mockito.verifyZeroInteractions(accountTokensRepository);
+    }
+
     @Test
     void generateWithTerminatedSession() {
         AccessTokenProvider accessTokenProvider = newProviderInstance(jwtConfig(), strategyConfig());
@@ -144,8 +188,39 @@ class AccessTokenProviderTest {
 
         AccountBO account = RANDOM.nextObject(AccountBO.class).withActive(true);
 
+        Mockito.when(accountTokensRepository.deleteToken(Mockito.any()))
+                .thenReturn(Uni.createFrom().item(Optional.empty()));
+
         assertThatThrownBy(() -> accessTokenProvider.generateToken(account, options).subscribeAsCompletionStage().join())
                 .hasCauseInstanceOf(ServiceException.class);
+
+        // the refresh token was stored concurrently with the session check
+        ArgumentCaptor<AccountTokenDO> accountTokenCaptor = ArgumentCaptor.forClass(AccountTokenDO.class);
+
+        Mockito.verify(accountTokensRepository).save(accountTokenCaptor.capture());
+        Mockito.verify(accountTokensRepository).deleteToken(accountTokenCaptor.getValue().getToken());
+    }
+
+    @Test
+    void generateWithFailedSessionCheck() {
+        AccessTokenProvider accessTokenProvider = newProviderInstance(jwtConfig(), strategyConfig());
+        TokenOptionsBO options = TokenOptionsBO.builder()
+                .trackingSession("unavailable")
+                .build();
+
+        AccountBO account = RANDOM.nextObject(AccountBO.class).withActive(true);
+
+        Mockito.when(trackingSessionsService.isSessionActive(Mockito.eq("unavailable"), Mockito.any()))
+                .thenReturn(Uni.createFrom().failure(new IllegalStateException("unavailable")));
+        Mockito.when(accountTokensRepository.deleteToken(Mockito.any()))
+                .thenReturn(Uni.createFrom().failure(new IllegalStateException("unavailable")));
+
+        // the original failure is kept even if the compensation fails
+        assertThatThrownBy(() -> accessTokenProvider.generateToken(account, options).subscribeAsCompletionStage().join())
+                .hasCauseInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("unavailable");
+
+        Mockito.verify(accountTokensRepository).deleteToken(Mockito.any());
     }
 
     @Test
@@ -289,7 +364,7 @@ class AccessTokenProviderTest {
 
         String jti = UUID.randomUUID().toString();
 
-        Mockito.when(jtiProvider.next()).thenReturn(jti);
+        Mockito.when(jtiProvider.next(Mockito.any())).thenReturn(jti);
 
         AccountBO account = RANDOM.nextObject(AccountBO.class).withActive(true);
         TokenOptionsBO options = TokenOptionsBO.builder()
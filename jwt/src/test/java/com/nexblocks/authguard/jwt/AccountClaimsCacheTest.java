@@ -0,0 +1,88 @@
+package com.nexblocks.authguard.jwt;
+
+import com.nexblocks.authguard.service.config.CacheConfig;
+import com.nexblocks.authguard.service.model.AccountBO;
+import com.nexblocks.authguard.service.model.PermissionBO;
+import com.nexblocks.authguard.service.model.TokenRestrictionsBO;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccountClaimsCacheTest {
+    private static final Instant LAST_MODIFIED = Instant.parse("2025-01-01T00:00:00Z");
+
+    private final AccountClaimsCache cache = new AccountClaimsCache("testAccountClaims",
+            CacheConfig.builder().enabled(true).build());
+
+    private AccountBO account(final Instant lastModified, final String... permissions) {
+        return AccountBO.builder()
+                .id(101)
+                .lastModified(lastModified)
+                .permissions(Arrays.stream(permissions)
+                        .map(permission -> PermissionBO.builder()
+                                .group("test")
+                                .name(permission)
+                                .build())
+                        .toList())
+                .addRoles("admin", "user")
+                .build();
+    }
+
+    @Test
+    void permissionsAreCachedPerVersion() {
+        String[] first = cache.permissions(account(LAST_MODIFIED, "read", "write"), null);
+        String[] second = cache.permissions(account(LAST_MODIFIED, "read", "write"), null);
+
+        assertThat(first).containsExactly("test:read", "test:write");
+        assertThat(second).isSameAs(first);
+
+        String[] updated = cache.permissions(account(LAST_MODIFIED.plusSeconds(1), "read"), null);
+
+        assertThat(updated).containsExactly("test:read");
+    }
+
+    @Test
+    void permissionsAreRestricted() {
+        cache.permissions(account(LAST_MODIFIED, "read", "write", "nothing"), null);
+
+        String[] restricted = cache.permissions(account(LAST_MODIFIED, "read", "write", "nothing"),
+                TokenRestrictionsBO.builder()
+                        .addPermissions("test:nothing", "test:read", "test:other")
+                        .build());
+
+        assertThat(restricted).containsExactly("test:read", "test:nothing");
+        // the cached claim isn't changed by restricting it
+        assertThat(cache.permissions(account(LAST_MODIFIED, "read", "write", "nothing"), null))
+                .containsExactly("test:read", "test:write", "test:nothing");
+    }
+
+    @Test
+    void rolesAreCached() {
+        String[] first = cache.roles(account(LAST_MODIFIED));
+
+        assertThat(first).containsExactlyInAnyOrder("admin", "user");
+        assertThat(cache.roles(account(LAST_MODIFIED))).isSameAs(first);
+    }
+
+    @Test
+    void accountsWithoutVersionAreNotCached() {
+        String[] first = cache.permissions(account(null, "read"), null);
+
+        assertThat(first).containsExactly("test:read");
+        assertThat(cache.permissions(account(null, "read"), null)).isNotSameAs(first);
+    }
+
+    @Test
+    void disabled() {
+        AccountClaimsCache disabled = new AccountClaimsCache("disabledAccountClaims", null);
+
+        String[] first = disabled.permissions(account(LAST_MODIFIED, "read"), null);
+
+        assertThat(first).containsExactly("test:read");
+        assertThat(disabled.permissions(account(LAST_MODIFIED, "read"), null)).isNotSameAs(first);
+        assertThat(disabled.roles(account(LAST_MODIFIED))).containsExactlyInAnyOrder("admin", "user");
+    }
+}
@@ -7,8 +7,11 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
-import io.smallrye.mutiny.Uni;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -23,12 +26,60 @@ class BasicJtiProviderTest {
         provider = new BasicJtiProvider(repository);
     }
 
+    private static Instant expiresAt() {
+        return Instant.now().plus(Duration.ofHours(2));
+    }
+
     @Test
     void generate() {
-        Mockito.when(repository.save(any()))
-                .thenAnswer(invocation -> Uni.createFrom().item(invocation.getArgument(0, AccountTokenDO.class)));
+        String jti = provider.next(expiresAt());
 
-        assertThat(provider.next()).isNotNull();
+        assertThat(jti).isNotNull();
+        assertThat(provider.validate(jti, null).await().indefinitely()).isTrue();
+
+        Mockito.verifyZeroInteractions(repository);
+    }
+
+    @Test
+    void flushPersistsGenerated() {
+        Mockito.when(repository.saveAll(any()))
+                .thenAnswer(invocation -> Uni.createFrom().item(invocation.getArgument(0, List.class)));
+
+        String first = provider.next(expiresAt());
+        String second = provider.next(expiresAt());
+
+        provider.flush();
+
+        Mockito.verify(repository).saveAll(Mockito.argThat(tokens -> tokens.stream()
+                .map(AccountTokenDO::getToken)
+                .toList()
+                .equals(List.of(first, second))));
+    }
+
+    @Test
+    void persistedUntilTokenExpires() {
+        Mockito.when(repository.saveAll(any()))
+                .thenAnswer(invocation -> Uni.createFrom().item(invocation.getArgument(0, List.class)));
+
+        Instant expiresAt = Instant.now().plus(Duration.ofDays(1));
+        String jti = provider.next(expiresAt);
+
+        provider.flush();
+
+        Mockito.verify(repository).saveAll(Mockito.argThat(tokens -> tokens.size() == 1
+                && tokens.get(0).getToken().equals(jti)
+                && tokens.get(0).getExpiresAt().equals(expiresAt)));
+    }
+
+    @Test
+    void persistedByAnotherInstance() {
+        Mockito.when(repository.getByToken("persisted"))
+                .thenReturn(Uni.createFrom().item(Optional.of(AccountTokenDO.builder().token("persisted").build())));
+
+        assertThat(provider.validate("persisted", null).await().indefinitely()).isTrue();
+        assertThat(provider.validate("persisted", null).await().indefinitely()).isTrue();
+
+        Mockito.verify(repository, Mockito.times(1)).getByToken("persisted");
     }
 
     @Test
@@ -36,6 +87,99 @@ class BasicJtiProviderTest {
         Mockito.when(repository.getByToken(any()))
                 .thenReturn(Uni.createFrom().item(Optional.empty()));
 
-        assertThat(provider.validate("malicious")).isFalse();
+        assertThat(provider.validate("malicious", null).await().indefinitely()).isFalse();
+    }
+
+    @Test
+    void issuedWithinFlushWindow() {
+        Mockito.when(repository.getByToken("recent"))
+                .thenReturn(Uni.createFrom().item(Optional.empty()))
+                .thenReturn(Uni.createFrom().item(Optional.of(AccountTokenDO.builder().token("recent").build())));
+
+        assertThat(provider.validate("recent", Instant.now()).await().indefinitely()).isTrue();
+
+        Mockito.verify(repository, Mockito.times(2)).getByToken("recent");
+    }
+
+    @Test
+    void notGeneratedAfterFlushWindow() {
+        Mockito.when(repository.getByToken(any()))
+                .thenReturn(Uni.createFrom().item(Optional.empty()));
+
+        assertThat(provider.validate("old", Instant.now().minus(Duration.ofMinutes(1))).await().indefinitely())
+                .isFalse();
+
+        Mockito.verify(repository, Mockito.times(1)).getByToken("old");
+    }
+
+    @Test
+    void closeFlushesPending() {
+        Mockito.when(repository.saveAll(any()))
+                .thenAnswer(invocation -> Uni.createFrom().item(invocation.getArgument(0, List.class)));
+
+        String jti = provider.next(expiresAt());
+
+        provider.close();
+
+        Mockito.verify(repository).saveAll(Mockito.argThat(tokens -> tokens.size() == 1
+                && tokens.get(0).getToken().equals(jti)));
+    }
+
+    @Test
+    void revoke() {
+        Mockito.when(repository.deleteToken(any()))
+                .thenReturn(Uni.createFrom().item(Optional.empty()));
+
+        List<String> revoked = new ArrayList<>();
+        provider.addRevocationListener(revoked::add);
+
+        String jti = provider.next(expiresAt());
+
+        assertThat(provider.revoke(jti).await().indefinitely()).isTrue();
+        assertThat(provider.validate(jti, null).await().indefinitely()).isFalse();
+        assertThat(revoked).containsExactly(jti);
+
+        provider.flush();
+
+        Mockito.verify(repository).deleteToken(jti);
+        Mockito.verify(repository, Mockito.never()).saveAll(any());
+    }
+
+    @Test
+    void revokedWhileWritten() {
+        Mockito.when(repository.deleteToken(any()))
+                .thenReturn(Uni.createFrom().item(Optional.empty()));
+
+        String jti = provider.next(expiresAt());
+
+        // revoked after the JTI was drained, but before its save completed
+        Mockito.when(repository.saveAll(any()))
+                .thenAnswer(invocation -> Uni.createFrom().item(() -> {
+                    provider.revokeLocally(jti);
+
+                    return invocation.getArgument(0, List.class);
+                }));
+
+        provider.flush();
+
+        Mockito.verify(repository).deleteToken(jti);
+        assertThat(provider.validate(jti, null).await().indefinitely()).isFalse();
+    }
+
+    @Test
+    void revokeLocally() {
+        List<String> revoked = new ArrayList<>();
+        provider.addRevocationListener(revoked::add);
+
+        String jti = provider.next(expiresAt());
+
+        provider.revokeLocally(jti);
+
+        assertThat(provider.validate(jti, null).await().indefinitely()).isFalse();
+        assertThat(revoked).containsExactly(jti);
+
+        provider.flush();
+
+        Mockito.verifyZeroInteractions(repository);
     }
 }
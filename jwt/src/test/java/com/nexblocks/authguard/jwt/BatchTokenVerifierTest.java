@@ -0,0 +1,128 @@
+package com.nexblocks.authguard.jwt;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.nexblocks.authguard.api.dto.entities.TokenVerificationDTO;
+import com.nexblocks.authguard.service.config.JwtConfig;
+import com.nexblocks.authguard.service.config.StrategyConfig;
+import com.nexblocks.authguard.service.exceptions.ServiceAuthorizationException;
+import com.nexblocks.authguard.service.exceptions.codes.ErrorCode;
+import io.smallrye.mutiny.Uni;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BatchTokenVerifierTest {
+    private static final String KEY = "file:src/test/resources/hmac256.pem";
+
+    private final Algorithm algorithm = JwtConfigParser.parseAlgorithm("HMAC256", null, KEY);
+
+    private ExecutorService executor;
+    private ApiTokenVerifier apiTokenVerifier;
+    private BatchTokenVerifier verifier;
+
+    @BeforeEach
+    void setup() {
+        JwtConfig jwtConfig = JwtConfig.builder()
+                .algorithm("HMAC256")
+                .privateKey(KEY)
+                .issuer("test")
+                .build();
+
+        StrategyConfig strategyConfig = StrategyConfig.builder()
+                .tokenLife("5m")
+                .useJti(false)
+                .build();
+
+        executor = Executors.newFixedThreadPool(4);
+        apiTokenVerifier = Mockito.mock(ApiTokenVerifier.class);
+        verifier = new BatchTokenVerifier(new AccessTokenVerifier(jwtConfig, strategyConfig, null, null,
+                new JwtKeyring(jwtConfig)),
+                apiTokenVerifier, executor);
+    }
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private String token(final String subject, final Instant expiresAt) {
+        return JWT.create()
+                .withIssuer("test")
+                .withSubject(subject)
+                .withExpiresAt(Date.from(expiresAt))
+                .withArrayClaim("permissions", new String[] { "main:accounts:read" })
+                .sign(algorithm);
+    }
+
+    @Test
+    void verifyAccessTokens() {
+        Instant expiresAt = Instant.now().plus(5, ChronoUnit.MINUTES).truncatedTo(ChronoUnit.SECONDS);
+        List<String> tokens = Arrays.asList(
+                token("1", expiresAt),
+                "not a token",
+                token("2", Instant.now().minus(1, ChronoUnit.MINUTES)),
+                token("3", expiresAt));
+
+        List<TokenVerificationDTO> results = verifier.verify(tokens, null)
+                .subscribeAsCompletionStage().join();
+
+        assertThat(results).hasSize(4);
+
+        assertThat(results.get(0)).isEqualTo(TokenVerificationDTO.builder()
+                .valid(true)
+                .subject("1")
+                .expiresAt(expiresAt)
+                .addPermissions("main:accounts:read")
+                .build());
+
+        assertThat(results.get(1).isValid()).isFalse();
+        assertThat(results.get(1).getErrorCode()).isEqualTo(ErrorCode.GENERIC_AUTH_FAILURE.getCode());
+
+        assertThat(results.get(2).isValid()).isFalse();
+        assertThat(results.get(2).getSubject()).isNull();
+
+        assertThat(results.get(3).isValid()).isTrue();
+        assertThat(results.get(3).getSubject()).isEqualTo("3");
+    }
+
+    @Test
+    void verifyApiTokens() {
+        Instant expiresAt = Instant.now().plus(5, ChronoUnit.MINUTES);
+        String token = token("app", expiresAt);
+
+        Mockito.when(apiTokenVerifier.verifyClaims(token))
+                .thenReturn(Uni.createFrom().item(JWT.decode(token)));
+        Mockito.when(apiTokenVerifier.verifyClaims("revoked"))
+                .thenReturn(Uni.createFrom().failure(
+                        new ServiceAuthorizationException(ErrorCode.INVALID_TOKEN, "Revoked token")));
+
+        List<TokenVerificationDTO> results = verifier.verify(Arrays.asList(token, "revoked"),
+                        BatchTokenVerifier.API_TOKEN)
+                .subscribeAsCompletionStage().join();
+
+        assertThat(results.get(0).isValid()).isTrue();
+        assertThat(results.get(0).getSubject()).isEqualTo("app");
+        assertThat(results.get(1).isValid()).isFalse();
+        assertThat(results.get(1).getErrorCode()).isEqualTo(ErrorCode.INVALID_TOKEN.getCode());
+    }
+
+    @Test
+    void unsupportedTokenType() {
+        assertThat(BatchTokenVerifier.isSupported("idToken")).isFalse();
+        assertThat(verifier.verify(List.of("token"), "idToken")
+                .onFailure().recoverWithItem(List.of())
+                .subscribeAsCompletionStage().join()).isEmpty();
+    }
+}
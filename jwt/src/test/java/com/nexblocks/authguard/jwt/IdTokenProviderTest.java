@@ -60,7 +60,7 @@ class IdTokenProviderTest {
     private IdTokenProvider newProviderInstance(final JwtConfig jwtConfig) {
         tokenEncryptor = Mockito.mock(TokenEncryptorAdapter.class);
 
-        return new IdTokenProvider(jwtConfig, strategyConfig(), tokenEncryptor);
+        return new IdTokenProvider(jwtConfig, strategyConfig(), tokenEncryptor, new JwtKeyring(jwtConfig));
     }
 
     @Test
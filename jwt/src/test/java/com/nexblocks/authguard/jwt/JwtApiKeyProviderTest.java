@@ -40,7 +40,7 @@ class JwtApiKeyProviderTest {
                 .includeExternalId(includeAccessDetails)
                 .build();
 
-        return new JwtApiKeyProvider(jwtConfig(), strategyConfig);
+        return new JwtApiKeyProvider(strategyConfig, new JwtKeyring(jwtConfig()));
     }
 
     @Test
@@ -0,0 +1,225 @@
+package com.nexblocks.authguard.jwt;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nexblocks.authguard.service.config.JwtConfig;
+import com.nexblocks.authguard.service.config.JwtKeyConfig;
+import com.nexblocks.authguard.service.exceptions.ConfigurationException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtKeyringTest {
+    private static final Instant START = Instant.parse("2025-01-01T00:00:00Z");
+
+    private static final String HMAC_KEY = "file:src/test/resources/hmac256.pem";
+    private static final String RSA_PUBLIC = "file:src/test/resources/rsa256-public.pem";
+    private static final String RSA_PRIVATE = "file:src/test/resources/rsa256-private.pem";
+    private static final String EC_PUBLIC = "file:src/test/resources/ec256-public.pem";
+    private static final String EC_PRIVATE = "file:src/test/resources/ec256-private.pem";
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private JwtConfig.Builder rsaConfig() {
+        return JwtConfig.builder()
+                .algorithm("RSA256")
+                .publicKey(RSA_PUBLIC)
+                .privateKey(RSA_PRIVATE)
+                .issuer("test");
+    }
+
+    private JwtKeyConfig ecKey(final String signFrom, final String expiresAt) {
+        return JwtKeyConfig.builder()
+                .id("ec-1")
+                .algorithm("EC256")
+                .publicKey(EC_PUBLIC)
+                .privateKey(EC_PRIVATE)
+                .signFrom(signFrom)
+                .expiresAt(expiresAt)
+                .build();
+    }
+
+    private String sign(final JwtKeyring keyring) {
+        return keyring.sign(JWT.create().withSubject("1"));
+    }
+
+    @Test
+    void signsWithDerivedKeyId() {
+        JwtKeyring first = new JwtKeyring(rsaConfig().build());
+        JwtKeyring second = new JwtKeyring(rsaConfig().build());
+
+        String token = sign(first);
+
+        assertThat(first.getSigningKeyId()).isNotNull().isEqualTo(second.getSigningKeyId());
+        assertThat(JWT.decode(token).getKeyId()).isEqualTo(first.getSigningKeyId());
+        assertThat(second.verify(token).getSubject()).isEqualTo("1");
+    }
+
+    @Test
+    void signsWithConfiguredKeyId() {
+        JwtKeyring keyring = new JwtKeyring(rsaConfig().keyId("rsa-1").build());
+
+        assertThat(JWT.decode(sign(keyring)).getKeyId()).isEqualTo("rsa-1");
+    }
+
+    @Test
+    void verifiesTokensWithoutKeyId() {
+        JwtKeyring keyring = new JwtKeyring(JwtConfig.builder()
+                .algorithm("HMAC256")
+                .privateKey(HMAC_KEY)
+                .build());
+
+        String token = JWT.create()
+                .withSubject("1")
+                .sign(JwtConfigParser.parseAlgorithm("HMAC256", null, HMAC_KEY));
+
+        assertThat(keyring.verify(token).getSubject()).isEqualTo("1");
+    }
+
+    @Test
+    void rejectsUnknownKeyId() {
+        JwtKeyring keyring = new JwtKeyring(rsaConfig().build());
+        Algorithm algorithm = JwtConfigParser.parseAlgorithm("RSA256", RSA_PUBLIC, RSA_PRIVATE);
+
+        String token = JWT.create()
+                .withSubject("1")
+                .withKeyId("unknown")
+                .sign(algorithm);
+
+        assertThatThrownBy(() -> keyring.verify(token)).isInstanceOf(JWTVerificationException.class);
+    }
+
+    @Test
+    void rotatesToScheduledKey() {
+        MutableClock clock = new MutableClock(START);
+        JwtKeyring keyring = new JwtKeyring(rsaConfig()
+                .addKeys(ecKey(START.plus(Duration.ofHours(1)).toString(), null))
+                .build(), clock);
+
+        String before = sign(keyring);
+
+        // published before it signs anything
+        assertThat(keyIds(keyring)).hasSize(2).contains("ec-1");
+        assertThat(keyring.getJwksMaxAge()).isEqualTo(Duration.ofMinutes(5));
+
+        clock.now = START.plus(Duration.ofHours(1));
+        keyring.rotate();
+
+        String after = sign(keyring);
+
+        assertThat(JWT.decode(after).getKeyId()).isEqualTo("ec-1");
+        assertThat(keyring.verify(after).getAlgorithm()).isEqualTo("ES256");
+        assertThat(keyring.verify(before).getAlgorithm()).isEqualTo("RS256");
+    }
+
+    @Test
+    void dropsExpiredKeys() {
+        MutableClock clock = new MutableClock(START);
+        JwtKeyring keyring = new JwtKeyring(rsaConfig()
+                .addKeys(ecKey(null, START.plus(Duration.ofHours(1)).toString()))
+                .build(), clock);
+
+        String token = sign(keyring);
+        String eTag = keyring.getJwks().getETag();
+
+        assertThat(JWT.decode(token).getKeyId()).isEqualTo("ec-1");
+
+        clock.now = START.plus(Duration.ofMinutes(58));
+        assertThat(keyring.getJwksMaxAge()).isEqualTo(Duration.ofMinutes(2));
+
+        clock.now = START.plus(Duration.ofHours(1));
+        keyring.rotate();
+
+        assertThatThrownBy(() -> keyring.verify(token)).isInstanceOf(JWTVerificationException.class);
+        assertThat(keyIds(keyring)).hasSize(1).doesNotContain("ec-1");
+        assertThat(keyring.getJwks().getETag()).isNotEqualTo(eTag);
+        assertThat(keyring.verify(sign(keyring)).getAlgorithm()).isEqualTo("RS256");
+    }
+
+    @Test
+    void publishesOnlyPublicKeys() throws Exception {
+        JwtKeyring keyring = new JwtKeyring(JwtConfig.builder()
+                .algorithm("HMAC256")
+                .privateKey(HMAC_KEY)
+                .addKeys(JwtKeyConfig.builder()
+                        .id("ec-1")
+                        .algorithm("EC256")
+                        .publicKey(EC_PUBLIC)
+                        .verifyOnly(true)
+                        .build())
+                .build());
+
+        JsonNode key = mapper.readTree(keyring.getJwks().getJson()).get("keys").get(0);
+
+        assertThat(mapper.readTree(keyring.getJwks().getJson()).get("keys")).hasSize(1);
+        assertThat(key.get("kid").asText()).isEqualTo("ec-1");
+        assertThat(key.get("kty").asText()).isEqualTo("EC");
+        assertThat(key.get("crv").asText()).isEqualTo("P-256");
+        assertThat(key.get("alg").asText()).isEqualTo("ES256");
+        assertThat(key.has("d")).isFalse();
+
+        // verify-only keys never sign
+        assertThat(JWT.decode(sign(keyring)).getAlgorithm()).isEqualTo("HS256");
+    }
+
+    @Test
+    void sameKeysHaveSameETag() {
+        JwtKeyring first = new JwtKeyring(rsaConfig().build());
+        JwtKeyring second = new JwtKeyring(rsaConfig().build());
+
+        assertThat(first.getJwks().getETag()).isEqualTo(second.getJwks().getETag());
+        assertThat(first.getJwks().getJson()).isEqualTo(second.getJwks().getJson());
+    }
+
+    @Test
+    void rejectsDuplicateKeyIds() {
+        JwtConfig config = rsaConfig()
+                .keyId("ec-1")
+                .addKeys(ecKey(null, null))
+                .build();
+
+        assertThatThrownBy(() -> new JwtKeyring(config)).isInstanceOf(ConfigurationException.class);
+    }
+
+    private List<String> keyIds(final JwtKeyring keyring) {
+        try {
+            return mapper.readTree(keyring.getJwks().getJson()).findValuesAsText("kid");
+        } catch (final Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(final Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -71,7 +71,7 @@ public class JwtSignatureAlgorithmsTest {
         String token = generateToken(jwtConfig(algorithm, publicKey, privateKey));
         JwtTokenVerifier tokenVerifier = createVerifier(algorithm, publicKey, privateKey);
 
-        Try<DecodedJWT> validatedToken = tokenVerifier.verify(token);
+        Try<DecodedJWT> validatedToken = Try.of(() -> tokenVerifier.verify(token).await().indefinitely());
 
         assertThat(validatedToken.isSuccess()).isTrue();
         assertThat(validatedToken.get().getAlgorithm()).isEqualTo("ES256");
@@ -86,7 +86,7 @@ public class JwtSignatureAlgorithmsTest {
         String token = generateToken(jwtConfig(algorithm, publicKey, privateKey));
         JwtTokenVerifier tokenVerifier = createVerifier(algorithm, publicKey, privateKey);
 
-        Try<DecodedJWT> validatedToken = tokenVerifier.verify(token);
+        Try<DecodedJWT> validatedToken = Try.of(() -> tokenVerifier.verify(token).await().indefinitely());
 
         assertThat(validatedToken.isSuccess()).isTrue();
         assertThat(validatedToken.get().getAlgorithm()).isEqualTo("ES512");
@@ -101,7 +101,7 @@ public class JwtSignatureAlgorithmsTest {
         String token = generateToken(jwtConfig(algorithm, publicKey, privateKey));
         JwtTokenVerifier tokenVerifier = createVerifier(algorithm, publicKey, privateKey);
 
-        Try<DecodedJWT> validatedToken = tokenVerifier.verify(token);
+        Try<DecodedJWT> validatedToken = Try.of(() -> tokenVerifier.verify(token).await().indefinitely());
 
         assertThat(validatedToken.isSuccess()).isTrue();
         assertThat(validatedToken.get().getAlgorithm()).isEqualTo("RS256");
@@ -116,7 +116,7 @@ public class JwtSignatureAlgorithmsTest {
         String token = generateToken(jwtConfig(algorithm, publicKey, privateKey));
         JwtTokenVerifier tokenVerifier = createVerifier(algorithm, publicKey, privateKey);
 
-        Try<DecodedJWT> validatedToken = tokenVerifier.verify(token);
+        Try<DecodedJWT> validatedToken = Try.of(() -> tokenVerifier.verify(token).await().indefinitely());
 
         assertThat(validatedToken.isSuccess()).isTrue();
         assertThat(validatedToken.get().getAlgorithm()).isEqualTo("RS512");
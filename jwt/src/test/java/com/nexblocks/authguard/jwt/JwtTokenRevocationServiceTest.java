@@ -0,0 +1,198 @@
+package com.nexblocks.authguard.jwt;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.nexblocks.authguard.dal.cache.RevokedTokensRepository;
+import com.nexblocks.authguard.dal.model.RevokedTokenDO;
+import com.nexblocks.authguard.emb.MessageBus;
+import com.nexblocks.authguard.emb.Messages;
+import com.nexblocks.authguard.service.AccountsService;
+import com.nexblocks.authguard.service.ApplicationsService;
+import com.nexblocks.authguard.service.ClientsService;
+import com.nexblocks.authguard.service.config.JwtConfig;
+import com.nexblocks.authguard.service.exceptions.ServiceAuthorizationException;
+import com.nexblocks.authguard.service.model.AccountBO;
+import io.smallrye.mutiny.Uni;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtTokenRevocationServiceTest {
+    private static final String ALGORITHM = "HMAC256";
+    private static final String KEY = "file:src/test/resources/hmac256.pem";
+
+    private RevokedTokensRepository repository;
+    private JtiProvider jtiProvider;
+    private JwtConfig jwtConfig;
+    private AccountsService accountsService;
+    private TokenSubjectDomains subjectDomains;
+
+    @BeforeEach
+    void setup() {
+        repository = Mockito.mock(RevokedTokensRepository.class);
+        jtiProvider = Mockito.mock(JtiProvider.class);
+        accountsService = Mockito.mock(AccountsService.class);
+        subjectDomains = new TokenSubjectDomains(accountsService, Mockito.mock(ApplicationsService.class),
+                Mockito.mock(ClientsService.class));
+        jwtConfig = JwtConfig.builder()
+                .algorithm(ALGORITHM)
+                .privateKey(KEY)
+                .issuer("test")
+                .build();
+
+        Mockito.when(jtiProvider.revoke(Mockito.any()))
+                .thenReturn(Uni.createFrom().item(true));
+        Mockito.when(repository.save(Mockito.any()))
+                .thenAnswer(invocation -> Uni.createFrom().item(invocation.getArgument(0, RevokedTokenDO.class)));
+    }
+
+    private JwtTokenRevocationService newService() {
+        return new JwtTokenRevocationService(repository, jtiProvider, jwtConfig, new JwtKeyring(jwtConfig),
+                subjectDomains, null, Clock.systemUTC());
+    }
+
+    private String token(String jti, Instant expiresAt) {
+        Algorithm algorithm = JwtConfigParser.parseAlgorithm(ALGORITHM, null, KEY);
+
+        return JWT.create()
+                .withSubject("1")
+                .withJWTId(jti)
+                .withExpiresAt(Date.from(expiresAt))
+                .sign(algorithm);
+    }
+
+    @Test
+    void revokeToken() {
+        Mockito.when(repository.getNotExpired(Mockito.any()))
+                .thenReturn(Uni.createFrom().item(Collections.emptyList()));
+
+        JwtTokenRevocationService service = newService();
+        Instant expiresAt = Instant.now().plus(Duration.ofMinutes(5));
+
+        assertThat(service.isRevoked("jti")).isFalse();
+        assertThat(service.revokeToken(token("jti", expiresAt)).await().indefinitely()).isTrue();
+        assertThat(service.isRevoked("jti")).isTrue();
+        assertThat(service.isRevoked("other")).isFalse();
+
+        Mockito.verify(jtiProvider).revoke("jti");
+        Mockito.verify(repository).save(Mockito.argThat(revoked -> revoked.getJti().equals("jti")
+                && revoked.getExpiresAt().getEpochSecond() == expiresAt.getEpochSecond()));
+    }
+
+    @Test
+    void revokeTokenInDomain() {
+        Mockito.when(repository.getNotExpired(Mockito.any()))
+                .thenReturn(Uni.createFrom().item(Collections.emptyList()));
+        Mockito.when(accountsService.getById(1, "main"))
+                .thenReturn(Uni.createFrom().item(Optional.of(AccountBO.builder().id(1).domain("main").build())));
+
+        JwtTokenRevocationService service = newService();
+
+        assertThat(service.revokeToken(token("jti", Instant.now().plus(Duration.ofMinutes(5))), "main")
+                .await().indefinitely()).isTrue();
+        assertThat(service.isRevoked("jti")).isTrue();
+    }
+
+    @Test
+    void revokeTokenOfAnotherDomain() {
+        Mockito.when(repository.getNotExpired(Mockito.any()))
+                .thenReturn(Uni.createFrom().item(Collections.emptyList()));
+        Mockito.when(accountsService.getById(1, "other"))
+                .thenReturn(Uni.createFrom().item(Optional.empty()));
+
+        JwtTokenRevocationService service = newService();
+        String token = token("jti", Instant.now().plus(Duration.ofMinutes(5)));
+
+        assertThatThrownBy(() -> service.revokeToken(token, "other").await().indefinitely())
+                .isInstanceOf(ServiceAuthorizationException.class);
+
+        assertThat(service.isRevoked("jti")).isFalse();
+        Mockito.verify(jtiProvider, Mockito.never()).revoke(Mockito.any());
+        Mockito.verify(repository, Mockito.never()).save(Mockito.any());
+    }
+
+    @Test
+    void revokeInvalidToken() {
+        Mockito.when(repository.getNotExpired(Mockito.any()))
+                .thenReturn(Uni.createFrom().item(Collections.emptyList()));
+
+        JwtTokenRevocationService service = newService();
+        String token = token("jti", Instant.now().plus(Duration.ofMinutes(5)));
+        String tampered = token.substring(0, token.lastIndexOf('.') + 1) + "signature";
+
+        assertThatThrownBy(() -> service.revokeToken(tampered).await().indefinitely())
+                .isInstanceOf(ServiceAuthorizationException.class);
+
+        assertThat(service.isRevoked("jti")).isFalse();
+        Mockito.verify(repository, Mockito.never()).save(Mockito.any());
+    }
+
+    @Test
+    void loadOnStartup() {
+        Mockito.when(repository.getNotExpired(Mockito.any()))
+                .thenReturn(Uni.createFrom().item(Collections.singletonList(RevokedTokenDO.builder()
+                        .jti("persisted")
+                        .expiresAt(Instant.now().plus(Duration.ofMinutes(5)))
+                        .build())));
+
+        JwtTokenRevocationService service = newService();
+
+        assertThat(service.isRevoked("persisted")).isTrue();
+    }
+
+    @Test
+    void publishRevocations() {
+        Mockito.when(repository.getNotExpired(Mockito.any()))
+                .thenReturn(Uni.createFrom().item(Collections.emptyList()));
+
+        MessageBus messageBus = Mockito.mock(MessageBus.class);
+        JwtTokenRevocationService service = new JwtTokenRevocationService(repository, jtiProvider, jwtConfig,
+                new JwtKeyring(jwtConfig), subjectDomains, messageBus, Clock.systemUTC());
+
+        assertThat(service.revokeJti("jti", null).await().indefinitely()).isTrue();
+
+        Mockito.verify(messageBus).publish(Mockito.eq("revocations"), Mockito.argThat(message ->
+                message.getMessageBody() instanceof RevokedTokenDO revocation
+                        && revocation.getJti().equals("jti")));
+    }
+
+    @Test
+    void applyPublishedRevocations() {
+        Mockito.when(repository.getNotExpired(Mockito.any()))
+                .thenReturn(Uni.createFrom().item(Collections.emptyList()));
+
+        JwtTokenRevocationService service = newService();
+
+        service.onMessage(Messages.created(RevokedTokenDO.builder()
+                .jti("published")
+                .expiresAt(Instant.now().plus(Duration.ofMinutes(5)))
+                .build(), "global"));
+
+        assertThat(service.isRevoked("published")).isTrue();
+
+        Mockito.verify(jtiProvider).revokeLocally("published");
+        Mockito.verify(jtiProvider, Mockito.never()).revoke(Mockito.any());
+        Mockito.verify(repository, Mockito.never()).save(Mockito.any());
+    }
+
+    @Test
+    void withoutRepository() {
+        JwtTokenRevocationService service = new JwtTokenRevocationService(null, jtiProvider, jwtConfig,
+                new JwtKeyring(jwtConfig), subjectDomains, null, Clock.systemUTC());
+
+        assertThat(service.revokeJti("jti", null).await().indefinitely()).isTrue();
+        assertThat(service.isRevoked("jti")).isTrue();
+
+        Mockito.verifyZeroInteractions(repository);
+    }
+}
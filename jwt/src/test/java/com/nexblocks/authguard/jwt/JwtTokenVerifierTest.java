@@ -5,16 +5,20 @@ import com.auth0.jwt.JWTCreator;
 import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.interfaces.DecodedJWT;
+import com.nexblocks.authguard.service.TokenRevocationService;
+import com.nexblocks.authguard.service.config.CacheConfig;
 import com.nexblocks.authguard.service.config.JwtConfig;
 import com.nexblocks.authguard.service.config.StrategyConfig;
 import com.nexblocks.authguard.service.exceptions.ServiceAuthorizationException;
 import com.nexblocks.authguard.service.model.AccountBO;
 import com.nexblocks.authguard.service.model.AuthResponseBO;
 import com.nexblocks.authguard.service.model.PermissionBO;
+import io.smallrye.mutiny.Uni;
 import io.vavr.control.Try;
 import org.jeasy.random.EasyRandom;
 import org.jeasy.random.EasyRandomParameters;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
 import java.time.Duration;
@@ -22,6 +26,7 @@ import java.time.Instant;
 import java.util.Date;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -89,7 +94,7 @@ class JwtTokenVerifierTest {
 
         AccountBO account = RANDOM.nextObject(AccountBO.class);
         AuthResponseBO tokens = generateToken(jwtConfig, account, null);
-        Try<DecodedJWT> validatedToken = jwtTokenVerifier.verify(tokens.getToken().toString());
+        Try<DecodedJWT> validatedToken = verify(jwtTokenVerifier, tokens.getToken().toString());
 
         assertThat(validatedToken.isSuccess()).isTrue();
         verifyToken(validatedToken.get(), account.getId(), null, null, null);
@@ -112,7 +117,7 @@ class JwtTokenVerifierTest {
 
         JwtTokenVerifier jwtTokenVerifier = newVerifierInstance(strategyConfig);
 
-        Try<DecodedJWT> validatedToken = jwtTokenVerifier.verify(token);
+        Try<DecodedJWT> validatedToken = verify(jwtTokenVerifier, token);
 
         assertThat(validatedToken.isFailure()).isTrue();
         assertThat(validatedToken.getCause()).isInstanceOf(ServiceAuthorizationException.class);
@@ -127,12 +132,12 @@ class JwtTokenVerifierTest {
 
         String jti = UUID.randomUUID().toString();
 
-        Mockito.when(jtiProvider.next()).thenReturn(jti);
-        Mockito.when(jtiProvider.validate(jti)).thenReturn(true);
+        Mockito.when(jtiProvider.next(Mockito.any())).thenReturn(jti);
+        Mockito.when(jtiProvider.validate(Mockito.eq(jti), Mockito.any())).thenReturn(Uni.createFrom().item(true));
 
         AccountBO account = RANDOM.nextObject(AccountBO.class);
         AuthResponseBO tokens = generateToken(jwtConfig, account, jti);
-        Try<DecodedJWT> validatedToken = jwtTokenVerifier.verify(tokens.getToken().toString());
+        Try<DecodedJWT> validatedToken = verify(jwtTokenVerifier, tokens.getToken().toString());
 
         assertThat(validatedToken.isSuccess()).isTrue();
         verifyToken(validatedToken.get(), account.getId(), jti, null, null);
@@ -147,12 +152,12 @@ class JwtTokenVerifierTest {
 
         String jti = UUID.randomUUID().toString();
 
-        Mockito.when(jtiProvider.next()).thenReturn(jti);
-        Mockito.when(jtiProvider.validate(jti)).thenReturn(false);
+        Mockito.when(jtiProvider.next(Mockito.any())).thenReturn(jti);
+        Mockito.when(jtiProvider.validate(Mockito.eq(jti), Mockito.any())).thenReturn(Uni.createFrom().item(false));
 
         AccountBO account = RANDOM.nextObject(AccountBO.class);
         AuthResponseBO tokens = generateToken(jwtConfig, account, jti);
-        Try<DecodedJWT> validatedToken = jwtTokenVerifier.verify(tokens.getToken().toString());
+        Try<DecodedJWT> validatedToken = verify(jwtTokenVerifier, tokens.getToken().toString());
 
         assertThat(validatedToken.isFailure()).isTrue();
     }
@@ -169,7 +174,95 @@ class JwtTokenVerifierTest {
         String payload = tokens.getToken().toString().split("\\.")[1];
         String maliciousToken = "eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9." + payload + ".signature";
 
-        assertThat(jwtTokenVerifier.verify(maliciousToken)).isEmpty();
+        assertThat(verify(jwtTokenVerifier, maliciousToken)).isEmpty();
+    }
+
+    @Test
+    void validateCached() {
+        StrategyConfig strategyConfig = strategyConfig(true);
+        JwtConfig jwtConfig = jwtConfig();
+
+        JwtTokenVerifier jwtTokenVerifier = newCachingVerifierInstance(strategyConfig);
+
+        String jti = UUID.randomUUID().toString();
+
+        Mockito.when(jtiProvider.validate(Mockito.eq(jti), Mockito.any())).thenReturn(Uni.createFrom().item(true));
+
+        AccountBO account = RANDOM.nextObject(AccountBO.class);
+        AuthResponseBO tokens = generateToken(jwtConfig, account, jti);
+
+        assertThat(verify(jwtTokenVerifier, tokens.getToken().toString()).isSuccess()).isTrue();
+        assertThat(verify(jwtTokenVerifier, tokens.getToken().toString()).isSuccess()).isTrue();
+
+        Mockito.verify(jtiProvider, Mockito.times(1)).validate(Mockito.eq(jti), Mockito.any());
+    }
+
+    @Test
+    void validateCachedRevoked() {
+        StrategyConfig strategyConfig = strategyConfig(true);
+        JwtConfig jwtConfig = jwtConfig();
+
+        JwtTokenVerifier jwtTokenVerifier = newCachingVerifierInstance(strategyConfig);
+
+        ArgumentCaptor<Consumer<String>> listenerCaptor = ArgumentCaptor.forClass(Consumer.class);
+        Mockito.verify(jtiProvider).addRevocationListener(listenerCaptor.capture());
+
+        String jti = UUID.randomUUID().toString();
+
+        Mockito.when(jtiProvider.validate(Mockito.eq(jti), Mockito.any()))
+                .thenReturn(Uni.createFrom().item(true))
+                .thenReturn(Uni.createFrom().item(false));
+
+        AccountBO account = RANDOM.nextObject(AccountBO.class);
+        AuthResponseBO tokens = generateToken(jwtConfig, account, jti);
+
+        assertThat(verify(jwtTokenVerifier, tokens.getToken().toString()).isSuccess()).isTrue();
+
+        listenerCaptor.getValue().accept(jti);
+
+        assertThat(verify(jwtTokenVerifier, tokens.getToken().toString()).isFailure()).isTrue();
+    }
+
+    @Test
+    void validateRevoked() {
+        StrategyConfig strategyConfig = strategyConfig(true);
+        JwtConfig jwtConfig = jwtConfig();
+
+        jtiProvider = Mockito.mock(JtiProvider.class);
+        TokenRevocationService revocations = Mockito.mock(TokenRevocationService.class);
+
+        Algorithm algorithm = JwtConfigParser.parseAlgorithm(jwtConfig.getAlgorithm(), jwtConfig.getPublicKey(),
+                jwtConfig.getPrivateKey());
+        JwtTokenVerifier jwtTokenVerifier = new JwtTokenVerifier(strategyConfig, jtiProvider, algorithm,
+                null, revocations);
+
+        String jti = UUID.randomUUID().toString();
+
+        Mockito.when(jtiProvider.validate(Mockito.eq(jti), Mockito.any())).thenReturn(Uni.createFrom().item(true));
+        Mockito.when(revocations.isRevoked(jti)).thenReturn(true);
+
+        AccountBO account = RANDOM.nextObject(AccountBO.class);
+        AuthResponseBO tokens = generateToken(jwtConfig, account, jti);
+        Try<DecodedJWT> validatedToken = verify(jwtTokenVerifier, tokens.getToken().toString());
+
+        assertThat(validatedToken.isFailure()).isTrue();
+        assertThat(validatedToken.getCause()).isInstanceOf(ServiceAuthorizationException.class);
+    }
+
+    private JwtTokenVerifier newCachingVerifierInstance(StrategyConfig strategyConfig) {
+        jtiProvider = Mockito.mock(JtiProvider.class);
+
+        JwtConfig jwtConfig = jwtConfig();
+        Algorithm algorithm = JwtConfigParser.parseAlgorithm(jwtConfig.getAlgorithm(), jwtConfig.getPublicKey(),
+                jwtConfig.getPrivateKey());
+        VerifiedTokensCache cache = VerifiedTokensCache.fromConfig("test",
+                CacheConfig.builder().enabled(true).build());
+
+        return new JwtTokenVerifier(strategyConfig, jtiProvider, algorithm, cache, null);
+    }
+
+    private Try<DecodedJWT> verify(JwtTokenVerifier jwtTokenVerifier, String token) {
+        return Try.of(() -> jwtTokenVerifier.verify(token).await().indefinitely());
     }
 
     private void verifyToken(DecodedJWT decodedJWT, long subject, String jti, List<PermissionBO> permissions,
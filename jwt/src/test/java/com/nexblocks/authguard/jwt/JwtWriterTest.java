@@ -0,0 +1,192 @@
+package com.nexblocks.authguard.jwt;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTCreator;
+import com.nexblocks.authguard.service.config.JwtConfig;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtWriterTest {
+    private static final Instant ISSUED_AT = Instant.parse("2025-01-01T00:00:00.750Z");
+    private static final Instant EXPIRES_AT = ISSUED_AT.plusSeconds(300);
+
+    private static final JwtWriter WRITER = new JwtWriter("iss", "sub", "iat", "exp", "jti", "permissions",
+            "eid", "roles", "emailVerified", "phoneVerified", "sid", "source");
+
+    private JwtKeyring hmacKeyring(final String keyId) {
+        return new JwtKeyring(JwtConfig.builder()
+                .algorithm("HMAC256")
+                .privateKey("file:src/test/resources/hmac256.pem")
+                .keyId(keyId)
+                .build());
+    }
+
+    private JwtKeyring rsaKeyring() {
+        return new JwtKeyring(JwtConfig.builder()
+                .algorithm("RSA256")
+                .publicKey("file:src/test/resources/rsa256-public.pem")
+                .privateKey("file:src/test/resources/rsa256-private.pem")
+                .build());
+    }
+
+    private JwtKeyring ecKeyring() {
+        return new JwtKeyring(JwtConfig.builder()
+                .algorithm("EC256")
+                .publicKey("file:src/test/resources/ec256-public.pem")
+                .privateKey("file:src/test/resources/ec256-private.pem")
+                .build());
+    }
+
+    private JWTCreator.Builder allClaimsBuilder(final String subject) {
+        return JWT.create()
+                .withIssuer("test")
+                .withSubject(subject)
+                .withIssuedAt(Date.from(ISSUED_AT))
+                .withExpiresAt(Date.from(EXPIRES_AT))
+                .withJWTId("token-id")
+                .withArrayClaim("permissions", new String[] { "main:accounts:read", "main:apps:*" })
+                .withClaim("eid", "external")
+                .withArrayClaim("roles", new String[0])
+                .withClaim("emailVerified", true)
+                .withClaim("phoneVerified", false)
+                .withClaim("sid", "session")
+                .withClaim("source", "mobile");
+    }
+
+    private JwtWriter.Claims allClaims(final String subject) {
+        return WRITER.claims()
+                .put("iss", "test")
+                .put("sub", subject)
+                .put("iat", ISSUED_AT)
+                .put("exp", EXPIRES_AT)
+                .put("jti", "token-id")
+                .put("permissions", new String[] { "main:accounts:read", "main:apps:*" })
+                .put("eid", "external")
+                .put("roles", new String[0])
+                .put("emailVerified", true)
+                .put("phoneVerified", false)
+                .put("sid", "session")
+                .put("source", "mobile");
+    }
+
+    @Test
+    void writesSameTokenAsBuilder() {
+        JwtKeyring keyring = hmacKeyring(null);
+
+        assertThat(keyring.sign(allClaims("1")))
+                .isEqualTo(keyring.sign(allClaimsBuilder("1")));
+    }
+
+    @Test
+    void writesSameTokenWithConfiguredKeyId() {
+        JwtKeyring keyring = hmacKeyring("hmac-1");
+        String token = keyring.sign(allClaims("1"));
+
+        assertThat(JWT.decode(token).getKeyId()).isEqualTo("hmac-1");
+        assertThat(token).isEqualTo(keyring.sign(allClaimsBuilder("1")));
+    }
+
+    @Test
+    void writesSameTokenWithoutKeyId() {
+        JwtKeyring keyring = JwtKeyring.of(JwtConfigParser.parseAlgorithm("HMAC256", null,
+                "file:src/test/resources/hmac256.pem"));
+        String token = keyring.sign(allClaims("1"));
+
+        assertThat(JWT.decode(token).getKeyId()).isNull();
+        assertThat(token).isEqualTo(keyring.sign(allClaimsBuilder("1")));
+    }
+
+    @Test
+    void writesSameTokenWithRsa() {
+        JwtKeyring keyring = rsaKeyring();
+
+        assertThat(keyring.sign(allClaims("1")))
+                .isEqualTo(keyring.sign(allClaimsBuilder("1")));
+    }
+
+    @Test
+    void writesSameTokenWithSomeClaims() {
+        JwtKeyring keyring = hmacKeyring(null);
+
+        String written = keyring.sign(WRITER.claims()
+                .put("sub", "1")
+                .put("exp", EXPIRES_AT)
+                .put("eid", (String) null)
+                .put("source", "web"));
+
+        String built = keyring.sign(JWT.create()
+                .withSubject("1")
+                .withExpiresAt(Date.from(EXPIRES_AT))
+                .withClaim("eid", (String) null)
+                .withClaim("source", "web"));
+
+        assertThat(written).isEqualTo(built);
+    }
+
+    @Test
+    void writesSameTokenWithEscapedStrings() {
+        JwtKeyring keyring = hmacKeyring(null);
+        String subject = "\"quoted\" \\ tab\t new\nline \u0001 é中😀 \uD83D unpaired </script>";
+
+        // every length modulo 3, to cover each way the Base64 encoding can end
+        for (int i = 0; i < 3; i++) {
+            String padded = subject + "x".repeat(i);
+
+            assertThat(keyring.sign(allClaims(padded)))
+                    .isEqualTo(keyring.sign(allClaimsBuilder(padded)));
+        }
+    }
+
+    @Test
+    void writesLargeTokens() {
+        JwtKeyring keyring = hmacKeyring(null);
+        String[] permissions = new String[500];
+
+        for (int i = 0; i < permissions.length; i++) {
+            permissions[i] = "main:resource-" + i + ":read";
+        }
+
+        String written = keyring.sign(WRITER.claims()
+                .put("sub", "1")
+                .put("permissions", permissions));
+
+        String built = keyring.sign(JWT.create()
+                .withSubject("1")
+                .withArrayClaim("permissions", permissions));
+
+        assertThat(written).isEqualTo(built);
+        // the reused buffer is reset between tokens
+        assertThat(keyring.sign(allClaims("1"))).isEqualTo(keyring.sign(allClaimsBuilder("1")));
+    }
+
+    @Test
+    void writesVerifiableEcTokens() {
+        // ECDSA signatures are randomized, so only the signed segments can be compared
+        JwtKeyring keyring = ecKeyring();
+
+        String written = keyring.sign(allClaims("1"));
+        String built = keyring.sign(allClaimsBuilder("1"));
+
+        assertThat(written.substring(0, written.lastIndexOf('.')))
+                .isEqualTo(built.substring(0, built.lastIndexOf('.')));
+        JwtConfigParser.parseAlgorithm("EC256", "file:src/test/resources/ec256-public.pem",
+                "file:src/test/resources/ec256-private.pem").verify(JWT.decode(written));
+    }
+
+    @Test
+    void rejectsUnknownClaims() {
+        assertThatThrownBy(() -> WRITER.claims().put("aud", "other"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsTooManyClaims() {
+        assertThatThrownBy(() -> new JwtWriter("1", "2", "3", "4", "5", "6", "7", "8", "9", "10", "11", "12", "13"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,68 @@
+package com.nexblocks.authguard.jwt;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RevocationFilterTest {
+    private static final long NOW = 1_700_000_000_000L;
+
+    @Test
+    void containsRevoked() {
+        RevocationFilter filter = new RevocationFilter(1000, 0.01);
+
+        filter.add("revoked", NOW + 60_000);
+
+        assertThat(filter.contains("revoked", NOW)).isTrue();
+        assertThat(filter.contains("not-revoked", NOW)).isFalse();
+    }
+
+    @Test
+    void expired() {
+        RevocationFilter filter = new RevocationFilter(1000, 0.01);
+
+        filter.add("revoked", NOW + 60_000);
+
+        assertThat(filter.contains("revoked", NOW + 60_000)).isFalse();
+        assertThat(filter.purgeExpired(NOW + 60_000)).isEqualTo(1);
+        assertThat(filter.size()).isZero();
+    }
+
+    @Test
+    void purgeKeepsActive() {
+        RevocationFilter filter = new RevocationFilter(1000, 0.01);
+
+        filter.add("expiring", NOW + 1_000);
+        filter.add("active", NOW + 60_000);
+
+        assertThat(filter.purgeExpired(NOW + 2_000)).isEqualTo(1);
+        assertThat(filter.contains("active", NOW + 2_000)).isTrue();
+        assertThat(filter.contains("expiring", NOW + 2_000)).isFalse();
+    }
+
+    @Test
+    void growsBeyondExpected() {
+        RevocationFilter filter = new RevocationFilter(10, 0.01);
+
+        for (int i = 0; i < 1000; i++) {
+            filter.add("jti-" + i, NOW + 60_000);
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            assertThat(filter.contains("jti-" + i, NOW)).isTrue();
+        }
+
+        long falsePositives = 0;
+
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.contains(UUID.randomUUID().toString(), NOW)) {
+                falsePositives++;
+            }
+        }
+
+        // the exact set rules out all false positives of the filter
+        assertThat(falsePositives).isZero();
+    }
+}
@@ -0,0 +1,196 @@
+package com.nexblocks.authguard.jwt;
+
+import com.nexblocks.authguard.dal.model.AccountTokenDO;
+import com.nexblocks.authguard.dal.model.TokenRestrictionsDO;
+import com.nexblocks.authguard.service.TokenRevocationService;
+import com.nexblocks.authguard.service.config.StrategyConfig;
+import com.nexblocks.authguard.service.exceptions.ConfigurationException;
+import io.smallrye.mutiny.Uni;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.security.Security;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StatelessRefreshTokensTest {
+    private TokenRevocationService revocationService;
+    private StatelessRefreshTokens refreshTokens;
+
+    @BeforeEach
+    void setup() {
+        Security.addProvider(new BouncyCastleProvider());
+
+        revocationService = Mockito.mock(TokenRevocationService.class);
+        refreshTokens = new StatelessRefreshTokens(strategyConfig(true), revocationService, Clock.systemUTC());
+    }
+
+    private StrategyConfig strategyConfig(final boolean stateless) {
+        return StrategyConfig.builder()
+                .tokenLife("5m")
+                .refreshTokenLife("20m")
+                .statelessRefreshTokens(stateless)
+                .refreshTokenKey("file:src/test/resources/aes128.txt")
+                .build();
+    }
+
+    private AccountTokenDO accountToken() {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+
+        return AccountTokenDO.builder()
+                .id(1L)
+                .associatedAccountId(101L)
+                .createdAt(now)
+                .expiresAt(now.plus(Duration.ofMinutes(20)))
+                .sourceAuthType("basic")
+                .deviceId("device")
+                .clientId("client")
+                .trackingSession("session")
+                .userAgent("Mozilla/5.0 (X11; Linux x86_64) é")
+                .sourceIp("127.0.0.1")
+                .tokenRestrictions(TokenRestrictionsDO.builder()
+                        .permissions(Set.of("main:accounts:read", "main:apps:read"))
+                        .scopes(Collections.emptySet())
+                        .build())
+                .build();
+    }
+
+    @Test
+    void sealAndOpen() {
+        AccountTokenDO accountToken = accountToken();
+        String token = refreshTokens.seal(accountToken);
+
+        assertThat(StatelessRefreshTokens.isSealed(token)).isTrue();
+
+        accountToken.setToken(token);
+
+        assertThat(refreshTokens.open(token)).contains(accountToken);
+    }
+
+    @Test
+    void sealWithoutRestrictions() {
+        AccountTokenDO accountToken = accountToken();
+        accountToken.setTokenRestrictions(null);
+        accountToken.setClientId(null);
+
+        String token = refreshTokens.seal(accountToken);
+        accountToken.setToken(token);
+
+        assertThat(refreshTokens.open(token)).contains(accountToken);
+    }
+
+    @Test
+    void openTamperedToken() {
+        char[] token = refreshTokens.seal(accountToken()).toCharArray();
+        token[10] = token[10] == 'A' ? 'B' : 'A';
+
+        assertThat(refreshTokens.open(new String(token))).isEmpty();
+        assertThat(refreshTokens.open("s1.not-a-token")).isEmpty();
+        assertThat(refreshTokens.open("random")).isEmpty();
+    }
+
+    @Test
+    void exchangeOnlyOnce() {
+        String token = refreshTokens.seal(accountToken());
+        AccountTokenDO opened = refreshTokens.open(token).get();
+
+        Mockito.when(revocationService.revokeJti("refresh:1", opened.getExpiresAt()))
+                .thenReturn(Uni.createFrom().item(true));
+
+        assertThat(refreshTokens.claim(opened)).isTrue();
+        assertThat(refreshTokens.claim(opened)).isFalse();
+        assertThat(refreshTokens.open(token)).isEmpty();
+
+        assertThat(refreshTokens.markExchanged(opened).await().indefinitely()).isTrue();
+
+        // persisted, so that it's not exchanged again after a restart or on another instance
+        Mockito.verify(revocationService).revokeJti("refresh:1", opened.getExpiresAt());
+    }
+
+    @Test
+    void releaseClaim() {
+        String token = refreshTokens.seal(accountToken());
+        AccountTokenDO opened = refreshTokens.open(token).get();
+
+        assertThat(refreshTokens.claim(opened)).isTrue();
+
+        refreshTokens.release(opened);
+
+        assertThat(refreshTokens.open(token)).isPresent();
+        assertThat(refreshTokens.claim(opened)).isTrue();
+    }
+
+    @Test
+    void openTokenExchangedOnAnotherInstance() {
+        String token = refreshTokens.seal(accountToken());
+        StatelessRefreshTokens restarted = new StatelessRefreshTokens(strategyConfig(true), revocationService,
+                Clock.systemUTC());
+
+        Mockito.when(revocationService.revokeJti(Mockito.eq("refresh:1"), Mockito.any()))
+                .thenReturn(Uni.createFrom().item(true));
+
+        AccountTokenDO opened = refreshTokens.open(token).get();
+
+        assertThat(refreshTokens.claim(opened)).isTrue();
+        assertThat(refreshTokens.markExchanged(opened).await().indefinitely()).isTrue();
+
+        Mockito.when(revocationService.isRevoked("refresh:1")).thenReturn(true);
+
+        assertThat(restarted.open(token)).isEmpty();
+    }
+
+    @Test
+    void revoke() {
+        AccountTokenDO accountToken = accountToken();
+        String token = refreshTokens.seal(accountToken);
+
+        Mockito.when(revocationService.revokeJti("refresh:1", accountToken.getExpiresAt()))
+                .thenReturn(Uni.createFrom().item(true));
+
+        Optional<AccountTokenDO> revoked = refreshTokens.revoke(token).await().indefinitely();
+
+        assertThat(revoked).isPresent();
+        assertThat(refreshTokens.open(token)).isEmpty();
+        Mockito.verify(revocationService).revokeJti("refresh:1", accountToken.getExpiresAt());
+    }
+
+    @Test
+    void openRevokedToken() {
+        String token = refreshTokens.seal(accountToken());
+
+        Mockito.when(revocationService.isRevoked("refresh:1")).thenReturn(true);
+
+        assertThat(refreshTokens.open(token)).isEmpty();
+    }
+
+    @Test
+    void disabled() {
+        StatelessRefreshTokens disabled = new StatelessRefreshTokens(strategyConfig(false), revocationService,
+                Clock.systemUTC());
+
+        assertThat(disabled.isEnabled()).isFalse();
+        assertThat(disabled.open(refreshTokens.seal(accountToken()))).isEmpty();
+    }
+
+    @Test
+    void enabledWithoutKey() {
+        StrategyConfig config = StrategyConfig.builder()
+                .tokenLife("5m")
+                .refreshTokenLife("20m")
+                .statelessRefreshTokens(true)
+                .build();
+
+        assertThatThrownBy(() -> new StatelessRefreshTokens(config, revocationService, Clock.systemUTC()))
+                .isInstanceOf(ConfigurationException.class);
+    }
+}
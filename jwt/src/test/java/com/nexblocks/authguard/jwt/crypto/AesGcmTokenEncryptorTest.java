@@ -0,0 +1,85 @@
+package com.nexblocks.authguard.jwt.crypto;
+
+import com.nexblocks.authguard.service.exceptions.ServiceException;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.security.Security;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AesGcmTokenEncryptorTest {
+
+    private static final String TOKEN = "eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9." +
+            "eyJzdWIiOiIxMjM0NTY3ODkwIiwibmFtZSI6IkpvaG4gRG9lIiwiaWF0IjoxNTE2MjM5MDIyfQ." +
+            "SflKxwRJSMeKKF2QT4fwpMeJf36POk6yJV_adQssw5c";
+
+    @BeforeEach
+    void setup() {
+        Security.addProvider(new BouncyCastleProvider());
+    }
+
+    @Test
+    void encryptAndDecrypt() {
+        final AesGcmTokenEncryptor encryptor = new AesGcmTokenEncryptor("file:src/test/resources/aes128.txt");
+
+        final String encrypted = encryptor.encryptAndEncode(TOKEN);
+        final String decrypted = encryptor.decryptEncoded(encrypted);
+
+        assertThat(encrypted).doesNotContain(".");
+        assertThat(decrypted).isEqualTo(TOKEN);
+    }
+
+    @Test
+    void encryptWithNewIv() {
+        final AesGcmTokenEncryptor encryptor = new AesGcmTokenEncryptor("file:src/test/resources/aes128.txt");
+
+        final String first = encryptor.encryptAndEncode(TOKEN);
+        final String second = encryptor.encryptAndEncode(TOKEN);
+
+        assertThat(first).isNotEqualTo(second);
+        assertThat(encryptor.decryptEncoded(first)).isEqualTo(TOKEN);
+        assertThat(encryptor.decryptEncoded(second)).isEqualTo(TOKEN);
+    }
+
+    @Test
+    void encryptAndDecryptConcurrently() {
+        final AesGcmTokenEncryptor encryptor = new AesGcmTokenEncryptor("file:src/test/resources/aes128.txt");
+
+        final List<CompletableFuture<String>> results = IntStream.range(0, 64)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() ->
+                        encryptor.decryptEncoded(encryptor.encryptAndEncode(TOKEN + i))))
+                .collect(Collectors.toList());
+
+        for (int i = 0; i < results.size(); i++) {
+            assertThat(results.get(i).join()).isEqualTo(TOKEN + i);
+        }
+    }
+
+    @Test
+    void decryptTamperedToken() {
+        final AesGcmTokenEncryptor encryptor = new AesGcmTokenEncryptor("file:src/test/resources/aes128.txt");
+
+        final char[] encrypted = encryptor.encryptAndEncode(TOKEN).toCharArray();
+        encrypted[20] = encrypted[20] == 'A' ? 'B' : 'A';
+
+        assertThatThrownBy(() -> encryptor.decryptEncoded(new String(encrypted)))
+                .isInstanceOf(ServiceException.class);
+    }
+
+    @Test
+    void decryptInvalidFormat() {
+        final AesGcmTokenEncryptor encryptor = new AesGcmTokenEncryptor("file:src/test/resources/aes128.txt");
+
+        assertThatThrownBy(() -> encryptor.decryptEncoded("totally wrong"))
+                .isInstanceOf(ServiceException.class);
+        assertThatThrownBy(() -> encryptor.decryptEncoded("c2hvcnQ"))
+                .isInstanceOf(ServiceException.class);
+    }
+}
@@ -30,4 +30,18 @@ class EciesTokenEncryptorTest {
 
         assertThat(decrypted).isEqualTo(TOKEN);
     }
+
+    @Test
+    void encryptWithReusedCipher() {
+        final EciesTokenEncryptor encryptor = new EciesTokenEncryptor(
+                "file:src/test/resources/ec256-public.pem",
+                "file:src/test/resources/ec256-private.pem");
+
+        final String first = encryptor.encryptAndEncode(TOKEN);
+        final String second = encryptor.encryptAndEncode(TOKEN);
+
+        assertThat(first).isNotEqualTo(second);
+        assertThat(encryptor.decryptEncoded(first)).isEqualTo(TOKEN);
+        assertThat(encryptor.decryptEncoded(second)).isEqualTo(TOKEN);
+    }
 }
\ No newline at end of file
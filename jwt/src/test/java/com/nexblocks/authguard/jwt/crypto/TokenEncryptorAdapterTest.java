@@ -58,6 +58,23 @@ class TokenEncryptorAdapterTest {
         assertThat(decrypted).isEqualTo(TOKEN);
     }
 
+    @Test
+    void encryptAndDecryptAesGcm() {
+        final JwtConfig jwtConfig = JwtConfig.builder()
+                .encryption(EncryptionConfig.builder()
+                        .algorithm("AES_GCM")
+                        .privateKey("file:src/test/resources/aes128.txt")
+                        .build())
+                .build();
+
+        final TokenEncryptorAdapter encryptor = new TokenEncryptorAdapter(jwtConfig);
+
+        final String encrypted = encryptor.encryptAndEncode(TOKEN).get();
+        final String decrypted = encryptor.decryptEncoded(encrypted).get();
+
+        assertThat(decrypted).isEqualTo(TOKEN);
+    }
+
     @Test
     void encryptAndDecryptNotEnabled() {
         final JwtConfig jwtConfig = JwtConfig.builder().build();
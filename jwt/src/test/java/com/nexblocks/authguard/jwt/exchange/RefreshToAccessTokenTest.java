@@ -4,16 +4,21 @@ import com.nexblocks.authguard.dal.cache.AccountTokensRepository;
 import com.nexblocks.authguard.dal.model.AccountTokenDO;
 import com.nexblocks.authguard.dal.model.TokenRestrictionsDO;
 import com.nexblocks.authguard.jwt.AccessTokenProvider;
+import com.nexblocks.authguard.jwt.StatelessRefreshTokens;
+import com.nexblocks.authguard.service.TokenRevocationService;
 import com.nexblocks.authguard.service.AccountsService;
 import com.nexblocks.authguard.service.config.JwtConfig;
+import com.nexblocks.authguard.service.config.StrategyConfig;
 import com.nexblocks.authguard.service.exceptions.ServiceAuthorizationException;
 import com.nexblocks.authguard.service.mappers.ServiceMapperImpl;
 import com.nexblocks.authguard.service.model.*;
 import io.smallrye.mutiny.Uni;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import org.mockito.Mockito;
 
+import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Collections;
@@ -217,6 +222,46 @@ class RefreshToAccessTokenTest {
         // do
         assertThatThrownBy(() -> refreshToAccessToken.exchange(authRequest).subscribeAsCompletionStage().join())
                 .hasCauseInstanceOf(ServiceAuthorizationException.class);
+
+        // the account doesn't exist anymore, so the token stays deleted
+        Mockito.verify(accountTokensRepository).deleteToken(refreshToken);
+        Mockito.verify(accountTokensRepository, Mockito.never()).save(Mockito.any());
+    }
+
+    @Test
+    void exchangeWithTransientFailure() {
+        // data
+        long accountId = 101;
+        String refreshToken = "refresh_token";
+
+        AuthRequestBO authRequest = AuthRequestBO.builder()
+                .token(refreshToken)
+                .build();
+
+        AccountTokenDO accountToken = AccountTokenDO.builder()
+                .token(refreshToken)
+                .associatedAccountId(accountId)
+                .expiresAt(Instant.now().plus(Duration.ofMinutes(1)))
+                .build();
+
+        // mock
+        Mockito.when(accountTokensRepository.getByToken(authRequest.getToken()))
+                .thenReturn(Uni.createFrom().item(Optional.of(accountToken)));
+
+        Mockito.when(accountsService.getByIdUnchecked(accountId))
+                .thenReturn(Uni.createFrom().failure(new IllegalStateException("unavailable")));
+
+        Mockito.when(accountTokensRepository.save(accountToken))
+                .thenReturn(Uni.createFrom().item(accountToken));
+
+        // do
+        assertThatThrownBy(() -> refreshToAccessToken.exchange(authRequest).subscribeAsCompletionStage().join())
+                .hasCauseInstanceOf(IllegalStateException.class);
+
+        // the token wasn't used up, so it's restored after it was deleted
+        InOrder inOrder = Mockito.inOrder(accountTokensRepository);
+        inOrder.verify(accountTokensRepository).deleteToken(refreshToken);
+        inOrder.verify(accountTokensRepository).save(accountToken);
     }
 
     @Test
@@ -333,4 +378,169 @@ class RefreshToAccessTokenTest {
 
         Mockito.verify(accountTokensRepository, Mockito.never()).deleteToken(refreshToken);
     }
-}
\ No newline at end of file
+
+    @Test
+    void exchangeStatelessToken() {
+        // data
+        long accountId = 101;
+        TokenRevocationService revocationService = Mockito.mock(TokenRevocationService.class);
+
+        Mockito.when(revocationService.revokeJti(Mockito.eq("refresh:1"), Mockito.any()))
+                .thenReturn(Uni.createFrom().item(true));
+
+        StatelessRefreshTokens statelessRefreshTokens = new StatelessRefreshTokens(StrategyConfig.builder()
+                .tokenLife("5m")
+                .refreshTokenLife("20m")
+                .statelessRefreshTokens(true)
+                .refreshTokenKey("file:src/test/resources/aes128.txt")
+                .build(), revocationService, Clock.systemUTC());
+
+        RefreshToAccessToken statelessExchange = new RefreshToAccessToken(accountTokensRepository, accountsService,
+                accessTokenProvider, JwtConfig.builder().build(), new ServiceMapperImpl(), statelessRefreshTokens);
+
+        String refreshToken = statelessRefreshTokens.seal(AccountTokenDO.builder()
+                .id(1)
+                .associatedAccountId(accountId)
+                .createdAt(Instant.now())
+                .expiresAt(Instant.now().plus(Duration.ofMinutes(1)))
+                .sourceAuthType("basic")
+                .build());
+
+        AuthRequestBO authRequest = AuthRequestBO.builder()
+                .token(refreshToken)
+                .build();
+
+        AccountBO account = AccountBO.builder()
+                .id(accountId)
+                .build();
+
+        AuthResponseBO newTokens = AuthResponseBO.builder()
+                .token("new_token")
+                .refreshToken("new_refresh_token")
+                .build();
+
+        // mock
+        Mockito.when(accountsService.getByIdUnchecked(accountId))
+                .thenReturn(Uni.createFrom().item(Optional.of(account)));
+
+        Mockito.when(accessTokenProvider.generateToken(Mockito.eq(account), Mockito.any(), Mockito.any()))
+                .thenReturn(Uni.createFrom().item(newTokens));
+
+        // do
+        AuthResponseBO actual = statelessExchange.exchange(authRequest).subscribeAsCompletionStage().join();
+
+        // assert
+        assertThat(actual).isEqualTo(newTokens);
+
+        assertThatThrownBy(() -> statelessExchange.exchange(authRequest).subscribeAsCompletionStage().join())
+                .hasCauseInstanceOf(ServiceAuthorizationException.class);
+
+        Mockito.verify(revocationService).revokeJti(Mockito.eq("refresh:1"), Mockito.any());
+        Mockito.verifyZeroInteractions(accountTokensRepository);
+    }
+
+    @Test
+    void exchangeStatelessTokenAfterFailure() {
+        // data
+        long accountId = 101;
+        TokenRevocationService revocationService = Mockito.mock(TokenRevocationService.class);
+
+        Mockito.when(revocationService.revokeJti(Mockito.eq("refresh:1"), Mockito.any()))
+                .thenReturn(Uni.createFrom().item(true));
+
+        StatelessRefreshTokens statelessRefreshTokens = new StatelessRefreshTokens(StrategyConfig.builder()
+                .tokenLife("5m")
+                .refreshTokenLife("20m")
+                .statelessRefreshTokens(true)
+                .refreshTokenKey("file:src/test/resources/aes128.txt")
+                .build(), revocationService, Clock.systemUTC());
+
+        RefreshToAccessToken statelessExchange = new RefreshToAccessToken(accountTokensRepository, accountsService,
+                accessTokenProvider, JwtConfig.builder().build(), new ServiceMapperImpl(), statelessRefreshTokens);
+
+        String refreshToken = statelessRefreshTokens.seal(AccountTokenDO.builder()
+                .id(1)
+                .associatedAccountId(accountId)
+                .createdAt(Instant.now())
+                .expiresAt(Instant.now().plus(Duration.ofMinutes(1)))
+                .sourceAuthType("basic")
+                .build());
+
+        AuthRequestBO authRequest = AuthRequestBO.builder()
+                .token(refreshToken)
+                .build();
+
+        AccountBO account = AccountBO.builder()
+                .id(accountId)
+                .build();
+
+        AuthResponseBO newTokens = AuthResponseBO.builder()
+                .token("new_token")
+                .refreshToken("new_refresh_token")
+                .build();
+
+        // mock
+        Mockito.when(accountsService.getByIdUnchecked(accountId))
+                .thenReturn(Uni.createFrom().failure(new IllegalStateException("unavailable")))
+                .thenReturn(Uni.createFrom().item(Optional.of(account)));
+
+        Mockito.when(accessTokenProvider.generateToken(Mockito.eq(account), Mockito.any(), Mockito.any()))
+                .thenReturn(Uni.createFrom().item(newTokens));
+
+        // do
+        assertThatThrownBy(() -> statelessExchange.exchange(authRequest).subscribeAsCompletionStage().join())
+                .hasCauseInstanceOf(IllegalStateException.class);
+
+        Mockito.verify(revocationService, Mockito.never()).revokeJti(Mockito.any(), Mockito.any());
+
+        AuthResponseBO actual = statelessExchange.exchange(authRequest).subscribeAsCompletionStage().join();
+
+        // assert
+        assertThat(actual).isEqualTo(newTokens);
+        Mockito.verify(revocationService).revokeJti(Mockito.eq("refresh:1"), Mockito.any());
+    }
+
+    @Test
+    void exchangeStatelessTokenOfMissingAccount() {
+        // data
+        long accountId = 101;
+        TokenRevocationService revocationService = Mockito.mock(TokenRevocationService.class);
+
+        Mockito.when(revocationService.revokeJti(Mockito.eq("refresh:1"), Mockito.any()))
+                .thenReturn(Uni.createFrom().item(true));
+
+        StatelessRefreshTokens statelessRefreshTokens = new StatelessRefreshTokens(StrategyConfig.builder()
+                .tokenLife("5m")
+                .refreshTokenLife("20m")
+                .statelessRefreshTokens(true)
+                .refreshTokenKey("file:src/test/resources/aes128.txt")
+                .build(), revocationService, Clock.systemUTC());
+
+        RefreshToAccessToken statelessExchange = new RefreshToAccessToken(accountTokensRepository, accountsService,
+                accessTokenProvider, JwtConfig.builder().build(), new ServiceMapperImpl(), statelessRefreshTokens);
+
+        String refreshToken = statelessRefreshTokens.seal(AccountTokenDO.builder()
+                .id(1)
+                .associatedAccountId(accountId)
+                .createdAt(Instant.now())
+                .expiresAt(Instant.now().plus(Duration.ofMinutes(1)))
+                .sourceAuthType("basic")
+                .build());
+
+        AuthRequestBO authRequest = AuthRequestBO.builder()
+                .token(refreshToken)
+                .build();
+
+        // mock
+        Mockito.when(accountsService.getByIdUnchecked(accountId))
+                .thenReturn(Uni.createFrom().item(Optional.empty()));
+
+        // do
+        assertThatThrownBy(() -> statelessExchange.exchange(authRequest).subscribeAsCompletionStage().join())
+                .hasCauseInstanceOf(ServiceAuthorizationException.class);
+
+        // assert
+        assertThat(statelessRefreshTokens.open(refreshToken)).isEmpty();
+        Mockito.verify(revocationService).revokeJti(Mockito.eq("refresh:1"), Mockito.any());
+    }
+}
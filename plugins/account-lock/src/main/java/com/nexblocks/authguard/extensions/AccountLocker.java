@@ -3,6 +3,7 @@ package com.nexblocks.authguard.extensions;
 import com.google.inject.Inject;
 import com.google.inject.name.Named;
 import com.nexblocks.authguard.config.ConfigContext;
+import com.nexblocks.authguard.dal.model.ExchangeAttemptDO;
 import com.nexblocks.authguard.dal.persistence.ExchangeAttemptsRepository;
 import com.nexblocks.authguard.emb.MessageSubscriber;
 import com.nexblocks.authguard.emb.annotations.Channel;
@@ -16,16 +17,41 @@ import com.nexblocks.authguard.service.model.EntityType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Locks accounts which had too many failed authentication attempts within
+ * the check period. Failures are counted in memory with a sliding window
+ * per account, so a failed attempt costs a counter update rather than a
+ * query. The first time an account is seen, its counter is warmed up with
+ * the failed attempts already in the {@link ExchangeAttemptsRepository},
+ * which keeps the count accurate across restarts.
+ */
 @Channel("auth")
 public class AccountLocker implements MessageSubscriber {
     private static final Logger LOG = LoggerFactory.getLogger(AccountLocker.class);
 
+    /*
+     * The attempt behind the message which creates a counter may already
+     * be persisted by the time the warm-up query runs, so anything that
+     * recent is left out of the warm-up to not count it twice.
+     */
+    private static final long WARM_UP_CUTOFF_MILLIS = 1000;
+
     private final ExchangeAttemptsRepository exchangeAttemptsRepository;
     private final AccountLocksService accountLocksService;
     private final ImmutableAccountLockerConfig config;
+    private final Clock clock;
+    private final Duration checkPeriod;
+    private final ConcurrentMap<Long, SlidingWindowCounter> failures = new ConcurrentHashMap<>();
 
     @Inject
     public AccountLocker(final ExchangeAttemptsRepository exchangeAttemptsRepository,
@@ -37,9 +63,28 @@ public class AccountLocker implements MessageSubscriber {
     public AccountLocker(final ExchangeAttemptsRepository exchangeAttemptsRepository,
                          final AccountLocksService accountLocksService,
                          final ImmutableAccountLockerConfig config) {
+        this(exchangeAttemptsRepository, accountLocksService, config, Clock.systemUTC());
+
+        final ScheduledExecutorService evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "account-locker-evictor");
+            thread.setDaemon(true);
+
+            return thread;
+        });
+
+        final long evictionInterval = checkPeriod.toMillis();
+        evictor.scheduleWithFixedDelay(this::evictIdle, evictionInterval, evictionInterval, TimeUnit.MILLISECONDS);
+    }
+
+    AccountLocker(final ExchangeAttemptsRepository exchangeAttemptsRepository,
+                  final AccountLocksService accountLocksService,
+                  final ImmutableAccountLockerConfig config,
+                  final Clock clock) {
         this.exchangeAttemptsRepository = exchangeAttemptsRepository;
         this.accountLocksService = accountLocksService;
         this.config = config;
+        this.clock = clock;
+        this.checkPeriod = Duration.ofMinutes(config.getCheckPeriod());
     }
 
     @Override
@@ -59,32 +104,111 @@ public class AccountLocker implements MessageSubscriber {
         }
     }
 
+    /**
+     * Drops the counters of accounts which had no failures within the
+     * check period.
+     */
+    void evictIdle() {
+        final long now = clock.millis();
+
+        failures.values().removeIf(counter -> counter.isIdle(now));
+    }
+
+    int trackedAccounts() {
+        return failures.size();
+    }
+
     private void processAuthMessage(final AuthMessage authMessage) {
-        if (authMessage.getEntityType() == EntityType.ACCOUNT) {
-            final Instant now = Instant.now();
-            final Instant from = now.minus(Duration.ofMinutes(config.getCheckPeriod()));
-
-            exchangeAttemptsRepository.findByEntityAndTimestamp(authMessage.getEntityId(), from)
-                    .subscribe()
-                    .with(attempts -> {
-                        final long failedCount = attempts.stream()
-                                .filter(attempt -> !attempt.isSuccessful())
-                                .count();
-
-                        if (failedCount >= config.getMaxAttempts()) {
-                            LOG.info("Account {} had {} failed attempts in the past {} minutes; a lock will be placed",
-                                    authMessage.getEntityId(), attempts.size(), config.getCheckPeriod());
-
-                            final AccountLockBO lock = AccountLockBO.builder()
-                                    .accountId(authMessage.getEntityId())
-                                    .expiresAt(now.plus(Duration.ofMinutes(config.getLockPeriod())))
-                                    .build();
-
-                            accountLocksService.create(lock);
-                        }
-                    });
-        } else {
+        if (authMessage.getEntityType() != EntityType.ACCOUNT) {
             LOG.info("Skipping entity auth message for entity of type {}", authMessage.getEntityType());
+            return;
+        }
+
+        if (authMessage.isSuccessful() || authMessage.getEntityId() == null) {
+            return;
         }
+
+        final long accountId = authMessage.getEntityId();
+        final long now = clock.millis();
+
+        SlidingWindowCounter counter = failures.get(accountId);
+
+        if (counter == null) {
+            final SlidingWindowCounter created = new SlidingWindowCounter(checkPeriod, config.getWindowBuckets(), now);
+            counter = failures.putIfAbsent(accountId, created);
+
+            if (counter == null) {
+                counter = created;
+                warmUp(accountId, created, now);
+            }
+        }
+
+        counter.record(now);
+        checkThreshold(accountId, counter);
+    }
+
+    /**
+     * Seeds a new counter with the failures which were persisted before it
+     * was created, either by another instance or before a restart.
+     */
+    private void warmUp(final long accountId, final SlidingWindowCounter counter, final long createdAt) {
+        final Instant from = Instant.ofEpochMilli(createdAt).minus(checkPeriod);
+
+        exchangeAttemptsRepository.findByEntityAndTimestamp(accountId, from)
+                .subscribe()
+                .with(attempts -> {
+                    seed(counter, attempts, createdAt);
+                    checkThreshold(accountId, counter);
+                }, e -> LOG.warn("Failed to load previous attempts of account {}", accountId, e));
+    }
+
+    private void seed(final SlidingWindowCounter counter,
+                      final Collection<ExchangeAttemptDO> attempts,
+                      final long createdAt) {
+        for (final ExchangeAttemptDO attempt : attempts) {
+            if (attempt.isSuccessful() || attempt.getCreatedAt() == null) {
+                continue;
+            }
+
+            final long attemptedAt = attempt.getCreatedAt().toEpochMilli();
+
+            if (attemptedAt < createdAt - WARM_UP_CUTOFF_MILLIS) {
+                counter.record(attemptedAt);
+            }
+        }
+    }
+
+    private void checkThreshold(final long accountId, final SlidingWindowCounter counter) {
+        final Instant now = clock.instant();
+        final long failedCount;
+
+        if (counter.count(now.toEpochMilli()) < config.getMaxAttempts()) {
+            return;
+        }
+
+        // crossing the threshold is rare; only one thread gets to reset the
+        // counter and place the lock
+        synchronized (counter) {
+            failedCount = counter.count(now.toEpochMilli());
+
+            if (failedCount < config.getMaxAttempts()) {
+                return;
+            }
+
+            counter.reset();
+        }
+
+        LOG.info("Account {} had {} failed attempts in the past {} minutes; a lock will be placed",
+                accountId, failedCount, config.getCheckPeriod());
+
+        final AccountLockBO lock = AccountLockBO.builder()
+                .accountId(accountId)
+                .expiresAt(now.plus(Duration.ofMinutes(config.getLockPeriod())))
+                .build();
+
+        accountLocksService.create(lock)
+                .subscribe()
+                .with(created -> LOG.debug("Placed lock on account {}", accountId),
+                        e -> LOG.error("Failed to place a lock on account {}", accountId, e));
     }
 }
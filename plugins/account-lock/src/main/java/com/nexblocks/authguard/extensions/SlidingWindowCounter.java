@@ -0,0 +1,102 @@
+package com.nexblocks.authguard.extensions;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts events over a sliding time window using a ring of time buckets.
+ * Each bucket packs the time slot it belongs to and its count into a
+ * single long, so both recording and reading are lock-free, and a bucket
+ * which belongs to a slot that fell out of the window is reset by the
+ * first event which reuses it.
+ */
+final class SlidingWindowCounter {
+    private static final int COUNT_BITS = 24;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private final long origin;
+    private final long bucketMillis;
+    private final int buckets;
+    private final AtomicLongArray cells;
+
+    /**
+     * @param createdAt The creation time in epoch millis. Events up to one
+     *                  window before this time can still be recorded.
+     */
+    SlidingWindowCounter(final Duration window, final int buckets, final long createdAt) {
+        this.buckets = buckets;
+        this.bucketMillis = Math.max(1, window.toMillis() / buckets);
+        // slot 0 is never a valid slot, which makes empty cells never count
+        this.origin = createdAt - (long) (buckets + 1) * bucketMillis;
+        this.cells = new AtomicLongArray(buckets);
+    }
+
+    /**
+     * Records an event which happened at the given time. Events which are
+     * older than what the ring still covers are ignored.
+     */
+    void record(final long eventMillis) {
+        final long slot = slotOf(eventMillis);
+
+        if (slot <= 0) {
+            return;
+        }
+
+        final int index = (int) (slot % buckets);
+
+        while (true) {
+            final long packed = cells.get(index);
+            final long cellSlot = packed >>> COUNT_BITS;
+            final long updated;
+
+            if (cellSlot == slot) {
+                updated = (packed & COUNT_MASK) == COUNT_MASK ? packed : packed + 1;
+            } else if (cellSlot < slot) {
+                updated = (slot << COUNT_BITS) | 1;
+            } else {
+                return;
+            }
+
+            if (cells.compareAndSet(index, packed, updated)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return The number of events in the window which ends at the given time.
+     */
+    long count(final long nowMillis) {
+        final long current = slotOf(nowMillis);
+        long total = 0;
+
+        for (int i = 0; i < buckets; i++) {
+            final long packed = cells.get(i);
+            final long cellSlot = packed >>> COUNT_BITS;
+
+            if (cellSlot > current - buckets && cellSlot <= current) {
+                total += packed & COUNT_MASK;
+            }
+        }
+
+        return total;
+    }
+
+    /**
+     * @return True if no events are left in the window which ends at the
+     *         given time.
+     */
+    boolean isIdle(final long nowMillis) {
+        return count(nowMillis) == 0;
+    }
+
+    void reset() {
+        for (int i = 0; i < buckets; i++) {
+            cells.set(i, 0);
+        }
+    }
+
+    private long slotOf(final long millis) {
+        return (millis - origin) / bucketMillis;
+    }
+}
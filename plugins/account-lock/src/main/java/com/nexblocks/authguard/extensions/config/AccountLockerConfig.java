@@ -25,4 +25,13 @@ public interface AccountLockerConfig {
     default Integer getLockPeriod() {
         return 60;
     }
+
+    /**
+     * The number of buckets the check period is split into when counting
+     * failed attempts. More buckets make the window slide more smoothly.
+     */
+    @Value.Default
+    default Integer getWindowBuckets() {
+        return 30;
+    }
 }
@@ -15,11 +15,13 @@ import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
+import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -37,33 +39,41 @@ class AccountLockerTest {
         config = ImmutableAccountLockerConfig.builder()
                 .build();
 
-        accountLocker = new AccountLocker(exchangeAttemptsRepository, accountLocksService, config);
-    }
+        Mockito.when(accountLocksService.create(Mockito.any()))
+                .thenAnswer(invocation -> Uni.createFrom().item(invocation.getArgument(0, AccountLockBO.class)));
 
-    @Test
-    void onMessageNoLock() {
-        // data
-         AuthMessage authMessage = AuthMessage.success("basic", "session",
-                EntityType.ACCOUNT, 101L);
+        accountLocker = new AccountLocker(exchangeAttemptsRepository, accountLocksService, config,
+                Clock.systemUTC());
+    }
 
-         Message<Object> message = Message.builder()
+    private Message<Object> authMessage(final AuthMessage authMessage) {
+        return Message.builder()
                 .eventType(EventType.AUTHENTICATION)
                 .bodyType(AuthMessage.class)
                 .messageBody(authMessage)
                 .timestamp(Instant.now())
                 .build();
+    }
+
+    private Message<Object> failure() {
+        return authMessage(AuthMessage.failure("basic", "session", EntityType.ACCOUNT, 101L,
+                new RuntimeException("wrong password")));
+    }
 
+    @Test
+    void onMessageNoLock() {
         // mocks
         Mockito.when(exchangeAttemptsRepository.findByEntityAndTimestamp(Mockito.anyLong(), Mockito.any()))
                 .thenReturn(Uni.createFrom().item(Collections.emptyList()));
 
         // call
-        accountLocker.onMessage(message);
+        accountLocker.onMessage(failure());
+        accountLocker.onMessage(failure());
 
         // verify
-         ArgumentCaptor<Instant> timeArgumentCaptor = ArgumentCaptor.forClass(Instant.class);
+        ArgumentCaptor<Instant> timeArgumentCaptor = ArgumentCaptor.forClass(Instant.class);
 
-        Mockito.verify(exchangeAttemptsRepository)
+        Mockito.verify(exchangeAttemptsRepository, Mockito.times(1))
                 .findByEntityAndTimestamp(Mockito.eq(101L), timeArgumentCaptor.capture());
 
         assertThat(timeArgumentCaptor.getValue()).isBetween(
@@ -80,47 +90,23 @@ class AccountLockerTest {
 
     @Test
     void onMessageLock() {
-        // data
-         AuthMessage authMessage = AuthMessage.success("basic", "session",
-                EntityType.ACCOUNT, 101L);
-
-         Message<Object> message = Message.builder()
-                .eventType(EventType.AUTHENTICATION)
-                .bodyType(AuthMessage.class)
-                .messageBody(authMessage)
-                .timestamp(Instant.now())
-                .build();
-
         // mocks
         Mockito.when(exchangeAttemptsRepository.findByEntityAndTimestamp(Mockito.anyLong(), Mockito.any()))
-                .thenReturn(Uni.createFrom().item(Arrays.asList(
-                        ExchangeAttemptDO.builder().build(),
-                        ExchangeAttemptDO.builder().build(),
-                        ExchangeAttemptDO.builder().build()
-                )));
+                .thenReturn(Uni.createFrom().item(Collections.emptyList()));
 
         // call
-        accountLocker.onMessage(message);
+        accountLocker.onMessage(failure());
+        accountLocker.onMessage(failure());
+        accountLocker.onMessage(failure());
 
         // verify
-         ArgumentCaptor<Instant> timeArgumentCaptor = ArgumentCaptor.forClass(Instant.class);
-         ArgumentCaptor<AccountLockBO> accountLockArgumentCaptor = ArgumentCaptor.forClass(AccountLockBO.class);
-
-        Mockito.verify(exchangeAttemptsRepository)
-                .findByEntityAndTimestamp(Mockito.eq(101L), timeArgumentCaptor.capture());
-
-        assertThat(timeArgumentCaptor.getValue()).isBetween(
-                Instant.now()
-                        .minus(Duration.ofMinutes(config.getCheckPeriod()))
-                        .minus(Duration.ofMinutes(1)),
-                Instant.now()
-                        .minus(Duration.ofMinutes(config.getCheckPeriod()))
-                        .plus(Duration.ofMinutes(1))
-        );
+        ArgumentCaptor<AccountLockBO> accountLockArgumentCaptor = ArgumentCaptor.forClass(AccountLockBO.class);
 
+        Mockito.verify(exchangeAttemptsRepository, Mockito.times(1))
+                .findByEntityAndTimestamp(Mockito.eq(101L), Mockito.any());
         Mockito.verify(accountLocksService).create(accountLockArgumentCaptor.capture());
 
-        assertThat(accountLockArgumentCaptor.getValue().getAccountId()).isEqualTo(authMessage.getEntityId());
+        assertThat(accountLockArgumentCaptor.getValue().getAccountId()).isEqualTo(101L);
         assertThat(accountLockArgumentCaptor.getValue().getExpiresAt()).isBetween(
                 Instant.now()
                         .plus(Duration.ofMinutes(config.getLockPeriod()))
@@ -131,6 +117,76 @@ class AccountLockerTest {
         );
     }
 
+    @Test
+    void onMessageLockWithPersistedAttempts() {
+        // mocks
+        Instant now = Instant.now();
+
+        Mockito.when(exchangeAttemptsRepository.findByEntityAndTimestamp(Mockito.anyLong(), Mockito.any()))
+                .thenReturn(Uni.createFrom().item(Arrays.asList(
+                        ExchangeAttemptDO.builder().createdAt(now.minus(Duration.ofMinutes(5))).build(),
+                        ExchangeAttemptDO.builder().createdAt(now.minus(Duration.ofMinutes(3))).build(),
+                        ExchangeAttemptDO.builder().createdAt(now.minus(Duration.ofMinutes(2)))
+                                .successful(true).build(),
+                        ExchangeAttemptDO.builder().createdAt(now.minus(Duration.ofMinutes(45))).build()
+                )));
+
+        // call
+        accountLocker.onMessage(failure());
+
+        // verify
+        Mockito.verify(accountLocksService).create(Mockito.argThat(lock -> lock.getAccountId() == 101L));
+    }
+
+    @Test
+    void onMessageLockOnlyOnce() {
+        // mocks
+        Mockito.when(exchangeAttemptsRepository.findByEntityAndTimestamp(Mockito.anyLong(), Mockito.any()))
+                .thenReturn(Uni.createFrom().item(Collections.emptyList()));
+
+        // call
+        for (int i = 0; i < 5; i++) {
+            accountLocker.onMessage(failure());
+        }
+
+        // verify
+        Mockito.verify(accountLocksService, Mockito.times(1)).create(Mockito.any());
+    }
+
+    @Test
+    void onMessageSuccess() {
+        // call
+        accountLocker.onMessage(authMessage(AuthMessage.success("basic", "session",
+                EntityType.ACCOUNT, 101L)));
+
+        // verify
+        Mockito.verifyZeroInteractions(exchangeAttemptsRepository);
+        Mockito.verify(accountLocksService, Mockito.never()).create(Mockito.any());
+    }
+
+    @Test
+    void evictIdle() {
+        // mocks
+        Mockito.when(exchangeAttemptsRepository.findByEntityAndTimestamp(Mockito.anyLong(), Mockito.any()))
+                .thenReturn(Uni.createFrom().item(Collections.emptyList()));
+
+        Instant start = Instant.now();
+        MutableClock clock = new MutableClock(start);
+        AccountLocker locker = new AccountLocker(exchangeAttemptsRepository, accountLocksService, config, clock);
+
+        // call
+        locker.onMessage(failure());
+        locker.evictIdle();
+
+        assertThat(locker.trackedAccounts()).isEqualTo(1);
+
+        clock.now = start.plus(Duration.ofMinutes(config.getCheckPeriod() + 1));
+        locker.evictIdle();
+
+        // verify
+        assertThat(locker.trackedAccounts()).isZero();
+    }
+
     @Test
     void onMessageNotAuth() {
         // data
@@ -190,4 +246,27 @@ class AccountLockerTest {
         // verify
         Mockito.verifyZeroInteractions(exchangeAttemptsRepository, accountLocksService);
     }
-}
\ No newline at end of file
+
+    private static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(final Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.nexblocks.authguard.extensions;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlidingWindowCounterTest {
+    private static final Duration WINDOW = Duration.ofMinutes(30);
+    private static final long START = 1_700_000_000_000L;
+
+    @Test
+    void countsWithinWindow() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(WINDOW, 30, START);
+
+        counter.record(START);
+        counter.record(START + Duration.ofMinutes(10).toMillis());
+        counter.record(START + Duration.ofMinutes(20).toMillis());
+
+        assertThat(counter.count(START + Duration.ofMinutes(20).toMillis())).isEqualTo(3);
+        assertThat(counter.count(START + Duration.ofMinutes(35).toMillis())).isEqualTo(2);
+        assertThat(counter.count(START + Duration.ofMinutes(60).toMillis())).isZero();
+        assertThat(counter.isIdle(START + Duration.ofMinutes(60).toMillis())).isTrue();
+    }
+
+    @Test
+    void recordsEventsBeforeCreation() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(WINDOW, 30, START);
+
+        counter.record(START - Duration.ofMinutes(5).toMillis());
+        counter.record(START - Duration.ofMinutes(40).toMillis());
+
+        assertThat(counter.count(START)).isEqualTo(1);
+    }
+
+    @Test
+    void reusedBucketDropsOldCount() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(WINDOW, 30, START);
+
+        counter.record(START);
+        counter.record(START + WINDOW.toMillis());
+
+        assertThat(counter.count(START + WINDOW.toMillis())).isEqualTo(1);
+
+        // too old for the bucket it maps to
+        counter.record(START);
+
+        assertThat(counter.count(START + WINDOW.toMillis())).isEqualTo(1);
+    }
+
+    @Test
+    void reset() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(WINDOW, 30, START);
+
+        counter.record(START);
+        counter.reset();
+
+        assertThat(counter.count(START)).isZero();
+    }
+
+    @Test
+    void concurrentRecords() throws InterruptedException {
+        SlidingWindowCounter counter = new SlidingWindowCounter(WINDOW, 30, START);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        for (int i = 0; i < 4; i++) {
+            executor.execute(() -> {
+                for (int j = 0; j < 10_000; j++) {
+                    counter.record(START + j);
+                }
+            });
+        }
+
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(counter.count(START + 10_000)).isEqualTo(40_000);
+    }
+}
@@ -42,7 +42,8 @@ public class ServerRunner {
 
         // run bootstraps
         if (!disableBootstrap) {
-            new BootstrapRunner(classSearch, injector).runAll();
+            // the main thread blocks until bootstrap completes so that the server only starts afterwards
+            new BootstrapRunner(classSearch, injector).runAll().await().indefinitely();
 
             log.info("Completed bootstrap");
         } else {
@@ -28,4 +28,17 @@ public interface ServerConfig {
     Integer getSecurePort();
     Set<String> getUnprotectedPaths();
     Integer getIdleConnectionTimeoutSeconds();
+
+    /**
+     * Event loop threads which are blocked for longer than this are
+     * reported in the logs along with their stack traces.
+     */
+    Long getMaxEventLoopBlockingMillis();
+
+    /**
+     * When set, blocking on a Mutiny operation from an event loop thread
+     * fails immediately instead of only being reported. Meant for tests
+     * and diagnostics.
+     */
+    boolean failOnEventLoopBlocking();
 }
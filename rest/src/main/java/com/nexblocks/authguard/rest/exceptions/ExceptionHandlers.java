@@ -19,6 +19,7 @@ import java.util.concurrent.TimeoutException;
 
 public class ExceptionHandlers {
     private static final Logger LOG = LoggerFactory.getLogger(ExceptionHandlers.class);
+    private static final String RETRY_AFTER_SECONDS = "1";
 
     public static void serviceException(final ServiceException e, final Context context) {
         LOG.debug("Service exception was thrown", e);
@@ -57,6 +58,15 @@ public class ExceptionHandlers {
         context.status(400).json(error);
     }
 
+    public static void serviceUnavailableException(final ServiceUnavailableException e, final Context context) {
+        LOG.debug("Service unavailable exception was thrown", e);
+
+        final Error error = new Error(e.getErrorCode(), e.getMessage());
+        context.status(503)
+                .header("Retry-After", RETRY_AFTER_SECONDS)
+                .json(error);
+    }
+
     public static void jsonMappingException(final RuntimeJsonException e, final Context context) {
         final Error error = new Error("", "Failed to parse JSON at " + e.getCause().getLocation());
         context.status(422).json(error);
@@ -119,6 +129,14 @@ public class ExceptionHandlers {
         respondWith(response, 400, error);
     }
 
+    public static void serviceUnavailableException(final ServiceUnavailableException e, final HttpServerResponse response) {
+        LOG.debug("Service unavailable exception was thrown", e);
+
+        final Error error = new Error(e.getErrorCode(), e.getMessage());
+        response.putHeader("Retry-After", RETRY_AFTER_SECONDS);
+        respondWith(response, 503, error);
+    }
+
     public static void jsonMappingException(final RuntimeJsonException e, final HttpServerResponse response) {
         final Error error = new Error("", "Failed to parse JSON at " + e.getCause().getLocation());
         respondWith(response, 422, error);
@@ -173,6 +191,8 @@ public class ExceptionHandlers {
             serviceConflictException((ServiceConflictException) cause, context);
         } else if (cause instanceof ServiceNotFoundException) {
             serviceNotFoundException((ServiceNotFoundException) cause, context);
+        } else if (cause instanceof ServiceUnavailableException) {
+            serviceUnavailableException((ServiceUnavailableException) cause, context);
         } else if (cause instanceof ServiceException) {
             serviceException((ServiceException) cause, context);
         } else if (cause instanceof RuntimeJsonException) {
@@ -207,6 +227,8 @@ public class ExceptionHandlers {
             serviceConflictException((ServiceConflictException) cause, context);
         } else if (cause instanceof ServiceNotFoundException) {
             serviceNotFoundException((ServiceNotFoundException) cause, context);
+        } else if (cause instanceof ServiceUnavailableException) {
+            serviceUnavailableException((ServiceUnavailableException) cause, context);
         } else if (cause instanceof ServiceException) {
             serviceException((ServiceException) cause, context);
         } else if (cause instanceof RuntimeJsonException) {
@@ -3,18 +3,25 @@ package com.nexblocks.authguard.rest.vertx;
 import com.google.inject.Inject;
 import com.nexblocks.authguard.api.access.VertxRolesAccessHandler;
 import com.nexblocks.authguard.api.routes.VertxApiHandler;
+import com.nexblocks.authguard.basic.passwords.PasswordHashingExecutor;
+import com.nexblocks.authguard.basic.passwords.SecurePasswordProvider;
 import com.nexblocks.authguard.bindings.PluginsRegistry;
 import com.nexblocks.authguard.config.ConfigContext;
+import com.nexblocks.authguard.service.cache.CachesRegistry;
+import com.nexblocks.authguard.service.cache.SingleFlightRegistry;
 import io.vertx.core.json.Json;
 import io.vertx.ext.web.Router;
 import io.vertx.ext.web.RoutingContext;
 
 public class AdminHandler implements VertxApiHandler {
     private final ConfigContext configContext;
+    private final SecurePasswordProvider securePasswordProvider;
 
     @Inject
-    public AdminHandler(final ConfigContext configContext) {
+    public AdminHandler(final ConfigContext configContext,
+                        final SecurePasswordProvider securePasswordProvider) {
         this.configContext = configContext;
+        this.securePasswordProvider = securePasswordProvider;
     }
 
     @Override
@@ -27,6 +34,17 @@ public class AdminHandler implements VertxApiHandler {
                 .handler(VertxRolesAccessHandler.onlyAdminClient())
                 .handler(this::getConfig);
 
+        router.get("/admin/caches")
+                .handler(VertxRolesAccessHandler.onlyAdminClient())
+                .handler(this::getCaches);
+
+        router.get("/admin/coalescing")
+                .handler(VertxRolesAccessHandler.onlyAdminClient())
+                .handler(this::getCoalescing);
+
+        router.get("/admin/passwords/hashing")
+                .handler(VertxRolesAccessHandler.onlyAdminClient())
+                .handler(this::getPasswordHashing);
     }
 
     public void getConfig(final RoutingContext context) {
@@ -34,6 +52,27 @@ public class AdminHandler implements VertxApiHandler {
                 .end(Json.encode(this.configContext.asMap()));
     }
 
+    public void getCaches(final RoutingContext context) {
+        context.response()
+                .end(Json.encode(CachesRegistry.getStats()));
+    }
+
+    public void getCoalescing(final RoutingContext context) {
+        context.response()
+                .end(Json.encode(SingleFlightRegistry.getStats()));
+    }
+
+    public void getPasswordHashing(final RoutingContext context) {
+        PasswordHashingExecutor executor = securePasswordProvider.getHashingExecutor();
+
+        if (executor == null) {
+            context.response().setStatusCode(404).end();
+        } else {
+            context.response()
+                    .end(Json.encode(executor.getStats()));
+        }
+    }
+
     public void getBindings(final RoutingContext context) {
         context.response()
                 .end(Json.encode(PluginsRegistry.getBindingsGroupedByPackage()));
@@ -7,7 +7,6 @@ import com.nexblocks.authguard.api.common.RequestContextExtractor;
 import com.nexblocks.authguard.api.common.RequestValidationException;
 import com.nexblocks.authguard.api.dto.entities.AuthResponseDTO;
 import com.nexblocks.authguard.api.dto.entities.Error;
-import com.nexblocks.authguard.api.dto.entities.ExchangeAttemptDTO;
 import com.nexblocks.authguard.api.dto.requests.AuthRequestDTO;
 import com.nexblocks.authguard.api.dto.validation.violations.Violation;
 import com.nexblocks.authguard.api.dto.validation.violations.ViolationType;
@@ -18,6 +17,7 @@ import com.nexblocks.authguard.rest.mappers.RestMapper;
 import com.nexblocks.authguard.service.AuthenticationService;
 import com.nexblocks.authguard.service.ExchangeAttemptsService;
 import com.nexblocks.authguard.service.ExchangeService;
+import com.nexblocks.authguard.service.TokenRevocationService;
 import com.nexblocks.authguard.service.exceptions.codes.ErrorCode;
 import com.nexblocks.authguard.service.model.AuthRequestBO;
 import com.nexblocks.authguard.service.model.ClientBO;
@@ -32,7 +32,6 @@ import io.vertx.ext.web.RoutingContext;
 import java.time.Instant;
 import java.time.format.DateTimeParseException;
 import java.util.Collections;
-import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -40,6 +39,7 @@ public class AuthHandler implements VertxApiHandler {
     private final AuthenticationService authenticationService;
     private final ExchangeService exchangeService;
     private final ExchangeAttemptsService exchangeAttemptsService;
+    private final TokenRevocationService tokenRevocationService;
     private final RestMapper restMapper;
     private final BodyHandler<AuthRequestDTO> authRequestBodyHandler;
 
@@ -47,10 +47,12 @@ public class AuthHandler implements VertxApiHandler {
     public AuthHandler(final AuthenticationService authenticationService,
                           final ExchangeService exchangeService,
                           final ExchangeAttemptsService exchangeAttemptsService,
+                          final TokenRevocationService tokenRevocationService,
                           final RestMapper restMapper) {
         this.authenticationService = authenticationService;
         this.exchangeService = exchangeService;
         this.exchangeAttemptsService = exchangeAttemptsService;
+        this.tokenRevocationService = tokenRevocationService;
         this.restMapper = restMapper;
         this.authRequestBodyHandler = new BodyHandler.Builder<>(AuthRequestDTO.class).build();
     }
@@ -62,6 +64,8 @@ public class AuthHandler implements VertxApiHandler {
                 .handler(VertxRolesAccessHandler.adminOrAuthClient()).handler(this::logout);
         router.post("/domains/:domain/auth/refresh")
                 .handler(VertxRolesAccessHandler.adminOrAuthClient()).handler(this::refresh);
+        router.post("/domains/:domain/auth/revoke")
+                .handler(VertxRolesAccessHandler.adminOrAuthClient()).handler(this::revoke);
         router.post("/domains/:domain/auth/exchange")
                 .handler(VertxRolesAccessHandler.onlyAdminClient()).handler(this::exchange);
         router.post("/domains/:domain/auth/exchange/clear")
@@ -107,6 +111,19 @@ public class AuthHandler implements VertxApiHandler {
                 .subscribe().withSubscriber(new VertxJsonSubscriber<>(context));
     }
 
+    private void revoke(final RoutingContext context) {
+        AuthRequestDTO authRequest = authRequestBodyHandler.getValidated(context);
+
+        if (authRequest.getToken() == null) {
+            context.response().setStatusCode(400).end(Json.encode(new Error("400", "Missing 'token' field")));
+            return;
+        }
+
+        tokenRevocationService.revokeToken(authRequest.getToken(), context.pathParam("domain"))
+                .subscribe()
+                .with(ignored -> context.response().setStatusCode(204).end(), context::fail);
+    }
+
     private void exchange(final RoutingContext context) {
         Optional<AuthRequestDTO> authRequest = getValidRequestOrFail(context);
 
@@ -162,11 +179,11 @@ public class AuthHandler implements VertxApiHandler {
                     .fromExchange(fromExchange)
                     .build();
 
-            List<ExchangeAttemptDTO> attempts = exchangeAttemptsService.find(query).stream()
-                    .map(restMapper::toDTO)
-                    .collect(Collectors.toList());
-
-            context.response().putHeader("Content-Type", "application/json").end(Json.encode(attempts));
+            exchangeAttemptsService.find(query)
+                    .map(attempts -> attempts.stream()
+                            .map(restMapper::toDTO)
+                            .collect(Collectors.toList()))
+                    .subscribe().withSubscriber(new VertxJsonSubscriber<>(context));
         } catch (Exception e) {
             context.fail(e);
         }
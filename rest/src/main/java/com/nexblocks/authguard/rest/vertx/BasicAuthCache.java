@@ -0,0 +1,160 @@
+package com.nexblocks.authguard.rest.vertx;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import com.nexblocks.authguard.config.ConfigContext;
+import com.nexblocks.authguard.emb.MessageSubscriber;
+import com.nexblocks.authguard.emb.annotations.Channel;
+import com.nexblocks.authguard.emb.model.EventType;
+import com.nexblocks.authguard.emb.model.Message;
+import com.nexblocks.authguard.service.cache.CachesRegistry;
+import com.nexblocks.authguard.service.cache.ExpiringCache;
+import com.nexblocks.authguard.service.config.CacheConfig;
+import com.nexblocks.authguard.service.config.ConfigParser;
+import com.nexblocks.authguard.service.model.AccountBO;
+import com.nexblocks.authguard.service.random.CryptographicRandom;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches accounts which were successfully authenticated using basic
+ * credentials in the 'Authorization' header of admin requests, so that
+ * repeated requests don't go through password hashing again. Entries
+ * are keyed by an HMAC of the credentials using a key that only lives
+ * in memory, and are evicted whenever the account is updated or deleted.
+ * For the eviction to happen, this subscriber must be in the list of
+ * allowed subscribers in the emb configuration.
+ * <p>
+ * An account which was authenticated while any account was evicted
+ * isn't kept, since it may have been read before it changed. Locks and
+ * password expiry don't change the account, so they are checked again
+ * on every hit instead.
+ */
+@Singleton
+@Channel("accounts")
+@Channel("credentials")
+public class BasicAuthCache implements MessageSubscriber {
+    private static final Logger LOG = LoggerFactory.getLogger(BasicAuthCache.class);
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final String CACHE_NAME = "basicAuth";
+
+    private final boolean enabled;
+    private final ExpiringCache<String, AccountBO> cache;
+    private final ThreadLocal<Mac> mac;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @Inject
+    public BasicAuthCache(final @Named("basicAuthCache") ConfigContext configContext) {
+        this(configContext.asConfigBean(CacheConfig.class));
+    }
+
+    public BasicAuthCache(final CacheConfig config) {
+        this.enabled = config.enabled();
+
+        if (enabled) {
+            this.cache = new ExpiringCache<>(config.getMaxSize(), ConfigParser.parseDuration(config.getTtl()));
+
+            SecretKeySpec key = new SecretKeySpec(new CryptographicRandom().bytes(32), HMAC_ALGORITHM);
+
+            this.mac = ThreadLocal.withInitial(() -> {
+                try {
+                    Mac instance = Mac.getInstance(HMAC_ALGORITHM);
+                    instance.init(key);
+
+                    return instance;
+                } catch (GeneralSecurityException e) {
+                    throw new IllegalStateException("Failed to initialize basic auth cache HMAC", e);
+                }
+            });
+
+            CachesRegistry.register(CACHE_NAME, cache);
+
+            LOG.info("Basic authentication cache is enabled. maxSize={}, ttl={}", config.getMaxSize(), config.getTtl());
+        } else {
+            this.cache = null;
+            this.mac = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Optional<AccountBO> get(final String base64Credentials) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        return cache.get(keyOf(base64Credentials));
+    }
+
+    /**
+     * The number of evictions so far. It should be read before the
+     * account is loaded, and passed to {@link #put(String, AccountBO, long)}.
+     */
+    public long epoch() {
+        return invalidations.get();
+    }
+
+    /**
+     * Caches an authenticated account, unless an eviction happened since
+     * the given epoch.
+     */
+    public void put(final String base64Credentials, final AccountBO account, final long epoch) {
+        if (!enabled) {
+            return;
+        }
+
+        String key = keyOf(base64Credentials);
+
+        cache.put(key, account);
+
+        // checked after the account is cached, so an eviction which
+        // happened at any point while authenticating removes it
+        if (invalidations.get() != epoch) {
+            cache.invalidate(key);
+        }
+    }
+
+    public void invalidate(final long accountId) {
+        if (enabled) {
+            invalidations.incrementAndGet();
+            cache.invalidateIf(account -> account.getId() == accountId);
+        }
+    }
+
+    @Override
+    public void onMessage(final Message message) {
+        if (!enabled) {
+            return;
+        }
+
+        if (message.getEventType() != EventType.ENTITY_UPDATED
+                && message.getEventType() != EventType.ENTITY_DELETED) {
+            return;
+        }
+
+        if (message.getMessageBody() instanceof AccountBO account) {
+            LOG.debug("Evicting cached basic credentials. accountId={}, event={}",
+                    account.getId(), message.getEventType());
+
+            invalidate(account.getId());
+        }
+    }
+
+    private String keyOf(final String base64Credentials) {
+        byte[] digest = mac.get().doFinal(base64Credentials.getBytes(StandardCharsets.UTF_8));
+
+        return Base64.getEncoder().encodeToString(digest);
+    }
+}
@@ -0,0 +1,53 @@
+package com.nexblocks.authguard.rest.vertx;
+
+import com.nexblocks.authguard.rest.config.ServerConfig;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import io.vertx.core.Context;
+import io.vertx.core.VertxOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Detects service code which blocks event loop threads. Vert.x already
+ * checks for blocked threads periodically; this tightens its limits to
+ * the configured threshold so that any event loop thread blocked for
+ * longer is logged with its stack trace. Optionally, Mutiny is told that
+ * event loop threads can't be blocked, which makes any await() on them
+ * fail right away.
+ */
+public final class EventLoopBlockingDetector {
+    private static final Logger LOG = LoggerFactory.getLogger(EventLoopBlockingDetector.class);
+
+    private static final long MAX_CHECK_INTERVAL_MILLIS = 1000;
+
+    private EventLoopBlockingDetector() {
+    }
+
+    public static VertxOptions vertxOptions(final ServerConfig serverConfig) {
+        VertxOptions options = new VertxOptions();
+        Long threshold = serverConfig.getMaxEventLoopBlockingMillis();
+
+        if (threshold != null) {
+            options.setMaxEventLoopExecuteTime(threshold)
+                    .setMaxEventLoopExecuteTimeUnit(TimeUnit.MILLISECONDS)
+                    .setWarningExceptionTime(threshold)
+                    .setWarningExceptionTimeUnit(TimeUnit.MILLISECONDS)
+                    .setBlockedThreadCheckInterval(Math.min(threshold, MAX_CHECK_INTERVAL_MILLIS))
+                    .setBlockedThreadCheckIntervalUnit(TimeUnit.MILLISECONDS);
+
+            LOG.info("Reporting event loop threads blocked for more than {}ms", threshold);
+        }
+
+        return options;
+    }
+
+    public static void install(final ServerConfig serverConfig) {
+        if (serverConfig.failOnEventLoopBlocking()) {
+            Infrastructure.setCanCallerThreadBeBlockedSupplier(() -> !Context.isOnEventLoopThread());
+
+            LOG.warn("Blocking on an event loop thread will fail requests. This should only be used for testing.");
+        }
+    }
+}
@@ -35,6 +35,8 @@ public class GlobalExceptionHandler implements Handler<RoutingContext> {
             ExceptionHandlers.serviceAuthorizationException(e, context.response());
         } else if (failure instanceof ServiceNotFoundException e) {
             ExceptionHandlers.serviceNotFoundException(e, context.response());
+        } else if (failure instanceof ServiceUnavailableException e) {
+            ExceptionHandlers.serviceUnavailableException(e, context.response());
         } else if (failure instanceof ServiceException e) {
             ExceptionHandlers.serviceException(e, context.response());
         } else if (failure instanceof TimeoutException e) {
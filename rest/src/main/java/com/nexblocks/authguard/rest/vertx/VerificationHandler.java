@@ -39,10 +39,11 @@ public class VerificationHandler implements VertxApiHandler {
                     .end(Json.encode(new RequestValidationError(Collections.singletonList(
                             new Violation("token", ViolationType.MISSING_REQUIRED_VALUE)))
                     ));
+            return;
         }
 
-        verificationService.verifyEmail(token, Domain.fromContext(context));
-
-        context.response().setStatusCode(204);
+        verificationService.verifyEmail(token, Domain.fromContext(context))
+                .subscribe()
+                .with(ignored -> context.response().setStatusCode(204).end(), context::fail);
     }
 }
@@ -22,12 +22,15 @@ public class VertxAuthorizationHandler {
 
     private final BasicAuthProvider basicAuth;
     private final ApiKeysService apiKeysService;
+    private final BasicAuthCache basicAuthCache;
     private Set<String> unprotectedPaths = Collections.emptySet();
 
     @Inject
-    public VertxAuthorizationHandler(final BasicAuthProvider basicAuth, final ApiKeysService apiKeysService) {
+    public VertxAuthorizationHandler(final BasicAuthProvider basicAuth, final ApiKeysService apiKeysService,
+                                     final BasicAuthCache basicAuthCache) {
         this.basicAuth = basicAuth;
         this.apiKeysService = apiKeysService;
+        this.basicAuthCache = basicAuthCache;
     }
 
     public VertxAuthorizationHandler setUnprotectedPaths(final Set<String> unprotectedPaths) {
@@ -63,18 +66,25 @@ public class VertxAuthorizationHandler {
     }
 
     private void populateBasicActor(final RoutingContext ctx, final String base64Credentials) {
+        Optional<AccountBO> cached = basicAuthCache.get(base64Credentials);
+
+        if (cached.isPresent()) {
+            // a lock doesn't change the account, so it wouldn't have evicted it
+            basicAuth.checkAuthenticatedAccount(cached.get())
+                    .subscribe().with(account -> populateBasicActor(ctx, account), e -> {
+                        LOG.info("Cached basic credentials are no longer allowed", e);
+                        respondUnauthorized(ctx, "Failed to authenticate with basic scheme");
+                    });
+            return;
+        }
+
+        long epoch = basicAuthCache.epoch();
+
         try {
             basicAuth.authenticateAndGetAccount(base64Credentials)
                     .subscribe().with(account -> {
-                        if (!isActorAllowedInDomain(ctx, account)) {
-                            respondForbidden(ctx);
-                            return;
-                        }
-
-                        ctx.put("actor", account);
-                        LOG.info("Authenticated account {} with basic credentials", account.getId());
-
-                        ctx.next();
+                        basicAuthCache.put(base64Credentials, account, epoch);
+                        populateBasicActor(ctx, account);
                     }, e -> {
                         LOG.info("Failed to authenticate with basic credentials", e);
                         respondUnauthorized(ctx, "Failed to authenticate with basic scheme");
@@ -85,6 +95,18 @@ public class VertxAuthorizationHandler {
         }
     }
 
+    private void populateBasicActor(final RoutingContext ctx, final AccountBO account) {
+        if (!isActorAllowedInDomain(ctx, account)) {
+            respondForbidden(ctx);
+            return;
+        }
+
+        ctx.put("actor", account);
+        LOG.info("Authenticated account {} with basic credentials", account.getId());
+
+        ctx.next();
+    }
+
     private void populateBearerActor(final RoutingContext ctx, final String token) {
         try {
             apiKeysService.validateClientApiKey(token, API_KEY_TYPE)
@@ -29,8 +29,14 @@ public class VertxServerRunner {
 
         final ClassSearch classSearch = new ClassSearch(searchPackages);
 
+        final ImmutableServerConfig serverConfig = Optional.ofNullable(configContext.getAsConfigBean("server", ImmutableServerConfig.class))
+                .orElseGet(() -> ImmutableServerConfig.builder()
+                        .port(3000)
+                        .build());
+
         // core vertx
-        Vertx vertx = Vertx.vertx(); // TODO add a config section for vertx
+        Vertx vertx = Vertx.vertx(EventLoopBlockingDetector.vertxOptions(serverConfig));
+        EventLoopBlockingDetector.install(serverConfig);
 
         // injectors
         final Injector injector = Guice.createInjector(new MappersBinder(),
@@ -50,7 +56,8 @@ public class VertxServerRunner {
 
         // run bootstraps
         if (!disableBootstrap) {
-            new BootstrapRunner(classSearch, injector).runAll();
+            // the main thread blocks until bootstrap completes so that the server only starts afterwards
+            new BootstrapRunner(classSearch, injector).runAll().await().indefinitely();
 
             log.info("Completed bootstrap");
         } else {
@@ -64,11 +71,6 @@ public class VertxServerRunner {
             return;
         }
 
-        final ImmutableServerConfig serverConfig = Optional.ofNullable(configContext.getAsConfigBean("server", ImmutableServerConfig.class))
-                .orElseGet(() -> ImmutableServerConfig.builder()
-                        .port(3000)
-                        .build());
-
         new VertxAuthGuardServer(injector, serverConfig).start(vertx);
     }
 
@@ -11,5 +11,12 @@ public interface AccountLocksService {
 
     Uni<Collection<AccountLockBO>> getActiveLocksByAccountId(long accountId);
 
+    /**
+     * Checks if there's an active lock on an account. Unlike
+     * {@link #getActiveLocksByAccountId(long)}, this is meant to be called
+     * on every authentication attempt and may be answered from memory.
+     */
+    Uni<Boolean> hasActiveLock(long accountId);
+
     Uni<Optional<AccountLockBO>> delete(long lockId);
 }
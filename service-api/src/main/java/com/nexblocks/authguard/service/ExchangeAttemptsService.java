@@ -2,11 +2,19 @@ package com.nexblocks.authguard.service;
 
 import com.nexblocks.authguard.service.model.ExchangeAttemptBO;
 import com.nexblocks.authguard.service.model.ExchangeAttemptsQueryBO;
+import io.smallrye.mutiny.Uni;
 
-import java.util.Collection;
+import java.util.List;
 
 public interface ExchangeAttemptsService extends CrudService<ExchangeAttemptBO> {
-    Collection<ExchangeAttemptBO> getByEntityId(long entityId);
+    /**
+     * Records an attempt in the background. Unlike {@link #create}, the
+     * attempt isn't written by the time this returns, and may be
+     * dropped if too many attempts are waiting to be written.
+     */
+    void record(ExchangeAttemptBO attempt);
 
-    Collection<ExchangeAttemptBO> find(ExchangeAttemptsQueryBO query);
+    Uni<List<ExchangeAttemptBO>> getByEntityId(long entityId);
+
+    Uni<List<ExchangeAttemptBO>> find(ExchangeAttemptsQueryBO query);
 }
@@ -14,4 +14,16 @@ public interface PermissionsService extends CrudService<PermissionBO> {
     Uni<List<PermissionBO>> getAll(String domain, Long cursor);
     Uni<List<PermissionBO>> getAllForGroup(String group, String domain, Long cursor);
     Uni<Optional<PermissionBO>> get(String domain, String group, String name);
+
+    /**
+     * @return The permissions out of the given ones, by group and name,
+     * which exist in the domain.
+     */
+    Uni<List<PermissionBO>> getMultiple(Collection<PermissionBO> permissions, String domain);
+
+    /**
+     * Creates multiple permissions in a domain at once. Fails if any of
+     * them already exists, in which case none of them is created.
+     */
+    Uni<List<PermissionBO>> createAll(Collection<PermissionBO> permissions, String domain);
 }
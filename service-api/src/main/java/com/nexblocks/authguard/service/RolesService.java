@@ -12,6 +12,13 @@ import io.smallrye.mutiny.Uni;
 public interface RolesService extends CrudService<RoleBO> {
     Uni<List<RoleBO>> getAll(String domain, Long cursor);
     Uni<Optional<RoleBO>> getRoleByName(String name, String domain);
+    Uni<List<RoleBO>> getRolesByNames(Collection<String> names, String domain);
+
+    /**
+     * Creates multiple roles in a domain at once. Fails if any of them
+     * already exists, in which case none of them is created.
+     */
+    Uni<List<RoleBO>> createAll(Collection<RoleBO> roles, String domain);
     // FIXME use Uni for this
     Uni<List<String>> verifyRoles(Collection<String> roles, String domain, EntityType entityType);
 }
@@ -0,0 +1,34 @@
+package com.nexblocks.authguard.service;
+
+import io.smallrye.mutiny.Uni;
+
+import java.time.Instant;
+
+/**
+ * Revocation of issued tokens before they expire. Revoked tokens are
+ * identified by their JTI, so only tokens which carry one can be revoked.
+ */
+public interface TokenRevocationService {
+    /**
+     * Revokes a token after verifying that it was issued by AuthGuard.
+     */
+    Uni<Boolean> revokeToken(String token);
+
+    /**
+     * Revokes a token after verifying that it was issued by AuthGuard to
+     * an account, application, or client of the given domain.
+     */
+    Uni<Boolean> revokeToken(String token, String domain);
+
+    /**
+     * Revokes a JTI until the given expiry. If no expiry is given, the
+     * JTI retention is used.
+     */
+    Uni<Boolean> revokeJti(String jti, Instant expiresAt);
+
+    /**
+     * Checks a JTI against the revoked ones. Called on every token
+     * verification, so it must be answered from memory.
+     */
+    boolean isRevoked(String jti);
+}
@@ -1,10 +1,11 @@
 package com.nexblocks.authguard.service;
 
 import com.nexblocks.authguard.service.model.AuthResponseBO;
+import io.smallrye.mutiny.Uni;
 
 public interface VerificationService {
-    void verifyEmail(String verificationToken, String domain);
-    AuthResponseBO sendPhoneNumberVerification(long accountId, String domain);
-    AuthResponseBO sendPhoneNumberVerificationByIdentifier(String identifier, String domain);
-    void verifyPhoneNumber(long passwordId, String domain, String otp, String phoneNumber);
+    Uni<Void> verifyEmail(String verificationToken, String domain);
+    Uni<AuthResponseBO> sendPhoneNumberVerification(long accountId, String domain);
+    Uni<AuthResponseBO> sendPhoneNumberVerificationByIdentifier(String identifier, String domain);
+    Uni<Void> verifyPhoneNumber(long passwordId, String domain, String otp, String phoneNumber);
 }
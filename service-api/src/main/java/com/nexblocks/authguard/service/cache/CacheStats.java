@@ -0,0 +1,71 @@
+package com.nexblocks.authguard.service.cache;
+
+/**
+ * A point-in-time snapshot of the counters of a cache. Caches which load
+ * their entries themselves, instead of being given them, also count the
+ * loads and how long they took.
+ */
+public final class CacheStats {
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final long size;
+    private final long loads;
+    private final long loadTimeNanos;
+
+    public CacheStats(final long hits, final long misses, final long evictions, final long size) {
+        this(hits, misses, evictions, size, 0, 0);
+    }
+
+    public CacheStats(final long hits, final long misses, final long evictions, final long size,
+                      final long loads, final long loadTimeNanos) {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.size = size;
+        this.loads = loads;
+        this.loadTimeNanos = loadTimeNanos;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public long getLoads() {
+        return loads;
+    }
+
+    public double getAverageLoadTimeMillis() {
+        return loads == 0 ? 0 : loadTimeNanos / 1_000_000.0 / loads;
+    }
+
+    public double getHitRate() {
+        long requests = hits + misses;
+
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats{" +
+                "hits=" + hits +
+                ", misses=" + misses +
+                ", evictions=" + evictions +
+                ", size=" + size +
+                ", loads=" + loads +
+                ", loadTimeNanos=" + loadTimeNanos +
+                '}';
+    }
+}
@@ -0,0 +1,30 @@
+package com.nexblocks.authguard.service.cache;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Keeps track of the in-process caches so that their statistics can
+ * be exposed through the admin API.
+ */
+public class CachesRegistry {
+    private static final Map<String, Supplier<CacheStats>> caches = new ConcurrentHashMap<>();
+
+    public static void register(final String name, final ExpiringCache<?, ?> cache) {
+        caches.put(name, cache::getStats);
+    }
+
+    public static void register(final String name, final Supplier<CacheStats> statsSupplier) {
+        caches.put(name, statsSupplier);
+    }
+
+    public static Map<String, CacheStats> getStats() {
+        Map<String, CacheStats> stats = new TreeMap<>();
+
+        caches.forEach((name, supplier) -> stats.put(name, supplier.get()));
+
+        return stats;
+    }
+}
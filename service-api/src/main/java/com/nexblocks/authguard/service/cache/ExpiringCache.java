@@ -0,0 +1,238 @@
+package com.nexblocks.authguard.service.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+/**
+ * A bounded in-memory cache in which every entry expires after a fixed
+ * TTL, or earlier if an explicit expiry is given when it's inserted.
+ * The cache is split into independently locked LRU segments to keep
+ * contention low when it sits on a request path.
+ */
+public class ExpiringCache<K, V> {
+    private static final int MAX_SEGMENTS = 16;
+
+    private final Segment<K, V>[] segments;
+    private final Duration ttl;
+    private final Clock clock;
+    private final BiConsumer<K, V> onRemoved;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ExpiringCache(final int maxSize, final Duration ttl) {
+        this(maxSize, ttl, Clock.systemUTC());
+    }
+
+    public ExpiringCache(final int maxSize, final Duration ttl, final Clock clock) {
+        this(maxSize, ttl, clock, null);
+    }
+
+    /**
+     * @param onRemoved Called with the entries which are evicted or
+     *                  removed once they expire, but not with the ones
+     *                  which are invalidated, while the segment of the
+     *                  entry is locked. Can be null.
+     */
+    @SuppressWarnings("unchecked")
+    public ExpiringCache(final int maxSize, final Duration ttl, final Clock clock,
+                         final BiConsumer<K, V> onRemoved) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache max size must be positive");
+        }
+
+        int segmentsCount = Math.min(MAX_SEGMENTS, Math.max(1, maxSize / MAX_SEGMENTS));
+        int segmentCapacity = (maxSize + segmentsCount - 1) / segmentsCount;
+
+        this.segments = new Segment[segmentsCount];
+        this.ttl = ttl;
+        this.clock = clock;
+        this.onRemoved = onRemoved;
+
+        for (int i = 0; i < segmentsCount; i++) {
+            segments[i] = new Segment<>(segmentCapacity, evictions, onRemoved);
+        }
+    }
+
+    public Optional<V> get(final K key) {
+        Segment<K, V> segment = segmentFor(key);
+        long now = clock.millis();
+        V value;
+
+        synchronized (segment) {
+            Entry<V> entry = segment.get(key);
+
+            if (entry == null) {
+                value = null;
+            } else if (entry.expiresAt <= now) {
+                segment.remove(key);
+                removed(key, entry);
+                value = null;
+            } else {
+                value = entry.value;
+            }
+        }
+
+        if (value == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+
+        return Optional.ofNullable(value);
+    }
+
+    public void put(final K key, final V value) {
+        doPut(key, value, clock.millis() + ttl.toMillis());
+    }
+
+    /**
+     * Inserts an entry which expires at the earlier of the cache TTL
+     * and the given instant. Entries which are already expired are
+     * not inserted.
+     */
+    public void put(final K key, final V value, final Instant expiresAt) {
+        long expiry = clock.millis() + ttl.toMillis();
+
+        if (expiresAt != null) {
+            expiry = Math.min(expiry, expiresAt.toEpochMilli());
+        }
+
+        doPut(key, value, expiry);
+    }
+
+    public void invalidate(final K key) {
+        Segment<K, V> segment = segmentFor(key);
+
+        synchronized (segment) {
+            segment.remove(key);
+        }
+    }
+
+    public void invalidateIf(final Predicate<V> predicate) {
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                segment.values().removeIf(entry -> predicate.test(entry.value));
+            }
+        }
+    }
+
+    public void invalidateAll() {
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    /**
+     * Removes all expired entries. Expired entries are otherwise only
+     * removed lazily when they're read or pushed out by newer ones.
+     */
+    public void purgeExpired() {
+        long now = clock.millis();
+
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                Iterator<Map.Entry<K, Entry<V>>> iterator = segment.entrySet().iterator();
+
+                while (iterator.hasNext()) {
+                    Map.Entry<K, Entry<V>> entry = iterator.next();
+
+                    if (entry.getValue().expiresAt <= now) {
+                        iterator.remove();
+                        removed(entry.getKey(), entry.getValue());
+                    }
+                }
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+
+        return size;
+    }
+
+    public CacheStats getStats() {
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), size());
+    }
+
+    private void doPut(final K key, final V value, final long expiresAt) {
+        if (expiresAt <= clock.millis()) {
+            return;
+        }
+
+        Segment<K, V> segment = segmentFor(key);
+
+        synchronized (segment) {
+            segment.put(key, new Entry<>(value, expiresAt));
+        }
+    }
+
+    private void removed(final K key, final Entry<V> entry) {
+        if (onRemoved != null) {
+            onRemoved.accept(key, entry.value);
+        }
+    }
+
+    private Segment<K, V> segmentFor(final K key) {
+        int hash = key.hashCode();
+        hash ^= (hash >>> 16);
+
+        return segments[(hash & 0x7fffffff) % segments.length];
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long expiresAt;
+
+        private Entry(final V value, final long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private static final class Segment<K, V> extends LinkedHashMap<K, Entry<V>> {
+        private final int capacity;
+        private final LongAdder evictions;
+        private final BiConsumer<K, V> onRemoved;
+
+        private Segment(final int capacity, final LongAdder evictions, final BiConsumer<K, V> onRemoved) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+            this.evictions = evictions;
+            this.onRemoved = onRemoved;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<K, Entry<V>> eldest) {
+            if (size() > capacity) {
+                evictions.increment();
+
+                if (onRemoved != null) {
+                    onRemoved.accept(eldest.getKey(), eldest.getValue().value);
+                }
+
+                return true;
+            }
+
+            return false;
+        }
+    }
+}
@@ -15,4 +15,8 @@ public interface ApiKeysConfigInterface {
     }
 
     ApiKeyHashingConfig getHash();
+
+    CacheConfig getCache();
+
+    CacheConfig getNegativeCache();
 }
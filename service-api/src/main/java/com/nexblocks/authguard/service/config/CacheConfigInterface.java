@@ -0,0 +1,24 @@
+package com.nexblocks.authguard.service.config;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import org.immutables.value.Value;
+
+@Value.Immutable
+@ConfigStyle
+@JsonDeserialize(as = CacheConfig.class)
+public interface CacheConfigInterface {
+    @Value.Default
+    default boolean enabled() {
+        return false;
+    }
+
+    @Value.Default
+    default Integer getMaxSize() {
+        return 1000;
+    }
+
+    @Value.Default
+    default String getTtl() {
+        return "1m";
+    }
+}
@@ -0,0 +1,30 @@
+package com.nexblocks.authguard.service.config;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import org.immutables.value.Value;
+
+/**
+ * Configuration of how exchange attempts are recorded. Attempts are
+ * buffered in memory and written in batches, either when a batch is full
+ * or every flush interval. Attempts which don't fit in the buffer are
+ * dropped.
+ */
+@Value.Immutable
+@ConfigStyle
+@JsonDeserialize(as = ExchangeAttemptsConfig.class)
+public interface ExchangeAttemptsConfigInterface {
+    @Value.Default
+    default Integer getBufferSize() {
+        return 8192;
+    }
+
+    @Value.Default
+    default Integer getBatchSize() {
+        return 500;
+    }
+
+    @Value.Default
+    default String getFlushInterval() {
+        return "1s";
+    }
+}
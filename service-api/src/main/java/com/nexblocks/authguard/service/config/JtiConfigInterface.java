@@ -0,0 +1,35 @@
+package com.nexblocks.authguard.service.config;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import org.immutables.value.Value;
+
+/**
+ * Configuration of how issued JTIs are tracked. JTIs are kept in memory
+ * for validation and written to storage in batches in the background,
+ * until the tokens which carry them expire. The retention is how long a
+ * revoked JTI is remembered in memory.
+ */
+@Value.Immutable
+@ConfigStyle
+@JsonDeserialize(as = JtiConfig.class)
+public interface JtiConfigInterface {
+    @Value.Default
+    default Integer getBatchSize() {
+        return 100;
+    }
+
+    @Value.Default
+    default String getFlushInterval() {
+        return "1s";
+    }
+
+    @Value.Default
+    default Integer getMaxCachedJtis() {
+        return 100_000;
+    }
+
+    @Value.Default
+    default String getRetention() {
+        return "1h";
+    }
+}
@@ -13,10 +13,48 @@ public interface JwtConfigInterface {
     String getAlgorithm();
     String getPrivateKey();
     String getPublicKey();
+
+    /**
+     * The ID of the key configured above, which is set as the kid header
+     * of the tokens it signs. It's derived from the key if not set.
+     */
+    String getKeyId();
+
+    /**
+     * More keys for rotating the signing key without rejecting the tokens
+     * signed by the previous one.
+     */
+    List<JwtKeyConfig> getKeys();
+
+    /**
+     * How long the published key set can be cached by its consumers.
+     */
+    @Value.Default
+    default String getJwksMaxAge() {
+        return "5m";
+    }
+
     String getIssuer();
     List<String> getAllowedAlgorithms();
     List<String> getTrustedIssuers();
     EncryptionConfig getEncryption();
+    JtiConfig getJti();
+
+    /**
+     * Caching of tokens which passed verification, so that tokens which
+     * are presented repeatedly aren't verified every time.
+     */
+    CacheConfig getVerificationCache();
+
+    RevocationConfig getRevocation();
+
+    /**
+     * The most tokens which can be verified in a single batch request.
+     */
+    @Value.Default
+    default int getMaxVerificationBatch() {
+        return 100;
+    }
 
     @Value.Default
     default boolean checkRefreshTokenOption() {
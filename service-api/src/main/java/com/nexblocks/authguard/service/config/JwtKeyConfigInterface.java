@@ -0,0 +1,42 @@
+package com.nexblocks.authguard.service.config;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import org.immutables.value.Value;
+
+/**
+ * A JWT key in addition to the one configured directly in
+ * {@link JwtConfigInterface}. Keys are told apart by their ID, which is
+ * set as the kid header of the tokens they sign.
+ */
+@Value.Immutable
+@ConfigStyle
+@JsonDeserialize(as = JwtKeyConfig.class)
+public interface JwtKeyConfigInterface {
+    String getId();
+    String getAlgorithm();
+    String getPrivateKey();
+    String getPublicKey();
+
+    /**
+     * The ISO-8601 instant at which the key starts signing tokens. Until
+     * then it's only published and trusted, so that consumers of the key
+     * set know about it before they see tokens signed by it. Keys without
+     * it can sign right away.
+     */
+    String getSignFrom();
+
+    /**
+     * The ISO-8601 instant after which tokens signed by the key are no
+     * longer accepted, and the key is removed from the key set.
+     */
+    String getExpiresAt();
+
+    /**
+     * A key which never signs tokens, for example a retired key which
+     * still has tokens in circulation. The private key can be left out.
+     */
+    @Value.Default
+    default boolean verifyOnly() {
+        return false;
+    }
+}
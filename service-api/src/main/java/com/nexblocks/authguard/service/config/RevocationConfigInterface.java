@@ -0,0 +1,29 @@
+package com.nexblocks.authguard.service.config;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import org.immutables.value.Value;
+
+/**
+ * Configuration of the in-memory filter of revoked tokens. The filter
+ * is sized for the expected number of revoked tokens which haven't
+ * expired yet, and grows if there are more.
+ */
+@Value.Immutable
+@ConfigStyle
+@JsonDeserialize(as = RevocationConfig.class)
+public interface RevocationConfigInterface {
+    @Value.Default
+    default Integer getExpectedRevocations() {
+        return 100_000;
+    }
+
+    @Value.Default
+    default Double getFalsePositiveRate() {
+        return 0.01;
+    }
+
+    @Value.Default
+    default String getPurgeInterval() {
+        return "1m";
+    }
+}
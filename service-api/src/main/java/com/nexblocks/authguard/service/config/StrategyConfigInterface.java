@@ -14,4 +14,24 @@ public interface StrategyConfigInterface {
     boolean includeRoles();
     boolean includeExternalId();
     boolean includeVerification();
+
+    /**
+     * Caching of the permissions and roles claims of accounts, so that
+     * they aren't built for every token.
+     */
+    CacheConfig getClaimsCache();
+
+    /**
+     * Seal everything a refresh token stands for into the token itself,
+     * encrypted with {@link #getRefreshTokenKey()}, instead of storing it.
+     */
+    @Value.Default
+    default boolean statelessRefreshTokens() {
+        return false;
+    }
+
+    /**
+     * The AES key of stateless refresh tokens, as a file or a base64 value.
+     */
+    String getRefreshTokenKey();
 }
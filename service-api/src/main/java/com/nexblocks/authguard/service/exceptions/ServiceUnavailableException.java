@@ -0,0 +1,13 @@
+package com.nexblocks.authguard.service.exceptions;
+
+import com.nexblocks.authguard.service.exceptions.codes.ErrorCode;
+
+/**
+ * Signals that a request was rejected because the service is temporarily
+ * overloaded, and that the request can be retried later.
+ */
+public class ServiceUnavailableException extends ServiceException {
+    public ServiceUnavailableException(final ErrorCode errorCode, final String message) {
+        super(errorCode, message);
+    }
+}
@@ -48,6 +48,7 @@ public enum ErrorCode {
     PASSWORDS_DO_NOT_MATCH("PW.021"),
     INVALID_PASSWORD("PW.022"),
     PASSWORD_EXPIRED("PW.023"),
+    PASSWORD_HASHING_OVERLOADED("PW.031"),
 
     LDAP_MULTIPLE_PASSWORD_ENTRIES("LD.021"),
     LDAP_ERROR("LD.031"),
@@ -29,16 +29,16 @@ public class AuthMessage {
 
     public static AuthMessage failure(final String exchangeFrom, final String exchangeTo, final EntityType entityType,
                                       final Long entityId, final Throwable cause) {
-        return new AuthMessage(exchangeFrom, exchangeTo, entityType, entityId, true, cause);
+        return new AuthMessage(exchangeFrom, exchangeTo, entityType, entityId, false, cause);
     }
 
     public static AuthMessage failure(final String exchangeFrom, final String exchangeTo, final EntityType entityType,
                                       final Throwable cause) {
-        return new AuthMessage(exchangeFrom, exchangeTo, entityType, null, true, cause);
+        return new AuthMessage(exchangeFrom, exchangeTo, entityType, null, false, cause);
     }
 
     public static AuthMessage failure(final String exchangeFrom, final String exchangeTo, final Throwable cause) {
-        return new AuthMessage(exchangeFrom, exchangeTo, null, null, true, cause);
+        return new AuthMessage(exchangeFrom, exchangeTo, null, null, false, cause);
     }
 
     public String getExchangeFrom() {
@@ -0,0 +1,124 @@
+package com.nexblocks.authguard.service.util;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * A bounded, lock-free ring buffer which can be written to by many
+ * threads and read from by a single one. Offering to a full buffer fails
+ * right away instead of waiting, so producers never block.
+ * <p>
+ * Every slot carries a sequence number which tells whether it's free
+ * for the producer claiming that position, or published for the
+ * consumer to read (see Dmitry Vyukov's bounded MPMC queue).
+ */
+public class MpscRingBuffer<T> {
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<T> buffer;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+
+    private volatile long head;
+
+    /**
+     * @param requestedCapacity The minimum capacity of the buffer. It's
+     *                          rounded up to the next power of two.
+     */
+    public MpscRingBuffer(final int requestedCapacity) {
+        if (requestedCapacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+
+        this.capacity = requestedCapacity == 1 ? 2 : Integer.highestOneBit(requestedCapacity - 1) << 1;
+        this.mask = capacity - 1;
+        this.buffer = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Adds an item to the buffer. Safe to call from any thread.
+     *
+     * @return False if the buffer is full.
+     */
+    public boolean offer(final T item) {
+        Objects.requireNonNull(item);
+
+        long position = tail.get();
+
+        while (true) {
+            final int index = (int) (position & mask);
+            final long difference = sequences.get(index) - position;
+
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    buffer.lazySet(index, item);
+                    sequences.lazySet(index, position + 1);
+
+                    return true;
+                }
+
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Removes up to the given number of items and passes them to the
+     * consumer in the order they were added. Must only be called by one
+     * thread at a time.
+     *
+     * @return The number of removed items.
+     */
+    public int drain(final Consumer<T> consumer, final int limit) {
+        long position = head;
+        int drained = 0;
+
+        while (drained < limit) {
+            final int index = (int) (position & mask);
+
+            if (sequences.get(index) != position + 1) {
+                break;
+            }
+
+            final T item = buffer.get(index);
+
+            buffer.lazySet(index, null);
+            sequences.lazySet(index, position + capacity);
+
+            position++;
+            drained++;
+
+            consumer.accept(item);
+        }
+
+        head = position;
+
+        return drained;
+    }
+
+    public int size() {
+        final long size = tail.get() - head;
+
+        return (int) Math.max(0, Math.min(size, capacity));
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+}
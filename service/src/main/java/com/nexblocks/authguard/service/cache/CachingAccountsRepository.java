@@ -0,0 +1,79 @@
+package com.nexblocks.authguard.service.cache;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import com.nexblocks.authguard.dal.model.AccountDO;
+import com.nexblocks.authguard.dal.model.PasswordDO;
+import com.nexblocks.authguard.dal.model.PermissionDO;
+import com.nexblocks.authguard.dal.model.UserIdentifierDO;
+import com.nexblocks.authguard.dal.persistence.AccountsRepository;
+import io.smallrye.mutiny.Uni;
+
+import java.util.List;
+import java.util.Optional;
+
+import static com.nexblocks.authguard.service.cache.RepositoryCache.key;
+
+@Singleton
+public class CachingAccountsRepository extends CachingRepository<AccountDO, AccountsRepository>
+        implements AccountsRepository {
+
+    @Inject
+    public CachingAccountsRepository(final @Named(UNCACHED) AccountsRepository delegate,
+                                     final RepositoryCaches caches) {
+        super(delegate, caches.cache(RepositoryCaches.ACCOUNTS));
+    }
+
+    @Override
+    public Uni<Optional<AccountDO>> getByExternalId(final String externalId) {
+        return cached(key("externalId", externalId), () -> delegate.getByExternalId(externalId));
+    }
+
+    @Override
+    public Uni<Optional<AccountDO>> getByEmail(final String email, final String domain) {
+        return cached(key("email", email, domain), () -> delegate.getByEmail(email, domain));
+    }
+
+    @Override
+    public Uni<List<AccountDO>> getByRole(final String role, final String domain) {
+        return delegate.getByRole(role, domain);
+    }
+
+    @Override
+    public Uni<Optional<AccountDO>> findByIdentifier(final String identifier, final String domain) {
+        return cached(key("identifier", identifier, domain), () -> delegate.findByIdentifier(identifier, domain));
+    }
+
+    @Override
+    public Uni<AccountDO> addAccountPermissions(final AccountDO account, final List<PermissionDO> permissions) {
+        return invalidating(account.getId(), delegate.addAccountPermissions(account, permissions));
+    }
+
+    @Override
+    public Uni<AccountDO> removeAccountPermissions(final AccountDO account, final List<PermissionDO> permissions) {
+        return invalidating(account.getId(), delegate.removeAccountPermissions(account, permissions));
+    }
+
+    @Override
+    public Uni<AccountDO> addUserIdentifier(final AccountDO account, final UserIdentifierDO identifier) {
+        return invalidating(account.getId(), delegate.addUserIdentifier(account, identifier));
+    }
+
+    @Override
+    public Uni<AccountDO> removeUserIdentifier(final AccountDO account, final UserIdentifierDO identifier) {
+        return invalidating(account.getId(), delegate.removeUserIdentifier(account, identifier));
+    }
+
+    @Override
+    public Uni<AccountDO> replaceIdentifierInPlace(final AccountDO account, final String oldIdentifier,
+                                                   final UserIdentifierDO newIdentifier) {
+        return invalidating(account.getId(),
+                delegate.replaceIdentifierInPlace(account, oldIdentifier, newIdentifier));
+    }
+
+    @Override
+    public Uni<AccountDO> updateUserPassword(final AccountDO account, final PasswordDO hashedPassword) {
+        return invalidating(account.getId(), delegate.updateUserPassword(account, hashedPassword));
+    }
+}
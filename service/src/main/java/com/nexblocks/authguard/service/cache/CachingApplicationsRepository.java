@@ -0,0 +1,46 @@
+package com.nexblocks.authguard.service.cache;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import com.nexblocks.authguard.dal.model.AppDO;
+import com.nexblocks.authguard.dal.model.PermissionDO;
+import com.nexblocks.authguard.dal.persistence.ApplicationsRepository;
+import com.nexblocks.authguard.dal.persistence.Page;
+import io.smallrye.mutiny.Uni;
+
+import java.util.List;
+import java.util.Optional;
+
+import static com.nexblocks.authguard.service.cache.RepositoryCache.key;
+
+@Singleton
+public class CachingApplicationsRepository extends CachingRepository<AppDO, ApplicationsRepository>
+        implements ApplicationsRepository {
+
+    @Inject
+    public CachingApplicationsRepository(final @Named(UNCACHED) ApplicationsRepository delegate,
+                                         final RepositoryCaches caches) {
+        super(delegate, caches.cache(RepositoryCaches.APPS));
+    }
+
+    @Override
+    public Uni<Optional<AppDO>> getByExternalId(final String externalId) {
+        return cached(key("externalId", externalId), () -> delegate.getByExternalId(externalId));
+    }
+
+    @Override
+    public Uni<List<AppDO>> getAllForAccount(final long accountId, final Page<Long> page) {
+        return delegate.getAllForAccount(accountId, page);
+    }
+
+    @Override
+    public Uni<AppDO> addAppPermissions(final AppDO app, final List<PermissionDO> permissions) {
+        return invalidating(app.getId(), delegate.addAppPermissions(app, permissions));
+    }
+
+    @Override
+    public Uni<AppDO> removeAppPermissions(final AppDO app, final List<PermissionDO> permissions) {
+        return invalidating(app.getId(), delegate.removeAppPermissions(app, permissions));
+    }
+}
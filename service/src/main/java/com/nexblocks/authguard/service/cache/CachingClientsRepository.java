@@ -0,0 +1,50 @@
+package com.nexblocks.authguard.service.cache;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import com.nexblocks.authguard.dal.model.ClientDO;
+import com.nexblocks.authguard.dal.persistence.ClientsRepository;
+import com.nexblocks.authguard.dal.persistence.Page;
+import io.smallrye.mutiny.Uni;
+
+import java.util.List;
+import java.util.Optional;
+
+import static com.nexblocks.authguard.service.cache.RepositoryCache.key;
+
+@Singleton
+public class CachingClientsRepository extends CachingRepository<ClientDO, ClientsRepository>
+        implements ClientsRepository {
+
+    @Inject
+    public CachingClientsRepository(final @Named(UNCACHED) ClientsRepository delegate,
+                                    final RepositoryCaches caches) {
+        super(delegate, caches.cache(RepositoryCaches.CLIENTS));
+    }
+
+    @Override
+    public Uni<Optional<ClientDO>> getByExternalId(final String externalId) {
+        return cached(key("externalId", externalId), () -> delegate.getByExternalId(externalId));
+    }
+
+    @Override
+    public Uni<Optional<ClientDO>> getByUri(final String uri) {
+        return cached(key("uri", uri), () -> delegate.getByUri(uri));
+    }
+
+    @Override
+    public Uni<List<ClientDO>> getAllForAccount(final long accountId, final Page<Long> page) {
+        return delegate.getAllForAccount(accountId, page);
+    }
+
+    @Override
+    public Uni<List<ClientDO>> getByType(final String type, final Page<Long> page) {
+        return delegate.getByType(type, page);
+    }
+
+    @Override
+    public Uni<List<ClientDO>> getByDomain(final String domain, final Page<Long> page) {
+        return delegate.getByDomain(domain, page);
+    }
+}
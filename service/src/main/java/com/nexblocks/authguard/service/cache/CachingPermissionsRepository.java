@@ -0,0 +1,41 @@
+package com.nexblocks.authguard.service.cache;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import com.nexblocks.authguard.dal.model.PermissionDO;
+import com.nexblocks.authguard.dal.persistence.Page;
+import com.nexblocks.authguard.dal.persistence.PermissionsRepository;
+import io.smallrye.mutiny.Uni;
+
+import java.util.Collection;
+import java.util.Optional;
+
+import static com.nexblocks.authguard.service.cache.RepositoryCache.key;
+
+@Singleton
+public class CachingPermissionsRepository extends CachingRepository<PermissionDO, PermissionsRepository>
+        implements PermissionsRepository {
+
+    @Inject
+    public CachingPermissionsRepository(final @Named(UNCACHED) PermissionsRepository delegate,
+                                        final RepositoryCaches caches) {
+        super(delegate, caches.cache(RepositoryCaches.PERMISSIONS));
+    }
+
+    @Override
+    public Uni<Optional<PermissionDO>> search(final String group, final String name, final String domain) {
+        return cached(key("search", group, name, domain), () -> delegate.search(group, name, domain));
+    }
+
+    @Override
+    public Uni<Collection<PermissionDO>> getAll(final String domain, final Page<Long> page) {
+        return delegate.getAll(domain, page);
+    }
+
+    @Override
+    public Uni<Collection<PermissionDO>> getAllForGroup(final String group, final String domain,
+                                                        final Page<Long> page) {
+        return delegate.getAllForGroup(group, domain, page);
+    }
+}
@@ -0,0 +1,76 @@
+package com.nexblocks.authguard.service.cache;
+
+import com.nexblocks.authguard.dal.model.AbstractDO;
+import com.nexblocks.authguard.dal.repository.Repository;
+import io.smallrye.mutiny.Uni;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * A read-through cache in front of a repository. Reads by ID, and the
+ * lookups which the repositories that extend this one choose to cache,
+ * are served from the cache, and every write which goes through this
+ * repository invalidates the record it changed once it's done.
+ * <p>
+ * Cached records are shared between the callers which read them, so
+ * they must not be modified.
+ */
+public abstract class CachingRepository<T extends AbstractDO, R extends Repository<T>> implements Repository<T> {
+    /**
+     * The name which the repositories that are cached are bound with.
+     */
+    public static final String UNCACHED = "uncached";
+
+    protected final R delegate;
+    protected final RepositoryCache<T> cache;
+
+    protected CachingRepository(final R delegate, final RepositoryCache<T> cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    protected Uni<Optional<T>> cached(final List<Object> key, final Supplier<Uni<Optional<T>>> loader) {
+        return cache.get(key, loader);
+    }
+
+    /**
+     * Invalidates the record once the write is done, whether it succeeded
+     * or not, since a write which failed may still have changed it.
+     */
+    protected <V> Uni<V> invalidating(final long id, final Uni<V> write) {
+        return write.onTermination().invoke(() -> cache.invalidate(id));
+    }
+
+    @Override
+    public Uni<Optional<T>> getById(final long id) {
+        return cached(RepositoryCache.key("id", id), () -> delegate.getById(id));
+    }
+
+    @Override
+    public Uni<T> save(final T entity) {
+        return delegate.save(entity);
+    }
+
+    @Override
+    public Uni<List<T>> saveAll(final List<T> entities) {
+        return delegate.saveAll(entities);
+    }
+
+    @Override
+    public Uni<Optional<T>> update(final T entity) {
+        return invalidating(entity.getId(), delegate.update(entity));
+    }
+
+    @Override
+    public Uni<List<T>> updateAll(final List<T> entities) {
+        return delegate.updateAll(entities)
+                .onTermination().invoke(() -> entities.forEach(entity -> cache.invalidate(entity.getId())));
+    }
+
+    @Override
+    public Uni<Optional<T>> delete(final long id) {
+        return invalidating(id, delegate.delete(id));
+    }
+}
@@ -0,0 +1,40 @@
+package com.nexblocks.authguard.service.cache;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import com.nexblocks.authguard.dal.model.RoleDO;
+import com.nexblocks.authguard.dal.persistence.Page;
+import com.nexblocks.authguard.dal.persistence.RolesRepository;
+import io.smallrye.mutiny.Uni;
+
+import java.util.Collection;
+import java.util.Optional;
+
+import static com.nexblocks.authguard.service.cache.RepositoryCache.key;
+
+@Singleton
+public class CachingRolesRepository extends CachingRepository<RoleDO, RolesRepository>
+        implements RolesRepository {
+
+    @Inject
+    public CachingRolesRepository(final @Named(UNCACHED) RolesRepository delegate,
+                                  final RepositoryCaches caches) {
+        super(delegate, caches.cache(RepositoryCaches.ROLES));
+    }
+
+    @Override
+    public Uni<Collection<RoleDO>> getAll(final String domain, final Page<Long> page) {
+        return delegate.getAll(domain, page);
+    }
+
+    @Override
+    public Uni<Optional<RoleDO>> getByName(final String name, final String domain) {
+        return cached(key("name", name, domain), () -> delegate.getByName(name, domain));
+    }
+
+    @Override
+    public Uni<Collection<RoleDO>> getMultiple(final Collection<String> rolesNames, final String domain) {
+        return delegate.getMultiple(rolesNames, domain);
+    }
+}
@@ -0,0 +1,131 @@
+package com.nexblocks.authguard.service.cache;
+
+import com.nexblocks.authguard.dal.model.AbstractDO;
+import io.smallrye.mutiny.Uni;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * The records of a single repository which were read recently, by the
+ * lookups they were read with. Only lookups which found a record are
+ * cached, so a record which is created after it was looked up doesn't
+ * need to invalidate anything.
+ * <p>
+ * A record is invalidated by its ID, which removes it from every lookup
+ * it was cached under, including ones by keys which it no longer has.
+ * The keys of the lookups are kept by the ID of the record they found,
+ * so an invalidation only touches those lookups. A
+ * lookup which was loading while a record was invalidated doesn't keep
+ * what it loaded, since it may have read the record before it changed.
+ */
+public class RepositoryCache<T extends AbstractDO> {
+    private final ExpiringCache<List<Object>, T> records;
+    private final Map<Long, Set<List<Object>>> keysById = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder loadTimeNanos = new LongAdder();
+
+    public RepositoryCache(final int maxSize, final Duration ttl) {
+        this.records = new ExpiringCache<>(maxSize, ttl, Clock.systemUTC(), this::unindex);
+    }
+
+    /**
+     * A key of a lookup, made of the name of the lookup and its
+     * arguments.
+     */
+    public static List<Object> key(final String lookup, final Object... arguments) {
+        Object[] parts = new Object[arguments.length + 1];
+
+        parts[0] = lookup;
+        System.arraycopy(arguments, 0, parts, 1, arguments.length);
+
+        return Arrays.asList(parts);
+    }
+
+    /**
+     * Returns the cached record of the lookup, or loads it. Like the
+     * repositories, nothing is read until the returned {@link Uni} is
+     * subscribed to.
+     */
+    public Uni<Optional<T>> get(final List<Object> key, final Supplier<Uni<Optional<T>>> loader) {
+        return Uni.createFrom().deferred(() -> {
+            Optional<T> cached = records.get(key);
+
+            if (cached.isPresent()) {
+                return Uni.createFrom().item(cached);
+            }
+
+            long invalidationsBefore = invalidations.get();
+            long start = System.nanoTime();
+
+            return loader.get().invoke(loaded -> {
+                loads.increment();
+                loadTimeNanos.add(System.nanoTime() - start);
+
+                loaded.ifPresent(record -> {
+                    records.put(key, record);
+                    index(key, record);
+
+                    // checked after the record is cached, so an invalidation
+                    // which happened at any point while loading removes it
+                    if (invalidations.get() != invalidationsBefore) {
+                        records.invalidate(key);
+                        unindex(key, record);
+                    }
+                });
+            });
+        });
+    }
+
+    public void invalidate(final long id) {
+        invalidations.incrementAndGet();
+
+        Set<List<Object>> keys = keysById.remove(id);
+
+        if (keys != null) {
+            keys.forEach(records::invalidate);
+        }
+    }
+
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        records.invalidateAll();
+        keysById.clear();
+    }
+
+    private void index(final List<Object> key, final T record) {
+        keysById.compute(record.getId(), (id, keys) -> {
+            Set<List<Object>> indexed = keys == null ? new HashSet<>() : keys;
+            indexed.add(key);
+
+            return indexed;
+        });
+    }
+
+    // also called by the cache for the lookups which it evicts or which expire, which keeps the index bounded
+    private void unindex(final List<Object> key, final T record) {
+        keysById.computeIfPresent(record.getId(), (id, keys) -> {
+            keys.remove(key);
+
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    public CacheStats getStats() {
+        CacheStats stats = records.getStats();
+
+        return new CacheStats(stats.getHits(), stats.getMisses(), stats.getEvictions(), stats.getSize(),
+                loads.sum(), loadTimeNanos.sum());
+    }
+}
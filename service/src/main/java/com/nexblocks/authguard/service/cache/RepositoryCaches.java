@@ -0,0 +1,138 @@
+package com.nexblocks.authguard.service.cache;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import com.nexblocks.authguard.config.ConfigContext;
+import com.nexblocks.authguard.dal.model.AbstractDO;
+import com.nexblocks.authguard.emb.MessageSubscriber;
+import com.nexblocks.authguard.emb.annotations.Channel;
+import com.nexblocks.authguard.emb.model.EventType;
+import com.nexblocks.authguard.emb.model.Message;
+import com.nexblocks.authguard.service.config.CacheConfig;
+import com.nexblocks.authguard.service.config.ConfigParser;
+import com.nexblocks.authguard.service.model.AccountBO;
+import com.nexblocks.authguard.service.model.AppBO;
+import com.nexblocks.authguard.service.model.ClientBO;
+import com.nexblocks.authguard.service.model.Entity;
+import com.nexblocks.authguard.service.model.PermissionBO;
+import com.nexblocks.authguard.service.model.RoleBO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The caches of the repositories which are configured to be cached,
+ * under "repositoryCaches". Each repository has its own cache, named
+ * after the channel which its entities are published to, e.g.
+ * <pre>
+ * repositoryCaches:
+ *   accounts:
+ *     enabled: true
+ *     maxSize: 10000
+ *     ttl: 5m
+ * </pre>
+ * Records are invalidated when their entities are updated or deleted,
+ * whichever repository the change went through. For that to happen, this
+ * subscriber must be in the list of allowed subscribers in the emb
+ * configuration.
+ */
+@Singleton
+@Channel(RepositoryCaches.ACCOUNTS)
+@Channel(RepositoryCaches.ROLES)
+@Channel(RepositoryCaches.PERMISSIONS)
+@Channel(RepositoryCaches.CLIENTS)
+@Channel(RepositoryCaches.APPS)
+@Channel(RepositoryCaches.CREDENTIALS)
+public class RepositoryCaches implements MessageSubscriber {
+    public static final String ACCOUNTS = "accounts";
+    public static final String ROLES = "roles";
+    public static final String PERMISSIONS = "permissions";
+    public static final String CLIENTS = "clients";
+    public static final String APPS = "apps";
+    // password and identifier changes of accounts are only published there
+    public static final String CREDENTIALS = "credentials";
+
+    private static final Logger LOG = LoggerFactory.getLogger(RepositoryCaches.class);
+
+    private final ConfigContext config;
+    private final Map<String, RepositoryCache<?>> caches = new ConcurrentHashMap<>();
+
+    @Inject
+    public RepositoryCaches(final @Named("repositoryCaches") ConfigContext config) {
+        this.config = config;
+    }
+
+    /**
+     * Whether a repository is configured to be cached.
+     *
+     * @param config The "repositoryCaches" configuration, or null if
+     *               there's none.
+     */
+    public static boolean isEnabled(final ConfigContext config, final String name) {
+        CacheConfig cacheConfig = config == null ? null : config.getAsConfigBean(name, CacheConfig.class);
+
+        return cacheConfig != null && cacheConfig.enabled();
+    }
+
+    /**
+     * The cache of a repository, which is created the first time it's
+     * asked for.
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends AbstractDO> RepositoryCache<T> cache(final String name) {
+        return (RepositoryCache<T>) caches.computeIfAbsent(name, this::createCache);
+    }
+
+    private RepositoryCache<?> createCache(final String name) {
+        CacheConfig cacheConfig = config.getAsConfigBean(name, CacheConfig.class);
+
+        if (cacheConfig == null) {
+            cacheConfig = CacheConfig.builder().build();
+        }
+
+        RepositoryCache<?> cache = new RepositoryCache<>(cacheConfig.getMaxSize(),
+                ConfigParser.parseDuration(cacheConfig.getTtl()));
+
+        CachesRegistry.register("repositories." + name, cache::getStats);
+
+        LOG.info("Repository cache {} is enabled. maxSize={}, ttl={}",
+                name, cacheConfig.getMaxSize(), cacheConfig.getTtl());
+
+        return cache;
+    }
+
+    @Override
+    public void onMessage(final Message message) {
+        if (message.getEventType() != EventType.ENTITY_UPDATED
+                && message.getEventType() != EventType.ENTITY_DELETED) {
+            return;
+        }
+
+        Object body = message.getMessageBody();
+        String name = cacheOf(body);
+        RepositoryCache<?> cache = name == null ? null : caches.get(name);
+
+        if (cache != null) {
+            cache.invalidate(((Entity) body).getId());
+        }
+    }
+
+    private static String cacheOf(final Object body) {
+        if (body instanceof AccountBO) {
+            return ACCOUNTS;
+        } else if (body instanceof RoleBO) {
+            return ROLES;
+        } else if (body instanceof PermissionBO) {
+            return PERMISSIONS;
+        } else if (body instanceof ClientBO) {
+            return CLIENTS;
+        } else if (body instanceof AppBO) {
+            return APPS;
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,99 @@
+package com.nexblocks.authguard.service.cache;
+
+import io.smallrye.mutiny.Uni;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent lookups of the same key into a single load. The
+ * first caller of a key starts the load, and the callers which ask for
+ * the same key before it's done wait for its result instead of loading
+ * it again. Once it's done, the next caller starts a new one, so nothing
+ * is kept after a load completes.
+ * <p>
+ * The number of callers which can wait on a single load is bounded. Once
+ * it's reached, callers load the key on their own, so a load which hangs
+ * can't hold up more than that many callers.
+ * <p>
+ * A caller which joins a load may get a result which was read shortly
+ * before it asked for it. That's only acceptable for lookups which
+ * would've tolerated racing with a write anyway.
+ */
+public class SingleFlight<K, V> {
+    public static final int DEFAULT_MAX_WAITERS = 1024;
+
+    private final Map<K, Flight> flights = new ConcurrentHashMap<>();
+    private final int maxWaiters;
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder deduplicated = new LongAdder();
+    private final LongAdder overflows = new LongAdder();
+
+    public SingleFlight() {
+        this(DEFAULT_MAX_WAITERS);
+    }
+
+    public SingleFlight(final int maxWaiters) {
+        if (maxWaiters < 0) {
+            throw new IllegalArgumentException("Max waiters cannot be negative");
+        }
+
+        this.maxWaiters = maxWaiters;
+    }
+
+    /**
+     * Joins the load of the key which is in flight, or starts a new one.
+     * Like the loads themselves, nothing happens until the returned
+     * {@link Uni} is subscribed to.
+     */
+    public Uni<V> execute(final K key, final Supplier<Uni<V>> loader) {
+        return Uni.createFrom().deferred(() -> {
+            calls.increment();
+
+            Flight flight = new Flight(key, Uni.createFrom().deferred(loader::get));
+            Flight inFlight = flights.putIfAbsent(key, flight);
+
+            if (inFlight == null) {
+                return flight.result;
+            }
+
+            if (inFlight.join()) {
+                deduplicated.increment();
+                return inFlight.result;
+            }
+
+            overflows.increment();
+            return loader.get();
+        });
+    }
+
+    public SingleFlightStats getStats() {
+        return new SingleFlightStats(calls.sum(), deduplicated.sum(), overflows.sum(), flights.size());
+    }
+
+    private class Flight {
+        private final Uni<V> result;
+        private final AtomicInteger waiters = new AtomicInteger();
+
+        Flight(final K key, final Uni<V> load) {
+            // removed before the result is emitted, so no one can join a
+            // load after its waiters got their result
+            this.result = load
+                    .onTermination().invoke(() -> flights.remove(key, this))
+                    .memoize().indefinitely();
+        }
+
+        boolean join() {
+            if (waiters.incrementAndGet() <= maxWaiters) {
+                return true;
+            }
+
+            waiters.decrementAndGet();
+            return false;
+        }
+    }
+}
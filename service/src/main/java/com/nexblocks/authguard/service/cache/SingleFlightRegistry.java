@@ -0,0 +1,25 @@
+package com.nexblocks.authguard.service.cache;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps track of the lookups which are coalesced so that their
+ * statistics can be exposed through the admin API.
+ */
+public class SingleFlightRegistry {
+    private static final Map<String, SingleFlight<?, ?>> flights = new ConcurrentHashMap<>();
+
+    public static void register(final String name, final SingleFlight<?, ?> flight) {
+        flights.put(name, flight);
+    }
+
+    public static Map<String, SingleFlightStats> getStats() {
+        Map<String, SingleFlightStats> stats = new TreeMap<>();
+
+        flights.forEach((name, flight) -> stats.put(name, flight.getStats()));
+
+        return stats;
+    }
+}
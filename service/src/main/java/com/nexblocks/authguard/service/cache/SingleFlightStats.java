@@ -0,0 +1,55 @@
+package com.nexblocks.authguard.service.cache;
+
+/**
+ * A point-in-time snapshot of the counters of a {@link SingleFlight}.
+ * Every call either starts a load, joins one which is in flight, or
+ * loads on its own because the load in flight has too many waiters.
+ */
+public final class SingleFlightStats {
+    private final long calls;
+    private final long deduplicated;
+    private final long overflows;
+    private final long inFlight;
+
+    public SingleFlightStats(final long calls, final long deduplicated, final long overflows,
+                             final long inFlight) {
+        this.calls = calls;
+        this.deduplicated = deduplicated;
+        this.overflows = overflows;
+        this.inFlight = inFlight;
+    }
+
+    public long getCalls() {
+        return calls;
+    }
+
+    public long getDeduplicated() {
+        return deduplicated;
+    }
+
+    public long getOverflows() {
+        return overflows;
+    }
+
+    public long getInFlight() {
+        return inFlight;
+    }
+
+    public long getLoads() {
+        return calls - deduplicated;
+    }
+
+    public double getDeduplicationRate() {
+        return calls == 0 ? 0 : (double) deduplicated / calls;
+    }
+
+    @Override
+    public String toString() {
+        return "SingleFlightStats{" +
+                "calls=" + calls +
+                ", deduplicated=" + deduplicated +
+                ", overflows=" + overflows +
+                ", inFlight=" + inFlight +
+                '}';
+    }
+}
@@ -7,6 +7,7 @@ import com.nexblocks.authguard.service.exchange.ApiKeyExchange;
 import com.nexblocks.authguard.service.exchange.KeyExchange;
 import com.nexblocks.authguard.service.keys.ApiKeyHash;
 import com.nexblocks.authguard.service.keys.ApiKeyHashProvider;
+import com.nexblocks.authguard.service.keys.ApiKeysCache;
 import com.nexblocks.authguard.service.keys.DefaultApiKeysProvider;
 import com.nexblocks.authguard.service.model.AppBO;
 import com.nexblocks.authguard.service.model.AuthResponseBO;
@@ -21,13 +22,15 @@ public class DefaultApiKeyExchange implements ApiKeyExchange {
     private final DefaultApiKeysProvider provider;
     private final ApiKeyHash apiKeyHash;
     private final ApiKeysRepository repository;
+    private final ApiKeysCache cache;
 
     @Inject
     public DefaultApiKeyExchange(final DefaultApiKeysProvider provider, final ApiKeysRepository repository,
-                                 final ApiKeyHashProvider hashProvider) {
+                                 final ApiKeyHashProvider hashProvider, final ApiKeysCache cache) {
         this.provider = provider;
         this.repository = repository;
-        this.apiKeyHash = hashProvider.getHash();;
+        this.apiKeyHash = hashProvider.getHash();
+        this.cache = cache;
     }
 
     @Override
@@ -42,10 +45,29 @@ public class DefaultApiKeyExchange implements ApiKeyExchange {
 
     @Override
     public Uni<Optional<Long>> verifyAndGetAppId(final String apiKey) {
-        return repository.getByKey(apiKeyHash.hash(apiKey))
-                .map(optional -> optional
-                        .filter(this::isValid)
-                        .map(ApiKeyDO::getAppId));
+        String hashedKey = apiKeyHash.hash(apiKey);
+        Optional<ApiKeyDO> cached = cache.getKey(hashedKey);
+
+        if (cached.isPresent()) {
+            return Uni.createFrom().item(cached.filter(this::isValid).map(ApiKeyDO::getAppId));
+        }
+
+        if (cache.isKnownMissing(hashedKey)) {
+            return Uni.createFrom().item(Optional.empty());
+        }
+
+        return repository.getByKey(hashedKey)
+                .map(optional -> {
+                    if (optional.isPresent()) {
+                        cache.putKey(optional.get());
+                    } else {
+                        cache.putMissing(hashedKey);
+                    }
+
+                    return optional
+                            .filter(this::isValid)
+                            .map(ApiKeyDO::getAppId);
+                });
     }
 
     @Override
@@ -276,7 +276,12 @@ public class AccountCredentialsServiceImpl implements AccountCredentialsService
                                         });
                             })
                             .flatMap(ignored -> accountsService.getById(account.getId(), domain)
-                                    .flatMap(AsyncUtils::uniFromAccountOptional));
+                                    .flatMap(AsyncUtils::uniFromAccountOptional)
+                                    .map(result -> {
+                                        messageBus.publish(CREDENTIALS_CHANNEL, Messages.updated(result, domain));
+
+                                        return result;
+                                    }));
                 });
     }
 
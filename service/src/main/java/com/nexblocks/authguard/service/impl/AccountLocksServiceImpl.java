@@ -1,11 +1,18 @@
 package com.nexblocks.authguard.service.impl;
 
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import com.nexblocks.authguard.config.ConfigContext;
 import com.nexblocks.authguard.dal.cache.AccountLocksRepository;
 import com.nexblocks.authguard.dal.model.AccountLockDO;
 import com.nexblocks.authguard.service.AccountLocksService;
+import com.nexblocks.authguard.service.cache.CachesRegistry;
+import com.nexblocks.authguard.service.cache.ExpiringCache;
+import com.nexblocks.authguard.service.config.CacheConfig;
+import com.nexblocks.authguard.service.config.ConfigParser;
 import com.nexblocks.authguard.service.mappers.ServiceMapper;
 import com.nexblocks.authguard.service.model.AccountLockBO;
-import com.google.inject.Inject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -16,17 +23,45 @@ import io.smallrye.mutiny.Uni;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
+/**
+ * If the cache is enabled, the active locks are indexed in memory by
+ * account ID. The index holds the latest expiry of each locked account,
+ * and also remembers accounts which had no active lock for the duration
+ * of the cache TTL. It's updated on every create and delete, and locked
+ * accounts drop out of it on their own once their lock expires.
+ */
+@Singleton
 public class AccountLocksServiceImpl implements AccountLocksService {
     private static final Logger LOG = LoggerFactory.getLogger(AccountLocksServiceImpl.class);
 
+    private static final String CACHE_NAME = "accountLocks";
+    private static final Instant NOT_LOCKED = Instant.EPOCH;
+
     private final AccountLocksRepository accountLocksRepository;
     private final ServiceMapper serviceMapper;
+    private final ExpiringCache<Long, Instant> activeLocks;
 
     @Inject
     public AccountLocksServiceImpl(final AccountLocksRepository accountLocksRepository,
-                                   final ServiceMapper serviceMapper) {
+                                   final ServiceMapper serviceMapper,
+                                   final @Named("accountLocks") ConfigContext configContext) {
+        this(accountLocksRepository, serviceMapper, configContext.asConfigBean(CacheConfig.class));
+    }
+
+    public AccountLocksServiceImpl(final AccountLocksRepository accountLocksRepository,
+                                   final ServiceMapper serviceMapper,
+                                   final CacheConfig cacheConfig) {
         this.accountLocksRepository = accountLocksRepository;
         this.serviceMapper = serviceMapper;
+
+        if (cacheConfig.enabled()) {
+            this.activeLocks = new ExpiringCache<>(cacheConfig.getMaxSize(),
+                    ConfigParser.parseDuration(cacheConfig.getTtl()));
+
+            CachesRegistry.register(CACHE_NAME, activeLocks);
+        } else {
+            this.activeLocks = null;
+        }
     }
 
     @Override
@@ -36,7 +71,10 @@ public class AccountLocksServiceImpl implements AccountLocksService {
         LOG.info("Locking an account. accountId={}, expiresAt={}", accountLock.getAccountId(), accountLock.getExpiresAt());
 
         return accountLocksRepository.save(accountLockDO)
-                .map(serviceMapper::toBO);
+                .map(created -> {
+                    indexLock(created.getAccountId(), created.getExpiresAt());
+                    return serviceMapper.toBO(created);
+                });
     }
 
     @Override
@@ -52,9 +90,62 @@ public class AccountLocksServiceImpl implements AccountLocksService {
                 .map(Function.identity());
     }
 
+    @Override
+    public Uni<Boolean> hasActiveLock(final long accountId) {
+        if (activeLocks != null) {
+            final Optional<Instant> indexed = activeLocks.get(accountId);
+
+            if (indexed.isPresent()) {
+                return Uni.createFrom().item(indexed.get().isAfter(Instant.now()));
+            }
+        }
+
+        final Instant now = Instant.now();
+
+        return accountLocksRepository.findByAccountId(accountId)
+                .map(locks -> {
+                    final Optional<Instant> latestExpiry = locks.stream()
+                            .map(AccountLockDO::getExpiresAt)
+                            .filter(expiresAt -> expiresAt.isAfter(now))
+                            .max(Instant::compareTo);
+
+                    if (activeLocks != null) {
+                        if (latestExpiry.isPresent()) {
+                            activeLocks.put(accountId, latestExpiry.get(), latestExpiry.get());
+                        } else if (activeLocks.get(accountId).isEmpty()) {
+                            // a lock created while loading takes precedence
+                            activeLocks.put(accountId, NOT_LOCKED);
+                        }
+                    }
+
+                    return latestExpiry.isPresent();
+                });
+    }
+
     @Override
     public Uni<Optional<AccountLockBO>> delete(final long lockId) {
         return accountLocksRepository.delete(lockId)
-                .map(lock -> lock.map(serviceMapper::toBO));
+                .map(lock -> {
+                    // the account might have other locks, so it's loaded again on the next check
+                    lock.ifPresent(deleted -> {
+                        if (activeLocks != null) {
+                            activeLocks.invalidate(deleted.getAccountId());
+                        }
+                    });
+
+                    return lock.map(serviceMapper::toBO);
+                });
+    }
+
+    private void indexLock(final long accountId, final Instant expiresAt) {
+        if (activeLocks == null || expiresAt == null) {
+            return;
+        }
+
+        final Instant current = activeLocks.get(accountId).orElse(NOT_LOCKED);
+
+        if (expiresAt.isAfter(current)) {
+            activeLocks.put(accountId, expiresAt, expiresAt);
+        }
     }
 }
@@ -1,6 +1,7 @@
 package com.nexblocks.authguard.service.impl;
 
 import com.google.inject.Inject;
+import com.google.inject.Singleton;
 import com.google.inject.name.Named;
 import com.nexblocks.authguard.config.ConfigContext;
 import com.nexblocks.authguard.dal.model.AccountDO;
@@ -10,6 +11,8 @@ import com.nexblocks.authguard.emb.MessageBus;
 import com.nexblocks.authguard.emb.Messages;
 import com.nexblocks.authguard.service.AccountsService;
 import com.nexblocks.authguard.service.IdempotencyService;
+import com.nexblocks.authguard.service.cache.SingleFlight;
+import com.nexblocks.authguard.service.cache.SingleFlightRegistry;
 import com.nexblocks.authguard.service.PermissionsService;
 import com.nexblocks.authguard.service.RolesService;
 import com.nexblocks.authguard.service.config.AccountConfig;
@@ -30,6 +33,7 @@ import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+@Singleton
 public class AccountsServiceImpl implements AccountsService {
     private static final Logger LOG = LoggerFactory.getLogger(AccountsServiceImpl.class);
 
@@ -45,6 +49,8 @@ public class AccountsServiceImpl implements AccountsService {
     private final ServiceMapper serviceMapper;
     private final MessageBus messageBus;
     private final PersistenceService<AccountBO, AccountDO, AccountsRepository> persistenceService;
+    private final SingleFlight<Long, Optional<AccountBO>> lookupsById = new SingleFlight<>();
+    private final SingleFlight<List<String>, Optional<AccountDO>> lookupsByIdentifier = new SingleFlight<>();
 
     @Inject
     public AccountsServiceImpl(final AccountsRepository accountsRepository,
@@ -66,6 +72,9 @@ public class AccountsServiceImpl implements AccountsService {
 
         this.persistenceService = new PersistenceService<>(accountsRepository, messageBus,
                 serviceMapper::toDO, serviceMapper::toBO, ACCOUNTS_CHANNEL);
+
+        SingleFlightRegistry.register("accounts.id", lookupsById);
+        SingleFlightRegistry.register("accounts.identifier", lookupsByIdentifier);
     }
 
     @Override
@@ -120,7 +129,7 @@ public class AccountsServiceImpl implements AccountsService {
 
     @Override
     public Uni<Optional<AccountBO>> getById(final long accountId, final String domain) {
-        return persistenceService.getById(accountId)
+        return findById(accountId)
                 .map(opt -> opt
                         .filter(account -> Objects.equals(account.getDomain(), domain))
                         .map(credentialsManager::removeSensitiveInformation));
@@ -128,7 +137,7 @@ public class AccountsServiceImpl implements AccountsService {
 
     @Override
     public Uni<AccountBO> getByIdUnsafe(final long id, final String domain) {
-        return persistenceService.getById(id)
+        return findById(id)
                 .flatMap(opt -> opt
                         .filter(account -> Objects.equals(account.getDomain(), domain))
                         .map(item -> Uni.createFrom().item(item))
@@ -137,7 +146,21 @@ public class AccountsServiceImpl implements AccountsService {
 
     @Override
     public Uni<Optional<AccountBO>> getByIdUnchecked(final long id) {
-        return persistenceService.getById(id);
+        return findById(id);
+    }
+
+    /*
+     * Lookups by ID and by identifier are the ones which come in bursts
+     * (e.g. many login attempts for the same account), so concurrent ones
+     * share a single query.
+     */
+    private Uni<Optional<AccountBO>> findById(final long id) {
+        return lookupsById.execute(id, () -> persistenceService.getById(id));
+    }
+
+    private Uni<Optional<AccountDO>> findByIdentifier(final String identifier, final String domain) {
+        return lookupsByIdentifier.execute(Arrays.asList(identifier, domain),
+                () -> accountsRepository.findByIdentifier(identifier, domain));
     }
 
     @Override
@@ -167,7 +190,7 @@ public class AccountsServiceImpl implements AccountsService {
 
     @Override
     public Uni<Optional<AccountBO>> getByIdentifier(final String identifier, final String domain) {
-        return accountsRepository.findByIdentifier(identifier, domain)
+        return findByIdentifier(identifier, domain)
                 .map(opt -> opt
                         .map(serviceMapper::toBO)
                         .map(credentialsManager::removeSensitiveInformation));
@@ -175,7 +198,7 @@ public class AccountsServiceImpl implements AccountsService {
 
     @Override
     public Uni<Optional<AccountBO>> getByIdentifierUnsafe(final String identifier, final String domain) {
-        return accountsRepository.findByIdentifier(identifier, domain)
+        return findByIdentifier(identifier, domain)
                 .map(opt -> opt.map(serviceMapper::toBO));
     }
 
@@ -13,6 +13,7 @@ import com.nexblocks.authguard.service.exchange.ApiKeyExchange;
 import com.nexblocks.authguard.service.exchange.KeyExchange;
 import com.nexblocks.authguard.service.keys.ApiKeyHash;
 import com.nexblocks.authguard.service.keys.ApiKeyHashProvider;
+import com.nexblocks.authguard.service.keys.ApiKeysCache;
 import com.nexblocks.authguard.service.mappers.ServiceMapper;
 import com.nexblocks.authguard.service.model.ApiKeyBO;
 import com.nexblocks.authguard.service.model.AppBO;
@@ -26,6 +27,7 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import io.smallrye.mutiny.Uni;
 import java.util.function.Function;
@@ -42,6 +44,7 @@ public class ApiKeysServiceImpl implements ApiKeysService {
     private final ApiKeysRepository apiKeysRepository;
     private final ApiKeyHash apiKeyHash;
     private final ServiceMapper serviceMapper;
+    private final ApiKeysCache cache;
     private final PersistenceService<ApiKeyBO, ApiKeyDO, ApiKeysRepository> persistenceService;
 
     @Inject
@@ -51,12 +54,14 @@ public class ApiKeysServiceImpl implements ApiKeysService {
                               final ApiKeysRepository apiKeysRepository,
                               final ApiKeyHashProvider apiKeyHashProvider,
                               final MessageBus messageBus,
-                              final ServiceMapper serviceMapper) {
+                              final ServiceMapper serviceMapper,
+                              final ApiKeysCache cache) {
         this.applicationsService = applicationsService;
         this.clientsService = clientsService;
         this.apiKeysRepository = apiKeysRepository;
         this.apiKeyHash = apiKeyHashProvider.getHash();
         this.serviceMapper = serviceMapper;
+        this.cache = cache;
 
         this.apiKeyExchangesByType = mapExchanges(apiKeyExchanges);
 
@@ -83,7 +88,12 @@ public class ApiKeysServiceImpl implements ApiKeysService {
     public Uni<Optional<ApiKeyBO>> delete(final long id, final String domain) {
         LOG.info("API key delete request. accountId={}", id);
 
-        return getById(id, domain).flatMap(ignored -> persistenceService.delete(id));
+        return getById(id, domain).flatMap(ignored -> persistenceService.delete(id))
+                .map(deleted -> {
+                    deleted.ifPresent(apiKey -> cache.invalidateKey(apiKey.getKey()));
+
+                    return deleted;
+                });
     }
 
     @Override
@@ -166,7 +176,7 @@ public class ApiKeysServiceImpl implements ApiKeysService {
                         return Uni.createFrom().failure(new ServiceException(ErrorCode.INVALID_TOKEN, "Token is invalid or expired"));
                     }
 
-                    return applicationsService.getById(optional.get(), domain);
+                    return getAppById(optional.get(), domain);
                 })
                 .flatMap(AsyncUtils::uniFromAppOptional);
     }
@@ -181,11 +191,41 @@ public class ApiKeysServiceImpl implements ApiKeysService {
                         return Uni.createFrom().failure(new ServiceException(ErrorCode.INVALID_TOKEN, "Token is invalid or expired"));
                     }
 
-                    return clientsService.getByIdUnchecked(optional.get());
+                    return getClientById(optional.get());
                 })
                 .flatMap(AsyncUtils::uniFromClientOptional);
     }
 
+    private Uni<Optional<AppBO>> getAppById(final long appId, final String domain) {
+        Optional<AppBO> cached = cache.getApp(appId);
+
+        if (cached.isPresent()) {
+            return Uni.createFrom().item(cached.filter(app -> Objects.equals(app.getDomain(), domain)));
+        }
+
+        return applicationsService.getById(appId, domain)
+                .map(app -> {
+                    app.ifPresent(cache::putApp);
+
+                    return app;
+                });
+    }
+
+    private Uni<Optional<ClientBO>> getClientById(final long clientId) {
+        Optional<ClientBO> cached = cache.getClient(clientId);
+
+        if (cached.isPresent()) {
+            return Uni.createFrom().item(cached);
+        }
+
+        return clientsService.getByIdUnchecked(clientId)
+                .map(client -> {
+                    client.ifPresent(cache::putClient);
+
+                    return client;
+                });
+    }
+
     private ApiKeyBO mapApiKey(final long appId, final String key, final String type, boolean forClient,
                                final String name, final Instant expiresAt) {
         ApiKeyBO.Builder builder = ApiKeyBO.builder()
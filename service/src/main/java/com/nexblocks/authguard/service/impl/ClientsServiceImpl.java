@@ -1,6 +1,7 @@
 package com.nexblocks.authguard.service.impl;
 
 import com.google.inject.Inject;
+import com.google.inject.Singleton;
 import com.nexblocks.authguard.dal.model.ClientDO;
 import com.nexblocks.authguard.dal.persistence.ClientsRepository;
 import com.nexblocks.authguard.dal.persistence.LongPage;
@@ -8,6 +9,8 @@ import com.nexblocks.authguard.emb.MessageBus;
 import com.nexblocks.authguard.service.AccountsService;
 import com.nexblocks.authguard.service.ClientsService;
 import com.nexblocks.authguard.service.IdempotencyService;
+import com.nexblocks.authguard.service.cache.SingleFlight;
+import com.nexblocks.authguard.service.cache.SingleFlightRegistry;
 import com.nexblocks.authguard.service.exceptions.ServiceNotFoundException;
 import com.nexblocks.authguard.service.exceptions.codes.ErrorCode;
 import com.nexblocks.authguard.service.mappers.ServiceMapper;
@@ -23,6 +26,7 @@ import java.util.Optional;
 import io.smallrye.mutiny.Uni;
 import java.util.stream.Collectors;
 
+@Singleton
 public class ClientsServiceImpl implements ClientsService {
 
     private static final Logger LOG = LoggerFactory.getLogger(ClientsServiceImpl.class);
@@ -34,6 +38,7 @@ public class ClientsServiceImpl implements ClientsService {
     private final IdempotencyService idempotencyService;
     private final ServiceMapper serviceMapper;
     private final PersistenceService<ClientBO, ClientDO, ClientsRepository> persistenceService;
+    private final SingleFlight<Long, Optional<ClientBO>> lookupsById = new SingleFlight<>();
 
     @Inject
     public ClientsServiceImpl(final ClientsRepository clientsRepository,
@@ -48,6 +53,8 @@ public class ClientsServiceImpl implements ClientsService {
 
         this.persistenceService = new PersistenceService<>(clientsRepository, messageBus,
                 serviceMapper::toDO, serviceMapper::toBO, CLIENTS_CHANNEL);
+
+        SingleFlightRegistry.register("clients.id", lookupsById);
     }
 
     @Override
@@ -74,13 +81,21 @@ public class ClientsServiceImpl implements ClientsService {
 
     @Override
     public Uni<Optional<ClientBO>> getById(final long id, final String domain) {
-        return persistenceService.getById(id)
+        return findById(id)
                 .map(opt -> opt.filter(client -> Objects.equals(client.getDomain(), domain)));
     }
 
     @Override
     public Uni<Optional<ClientBO>> getByIdUnchecked(final long id) {
-        return persistenceService.getById(id);
+        return findById(id);
+    }
+
+    /*
+     * Clients are looked up by ID on every request they make, so
+     * concurrent lookups of the same one share a single query.
+     */
+    private Uni<Optional<ClientBO>> findById(final long id) {
+        return lookupsById.execute(id, () -> persistenceService.getById(id));
     }
 
     @Override
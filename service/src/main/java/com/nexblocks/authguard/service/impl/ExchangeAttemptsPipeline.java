@@ -0,0 +1,218 @@
+package com.nexblocks.authguard.service.impl;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import com.nexblocks.authguard.config.ConfigContext;
+import com.nexblocks.authguard.dal.model.ExchangeAttemptDO;
+import com.nexblocks.authguard.dal.persistence.ExchangeAttemptsRepository;
+import com.nexblocks.authguard.service.config.ConfigParser;
+import com.nexblocks.authguard.service.config.ExchangeAttemptsConfig;
+import com.nexblocks.authguard.service.mappers.ServiceMapper;
+import com.nexblocks.authguard.service.model.ExchangeAttemptBO;
+import com.nexblocks.authguard.service.util.ID;
+import com.nexblocks.authguard.service.util.MpscRingBuffer;
+import io.smallrye.mutiny.Uni;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records exchange attempts without a storage round trip on the request
+ * path. Attempts are put in a bounded ring buffer, and a background
+ * thread writes them in batches using
+ * {@link ExchangeAttemptsRepository#saveAll(List)}, either once a full
+ * batch is waiting or every flush interval. If the buffer is full, the
+ * attempt is dropped and counted. Whatever is in the buffer is written
+ * when the process shuts down.
+ */
+@Singleton
+public class ExchangeAttemptsPipeline {
+    private static final Logger LOG = LoggerFactory.getLogger(ExchangeAttemptsPipeline.class);
+
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(10);
+
+    private final ExchangeAttemptsRepository exchangeAttemptsRepository;
+    private final ServiceMapper serviceMapper;
+    private final MpscRingBuffer<ExchangeAttemptBO> buffer;
+    private final int batchSize;
+    private final ScheduledExecutorService flusher;
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private long reportedDrops = 0;
+
+    @Inject
+    public ExchangeAttemptsPipeline(final @Named("exchangeAttempts") ConfigContext configContext,
+                                    final ExchangeAttemptsRepository exchangeAttemptsRepository,
+                                    final ServiceMapper serviceMapper) {
+        this(configContext.asConfigBean(ExchangeAttemptsConfig.class), exchangeAttemptsRepository, serviceMapper);
+
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close, "exchange-attempts-shutdown"));
+    }
+
+    public ExchangeAttemptsPipeline(final ExchangeAttemptsConfig config,
+                                    final ExchangeAttemptsRepository exchangeAttemptsRepository,
+                                    final ServiceMapper serviceMapper) {
+        this.exchangeAttemptsRepository = exchangeAttemptsRepository;
+        this.serviceMapper = serviceMapper;
+        this.buffer = new MpscRingBuffer<>(config.getBufferSize());
+        this.batchSize = config.getBatchSize();
+
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "exchange-attempts-flusher");
+            thread.setDaemon(true);
+
+            return thread;
+        });
+
+        long flushInterval = ConfigParser.parseDuration(config.getFlushInterval()).toMillis();
+        flusher.scheduleWithFixedDelay(this::flushSafely, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Queues an attempt to be written. Never blocks.
+     *
+     * @return False if the attempt was dropped because the buffer is full.
+     */
+    public boolean submit(final ExchangeAttemptBO attempt) {
+        ExchangeAttemptBO stamped = attempt.getCreatedAt() == null
+                ? attempt.withCreatedAt(Instant.now())
+                : attempt;
+
+        if (!buffer.offer(stamped)) {
+            dropped.increment();
+            return false;
+        }
+
+        submitted.increment();
+
+        if (buffer.size() >= batchSize && flushScheduled.compareAndSet(false, true)) {
+            try {
+                flusher.execute(this::flushSafely);
+            } catch (final RejectedExecutionException e) {
+                // closing, it will be written by close()
+            }
+        }
+
+        return true;
+    }
+
+    public long getSubmitted() {
+        return submitted.sum();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public long getWritten() {
+        return written.sum();
+    }
+
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    public int getPending() {
+        return buffer.size();
+    }
+
+    /**
+     * Writes everything in the buffer. Flushes are serialized, since the
+     * buffer only supports a single consumer; the flusher thread is the
+     * only caller outside of tests.
+     */
+    void flush() {
+        drain().forEach(write -> write.subscribe().with(ignored -> { }));
+    }
+
+    /**
+     * Stops the flusher and writes everything in the buffer, waiting for
+     * the writes to finish.
+     */
+    public void close() {
+        flusher.shutdown();
+
+        try {
+            if (!flusher.awaitTermination(SHUTDOWN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+                LOG.warn("Timed out waiting for the exchange attempts flusher to stop");
+            }
+
+            List<Uni<Void>> writes = drain();
+
+            if (!writes.isEmpty()) {
+                Uni.join().all(writes).andFailFast()
+                        .await().atMost(SHUTDOWN_TIMEOUT);
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (final RuntimeException e) {
+            LOG.error("Failed to flush exchange attempts", e);
+        }
+    }
+
+    private synchronized List<Uni<Void>> drain() {
+        flushScheduled.set(false);
+
+        List<Uni<Void>> writes = new ArrayList<>();
+        List<ExchangeAttemptDO> batch = new ArrayList<>(batchSize);
+
+        while (buffer.drain(attempt -> batch.add(toDO(attempt)), batchSize) > 0) {
+            writes.add(write(new ArrayList<>(batch)));
+            batch.clear();
+        }
+
+        long drops = dropped.sum();
+
+        if (drops > reportedDrops) {
+            LOG.warn("Exchange attempts buffer overflowed; {} attempts were dropped ({} in total)",
+                    drops - reportedDrops, drops);
+            reportedDrops = drops;
+        }
+
+        return writes;
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (final Exception e) {
+            LOG.error("Failed to flush exchange attempts", e);
+        }
+    }
+
+    private Uni<Void> write(final List<ExchangeAttemptDO> batch) {
+        return exchangeAttemptsRepository.saveAll(batch)
+                .invoke(saved -> written.add(batch.size()))
+                .onFailure().recoverWithItem(e -> {
+                    failed.add(batch.size());
+                    LOG.error("Failed to write a batch of {} exchange attempts", batch.size(), e);
+                    return null;
+                })
+                .replaceWithVoid();
+    }
+
+    private ExchangeAttemptDO toDO(final ExchangeAttemptBO attempt) {
+        ExchangeAttemptDO mapped = serviceMapper.toDO(attempt);
+
+        mapped.setId(ID.generate());
+        mapped.setDeleted(false);
+        mapped.setLastModified(attempt.getCreatedAt());
+
+        return mapped;
+    }
+}
@@ -11,8 +11,8 @@ import com.google.inject.Inject;
 import io.smallrye.mutiny.Uni;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
-import io.smallrye.mutiny.Uni;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -21,14 +21,17 @@ public class ExchangeAttemptsServiceImpl implements ExchangeAttemptsService {
 
     private final ExchangeAttemptsRepository exchangeAttemptsRepository;
     private final ServiceMapper serviceMapper;
+    private final ExchangeAttemptsPipeline pipeline;
     private final PersistenceService<ExchangeAttemptBO, ExchangeAttemptDO, ExchangeAttemptsRepository> persistenceService;
 
     @Inject
     public ExchangeAttemptsServiceImpl(final ExchangeAttemptsRepository exchangeAttemptsRepository,
                                        final ServiceMapper serviceMapper,
-                                       final MessageBus messageBus) {
+                                       final MessageBus messageBus,
+                                       final ExchangeAttemptsPipeline pipeline) {
         this.exchangeAttemptsRepository = exchangeAttemptsRepository;
         this.serviceMapper = serviceMapper;
+        this.pipeline = pipeline;
 
         this.persistenceService = new PersistenceService<>(exchangeAttemptsRepository, messageBus, serviceMapper::toDO,
                 serviceMapper::toBO, EXCHANGE_ATTEMPTS_CHANNEL);
@@ -39,6 +42,11 @@ public class ExchangeAttemptsServiceImpl implements ExchangeAttemptsService {
         return persistenceService.create(entity);
     }
 
+    @Override
+    public void record(final ExchangeAttemptBO attempt) {
+        pipeline.submit(attempt);
+    }
+
     @Override
     public Uni<Optional<ExchangeAttemptBO>> getById(final long id, String domain) {
         return persistenceService.getById(id);
@@ -55,16 +63,12 @@ public class ExchangeAttemptsServiceImpl implements ExchangeAttemptsService {
     }
 
     @Override
-    public Collection<ExchangeAttemptBO> getByEntityId(final long entityId) {
-        return exchangeAttemptsRepository.findByEntity(entityId)
-                .map(collection -> collection.stream()
-                        .map(serviceMapper::toBO)
-                        .collect(Collectors.toList())
-                ).subscribeAsCompletionStage().join();
+    public Uni<List<ExchangeAttemptBO>> getByEntityId(final long entityId) {
+        return doFind(() -> exchangeAttemptsRepository.findByEntity(entityId));
     }
 
     @Override
-    public Collection<ExchangeAttemptBO> find(final ExchangeAttemptsQueryBO query) {
+    public Uni<List<ExchangeAttemptBO>> find(final ExchangeAttemptsQueryBO query) {
         /*
          * The only three options are:
          * 1. only entityId is specified
@@ -84,12 +88,11 @@ public class ExchangeAttemptsServiceImpl implements ExchangeAttemptsService {
                 .findByEntityAndTimestampAndExchange(query.getEntityId(), query.getFromTimestamp(), query.getFromExchange()));
     }
 
-    private Collection<ExchangeAttemptBO> doFind(
+    private Uni<List<ExchangeAttemptBO>> doFind(
             final Supplier<Uni<Collection<ExchangeAttemptDO>>> supplier) {
         return supplier.get()
                 .map(collection -> collection.stream()
                         .map(serviceMapper::toBO)
-                        .collect(Collectors.toList())
-                ).subscribeAsCompletionStage().join();
+                        .collect(Collectors.toList()));
     }
 }
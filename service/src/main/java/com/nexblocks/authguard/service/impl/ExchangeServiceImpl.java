@@ -109,7 +109,7 @@ public class ExchangeServiceImpl implements ExchangeService {
                 .entityId(tokens.getEntityId())
                 .build();
 
-        exchangeAttemptsService.create(attempt);
+        exchangeAttemptsService.record(attempt);
 
         emb.publish(CHANNEL, Messages.auth(authMessage, authRequest.getDomain()));
     }
@@ -131,7 +131,7 @@ public class ExchangeServiceImpl implements ExchangeService {
                         .entityId(sae.getEntityId())
                         .build();
 
-                exchangeAttemptsService.create(attempt);
+                exchangeAttemptsService.record(attempt);
             }
 
             emb.publish(CHANNEL, Messages.auth(authMessage, authRequest.getDomain()));
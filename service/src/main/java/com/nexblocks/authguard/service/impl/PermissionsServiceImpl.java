@@ -5,6 +5,7 @@ import com.google.inject.Inject;
 import com.nexblocks.authguard.dal.model.PermissionDO;
 import com.nexblocks.authguard.dal.persistence.LongPage;
 import com.nexblocks.authguard.dal.persistence.Page;
+import com.nexblocks.authguard.dal.persistence.PermissionKey;
 import com.nexblocks.authguard.dal.persistence.PermissionsRepository;
 import com.nexblocks.authguard.emb.MessageBus;
 import com.nexblocks.authguard.service.PermissionsService;
@@ -82,26 +83,20 @@ public class PermissionsServiceImpl implements PermissionsService {
 
     @Override
     public Uni<List<PermissionBO>> validate(final Collection<PermissionBO> permissions, final String domain, EntityType entityType) {
-        List<Uni<PermissionBO>> unis = permissions.stream()
-                .map(permission -> permissionsRepository.search(permission.getGroup(), permission.getName(), domain)
-                        .map(opt -> opt
-                                .filter(perm -> switch (entityType) {
-                                    case ACCOUNT -> perm.isForAccounts();
-                                    case APPLICATION -> perm.isForApplications();
-                                    default -> false;
-                                })
-                                .map(serviceMapper::toBO)
-                                .orElse(null)))
-                .toList();
-
-        if (unis.isEmpty()) {
+        if (permissions.isEmpty()) {
             return Uni.createFrom().item(Collections.emptyList());
         }
 
-        return Uni.combine().all().unis(unis)
-                .with(results -> results.stream()
-                        .map(obj -> (PermissionBO) obj) // ensure proper type casting
+        return searchAll(permissions, domain)
+                .map(found -> permissions.stream()
+                        .map(permission -> found.get(PermissionKey.of(permission.getGroup(), permission.getName())))
                         .filter(Objects::nonNull)
+                        .filter(perm -> switch (entityType) {
+                            case ACCOUNT -> perm.isForAccounts();
+                            case APPLICATION -> perm.isForApplications();
+                            default -> false;
+                        })
+                        .map(serviceMapper::toBO)
                         .collect(Collectors.toList()));
     }
 
@@ -128,6 +123,60 @@ public class PermissionsServiceImpl implements PermissionsService {
                 .map(opt -> opt.map(serviceMapper::toBO));
     }
 
+    @Override
+    public Uni<List<PermissionBO>> getMultiple(final Collection<PermissionBO> permissions, final String domain) {
+        if (permissions.isEmpty()) {
+            return Uni.createFrom().item(Collections.emptyList());
+        }
+
+        return searchAll(permissions, domain)
+                .map(found -> found.values().stream()
+                        .map(serviceMapper::toBO)
+                        .collect(Collectors.toList()));
+    }
+
+    @Override
+    public Uni<List<PermissionBO>> createAll(final Collection<PermissionBO> permissions, final String domain) {
+        LOG.debug("New permissions request. permissions={}, domain={}",
+                permissions.stream().map(PermissionBO::getFullName).toList(), domain);
+
+        if (permissions.isEmpty()) {
+            return Uni.createFrom().item(Collections.emptyList());
+        }
+
+        return searchAll(permissions, domain)
+                .flatMap(found -> {
+                    if (!found.isEmpty()) {
+                        return Uni.createFrom().failure(new ServiceConflictException(ErrorCode.PERMISSION_ALREADY_EXIST,
+                                "Permissions " + found.keySet() + " already exist"));
+                    }
+
+                    Set<String> seen = new HashSet<>();
+
+                    return persistenceService.createAll(permissions.stream()
+                            .filter(permission -> seen.add(permission.getFullName()))
+                            .map(permission -> permission.withDomain(domain))
+                            .toList());
+                });
+    }
+
+    /**
+     * Looks up all the permissions in a single call to the repository.
+     */
+    private Uni<Map<PermissionKey, PermissionDO>> searchAll(final Collection<PermissionBO> permissions,
+                                                            final String domain) {
+        List<PermissionKey> keys = permissions.stream()
+                .map(permission -> PermissionKey.of(permission.getGroup(), permission.getName()))
+                .toList();
+
+        return permissionsRepository.searchAll(keys, domain)
+                .map(found -> found.stream()
+                        .collect(Collectors.toMap(
+                                permission -> PermissionKey.of(permission.getPermissionGroup(), permission.getName()),
+                                permission -> permission,
+                                (first, second) -> first)));
+    }
+
     @Override
     public Uni<Optional<PermissionBO>> delete(final long id, String domain) {
         LOG.info("Request to delete permission. permissionId={}", id);
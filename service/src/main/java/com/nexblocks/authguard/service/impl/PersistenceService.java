@@ -8,6 +8,7 @@ import com.nexblocks.authguard.service.model.Entity;
 import com.nexblocks.authguard.service.util.ID;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import io.smallrye.mutiny.Uni;
@@ -53,6 +54,39 @@ public class PersistenceService<BO extends Entity, DO extends AbstractDO, R exte
                 });
     }
 
+    /**
+     * Creates all the entities in a single call to the repository. A
+     * message is still published for each one of them.
+     */
+    public Uni<List<BO>> createAll(final List<BO> entities) {
+        final Instant now = Instant.now();
+        final List<DO> mappedDos = entities.stream()
+                .map(entity -> {
+                    final DO mappedDo = boToDo.apply(entity);
+
+                    mappedDo.setId(ID.generate());
+                    mappedDo.setDeleted(false);
+                    mappedDo.setCreatedAt(now);
+                    mappedDo.setLastModified(now);
+
+                    return mappedDo;
+                })
+                .toList();
+
+        return repository.saveAll(mappedDos)
+                .map(persisted -> persisted.stream()
+                        .map(persistedDo -> {
+                            final BO persistedBo = doToBo.apply(persistedDo);
+
+                            if (channel != null) {
+                                messageBus.publish(channel, Messages.created(persistedBo, persistedBo.getDomain()));
+                            }
+
+                            return persistedBo;
+                        })
+                        .toList());
+    }
+
     public Uni<Optional<BO>> getById(final long id) {
         return repository.getById(id)
                 .map(opt -> opt.map(doToBo));
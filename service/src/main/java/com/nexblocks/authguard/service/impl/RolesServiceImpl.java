@@ -18,9 +18,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import io.smallrye.mutiny.Uni;
 import java.util.stream.Collectors;
 
@@ -69,6 +72,36 @@ public class RolesServiceImpl implements RolesService {
                 });
     }
 
+    @Override
+    public Uni<List<RoleBO>> createAll(final Collection<RoleBO> roles, final String domain) {
+        final List<String> names = roles.stream().map(RoleBO::getName).toList();
+
+        LOG.debug("New roles request. roles={}, domain={}", names, domain);
+
+        if (roles.isEmpty()) {
+            return Uni.createFrom().item(Collections.emptyList());
+        }
+
+        return rolesRepository.getMultiple(names, domain)
+                .flatMap(existing -> {
+                    if (!existing.isEmpty()) {
+                        List<String> existingNames = existing.stream().map(RoleDO::getName).toList();
+
+                        LOG.info("Roles already exist. roles={}, domain={}", existingNames, domain);
+
+                        return Uni.createFrom().failure(new ServiceConflictException(ErrorCode.ROLE_ALREADY_EXISTS,
+                                "Roles " + existingNames + " already exist"));
+                    }
+
+                    Set<String> seen = new HashSet<>();
+
+                    return persistenceService.createAll(roles.stream()
+                            .filter(role -> seen.add(role.getName()))
+                            .map(role -> role.withDomain(domain))
+                            .toList());
+                });
+    }
+
     @Override
     public Uni<Optional<RoleBO>> getById(final long id, final String domain) {
         return persistenceService.getById(id)
@@ -106,6 +139,18 @@ public class RolesServiceImpl implements RolesService {
                 .map(optional -> optional.map(serviceMapper::toBO));
     }
 
+    @Override
+    public Uni<List<RoleBO>> getRolesByNames(final Collection<String> names, final String domain) {
+        if (names.isEmpty()) {
+            return Uni.createFrom().item(Collections.emptyList());
+        }
+
+        return rolesRepository.getMultiple(names, domain)
+                .map(found -> found.stream()
+                        .map(serviceMapper::toBO)
+                        .collect(Collectors.toList()));
+    }
+
     @Override
     public Uni<List<String>> verifyRoles(final Collection<String> roles, final String domain, EntityType entityType) {
         return rolesRepository.getMultiple(roles, domain)
@@ -1,9 +1,16 @@
 package com.nexblocks.authguard.service.impl;
 
 import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import com.nexblocks.authguard.config.ConfigContext;
 import com.nexblocks.authguard.dal.cache.SessionsRepository;
 import com.nexblocks.authguard.dal.model.SessionDO;
 import com.nexblocks.authguard.service.TrackingSessionsService;
+import com.nexblocks.authguard.service.cache.CachesRegistry;
+import com.nexblocks.authguard.service.cache.ExpiringCache;
+import com.nexblocks.authguard.service.config.CacheConfig;
+import com.nexblocks.authguard.service.config.ConfigParser;
 import com.nexblocks.authguard.service.mappers.ServiceMapper;
 import com.nexblocks.authguard.service.model.Account;
 import com.nexblocks.authguard.service.model.Session;
@@ -21,20 +28,48 @@ import io.smallrye.mutiny.Uni;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
+/**
+ * If the cache is enabled, whether a session is active is kept in memory
+ * by session token, so that issuing and refreshing tokens doesn't read the
+ * session every time. Sessions are cached as active when they're started,
+ * and as inactive as soon as they're terminated through this instance.
+ * Sessions terminated by another instance are picked up once their entry
+ * expires, so the TTL is how long a terminated session can still be used.
+ */
+@Singleton
 public class TrackingSessionsServiceImpl implements TrackingSessionsService {
+    private static final String CACHE_NAME = "trackingSessions";
     private static final int KEY_SIZE = 24;
     private static final Duration EXPIRY = Duration.ofDays(365);
 
     private final SessionsRepository sessionsRepository;
     private final ServiceMapper serviceMapper;
     private final CryptographicRandom cryptographicRandom;
+    private final ExpiringCache<String, Boolean> activeSessions;
 
     @Inject
-    public TrackingSessionsServiceImpl(final SessionsRepository sessionsRepository, final ServiceMapper serviceMapper) {
+    public TrackingSessionsServiceImpl(final SessionsRepository sessionsRepository,
+                                       final ServiceMapper serviceMapper,
+                                       final @Named("trackingSessions") ConfigContext configContext) {
+        this(sessionsRepository, serviceMapper, configContext.asConfigBean(CacheConfig.class));
+    }
+
+    public TrackingSessionsServiceImpl(final SessionsRepository sessionsRepository,
+                                       final ServiceMapper serviceMapper,
+                                       final CacheConfig cacheConfig) {
         this.sessionsRepository = sessionsRepository;
         this.serviceMapper = serviceMapper;
 
         this.cryptographicRandom = new CryptographicRandom();
+
+        if (cacheConfig.enabled()) {
+            this.activeSessions = new ExpiringCache<>(cacheConfig.getMaxSize(),
+                    ConfigParser.parseDuration(cacheConfig.getTtl()));
+
+            CachesRegistry.register(CACHE_NAME, activeSessions);
+        } else {
+            this.activeSessions = null;
+        }
     }
 
     @Override
@@ -46,6 +81,17 @@ public class TrackingSessionsServiceImpl implements TrackingSessionsService {
 
     @Override
     public Uni<Boolean> isSessionActive(final String token, final String domain) {
+        // the cache hashes its keys, so a missing token goes straight to the repository
+        final boolean cached = activeSessions != null && token != null;
+
+        if (cached) {
+            Optional<Boolean> active = activeSessions.get(token);
+
+            if (active.isPresent()) {
+                return Uni.createFrom().item(active.get());
+            }
+        }
+
         return sessionsRepository.getByToken(token)
                 .map(opt -> {
                     if (opt.isEmpty()) {
@@ -54,6 +100,11 @@ public class TrackingSessionsServiceImpl implements TrackingSessionsService {
 
                     SessionDO session = opt.get();
 
+                    if (cached && activeSessions.get(token).isEmpty()) {
+                        // a session terminated while loading takes precedence
+                        activeSessions.put(token, session.isActive(), session.getExpiresAt());
+                    }
+
                     return session.isActive();
                 });
     }
@@ -80,7 +131,7 @@ public class TrackingSessionsServiceImpl implements TrackingSessionsService {
                 .build();
 
         return sessionsRepository.save(serviceMapper.toDO(session))
-                .map(serviceMapper::toBO);
+                .map(this::cacheStarted);
     }
 
     @Override
@@ -95,7 +146,7 @@ public class TrackingSessionsServiceImpl implements TrackingSessionsService {
                 .build();
 
         return sessionsRepository.save(serviceMapper.toDO(session))
-                .map(serviceMapper::toBO);
+                .map(this::cacheStarted);
     }
 
     @Override
@@ -106,6 +157,10 @@ public class TrackingSessionsServiceImpl implements TrackingSessionsService {
                         SessionDO session = opt.get();
                         session.setActive(false);
 
+                        if (activeSessions != null) {
+                            activeSessions.put(sessionToken, false, session.getExpiresAt());
+                        }
+
                         return sessionsRepository.save(session)
                                 .map(serviceMapper::toBO)
                                 .map(Session.class::cast)
@@ -117,4 +172,12 @@ public class TrackingSessionsServiceImpl implements TrackingSessionsService {
                     return em;
                 });
     }
+
+    private Session cacheStarted(final SessionDO session) {
+        if (activeSessions != null) {
+            activeSessions.put(session.getSessionToken(), true, session.getExpiresAt());
+        }
+
+        return serviceMapper.toBO(session);
+    }
 }
@@ -4,15 +4,15 @@ import com.google.inject.Inject;
 import com.nexblocks.authguard.basic.otp.OtpProvider;
 import com.nexblocks.authguard.basic.otp.OtpVerifier;
 import com.nexblocks.authguard.dal.cache.AccountTokensRepository;
-import com.nexblocks.authguard.dal.model.AccountTokenDO;
 import com.nexblocks.authguard.external.sms.ImmutableTextMessage;
 import com.nexblocks.authguard.external.sms.SmsProvider;
 import com.nexblocks.authguard.service.AccountsService;
 import com.nexblocks.authguard.service.VerificationService;
 import com.nexblocks.authguard.service.exceptions.ServiceException;
-import com.nexblocks.authguard.service.exceptions.ServiceNotFoundException;
 import com.nexblocks.authguard.service.exceptions.codes.ErrorCode;
 import com.nexblocks.authguard.service.model.*;
+import com.nexblocks.authguard.service.util.AsyncUtils;
+import io.smallrye.mutiny.Uni;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -46,117 +46,123 @@ public class VerificationServiceImpl implements VerificationService {
     }
 
     @Override
-    public void verifyEmail(final String verificationToken, String domain) {
-        final AccountTokenDO accountToken = accountTokensRepository.getByToken(verificationToken)
-                .subscribeAsCompletionStage().join()
-                .orElseThrow(() -> new ServiceNotFoundException(ErrorCode.TOKEN_EXPIRED_OR_DOES_NOT_EXIST,
-                        "AccountDO token " + verificationToken + " does not exist"));
-
-        if (accountToken.getExpiresAt().isBefore(Instant.now())) {
-            LOG.info("Email verification request with expired token. tokenId={}, expiresAt={}, accountId={}",
-                    accountToken.getId(), accountToken.getExpiresAt(), accountToken.getAssociatedAccountId());
-
-            throw new ServiceException(ErrorCode.EXPIRED_TOKEN, "Token " + verificationToken + " has expired");
-        }
-
-        LOG.info("Email verification request. tokenId={}, expiresAt={}, accountId={}",
-                accountToken.getId(), accountToken.getExpiresAt(), accountToken.getAssociatedAccountId());
-
-        String verifiedEmail = Optional.ofNullable(accountToken.getAdditionalInformation())
-                .map(additional -> additional.get(TARGET_EMAIL_PROPERTY))
-                .orElseThrow(() -> new ServiceException(ErrorCode.INVALID_TOKEN, "Invalid account token: no valid additional information"));
-
-        AccountBO account = accountsService.getById(accountToken.getAssociatedAccountId(), domain)
-                .subscribeAsCompletionStage().join()
-                .orElseThrow(() -> new ServiceNotFoundException(ErrorCode.ACCOUNT_DOES_NOT_EXIST,
-                        "Account " + accountToken.getAssociatedAccountId() + " does not exist"));
-
-        AccountBO updated;
-
-        if (verifiedEmail.equals(account.getEmail().getEmail())) {
-            updated = account.withEmail(account.getEmail().withVerified(true));
-        } else if (verifiedEmail.equals(account.getBackupEmail().getEmail())) {
-            updated = account.withBackupEmail(account.getBackupEmail().withVerified(true));
-        } else {
-            throw new ServiceException(ErrorCode.INVALID_TOKEN, "Account " + account.getId() + " does not contain the " +
-                    "email associated with the verification token");
-        }
-
-        try {
-            accountsService.update(updated, domain);
-        } catch (final Exception e) {
-            LOG.error("Failed to update account after email verification", e);
-        }
+    public Uni<Void> verifyEmail(final String verificationToken, String domain) {
+        return accountTokensRepository.getByToken(verificationToken)
+                .flatMap(opt -> AsyncUtils.uniFromOptional(opt, ErrorCode.TOKEN_EXPIRED_OR_DOES_NOT_EXIST,
+                        "AccountDO token " + verificationToken + " does not exist"))
+                .flatMap(accountToken -> {
+                    if (accountToken.getExpiresAt().isBefore(Instant.now())) {
+                        LOG.info("Email verification request with expired token. tokenId={}, expiresAt={}, accountId={}",
+                                accountToken.getId(), accountToken.getExpiresAt(), accountToken.getAssociatedAccountId());
+
+                        return Uni.createFrom().failure(
+                                new ServiceException(ErrorCode.EXPIRED_TOKEN, "Token " + verificationToken + " has expired"));
+                    }
+
+                    LOG.info("Email verification request. tokenId={}, expiresAt={}, accountId={}",
+                            accountToken.getId(), accountToken.getExpiresAt(), accountToken.getAssociatedAccountId());
+
+                    String verifiedEmail = Optional.ofNullable(accountToken.getAdditionalInformation())
+                            .map(additional -> additional.get(TARGET_EMAIL_PROPERTY))
+                            .orElse(null);
+
+                    if (verifiedEmail == null) {
+                        return Uni.createFrom().failure(new ServiceException(ErrorCode.INVALID_TOKEN,
+                                "Invalid account token: no valid additional information"));
+                    }
+
+                    return accountsService.getById(accountToken.getAssociatedAccountId(), domain)
+                            .flatMap(opt -> AsyncUtils.uniFromOptional(opt, ErrorCode.ACCOUNT_DOES_NOT_EXIST,
+                                    "Account " + accountToken.getAssociatedAccountId() + " does not exist"))
+                            .flatMap(account -> {
+                                if (verifiedEmail.equals(account.getEmail().getEmail())) {
+                                    return updateAccount(account.withEmail(account.getEmail().withVerified(true)),
+                                            domain, "email");
+                                } else if (verifiedEmail.equals(account.getBackupEmail().getEmail())) {
+                                    return updateAccount(account.withBackupEmail(account.getBackupEmail().withVerified(true)),
+                                            domain, "email");
+                                }
+
+                                return Uni.createFrom().failure(new ServiceException(ErrorCode.INVALID_TOKEN,
+                                        "Account " + account.getId() + " does not contain the " +
+                                        "email associated with the verification token"));
+                            });
+                });
     }
 
     @Override
-    public AuthResponseBO sendPhoneNumberVerification(final long accountId, String domain) {
-        AccountBO account = accountsService.getById(accountId, domain).subscribeAsCompletionStage().join()
-                .orElseThrow(() -> new ServiceNotFoundException(ErrorCode.ACCOUNT_DOES_NOT_EXIST,
-                        "Account " + accountId + " does not exist"));
-
-        return sendVerificationSms(account);
+    public Uni<AuthResponseBO> sendPhoneNumberVerification(final long accountId, String domain) {
+        return accountsService.getById(accountId, domain)
+                .flatMap(opt -> AsyncUtils.uniFromOptional(opt, ErrorCode.ACCOUNT_DOES_NOT_EXIST,
+                        "Account " + accountId + " does not exist"))
+                .flatMap(this::sendVerificationSms);
     }
 
     @Override
-    public AuthResponseBO sendPhoneNumberVerificationByIdentifier(final String identifier, final String domain) {
-        AccountBO account = accountsService.getByIdentifier(identifier, domain).subscribeAsCompletionStage().join()
-                .orElseThrow(() -> new ServiceNotFoundException(ErrorCode.ACCOUNT_DOES_NOT_EXIST,
-                        "No account with that identifier exists"));
-
-        return sendVerificationSms(account);
+    public Uni<AuthResponseBO> sendPhoneNumberVerificationByIdentifier(final String identifier, final String domain) {
+        return accountsService.getByIdentifier(identifier, domain)
+                .flatMap(opt -> AsyncUtils.uniFromOptional(opt, ErrorCode.ACCOUNT_DOES_NOT_EXIST,
+                        "No account with that identifier exists"))
+                .flatMap(this::sendVerificationSms);
     }
 
     @Override
-    public void verifyPhoneNumber(final long passwordId, final String domain, final String otp, final String phoneNumber) {
+    public Uni<Void> verifyPhoneNumber(final long passwordId, final String domain, final String otp, final String phoneNumber) {
         String token = passwordId + ":" + otp;
         AuthRequest request = AuthRequestBO.builder()
                 .token(token)
                 .build();
-        Long accountId = otpVerifier.verifyAccountTokenAsync(request).subscribeAsCompletionStage().join();
-
-        Optional<AccountBO> account = accountsService.getById(accountId, domain).subscribeAsCompletionStage().join();
 
-        if (account.isEmpty()) {
-            LOG.info("Phone number verification request for deleted account. passwordId={}, accountId={}", passwordId, accountId);
+        return otpVerifier.verifyAccountTokenAsync(request)
+                .flatMap(accountId -> accountsService.getById(accountId, domain)
+                        .flatMap(account -> {
+                            if (account.isEmpty()) {
+                                LOG.info("Phone number verification request for deleted account. passwordId={}, accountId={}",
+                                        passwordId, accountId);
 
-            throw new ServiceException(ErrorCode.ACCOUNT_DOES_NOT_EXIST, "The account associated with that token no longer exists");
-        }
+                                return Uni.createFrom().failure(new ServiceException(ErrorCode.ACCOUNT_DOES_NOT_EXIST,
+                                        "The account associated with that token no longer exists"));
+                            }
 
-        if (account.get().getPhoneNumber() == null
-                || !Objects.equals(account.get().getPhoneNumber().getNumber(), phoneNumber)) {
-            LOG.warn("Phone number verification request with the wrong phone number. accountId={}, passwordId={}",
-                    accountId, passwordId);
+                            if (account.get().getPhoneNumber() == null
+                                    || !Objects.equals(account.get().getPhoneNumber().getNumber(), phoneNumber)) {
+                                LOG.warn("Phone number verification request with the wrong phone number. accountId={}, passwordId={}",
+                                        accountId, passwordId);
 
-            throw new ServiceException(ErrorCode.GENERIC_AUTH_FAILURE, "The provided phone number does not match the one in the account");
-        }
+                                return Uni.createFrom().failure(new ServiceException(ErrorCode.GENERIC_AUTH_FAILURE,
+                                        "The provided phone number does not match the one in the account"));
+                            }
 
-        LOG.info("Phone number verification request. accountId={}, domain={}, passwordId={}",
-                passwordId, account.get().getDomain(), account.get().getId());
+                            LOG.info("Phone number verification request. accountId={}, domain={}, passwordId={}",
+                                    passwordId, account.get().getDomain(), account.get().getId());
 
-        AccountBO updated = account.get().withPhoneNumber(PhoneNumberBO.builder()
-                .number(account.get().getPhoneNumber().getNumber())
-                .verified(true)
-                .build());
+                            AccountBO updated = account.get().withPhoneNumber(PhoneNumberBO.builder()
+                                    .number(account.get().getPhoneNumber().getNumber())
+                                    .verified(true)
+                                    .build());
 
-        try {
-            accountsService.update(updated, domain);
-        } catch (final Exception e) {
-            LOG.error("Failed to update account after phone number verification", e);
-        }
+                            return updateAccount(updated, domain, "phone number");
+                        }));
     }
 
-    private AuthResponseBO sendVerificationSms(final AccountBO account) {
-        AuthResponseBO otp = otpProvider.generateToken(account).subscribeAsCompletionStage().join();
-        ImmutableTextMessage message = ImmutableTextMessage.builder()
-                .template(SMS_TEMPLATE)
-                .to(account.getPhoneNumber().getNumber())
-                .putParameters("account", account)
-                .putParameters("otp", otp.getToken())
-                .build();
-
-        smsProvider.send(message);
+    private Uni<Void> updateAccount(final AccountBO updated, final String domain, final String verified) {
+        return accountsService.update(updated, domain)
+                .onFailure().invoke(e -> LOG.error("Failed to update account after {} verification", verified, e))
+                .onFailure().recoverWithNull()
+                .replaceWithVoid();
+    }
 
-        return otp;
+    private Uni<AuthResponseBO> sendVerificationSms(final AccountBO account) {
+        return otpProvider.generateToken(account)
+                .invoke(otp -> {
+                    ImmutableTextMessage message = ImmutableTextMessage.builder()
+                            .template(SMS_TEMPLATE)
+                            .to(account.getPhoneNumber().getNumber())
+                            .putParameters("account", account)
+                            .putParameters("otp", otp.getToken())
+                            .build();
+
+                    smsProvider.send(message);
+                });
     }
 }
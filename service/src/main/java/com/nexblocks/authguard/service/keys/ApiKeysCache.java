@@ -0,0 +1,161 @@
+package com.nexblocks.authguard.service.keys;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import com.nexblocks.authguard.config.ConfigContext;
+import com.nexblocks.authguard.dal.model.ApiKeyDO;
+import com.nexblocks.authguard.emb.MessageSubscriber;
+import com.nexblocks.authguard.emb.annotations.Channel;
+import com.nexblocks.authguard.emb.model.EventType;
+import com.nexblocks.authguard.emb.model.Message;
+import com.nexblocks.authguard.service.cache.CachesRegistry;
+import com.nexblocks.authguard.service.cache.ExpiringCache;
+import com.nexblocks.authguard.service.config.ApiKeysConfig;
+import com.nexblocks.authguard.service.config.CacheConfig;
+import com.nexblocks.authguard.service.config.ConfigParser;
+import com.nexblocks.authguard.service.model.ApiKeyBO;
+import com.nexblocks.authguard.service.model.AppBO;
+import com.nexblocks.authguard.service.model.ClientBO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Optional;
+
+/**
+ * Holds the API keys, clients and apps resolved while validating API
+ * keys so that validating a key which was seen recently doesn't need
+ * any storage round trips. Keys are cached by their hashed value until
+ * the cache TTL or the key expiry, whichever comes first. Keys which
+ * don't exist are kept in a separate negative cache.
+ * <p>
+ * Entries are evicted when the cached entities are updated or deleted.
+ * For that to happen, this subscriber must be in the list of allowed
+ * subscribers in the emb configuration.
+ */
+@Singleton
+@Channel("api_keys")
+@Channel("clients")
+@Channel("apps")
+public class ApiKeysCache implements MessageSubscriber {
+    private static final Logger LOG = LoggerFactory.getLogger(ApiKeysCache.class);
+
+    private final ExpiringCache<String, ApiKeyDO> keys;
+    private final ExpiringCache<String, Boolean> missingKeys;
+    private final ExpiringCache<Long, ClientBO> clients;
+    private final ExpiringCache<Long, AppBO> apps;
+
+    @Inject
+    public ApiKeysCache(final @Named("apiKeys") ConfigContext configContext) {
+        this(configContext.asConfigBean(ApiKeysConfig.class));
+    }
+
+    public ApiKeysCache(final ApiKeysConfig config) {
+        CacheConfig cacheConfig = config.getCache();
+        CacheConfig negativeCacheConfig = config.getNegativeCache();
+
+        if (cacheConfig != null && cacheConfig.enabled()) {
+            this.keys = createCache(cacheConfig);
+            this.clients = createCache(cacheConfig);
+            this.apps = createCache(cacheConfig);
+
+            CachesRegistry.register("apiKeys", keys);
+            CachesRegistry.register("apiKeys.clients", clients);
+            CachesRegistry.register("apiKeys.apps", apps);
+
+            LOG.info("API keys cache is enabled. maxSize={}, ttl={}",
+                    cacheConfig.getMaxSize(), cacheConfig.getTtl());
+        } else {
+            this.keys = null;
+            this.clients = null;
+            this.apps = null;
+        }
+
+        if (negativeCacheConfig != null && negativeCacheConfig.enabled()) {
+            this.missingKeys = createCache(negativeCacheConfig);
+
+            CachesRegistry.register("apiKeys.missing", missingKeys);
+
+            LOG.info("API keys negative cache is enabled. maxSize={}, ttl={}",
+                    negativeCacheConfig.getMaxSize(), negativeCacheConfig.getTtl());
+        } else {
+            this.missingKeys = null;
+        }
+    }
+
+    public Optional<ApiKeyDO> getKey(final String hashedKey) {
+        return keys == null ? Optional.empty() : keys.get(hashedKey);
+    }
+
+    public void putKey(final ApiKeyDO apiKey) {
+        if (keys != null) {
+            keys.put(apiKey.getKey(), apiKey, apiKey.getExpiresAt());
+        }
+    }
+
+    public boolean isKnownMissing(final String hashedKey) {
+        return missingKeys != null && missingKeys.get(hashedKey).isPresent();
+    }
+
+    public void putMissing(final String hashedKey) {
+        if (missingKeys != null) {
+            missingKeys.put(hashedKey, true);
+        }
+    }
+
+    public void invalidateKey(final String hashedKey) {
+        if (keys != null) {
+            keys.invalidate(hashedKey);
+        }
+
+        if (missingKeys != null) {
+            missingKeys.invalidate(hashedKey);
+        }
+    }
+
+    public Optional<ClientBO> getClient(final long clientId) {
+        return clients == null ? Optional.empty() : clients.get(clientId);
+    }
+
+    public void putClient(final ClientBO client) {
+        if (clients != null) {
+            clients.put(client.getId(), client);
+        }
+    }
+
+    public Optional<AppBO> getApp(final long appId) {
+        return apps == null ? Optional.empty() : apps.get(appId);
+    }
+
+    public void putApp(final AppBO app) {
+        if (apps != null) {
+            apps.put(app.getId(), app);
+        }
+    }
+
+    @Override
+    public void onMessage(final Message message) {
+        Object body = message.getMessageBody();
+
+        if (body instanceof ApiKeyBO apiKey) {
+            // a key which was created after being looked up must not stay in the negative cache
+            invalidateKey(apiKey.getKey());
+            return;
+        }
+
+        if (message.getEventType() != EventType.ENTITY_UPDATED
+                && message.getEventType() != EventType.ENTITY_DELETED) {
+            return;
+        }
+
+        if (body instanceof ClientBO client && clients != null) {
+            clients.invalidate(client.getId());
+        } else if (body instanceof AppBO app && apps != null) {
+            apps.invalidate(app.getId());
+        }
+    }
+
+    private static <K, V> ExpiringCache<K, V> createCache(final CacheConfig config) {
+        return new ExpiringCache<>(config.getMaxSize(), ConfigParser.parseDuration(config.getTtl()));
+    }
+}
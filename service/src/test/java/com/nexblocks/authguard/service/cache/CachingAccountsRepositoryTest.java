@@ -0,0 +1,155 @@
+package com.nexblocks.authguard.service.cache;
+
+import com.nexblocks.authguard.config.EmptyConfigContext;
+import com.nexblocks.authguard.dal.model.AccountDO;
+import com.nexblocks.authguard.dal.model.PasswordDO;
+import com.nexblocks.authguard.dal.persistence.AccountsRepository;
+import com.nexblocks.authguard.emb.Messages;
+import com.nexblocks.authguard.emb.annotations.Channel;
+import com.nexblocks.authguard.service.model.AccountBO;
+import com.nexblocks.authguard.service.model.RoleBO;
+import io.smallrye.mutiny.Uni;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+
+class CachingAccountsRepositoryTest {
+    private AccountsRepository delegate;
+    private RepositoryCaches caches;
+    private CachingAccountsRepository repository;
+
+    private final AccountDO account = AccountDO.builder()
+            .id(1L)
+            .domain("main")
+            .build();
+
+    @BeforeEach
+    void setup() {
+        delegate = Mockito.mock(AccountsRepository.class);
+        caches = new RepositoryCaches(new EmptyConfigContext());
+        repository = new CachingAccountsRepository(delegate, caches);
+
+        Mockito.when(delegate.getById(1L))
+                .thenReturn(Uni.createFrom().item(Optional.of(account)));
+        Mockito.when(delegate.findByIdentifier("username", "main"))
+                .thenReturn(Uni.createFrom().item(Optional.of(account)));
+        Mockito.when(delegate.findByIdentifier("unknown", "main"))
+                .thenReturn(Uni.createFrom().item(Optional.empty()));
+    }
+
+    @Test
+    void lookupsAreReadOnce() {
+        assertThat(repository.getById(1L).await().indefinitely()).contains(account);
+        assertThat(repository.getById(1L).await().indefinitely()).contains(account);
+        assertThat(repository.findByIdentifier("username", "main").await().indefinitely()).contains(account);
+        assertThat(repository.findByIdentifier("username", "main").await().indefinitely()).contains(account);
+
+        Mockito.verify(delegate, Mockito.times(1)).getById(1L);
+        Mockito.verify(delegate, Mockito.times(1)).findByIdentifier("username", "main");
+
+        CacheStats stats = caches.cache(RepositoryCaches.ACCOUNTS).getStats();
+
+        assertThat(stats.getHits()).isEqualTo(2);
+        assertThat(stats.getMisses()).isEqualTo(2);
+        assertThat(stats.getLoads()).isEqualTo(2);
+        assertThat(stats.getHitRate()).isEqualTo(0.5);
+    }
+
+    @Test
+    void lookupsWhichFoundNothingAreNotCached() {
+        assertThat(repository.findByIdentifier("unknown", "main").await().indefinitely()).isEmpty();
+        assertThat(repository.findByIdentifier("unknown", "main").await().indefinitely()).isEmpty();
+
+        Mockito.verify(delegate, Mockito.times(2)).findByIdentifier("unknown", "main");
+    }
+
+    @Test
+    void nothingIsReadBeforeSubscribing() {
+        repository.getById(1L);
+
+        Mockito.verify(delegate, Mockito.never()).getById(1L);
+    }
+
+    @Test
+    void writesInvalidateEveryLookupOfTheRecord() {
+        Mockito.when(delegate.updateUserPassword(any(), any()))
+                .thenReturn(Uni.createFrom().item(account));
+
+        repository.getById(1L).await().indefinitely();
+        repository.findByIdentifier("username", "main").await().indefinitely();
+
+        repository.updateUserPassword(account, PasswordDO.builder().build()).await().indefinitely();
+
+        repository.getById(1L).await().indefinitely();
+        repository.findByIdentifier("username", "main").await().indefinitely();
+
+        Mockito.verify(delegate, Mockito.times(2)).getById(1L);
+        Mockito.verify(delegate, Mockito.times(2)).findByIdentifier("username", "main");
+    }
+
+    @Test
+    void updateMessagesInvalidateTheRecord() {
+        repository.getById(1L).await().indefinitely();
+
+        caches.onMessage(Messages.updated(AccountBO.builder().id(1L).build(), "main"));
+
+        repository.getById(1L).await().indefinitely();
+
+        Mockito.verify(delegate, Mockito.times(2)).getById(1L);
+    }
+
+    @Test
+    void credentialsUpdatesInvalidateTheRecord() {
+        assertThat(RepositoryCaches.class.getAnnotationsByType(Channel.class))
+                .extracting(Channel::value)
+                .contains("credentials");
+
+        repository.getById(1L).await().indefinitely();
+
+        // password and identifier changes are published to the credentials channel with the account
+        caches.onMessage(Messages.updated(AccountBO.builder().id(1L).build(), "main"));
+
+        repository.getById(1L).await().indefinitely();
+
+        Mockito.verify(delegate, Mockito.times(2)).getById(1L);
+    }
+
+    @Test
+    void messagesOfOtherEntitiesAreIgnored() {
+        repository.getById(1L).await().indefinitely();
+
+        caches.onMessage(Messages.updated(RoleBO.builder().id(1L).build(), "main"));
+        caches.onMessage(Messages.created(AccountBO.builder().id(1L).build(), "main"));
+
+        repository.getById(1L).await().indefinitely();
+
+        Mockito.verify(delegate, Mockito.times(1)).getById(1L);
+    }
+
+    @Test
+    void writesOnlyInvalidateLookupsOfTheRecord() {
+        AccountDO other = AccountDO.builder()
+                .id(2L)
+                .domain("main")
+                .build();
+
+        Mockito.when(delegate.getById(2L))
+                .thenReturn(Uni.createFrom().item(Optional.of(other)));
+
+        repository.getById(1L).await().indefinitely();
+        repository.getById(2L).await().indefinitely();
+
+        caches.onMessage(Messages.updated(AccountBO.builder().id(1L).build(), "main"));
+
+        repository.getById(1L).await().indefinitely();
+        repository.getById(2L).await().indefinitely();
+
+        Mockito.verify(delegate, Mockito.times(2)).getById(1L);
+        Mockito.verify(delegate, Mockito.times(1)).getById(2L);
+    }
+}
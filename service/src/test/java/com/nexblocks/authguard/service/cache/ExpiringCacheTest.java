@@ -0,0 +1,134 @@
+package com.nexblocks.authguard.service.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExpiringCacheTest {
+
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(final Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+    @Test
+    void getAfterPut() {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(10, Duration.ofMinutes(1));
+
+        cache.put("key", "value");
+
+        assertThat(cache.get("key")).contains("value");
+        assertThat(cache.get("other")).isEmpty();
+
+        CacheStats stats = cache.getStats();
+
+        assertThat(stats.getHits()).isEqualTo(1);
+        assertThat(stats.getMisses()).isEqualTo(1);
+        assertThat(stats.getHitRate()).isEqualTo(0.5);
+    }
+
+    @Test
+    void entriesExpireAfterTtl() {
+        MutableClock clock = new MutableClock();
+        ExpiringCache<String, String> cache = new ExpiringCache<>(10, Duration.ofMinutes(1), clock);
+
+        cache.put("key", "value");
+        clock.advance(Duration.ofSeconds(59));
+
+        assertThat(cache.get("key")).contains("value");
+
+        clock.advance(Duration.ofSeconds(1));
+
+        assertThat(cache.get("key")).isEmpty();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void explicitExpiryBeforeTtl() {
+        MutableClock clock = new MutableClock();
+        ExpiringCache<String, String> cache = new ExpiringCache<>(10, Duration.ofMinutes(1), clock);
+
+        cache.put("key", "value", clock.instant().plusSeconds(10));
+        cache.put("expired", "value", clock.instant().minusSeconds(1));
+
+        assertThat(cache.get("expired")).isEmpty();
+
+        clock.advance(Duration.ofSeconds(10));
+
+        assertThat(cache.get("key")).isEmpty();
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedWhenFull() {
+        ExpiringCache<Integer, String> cache = new ExpiringCache<>(2, Duration.ofMinutes(1));
+
+        cache.put(1, "first");
+        cache.put(2, "second");
+        cache.get(1);
+        cache.put(3, "third");
+
+        assertThat(cache.get(1)).contains("first");
+        assertThat(cache.get(2)).isEmpty();
+        assertThat(cache.get(3)).contains("third");
+        assertThat(cache.getStats().getEvictions()).isEqualTo(1);
+    }
+
+    @Test
+    void invalidateIf() {
+        ExpiringCache<String, Long> cache = new ExpiringCache<>(100, Duration.ofMinutes(1));
+
+        cache.put("a", 1L);
+        cache.put("b", 2L);
+        cache.put("c", 1L);
+
+        cache.invalidateIf(value -> value == 1L);
+
+        assertThat(cache.get("a")).isEmpty();
+        assertThat(cache.get("b")).contains(2L);
+        assertThat(cache.get("c")).isEmpty();
+    }
+
+    @Test
+    void evictedAndExpiredEntriesAreReported() {
+        MutableClock clock = new MutableClock();
+        Map<Integer, String> removed = new HashMap<>();
+        ExpiringCache<Integer, String> cache = new ExpiringCache<>(2, Duration.ofMinutes(1), clock, removed::put);
+
+        cache.put(1, "first");
+        cache.put(2, "second");
+        cache.put(3, "third");
+
+        assertThat(removed).containsOnly(Map.entry(1, "first"));
+
+        cache.invalidate(2);
+        clock.advance(Duration.ofMinutes(2));
+        cache.get(3);
+
+        assertThat(removed).containsOnly(Map.entry(1, "first"), Map.entry(3, "third"));
+    }
+}
@@ -0,0 +1,128 @@
+package com.nexblocks.authguard.service.cache;
+
+import io.smallrye.mutiny.Uni;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    @Test
+    void concurrentCallsShareOneLoad() {
+        SingleFlight<String, String> flight = new SingleFlight<>();
+        CompletableFuture<String> pending = new CompletableFuture<>();
+        AtomicInteger loads = new AtomicInteger();
+
+        CompletableFuture<String> first = flight.execute("key", () -> {
+            loads.incrementAndGet();
+            return Uni.createFrom().completionStage(pending);
+        }).subscribeAsCompletionStage();
+        CompletableFuture<String> second = flight.execute("key", () -> {
+            loads.incrementAndGet();
+            return Uni.createFrom().completionStage(pending);
+        }).subscribeAsCompletionStage();
+
+        assertThat(flight.getStats().getInFlight()).isEqualTo(1);
+
+        pending.complete("value");
+
+        assertThat(first.join()).isEqualTo("value");
+        assertThat(second.join()).isEqualTo("value");
+        assertThat(loads.get()).isEqualTo(1);
+
+        SingleFlightStats stats = flight.getStats();
+
+        assertThat(stats.getCalls()).isEqualTo(2);
+        assertThat(stats.getDeduplicated()).isEqualTo(1);
+        assertThat(stats.getLoads()).isEqualTo(1);
+        assertThat(stats.getInFlight()).isZero();
+    }
+
+    @Test
+    void callsAfterALoadCompletesStartANewOne() {
+        SingleFlight<String, Integer> flight = new SingleFlight<>();
+        AtomicInteger loads = new AtomicInteger();
+
+        assertThat(flight.execute("key", () -> Uni.createFrom().item(loads.incrementAndGet()))
+                .await().indefinitely()).isEqualTo(1);
+        assertThat(flight.execute("key", () -> Uni.createFrom().item(loads.incrementAndGet()))
+                .await().indefinitely()).isEqualTo(2);
+
+        assertThat(flight.getStats().getDeduplicated()).isZero();
+    }
+
+    @Test
+    void differentKeysAreNotShared() {
+        SingleFlight<String, String> flight = new SingleFlight<>();
+        CompletableFuture<String> pending = new CompletableFuture<>();
+
+        CompletableFuture<String> first = flight.execute("first",
+                () -> Uni.createFrom().completionStage(pending)).subscribeAsCompletionStage();
+        String second = flight.execute("second",
+                () -> Uni.createFrom().item("second")).await().indefinitely();
+
+        assertThat(second).isEqualTo("second");
+        assertThat(first).isNotDone();
+
+        pending.complete("first");
+
+        assertThat(first.join()).isEqualTo("first");
+    }
+
+    @Test
+    void callersBeyondTheMaxWaitersLoadOnTheirOwn() {
+        SingleFlight<String, String> flight = new SingleFlight<>(1);
+        CompletableFuture<String> pending = new CompletableFuture<>();
+
+        flight.execute("key", () -> Uni.createFrom().completionStage(pending)).subscribeAsCompletionStage();
+        flight.execute("key", () -> Uni.createFrom().completionStage(pending)).subscribeAsCompletionStage();
+
+        String overflow = flight.execute("key", () -> Uni.createFrom().item("own")).await().indefinitely();
+
+        assertThat(overflow).isEqualTo("own");
+
+        SingleFlightStats stats = flight.getStats();
+
+        assertThat(stats.getDeduplicated()).isEqualTo(1);
+        assertThat(stats.getOverflows()).isEqualTo(1);
+
+        pending.complete("value");
+    }
+
+    @Test
+    void failuresAreSharedButNotKept() {
+        SingleFlight<String, String> flight = new SingleFlight<>();
+        CompletableFuture<String> pending = new CompletableFuture<>();
+
+        CompletableFuture<String> first = flight.execute("key",
+                () -> Uni.createFrom().completionStage(pending)).subscribeAsCompletionStage();
+        CompletableFuture<String> second = flight.execute("key",
+                () -> Uni.createFrom().completionStage(pending)).subscribeAsCompletionStage();
+
+        pending.completeExceptionally(new IllegalStateException("failed"));
+
+        assertThatThrownBy(first::join).hasCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(second::join).hasCauseInstanceOf(IllegalStateException.class);
+
+        assertThat(flight.execute("key", () -> Uni.createFrom().item("value")).await().indefinitely())
+                .isEqualTo("value");
+    }
+
+    @Test
+    void nothingIsLoadedBeforeSubscribing() {
+        SingleFlight<String, String> flight = new SingleFlight<>();
+        AtomicInteger loads = new AtomicInteger();
+
+        flight.execute("key", () -> {
+            loads.incrementAndGet();
+            return Uni.createFrom().item("value");
+        });
+
+        assertThat(loads.get()).isZero();
+        assertThat(flight.getStats().getCalls()).isZero();
+    }
+}
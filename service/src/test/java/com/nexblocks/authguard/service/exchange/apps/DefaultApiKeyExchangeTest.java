@@ -4,7 +4,9 @@ import com.nexblocks.authguard.dal.model.ApiKeyDO;
 import com.nexblocks.authguard.dal.persistence.ApiKeysRepository;
 import com.nexblocks.authguard.service.config.ApiKeyHashingConfig;
 import com.nexblocks.authguard.service.config.ApiKeysConfig;
+import com.nexblocks.authguard.service.config.CacheConfig;
 import com.nexblocks.authguard.service.keys.ApiKeyHashProvider;
+import com.nexblocks.authguard.service.keys.ApiKeysCache;
 import com.nexblocks.authguard.service.keys.DefaultApiKeysProvider;
 import com.nexblocks.authguard.service.model.AppBO;
 import com.nexblocks.authguard.service.model.AuthResponseBO;
@@ -40,7 +42,8 @@ class DefaultApiKeyExchangeTest {
                         .build())
                 .build());
 
-        exchange = new DefaultApiKeyExchange(provider, repository, apiKeyHashProvider);
+        exchange = new DefaultApiKeyExchange(provider, repository, apiKeyHashProvider,
+                new ApiKeysCache(ApiKeysConfig.builder().build()));
     }
 
     @Test
@@ -132,4 +135,44 @@ class DefaultApiKeyExchangeTest {
 
         assertThat(retrieved).isEmpty();
     }
-}
\ No newline at end of file
+
+    @Test
+    void verifyAndGetAppIdCached() {
+        final ApiKeysCache cache = new ApiKeysCache(ApiKeysConfig.builder()
+                .cache(CacheConfig.builder().enabled(true).build())
+                .negativeCache(CacheConfig.builder().enabled(true).build())
+                .build());
+        final DefaultApiKeyExchange cachedExchange = new DefaultApiKeyExchange(provider, repository,
+                apiKeyHashProvider, cache);
+
+        final String key = "key";
+        final String hashedKey = apiKeyHashProvider.getHash().hash(key);
+        final String missingKey = "missing";
+        final String hashedMissingKey = apiKeyHashProvider.getHash().hash(missingKey);
+        final long appId = 101;
+
+        final ApiKeyDO apiKeyDO = ApiKeyDO.builder()
+                .key(hashedKey)
+                .appId(appId)
+                .build();
+
+        Mockito.when(repository.getByKey(hashedKey))
+                .thenReturn(Uni.createFrom().item(Optional.of(apiKeyDO)));
+        Mockito.when(repository.getByKey(hashedMissingKey))
+                .thenReturn(Uni.createFrom().item(Optional.empty()));
+
+        assertThat(cachedExchange.verifyAndGetAppId(key).subscribeAsCompletionStage().join()).contains(appId);
+        assertThat(cachedExchange.verifyAndGetAppId(key).subscribeAsCompletionStage().join()).contains(appId);
+        assertThat(cachedExchange.verifyAndGetAppId(missingKey).subscribeAsCompletionStage().join()).isEmpty();
+        assertThat(cachedExchange.verifyAndGetAppId(missingKey).subscribeAsCompletionStage().join()).isEmpty();
+
+        Mockito.verify(repository, Mockito.times(1)).getByKey(hashedKey);
+        Mockito.verify(repository, Mockito.times(1)).getByKey(hashedMissingKey);
+
+        cache.invalidateKey(hashedKey);
+
+        assertThat(cachedExchange.verifyAndGetAppId(key).subscribeAsCompletionStage().join()).contains(appId);
+
+        Mockito.verify(repository, Mockito.times(2)).getByKey(hashedKey);
+    }
+}
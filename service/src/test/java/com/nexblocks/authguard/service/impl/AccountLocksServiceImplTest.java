@@ -3,6 +3,7 @@ package com.nexblocks.authguard.service.impl;
 import com.nexblocks.authguard.dal.cache.AccountLocksRepository;
 import com.nexblocks.authguard.dal.model.AccountLockDO;
 import com.nexblocks.authguard.service.AccountLocksService;
+import com.nexblocks.authguard.service.config.CacheConfig;
 import com.nexblocks.authguard.service.mappers.ServiceMapperImpl;
 import com.nexblocks.authguard.service.model.AccountLockBO;
 import io.smallrye.mutiny.Uni;
@@ -28,7 +29,8 @@ class AccountLocksServiceImplTest {
     @BeforeEach
     void setup() {
         repository = Mockito.mock(AccountLocksRepository.class);
-        service = new AccountLocksServiceImpl(repository, new ServiceMapperImpl());
+        service = new AccountLocksServiceImpl(repository, new ServiceMapperImpl(),
+                CacheConfig.builder().enabled(true).build());
     }
 
     @Test
@@ -78,4 +80,84 @@ class AccountLocksServiceImplTest {
 
         assertThat(actual).contains(expected);
     }
-}
\ No newline at end of file
+
+    @Test
+    void hasActiveLock() {
+        Instant now = Instant.now();
+
+        Mockito.when(repository.findByAccountId(101))
+                .thenReturn(Uni.createFrom().item(
+                        Arrays.asList(
+                                AccountLockDO.builder()
+                                        .accountId(101)
+                                        .expiresAt(now.plus(Duration.ofMinutes(5)))
+                                        .build(),
+                                AccountLockDO.builder()
+                                        .accountId(101)
+                                        .expiresAt(now.minus(Duration.ofMinutes(1)))
+                                        .build()
+                        )
+                ));
+
+        assertThat(service.hasActiveLock(101).await().indefinitely()).isTrue();
+        assertThat(service.hasActiveLock(101).await().indefinitely()).isTrue();
+
+        Mockito.verify(repository, Mockito.times(1)).findByAccountId(101);
+    }
+
+    @Test
+    void hasActiveLockExpired() {
+        Mockito.when(repository.findByAccountId(101))
+                .thenReturn(Uni.createFrom().item(
+                        Collections.singletonList(AccountLockDO.builder()
+                                .accountId(101)
+                                .expiresAt(Instant.now().minus(Duration.ofMinutes(1)))
+                                .build())
+                ));
+
+        assertThat(service.hasActiveLock(101).await().indefinitely()).isFalse();
+        assertThat(service.hasActiveLock(101).await().indefinitely()).isFalse();
+
+        Mockito.verify(repository, Mockito.times(1)).findByAccountId(101);
+    }
+
+    @Test
+    void hasActiveLockAfterCreate() {
+        Mockito.when(repository.findByAccountId(101))
+                .thenReturn(Uni.createFrom().item(Collections.emptyList()));
+        Mockito.when(repository.save(Mockito.any()))
+                .thenAnswer(invocation -> Uni.createFrom().item(invocation.getArgument(0, AccountLockDO.class)));
+
+        assertThat(service.hasActiveLock(101).await().indefinitely()).isFalse();
+
+        service.create(AccountLockBO.builder()
+                .accountId(101L)
+                .expiresAt(Instant.now().plus(Duration.ofMinutes(5)))
+                .build()).await().indefinitely();
+
+        assertThat(service.hasActiveLock(101).await().indefinitely()).isTrue();
+
+        Mockito.verify(repository, Mockito.times(1)).findByAccountId(101);
+    }
+
+    @Test
+    void hasActiveLockAfterDelete() {
+        Instant now = Instant.now();
+        AccountLockDO lock = AccountLockDO.builder()
+                .accountId(101)
+                .expiresAt(now.plus(Duration.ofMinutes(5)))
+                .build();
+
+        Mockito.when(repository.findByAccountId(101))
+                .thenReturn(Uni.createFrom().item(Collections.singletonList(lock)))
+                .thenReturn(Uni.createFrom().item(Collections.emptyList()));
+        Mockito.when(repository.delete(1))
+                .thenReturn(Uni.createFrom().item(Optional.of(lock)));
+
+        assertThat(service.hasActiveLock(101).await().indefinitely()).isTrue();
+
+        service.delete(1).await().indefinitely();
+
+        assertThat(service.hasActiveLock(101).await().indefinitely()).isFalse();
+    }
+}
@@ -14,6 +14,7 @@ import com.nexblocks.authguard.service.exchange.ApiKeyExchange;
 import com.nexblocks.authguard.service.exchange.KeyExchange;
 import com.nexblocks.authguard.service.keys.ApiKeyHash;
 import com.nexblocks.authguard.service.keys.ApiKeyHashProvider;
+import com.nexblocks.authguard.service.keys.ApiKeysCache;
 import com.nexblocks.authguard.service.mappers.ServiceMapper;
 import com.nexblocks.authguard.service.mappers.ServiceMapperImpl;
 import com.nexblocks.authguard.service.model.ApiKeyBO;
@@ -96,7 +97,8 @@ class ApiKeysServiceImplTest {
 
         apiKeysService = new ApiKeysServiceImpl(applicationsService,
                 clientsService, Collections.singletonList(new TestApiKeyExchange()),
-                apiKeysRepository, apiKeyHashProvider, messageBus, serviceMapper);
+                apiKeysRepository, apiKeyHashProvider, messageBus, serviceMapper,
+                new ApiKeysCache(ApiKeysConfig.builder().build()));
     }
 
     @Test
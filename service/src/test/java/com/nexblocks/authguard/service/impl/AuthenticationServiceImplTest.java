@@ -1,13 +1,9 @@
 package com.nexblocks.authguard.service.impl;
 
 import com.nexblocks.authguard.config.ConfigContext;
-import com.nexblocks.authguard.service.AccountLocksService;
 import com.nexblocks.authguard.service.AuthenticationService;
 import com.nexblocks.authguard.service.ExchangeService;
 import com.nexblocks.authguard.service.config.AuthenticationConfig;
-import com.nexblocks.authguard.service.exceptions.ServiceAuthorizationException;
-import com.nexblocks.authguard.service.exceptions.codes.ErrorCode;
-import com.nexblocks.authguard.service.model.AccountLockBO;
 import com.nexblocks.authguard.service.model.AuthRequestBO;
 import com.nexblocks.authguard.service.model.AuthResponseBO;
 import com.nexblocks.authguard.service.model.RequestContextBO;
@@ -19,17 +15,14 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 import org.mockito.Mockito;
 
-import java.util.Collections;
 import java.util.Optional;
 import io.smallrye.mutiny.Uni;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 class AuthenticationServiceImplTest {
     private ExchangeService exchangeService;
-    private AccountLocksService accountLocksService;
     private AuthenticationService authenticationService;
 
     private static EasyRandom RANDOM = new EasyRandom();
@@ -37,7 +30,6 @@ class AuthenticationServiceImplTest {
     @BeforeAll
     void setup() {
         exchangeService = Mockito.mock(ExchangeService.class);
-        accountLocksService = Mockito.mock(AccountLocksService.class);
 
         ConfigContext configContext = Mockito.mock(ConfigContext.class);
 
@@ -48,7 +40,7 @@ class AuthenticationServiceImplTest {
         Mockito.when(exchangeService.supportsExchange("basic", "accessToken")).thenReturn(true);
         Mockito.when(configContext.asConfigBean(AuthenticationConfig.class)).thenReturn(config);
 
-        authenticationService = new AuthenticationServiceImpl(exchangeService, accountLocksService, configContext);
+        authenticationService = new AuthenticationServiceImpl(exchangeService, configContext);
     }
 
     @AfterEach
@@ -71,38 +63,11 @@ class AuthenticationServiceImplTest {
         Mockito.when(exchangeService.exchange(authRequest, "basic", "accessToken", requestContext))
                 .thenReturn(Uni.createFrom().item(tokens));
 
-        Mockito.when(accountLocksService.getActiveLocksByAccountId(tokens.getEntityId()))
-                .thenReturn(Uni.createFrom().item(Collections.emptyList()));
-
         AuthResponseBO result = authenticationService.authenticate(authRequest, requestContext).subscribeAsCompletionStage().join();
 
         assertThat(result).isEqualTo(tokens);
     }
 
-    @Test
-    void authenticateLockedAccount() {
-        String username = "username";
-        String password = "password";
-        AuthRequestBO authRequest = AuthRequestBO.builder()
-                .identifier(username)
-                .password(password)
-                .build();
-
-        AuthResponseBO tokens = RANDOM.nextObject(AuthResponseBO.class);
-        RequestContextBO requestContext = RequestContextBO.builder().build();
-
-        Mockito.when(exchangeService.exchange(authRequest, "basic", "accessToken", requestContext))
-                .thenReturn(Uni.createFrom().item(tokens));
-
-        Mockito.when(accountLocksService.getActiveLocksByAccountId(tokens.getEntityId()))
-                .thenReturn(Uni.createFrom().item(Collections.singleton(AccountLockBO.builder().build())));
-
-        assertThatThrownBy(() -> authenticationService.authenticate(authRequest, requestContext).subscribeAsCompletionStage().join())
-                .hasCauseInstanceOf(ServiceAuthorizationException.class)
-                .cause()
-                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.ACCOUNT_IS_LOCKED.getCode());
-    }
-
     @Test
     void refresh() {
         AuthRequestBO authRequest = AuthRequestBO.builder()
@@ -0,0 +1,99 @@
+package com.nexblocks.authguard.service.impl;
+
+import com.nexblocks.authguard.dal.model.ExchangeAttemptDO;
+import com.nexblocks.authguard.dal.persistence.ExchangeAttemptsRepository;
+import com.nexblocks.authguard.service.config.ExchangeAttemptsConfig;
+import com.nexblocks.authguard.service.mappers.ServiceMapperImpl;
+import com.nexblocks.authguard.service.model.ExchangeAttemptBO;
+import io.smallrye.mutiny.Uni;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExchangeAttemptsPipelineTest {
+    private ExchangeAttemptsRepository repository;
+    private ExchangeAttemptsPipeline pipeline;
+
+    @BeforeEach
+    void setup() {
+        repository = Mockito.mock(ExchangeAttemptsRepository.class);
+
+        Mockito.when(repository.saveAll(Mockito.any()))
+                .thenAnswer(invocation -> Uni.createFrom().item(invocation.getArgument(0, List.class)));
+
+        pipeline = new ExchangeAttemptsPipeline(ExchangeAttemptsConfig.builder()
+                .bufferSize(4)
+                .batchSize(3)
+                .flushInterval("1h")
+                .build(), repository, new ServiceMapperImpl());
+    }
+
+    private ExchangeAttemptBO attempt(long entityId) {
+        return ExchangeAttemptBO.builder()
+                .entityId(entityId)
+                .exchangeFrom("basic")
+                .exchangeTo("accessToken")
+                .successful(true)
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void flushWritesInBatches() {
+        for (int i = 0; i < 4; i++) {
+            assertThat(pipeline.submit(attempt(i))).isTrue();
+        }
+
+        pipeline.flush();
+
+        ArgumentCaptor<List<ExchangeAttemptDO>> captor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(repository, Mockito.atLeastOnce()).saveAll(captor.capture());
+
+        List<ExchangeAttemptDO> written = captor.getAllValues().stream()
+                .flatMap(List::stream)
+                .toList();
+
+        assertThat(written).hasSize(4);
+        assertThat(written).allSatisfy(attempt -> {
+            assertThat(attempt.getId()).isNotZero();
+            assertThat(attempt.getCreatedAt()).isNotNull();
+        });
+        assertThat(captor.getAllValues()).allSatisfy(batch -> assertThat(batch).hasSizeLessThanOrEqualTo(3));
+        assertThat(pipeline.getWritten()).isEqualTo(4);
+    }
+
+    @Test
+    void closeWritesBuffered() {
+        assertThat(pipeline.submit(attempt(1))).isTrue();
+        assertThat(pipeline.submit(attempt(2))).isTrue();
+
+        pipeline.close();
+
+        Mockito.verify(repository).saveAll(Mockito.argThat(batch -> batch.size() == 2));
+        assertThat(pipeline.getPending()).isZero();
+        assertThat(pipeline.getWritten()).isEqualTo(2);
+    }
+
+    @Test
+    void dropsWhenFull() {
+        Mockito.reset(repository);
+
+        ExchangeAttemptsPipeline unflushed = new ExchangeAttemptsPipeline(ExchangeAttemptsConfig.builder()
+                .bufferSize(2)
+                .batchSize(100)
+                .flushInterval("1h")
+                .build(), repository, new ServiceMapperImpl());
+
+        assertThat(unflushed.submit(attempt(1))).isTrue();
+        assertThat(unflushed.submit(attempt(2))).isTrue();
+        assertThat(unflushed.submit(attempt(3))).isFalse();
+
+        assertThat(unflushed.getDropped()).isEqualTo(1);
+        assertThat(unflushed.getPending()).isEqualTo(2);
+    }
+}
@@ -29,7 +29,8 @@ class ExchangeAttemptsServiceImplTest {
         repository = Mockito.mock(ExchangeAttemptsRepository.class);
         messageBus = Mockito.mock(MessageBus.class);
 
-        service = new ExchangeAttemptsServiceImpl(repository, new ServiceMapperImpl(), messageBus);
+        service = new ExchangeAttemptsServiceImpl(repository, new ServiceMapperImpl(), messageBus,
+                Mockito.mock(ExchangeAttemptsPipeline.class));
     }
 
     @Test
@@ -47,7 +48,7 @@ class ExchangeAttemptsServiceImplTest {
                                 .build())
                 ));
 
-        final Collection<ExchangeAttemptBO> actual = service.find(query);
+        final Collection<ExchangeAttemptBO> actual = service.find(query).subscribeAsCompletionStage().join();
         final Collection<ExchangeAttemptBO> expected = Collections.singletonList(ExchangeAttemptBO.builder()
                 .entityId(101L)
                 .exchangeFrom("basic")
@@ -74,7 +75,7 @@ class ExchangeAttemptsServiceImplTest {
                                 .build())
                 ));
 
-        final Collection<ExchangeAttemptBO> actual = service.find(query);
+        final Collection<ExchangeAttemptBO> actual = service.find(query).subscribeAsCompletionStage().join();
         final Collection<ExchangeAttemptBO> expected = Collections.singletonList(ExchangeAttemptBO.builder()
                 .entityId(101L)
                 .exchangeFrom("basic")
@@ -102,7 +103,7 @@ class ExchangeAttemptsServiceImplTest {
                                 .build())
                 ));
 
-        final Collection<ExchangeAttemptBO> actual = service.find(query);
+        final Collection<ExchangeAttemptBO> actual = service.find(query).subscribeAsCompletionStage().join();
         final Collection<ExchangeAttemptBO> expected = Collections.singletonList(ExchangeAttemptBO.builder()
                 .entityId(101L)
                 .exchangeFrom("basic")
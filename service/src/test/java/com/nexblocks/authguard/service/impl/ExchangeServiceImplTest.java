@@ -92,7 +92,7 @@ class ExchangeServiceImplTest {
         Assertions.assertThat(exchangeService.exchange(authRequest, "basic", "basic", requestContext).subscribeAsCompletionStage().join())
                 .isEqualTo(expected);
 
-        Mockito.verify(exchangeAttemptsService).create(ExchangeAttemptBO.builder()
+        Mockito.verify(exchangeAttemptsService).record(ExchangeAttemptBO.builder()
                 .successful(true)
                 .exchangeFrom("basic")
                 .exchangeTo("basic")
@@ -170,7 +170,7 @@ class ExchangeServiceImplTest {
         assertThatThrownBy(() -> exchangeService.exchange(authRequest, "basic", "exception", requestContext).subscribeAsCompletionStage().join())
                 .hasCauseInstanceOf(ServiceAuthorizationException.class);
 
-        Mockito.verify(exchangeAttemptsService).create(ExchangeAttemptBO.builder()
+        Mockito.verify(exchangeAttemptsService).record(ExchangeAttemptBO.builder()
                 .successful(false)
                 .exchangeFrom("basic")
                 .exchangeTo("exception")
@@ -216,7 +216,7 @@ class ExchangeServiceImplTest {
         Assertions.assertThat(exchangeService.exchange(authRequest, "basic", "basic", requestContext).subscribeAsCompletionStage().join())
                 .isEqualTo(expected);
 
-        Mockito.verify(exchangeAttemptsService).create(ExchangeAttemptBO.builder()
+        Mockito.verify(exchangeAttemptsService).record(ExchangeAttemptBO.builder()
                 .successful(true)
                 .exchangeFrom("basic")
                 .exchangeTo("basic")
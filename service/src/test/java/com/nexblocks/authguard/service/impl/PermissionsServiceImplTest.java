@@ -2,6 +2,7 @@ package com.nexblocks.authguard.service.impl;
 
 import com.nexblocks.authguard.dal.model.PermissionDO;
 import com.nexblocks.authguard.dal.persistence.LongPage;
+import com.nexblocks.authguard.dal.persistence.PermissionKey;
 import com.nexblocks.authguard.dal.persistence.PermissionsRepository;
 import com.nexblocks.authguard.emb.MessageBus;
 import com.nexblocks.authguard.service.PermissionsService;
@@ -177,14 +178,11 @@ class PermissionsServiceImplTest {
                 PermissionBO.builder().group("test").name("delete").build()
         );
 
-        Mockito.when(permissionsRepository.search("test", "read", "main"))
-                .thenReturn(Uni.createFrom().item(Optional.of(existing.get(0))));
-
-        Mockito.when(permissionsRepository.search("test", "write", "main"))
-                .thenReturn(Uni.createFrom().item(Optional.of(existing.get(1))));
-
-        Mockito.when(permissionsRepository.search("test", "delete", "main"))
-                .thenReturn(Uni.createFrom().item(Optional.empty()));
+        Mockito.when(permissionsRepository.searchAll(Arrays.asList(
+                        PermissionKey.of("test", "read"),
+                        PermissionKey.of("test", "write"),
+                        PermissionKey.of("test", "delete")), "main"))
+                .thenReturn(Uni.createFrom().item(existing));
 
         List<PermissionBO> expected = Collections.singletonList(
                 PermissionBO.builder().group("test").name("read").forAccounts(true).build()
@@ -208,14 +206,11 @@ class PermissionsServiceImplTest {
                 PermissionBO.builder().group("test").name("delete").build()
         );
 
-        Mockito.when(permissionsRepository.search("test", "read", "main"))
-                .thenReturn(Uni.createFrom().item(Optional.of(existing.get(0))));
-
-        Mockito.when(permissionsRepository.search("test", "write", "main"))
-                .thenReturn(Uni.createFrom().item(Optional.of(existing.get(1))));
-
-        Mockito.when(permissionsRepository.search("test", "delete", "main"))
-                .thenReturn(Uni.createFrom().item(Optional.empty()));
+        Mockito.when(permissionsRepository.searchAll(Arrays.asList(
+                        PermissionKey.of("test", "read"),
+                        PermissionKey.of("test", "write"),
+                        PermissionKey.of("test", "delete")), "main"))
+                .thenReturn(Uni.createFrom().item(existing));
 
         List<PermissionBO> expected = Collections.singletonList(
                 PermissionBO.builder().group("test").name("write").forApplications(true).build()
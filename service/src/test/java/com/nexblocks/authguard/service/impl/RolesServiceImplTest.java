@@ -101,6 +101,46 @@ class RolesServiceImplTest {
                 .hasCauseInstanceOf(ServiceConflictException.class);
     }
 
+    @Test
+    void createAll() {
+        List<RoleBO> request = Arrays.asList(
+                RoleBO.builder().name("role-1").build(),
+                RoleBO.builder().name("role-2").build(),
+                RoleBO.builder().name("role-1").build()
+        );
+
+        Mockito.when(rolesRepository.getMultiple(Arrays.asList("role-1", "role-2", "role-1"), "main"))
+                .thenReturn(Uni.createFrom().item(Collections.emptyList()));
+
+        Mockito.when(rolesRepository.saveAll(Mockito.anyList()))
+                .thenAnswer(invocation -> Uni.createFrom().item(invocation.getArgument(0, List.class)));
+
+        List<RoleBO> actual = rolesService.createAll(request, "main").subscribeAsCompletionStage().join();
+
+        assertThat(actual).extracting(RoleBO::getName).containsExactly("role-1", "role-2");
+        assertThat(actual).extracting(RoleBO::getDomain).containsOnly("main");
+
+        Mockito.verify(rolesRepository, Mockito.times(1)).saveAll(Mockito.anyList());
+        Mockito.verify(rolesRepository, Mockito.never()).save(Mockito.any());
+    }
+
+    @Test
+    void createAllWithExistingRoles() {
+        List<RoleBO> request = Arrays.asList(
+                RoleBO.builder().name("role-1").build(),
+                RoleBO.builder().name("role-2").build()
+        );
+
+        Mockito.when(rolesRepository.getMultiple(Arrays.asList("role-1", "role-2"), "main"))
+                .thenReturn(Uni.createFrom().item(Collections.singletonList(
+                        RoleDO.builder().name("role-2").domain("main").build())));
+
+        assertThatThrownBy(() -> rolesService.createAll(request, "main").subscribeAsCompletionStage().join())
+                .hasCauseInstanceOf(ServiceConflictException.class);
+
+        Mockito.verify(rolesRepository, Mockito.never()).saveAll(Mockito.anyList());
+    }
+
     @Test
     void getRoleByName() {
         RoleDO role = RoleDO.builder()
@@ -0,0 +1,117 @@
+package com.nexblocks.authguard.service.impl;
+
+import com.nexblocks.authguard.dal.cache.SessionsRepository;
+import com.nexblocks.authguard.dal.model.SessionDO;
+import com.nexblocks.authguard.service.TrackingSessionsService;
+import com.nexblocks.authguard.service.config.CacheConfig;
+import com.nexblocks.authguard.service.mappers.ServiceMapperImpl;
+import com.nexblocks.authguard.service.model.AccountBO;
+import com.nexblocks.authguard.service.model.Session;
+import io.smallrye.mutiny.Uni;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TrackingSessionsServiceImplTest {
+    private SessionsRepository repository;
+    private TrackingSessionsService service;
+
+    @BeforeEach
+    void setup() {
+        repository = Mockito.mock(SessionsRepository.class);
+        service = new TrackingSessionsServiceImpl(repository, new ServiceMapperImpl(),
+                CacheConfig.builder().enabled(true).build());
+
+        Mockito.when(repository.save(Mockito.any()))
+                .thenAnswer(invocation -> Uni.createFrom().item(invocation.getArgument(0, SessionDO.class)));
+    }
+
+    private SessionDO session(final String token, final boolean active) {
+        return SessionDO.builder()
+                .id(1)
+                .domain("main")
+                .sessionToken(token)
+                .expiresAt(Instant.now().plus(Duration.ofDays(1)))
+                .forTracking(true)
+                .active(active)
+                .build();
+    }
+
+    @Test
+    void startedSessionIsActiveWithoutReading() {
+        Session session = service.startSession(AccountBO.builder().id(101).domain("main").build())
+                .subscribeAsCompletionStage().join();
+
+        assertThat(service.isSessionActive(session.getSessionToken(), "main")
+                .subscribeAsCompletionStage().join()).isTrue();
+
+        Mockito.verify(repository, Mockito.never()).getByToken(Mockito.any());
+    }
+
+    @Test
+    void isSessionActiveReadsOnce() {
+        Mockito.when(repository.getByToken("token"))
+                .thenReturn(Uni.createFrom().item(Optional.of(session("token", true))));
+
+        assertThat(service.isSessionActive("token", "main").subscribeAsCompletionStage().join()).isTrue();
+        assertThat(service.isSessionActive("token", "main").subscribeAsCompletionStage().join()).isTrue();
+
+        Mockito.verify(repository, Mockito.times(1)).getByToken("token");
+    }
+
+    @Test
+    void terminatedSessionIsInactiveImmediately() {
+        Mockito.when(repository.getByToken("token"))
+                .thenReturn(Uni.createFrom().item(Optional.of(session("token", true))));
+
+        assertThat(service.isSessionActive("token", "main").subscribeAsCompletionStage().join()).isTrue();
+
+        Optional<Session> terminated = service.terminateSession("token", "main")
+                .subscribeAsCompletionStage().join();
+
+        assertThat(terminated).isPresent();
+        assertThat(terminated.get().isActive()).isFalse();
+        assertThat(service.isSessionActive("token", "main").subscribeAsCompletionStage().join()).isFalse();
+    }
+
+    @Test
+    void unknownSessionIsNotCached() {
+        Mockito.when(repository.getByToken("unknown"))
+                .thenReturn(Uni.createFrom().item(Optional.empty()));
+
+        assertThat(service.isSessionActive("unknown", "main").subscribeAsCompletionStage().join()).isFalse();
+        assertThat(service.isSessionActive("unknown", "main").subscribeAsCompletionStage().join()).isFalse();
+
+        Mockito.verify(repository, Mockito.times(2)).getByToken("unknown");
+    }
+
+    @Test
+    void isSessionActiveWithoutToken() {
+        Mockito.when(repository.getByToken(null))
+                .thenReturn(Uni.createFrom().item(Optional.empty()));
+
+        assertThat(service.isSessionActive(null, "main").subscribeAsCompletionStage().join()).isFalse();
+
+        Mockito.verify(repository).getByToken(null);
+    }
+
+    @Test
+    void isSessionActiveWithoutCache() {
+        service = new TrackingSessionsServiceImpl(repository, new ServiceMapperImpl(),
+                CacheConfig.builder().build());
+
+        Mockito.when(repository.getByToken("token"))
+                .thenReturn(Uni.createFrom().item(Optional.of(session("token", true))));
+
+        service.isSessionActive("token", "main").subscribeAsCompletionStage().join();
+        service.isSessionActive("token", "main").subscribeAsCompletionStage().join();
+
+        Mockito.verify(repository, Mockito.times(2)).getByToken("token");
+    }
+}
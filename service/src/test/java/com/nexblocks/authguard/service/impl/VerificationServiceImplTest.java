@@ -67,9 +67,12 @@ class VerificationServiceImplTest {
                                 .additionalInformation(ImmutableMap.of("email", "to-verify@test.com"))
                         .build())));
 
+        Mockito.when(accountsService.update(Mockito.any(), Mockito.eq("main")))
+                .thenAnswer(invocation -> Uni.createFrom().item(Optional.of(invocation.getArgument(0, AccountBO.class))));
+
         final ArgumentCaptor<AccountBO> accountCaptor = ArgumentCaptor.forClass(AccountBO.class);
 
-        verificationService.verifyEmail("verification-token", "main");
+        verificationService.verifyEmail("verification-token", "main").await().indefinitely();
 
         Mockito.verify(accountsService).update(accountCaptor.capture(), Mockito.eq("main"));
 
@@ -102,7 +105,7 @@ class VerificationServiceImplTest {
                         .additionalInformation(ImmutableMap.of("email", "wrong@test.com"))
                         .build())));
 
-        assertThatThrownBy(() -> verificationService.verifyEmail("verification-token", "main"))
+        assertThatThrownBy(() -> verificationService.verifyEmail("verification-token", "main").await().indefinitely())
                 .isInstanceOf(ServiceException.class);
     }
 
@@ -129,7 +132,7 @@ class VerificationServiceImplTest {
                         .expiresAt(Instant.now().plusSeconds(2))
                         .build())));
 
-        assertThatThrownBy(() -> verificationService.verifyEmail("verification-token", "main"))
+        assertThatThrownBy(() -> verificationService.verifyEmail("verification-token", "main").await().indefinitely())
                 .isInstanceOf(ServiceException.class);
     }
 
@@ -157,7 +160,7 @@ class VerificationServiceImplTest {
                         .additionalInformation(ImmutableMap.of("email", "wrong@test.com"))
                         .build())));
 
-        assertThatThrownBy(() -> verificationService.verifyEmail("verification-token", "main"))
+        assertThatThrownBy(() -> verificationService.verifyEmail("verification-token", "main").await().indefinitely())
                 .isInstanceOf(ServiceException.class);
     }
 
@@ -182,7 +185,7 @@ class VerificationServiceImplTest {
         Mockito.when(otpProvider.generateToken(account))
                 .thenReturn(Uni.createFrom().item(otp));
 
-        final AuthResponseBO actual = verificationService.sendPhoneNumberVerification(101, "main");
+        final AuthResponseBO actual = verificationService.sendPhoneNumberVerification(101, "main").await().indefinitely();
 
         assertThat(actual).isEqualTo(otp);
     }
@@ -208,7 +211,7 @@ class VerificationServiceImplTest {
         Mockito.when(otpProvider.generateToken(account))
                 .thenReturn(Uni.createFrom().item(otp));
 
-        final AuthResponseBO actual = verificationService.sendPhoneNumberVerificationByIdentifier("username", "main");
+        final AuthResponseBO actual = verificationService.sendPhoneNumberVerificationByIdentifier("username", "main").await().indefinitely();
 
         assertThat(actual).isEqualTo(otp);
     }
@@ -233,8 +236,11 @@ class VerificationServiceImplTest {
         Mockito.when(otpVerifier.verifyAccountTokenAsync(request))
                 .thenReturn(Uni.createFrom().item(101L));;
 
+        Mockito.when(accountsService.update(Mockito.any(), Mockito.eq("main")))
+                .thenAnswer(invocation -> Uni.createFrom().item(Optional.of(invocation.getArgument(0, AccountBO.class))));
+
         // TODO account argument captor
-        verificationService.verifyPhoneNumber(1, "main", "123456", "33334444");
+        verificationService.verifyPhoneNumber(1, "main", "123456", "33334444").await().indefinitely();
     }
 
     @Test
@@ -257,7 +263,7 @@ class VerificationServiceImplTest {
         Mockito.when(otpVerifier.verifyAccountTokenAsync(request))
                 .thenReturn(Uni.createFrom().item(101L));;
 
-        assertThatThrownBy(() -> verificationService.verifyPhoneNumber(1, "main", "123456", "9999999"))
+        assertThatThrownBy(() -> verificationService.verifyPhoneNumber(1, "main", "123456", "9999999").await().indefinitely())
                 .isInstanceOf(ServiceException.class);
     }
 
@@ -277,7 +283,7 @@ class VerificationServiceImplTest {
         Mockito.when(otpVerifier.verifyAccountTokenAsync(request))
                 .thenReturn(Uni.createFrom().item(101L));
 
-        assertThatThrownBy(() -> verificationService.verifyPhoneNumber(1, "main", "123456", "9999999"))
+        assertThatThrownBy(() -> verificationService.verifyPhoneNumber(1, "main", "123456", "9999999").await().indefinitely())
                 .isInstanceOf(ServiceException.class);
     }
 
@@ -293,7 +299,7 @@ class VerificationServiceImplTest {
         Mockito.when(otpVerifier.verifyAccountTokenAsync(request))
                 .thenReturn(Uni.createFrom().item(101L));;
 
-        assertThatThrownBy(() -> verificationService.verifyPhoneNumber(1, "main", "123456", "9999999"))
+        assertThatThrownBy(() -> verificationService.verifyPhoneNumber(1, "main", "123456", "9999999").await().indefinitely())
                 .isInstanceOf(ServiceException.class);
     }
 }
\ No newline at end of file
@@ -0,0 +1,67 @@
+package com.nexblocks.authguard.service.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MpscRingBufferTest {
+
+    @Test
+    void offerAndDrainInOrder() {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(3);
+
+        assertThat(buffer.capacity()).isEqualTo(4);
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(i)).isTrue();
+        }
+
+        assertThat(buffer.offer(4)).isFalse();
+        assertThat(buffer.size()).isEqualTo(4);
+
+        List<Integer> drained = new ArrayList<>();
+
+        assertThat(buffer.drain(drained::add, 3)).isEqualTo(3);
+        assertThat(drained).containsExactly(0, 1, 2);
+
+        assertThat(buffer.offer(5)).isTrue();
+        assertThat(buffer.drain(drained::add, 10)).isEqualTo(2);
+        assertThat(drained).containsExactly(0, 1, 2, 3, 5);
+        assertThat(buffer.isEmpty()).isTrue();
+    }
+
+    @Test
+    void concurrentProducers() throws InterruptedException {
+        int producers = 4;
+        int itemsPerProducer = 10_000;
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(1024);
+        Set<Integer> received = new HashSet<>();
+        CountDownLatch done = new CountDownLatch(producers);
+
+        for (int p = 0; p < producers; p++) {
+            int offset = p * itemsPerProducer;
+
+            new Thread(() -> {
+                for (int i = 0; i < itemsPerProducer; i++) {
+                    while (!buffer.offer(offset + i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+
+                done.countDown();
+            }).start();
+        }
+
+        while (done.getCount() > 0 || !buffer.isEmpty()) {
+            buffer.drain(received::add, 256);
+        }
+
+        assertThat(received).hasSize(producers * itemsPerProducer);
+    }
+}
@@ -30,7 +30,9 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public class DataBootstrapStep implements BootstrapStep {
     private static final Logger LOG = LoggerFactory.getLogger(DataBootstrapStep.class);
@@ -112,18 +114,21 @@ public class DataBootstrapStep implements BootstrapStep {
             return Uni.createFrom().voidItem();
         }
 
-        final List<Uni<Void>> operations = new ArrayList<>();
+        // one call per domain, which the roles are created in together
+        final Map<String, List<RoleBO>> rolesByDomain = new LinkedHashMap<>();
         for (RoleDTO roleDTO : bootstrapData.getRoles()) {
             final RoleBO role = restMapper.toBO(roleDTO);
-            final Uni<Void> createRole = rolesService
-                    .create(role)
-                    .onItem().transform(created -> {
-                        LOG.info("Created role: {} ({})", created.getName(), created.getId());
-                        return null;
-                    });
-            operations.add(createRole);
+            rolesByDomain.computeIfAbsent(role.getDomain(), ignored -> new ArrayList<>()).add(role);
         }
 
+        final List<Uni<Void>> operations = new ArrayList<>();
+        rolesByDomain.forEach((domain, roles) -> operations.add(rolesService
+                .createAll(roles, domain)
+                .onItem().transform(created -> {
+                    created.forEach(role -> LOG.info("Created role: {} ({})", role.getName(), role.getId()));
+                    return null;
+                })));
+
         return Uni.combine().all().unis(operations).discardItems();
     }
 
@@ -132,18 +137,21 @@ public class DataBootstrapStep implements BootstrapStep {
             return Uni.createFrom().voidItem();
         }
 
-        final List<Uni<Void>> operations = new ArrayList<>();
+        final Map<String, List<PermissionBO>> permissionsByDomain = new LinkedHashMap<>();
         for (PermissionDTO permissionDTO : bootstrapData.getPermissions()) {
             final PermissionBO permission = restMapper.toBO(permissionDTO);
-            final Uni<Void> createPermission = permissionsService
-                    .create(permission)
-                    .onItem().transform(created -> {
-                        LOG.info("Created permission: {}:{} ({})", created.getGroup(), created.getName(), created.getId());
-                        return null;
-                    });
-            operations.add(createPermission);
+            permissionsByDomain.computeIfAbsent(permission.getDomain(), ignored -> new ArrayList<>()).add(permission);
         }
 
+        final List<Uni<Void>> operations = new ArrayList<>();
+        permissionsByDomain.forEach((domain, permissions) -> operations.add(permissionsService
+                .createAll(permissions, domain)
+                .onItem().transform(created -> {
+                    created.forEach(permission -> LOG.info("Created permission: {}:{} ({})",
+                            permission.getGroup(), permission.getName(), permission.getId()));
+                    return null;
+                })));
+
         return Uni.combine().all().unis(operations).discardItems();
     }
 